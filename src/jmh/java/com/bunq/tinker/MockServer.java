@@ -0,0 +1,87 @@
+package com.bunq.tinker;
+
+import com.bunq.tinker.mock.MockBunqDataset;
+import com.bunq.tinker.mock.MockBunqServer;
+import com.bunq.tinker.utils.ITinker;
+import org.apache.commons.cli.*;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs a MockBunqServer on loopback until the process is stopped, for offline load and latency testing with
+ * MockBunqClient or any HTTP client. It is part of the benchmarks and not of the tinker jar, run it with e.g.
+ * "gradle mockServer -Pargs='--items 1000 --latency 20'".
+ */
+public class MockServer implements ITinker {
+
+    /**
+     * Option constants.
+     */
+    private static final String OPTION_PORT = "port";
+    private static final String OPTION_ACCOUNTS = "accounts";
+    private static final String OPTION_ITEMS = "items";
+    private static final String OPTION_CARDS = "cards";
+    private static final String OPTION_LATENCY = "latency";
+    private static final String OPTION_ERROR_RATE = "error-rate";
+    private static final String OPTION_THREADS = "threads";
+    private static final String OPTION_SEED = "seed";
+
+    /**
+     * Default constants.
+     */
+    private static final String PORT_DEFAULT = "7891";
+    private static final String ACCOUNTS_DEFAULT = "3";
+    private static final String ITEMS_DEFAULT = "100";
+    private static final String CARDS_DEFAULT = "2";
+    private static final String LATENCY_DEFAULT = "0";
+    private static final String ERROR_RATE_DEFAULT = "0";
+    private static final String THREADS_DEFAULT = "16";
+    private static final String SEED_DEFAULT = "1";
+
+    /**
+     * @param args
+     *
+     * @throws ParseException
+     * @throws InterruptedException
+     */
+    @Override
+    public void run(String[] args) throws ParseException, InterruptedException {
+        Options options = new Options();
+        options.addOption(new Option("", OPTION_PORT, true, ""));
+        options.addOption(new Option("", OPTION_ACCOUNTS, true, ""));
+        options.addOption(new Option("", OPTION_ITEMS, true, ""));
+        options.addOption(new Option("", OPTION_CARDS, true, ""));
+        options.addOption(new Option("", OPTION_LATENCY, true, ""));
+        options.addOption(new Option("", OPTION_ERROR_RATE, true, ""));
+        options.addOption(new Option("", OPTION_THREADS, true, ""));
+        options.addOption(new Option("", OPTION_SEED, true, ""));
+        CommandLineParser parser = new BasicParser();
+
+        CommandLine allOption = parser.parse(options, args);
+        MockBunqDataset dataset = new MockBunqDataset(
+                Integer.parseInt(allOption.getOptionValue(OPTION_ACCOUNTS, ACCOUNTS_DEFAULT)),
+                Integer.parseInt(allOption.getOptionValue(OPTION_ITEMS, ITEMS_DEFAULT)),
+                Integer.parseInt(allOption.getOptionValue(OPTION_CARDS, CARDS_DEFAULT)),
+                Long.parseLong(allOption.getOptionValue(OPTION_SEED, SEED_DEFAULT))
+        );
+        MockBunqServer server = new MockBunqServer(
+                dataset,
+                Integer.parseInt(allOption.getOptionValue(OPTION_PORT, PORT_DEFAULT)),
+                Integer.parseInt(allOption.getOptionValue(OPTION_LATENCY, LATENCY_DEFAULT)),
+                Double.parseDouble(allOption.getOptionValue(OPTION_ERROR_RATE, ERROR_RATE_DEFAULT)),
+                Integer.parseInt(allOption.getOptionValue(OPTION_THREADS, THREADS_DEFAULT))
+        );
+        CountDownLatch stopped = new CountDownLatch(1);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println(" | Mock bunq server handled " + server.getRequestCount() + " requests");
+            server.close();
+            stopped.countDown();
+        }));
+
+        System.out.println(" | Mock bunq server listening on " + server.getBaseUrl());
+        System.out.println(" | User ID " + dataset.getUserId() + ", stop with Ctrl+C");
+
+        stopped.await();
+    }
+}
@@ -0,0 +1,105 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.tinker.libs.BatchEntry;
+import com.bunq.tinker.libs.BatchExecutor;
+import com.bunq.tinker.libs.BatchResultWriter;
+import com.bunq.tinker.libs.BatchSender;
+import com.bunq.tinker.libs.BatchSummary;
+import com.bunq.tinker.libs.OperationJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sending a payment file through the batch engine against a sender that takes a fixed time per API call, to see
+ * how batching and concurrency bring the number of round-trips (and so the wall-clock time) down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BatchExecutorBenchmark {
+
+    private static final String RUN_ID = "benchmark";
+
+    @Param({"1000"})
+    public int entryCount;
+
+    @Param({"5"})
+    public int latencyMilliseconds;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    @Param({"1", "3"})
+    public int concurrency;
+
+    private List<BatchEntry> allEntry;
+    private File resultFile;
+
+    @Setup
+    public void setup() throws IOException {
+        allEntry = new ArrayList<>(entryCount);
+
+        for (int i = 1; i <= entryCount; i++) {
+            allEntry.add(new BatchEntry(i, "0.01", BenchmarkFixtures.createIban(i), "Benchmark"));
+        }
+
+        resultFile = File.createTempFile("batch-benchmark", ".result.csv");
+    }
+
+    @TearDown
+    public void tearDown() {
+        resultFile.delete();
+    }
+
+    @Benchmark
+    public BatchSummary execute() throws IOException {
+        BatchSender sender = new BatchSender() {
+            @Override
+            public Integer sendBatch(List<BatchEntry> allEntryInBatch, String requestId) {
+                return simulateApiCall();
+            }
+
+            @Override
+            public Integer sendSingle(BatchEntry entry, String requestId) {
+                return simulateApiCall();
+            }
+        };
+
+        try (
+                OperationJournal journal = OperationJournal.open(null);
+                BatchResultWriter resultWriter = new BatchResultWriter(resultFile.getPath())
+        ) {
+            return new BatchExecutor(sender, batchSize, concurrency, journal, RUN_ID)
+                    .execute(allEntry.iterator(), resultWriter);
+        }
+    }
+
+    private Integer simulateApiCall() {
+        try {
+            Thread.sleep(latencyMilliseconds);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        return 1;
+    }
+}
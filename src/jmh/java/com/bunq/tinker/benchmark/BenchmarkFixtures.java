@@ -0,0 +1,270 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.json.BunqGsonBuilder;
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic bunq models and response bodies for the benchmarks, shaped like what the sandbox returns.
+ */
+final class BenchmarkFixtures {
+
+    /**
+     * Json constants.
+     */
+    private static final String FIELD_RESPONSE = "Response";
+    private static final String FIELD_PAGINATION = "Pagination";
+    private static final String FIELD_OLDER_URL = "older_url";
+    private static final String FIELD_NEWER_URL = "newer_url";
+    private static final String FIELD_FUTURE_URL = "future_url";
+    private static final String WRAPPER_PAYMENT = "Payment";
+    private static final String URL_OLDER_FORMAT = "/v1/user/1/monetary-account/%d/payment?count=%d&older_id=%d";
+
+    /**
+     * Fixture constants.
+     */
+    private static final String IBAN_FORMAT = "NL%02dBUNQ%010d";
+    private static final String CURRENCY = "EUR";
+    private static final String POINTER_TYPE_IBAN = "IBAN";
+    private static final String POINTER_TYPE_EMAIL = "EMAIL";
+    private static final String DISPLAY_NAME_FORMAT = "Sugar Daddy %d";
+    private static final String DESCRIPTION_FORMAT = "Benchmark payment %d";
+    private static final String ACCOUNT_DESCRIPTION_FORMAT = "Account %d";
+
+    /**
+     * History constants: a few years of everyday payments, most with a description that recurs, to a few hundred
+     * counterparties, and some income.
+     */
+    private static final String[] ALL_DESCRIPTION_RECURRING = {
+            "Groceries",
+            "Rent",
+            "Coffee",
+            "Lunch",
+            "Train ticket",
+            "Netflix",
+            "Gym membership",
+            "Dinner",
+            "Health insurance",
+            "Phone subscription",
+            "Tikkie",
+            "Energy bill"
+    };
+    private static final String DESCRIPTION_INVOICE_FORMAT = "Invoice %d";
+    private static final String CREATED_FORMAT = "%04d-%02d-%02d 12:00:00.000000";
+    private static final int HISTORY_YEAR_FIRST = 2016;
+    private static final int HISTORY_MONTH_COUNT = 48;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int HISTORY_DAY_COUNT = 28;
+    private static final int HISTORY_COUNTERPARTY_COUNT = 300;
+    private static final int HISTORY_INVOICE_EVERY = 10;
+    private static final int HISTORY_INCOME_EVERY = 7;
+
+    private static final Gson gson = BunqGsonBuilder.buildDefault().create();
+
+    private BenchmarkFixtures() {
+    }
+
+    static String createIban(int index) {
+        return String.format(IBAN_FORMAT, index % 100, index);
+    }
+
+    static JsonObject createPaymentJson(int id, int monetaryAccountId) {
+        JsonObject payment = new JsonObject();
+        payment.addProperty("id", id);
+        payment.addProperty("created", "2019-01-01 12:00:00.000000");
+        payment.addProperty("updated", "2019-01-01 12:00:00.000000");
+        payment.addProperty("monetary_account_id", monetaryAccountId);
+        payment.add("amount", createAmountJson(String.format("-%d.%02d", id % 500, id % 100)));
+        payment.addProperty("description", String.format(DESCRIPTION_FORMAT, id));
+        payment.addProperty("type", "BUNQ");
+        payment.add("alias", createLabelMonetaryAccountJson(monetaryAccountId));
+        payment.add("counterparty_alias", createLabelMonetaryAccountJson(id % 50));
+
+        return payment;
+    }
+
+    static JsonObject createMonetaryAccountBankJson(int id) {
+        JsonArray allAlias = new JsonArray();
+        allAlias.add(createPointerJson(POINTER_TYPE_EMAIL, String.format("account-%d@bunq.example", id)));
+        allAlias.add(createPointerJson(POINTER_TYPE_IBAN, createIban(id)));
+
+        JsonObject monetaryAccountBank = new JsonObject();
+        monetaryAccountBank.addProperty("id", id);
+        monetaryAccountBank.addProperty("description", String.format(ACCOUNT_DESCRIPTION_FORMAT, id));
+        monetaryAccountBank.addProperty("currency", CURRENCY);
+        monetaryAccountBank.addProperty("status", "ACTIVE");
+        monetaryAccountBank.add("balance", createAmountJson("500.00"));
+        monetaryAccountBank.add("alias", allAlias);
+
+        return monetaryAccountBank;
+    }
+
+    static JsonObject createCardJson(int id, int monetaryAccountId) {
+        JsonObject card = new JsonObject();
+        card.addProperty("id", id);
+        card.addProperty("type", "MAESTRO");
+        card.addProperty("status", "ACTIVE");
+        card.addProperty("name_on_card", String.format(DISPLAY_NAME_FORMAT, id));
+        card.addProperty("second_line", String.format("Card %d", id));
+        card.add("label_monetary_account_current", createLabelMonetaryAccountJson(monetaryAccountId));
+
+        return card;
+    }
+
+    static List<Payment> createAllPayment(int count) {
+        List<Payment> allPayment = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            allPayment.add(gson.fromJson(createPaymentJson(count - i, 1), Payment.class));
+        }
+
+        return allPayment;
+    }
+
+    /**
+     * Creates payments newest first, spread evenly over HISTORY_MONTH_COUNT months, with the descriptions, the
+     * counterparties and the mix of spend and income of a real account instead of a distinct description per payment.
+     */
+    static List<Payment> createAllPaymentHistory(int count) {
+        List<Payment> allPayment = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            allPayment.add(gson.fromJson(createPaymentHistoryJson(count - i, count), Payment.class));
+        }
+
+        return allPayment;
+    }
+
+    private static JsonObject createPaymentHistoryJson(int id, int count) {
+        int month = (int) ((id - 1) * (long) HISTORY_MONTH_COUNT / count);
+        String created = String.format(
+                CREATED_FORMAT,
+                HISTORY_YEAR_FIRST + month / MONTHS_PER_YEAR,
+                month % MONTHS_PER_YEAR + 1,
+                id % HISTORY_DAY_COUNT + 1
+        );
+        String sign = id % HISTORY_INCOME_EVERY == 0 ? "" : "-";
+        String description = id % HISTORY_INVOICE_EVERY == 0
+                ? String.format(DESCRIPTION_INVOICE_FORMAT, id)
+                : ALL_DESCRIPTION_RECURRING[id % ALL_DESCRIPTION_RECURRING.length];
+
+        JsonObject payment = createPaymentJson(id, 1);
+        payment.addProperty("created", created);
+        payment.addProperty("updated", created);
+        payment.add("amount", createAmountJson(String.format("%s%d.%02d", sign, id % 500, id % 100)));
+        payment.addProperty("description", description);
+        payment.add("counterparty_alias", createLabelMonetaryAccountJson(id % HISTORY_COUNTERPARTY_COUNT));
+
+        return payment;
+    }
+
+    static List<MonetaryAccountBank> createAllMonetaryAccountBank(int count) {
+        List<MonetaryAccountBank> allMonetaryAccountBank = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            allMonetaryAccountBank.add(gson.fromJson(createMonetaryAccountBankJson(i), MonetaryAccountBank.class));
+        }
+
+        return allMonetaryAccountBank;
+    }
+
+    /**
+     * Creates cards linked to the given number of accounts, spread evenly so that lookups hit every position.
+     */
+    static List<Card> createAllCard(int count, int monetaryAccountCount) {
+        List<Card> allCard = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            allCard.add(gson.fromJson(createCardJson(i, i % monetaryAccountCount), Card.class));
+        }
+
+        return allCard;
+    }
+
+    /**
+     * Creates a payment listing body the way the API returns it: newest first, with an older_url when more remain.
+     */
+    static String createPaymentPageBody(int monetaryAccountId, int newestId, int count) {
+        JsonArray allItem = new JsonArray();
+        int oldestId = Math.max(newestId - count + 1, 1);
+
+        for (int id = newestId; id >= oldestId; id--) {
+            JsonObject item = new JsonObject();
+            item.add(WRAPPER_PAYMENT, createPaymentJson(id, monetaryAccountId));
+            allItem.add(item);
+        }
+
+        JsonObject pagination = new JsonObject();
+        pagination.add(FIELD_FUTURE_URL, null);
+        pagination.add(FIELD_NEWER_URL, null);
+
+        if (oldestId > 1) {
+            pagination.addProperty(FIELD_OLDER_URL, String.format(URL_OLDER_FORMAT, monetaryAccountId, count, oldestId));
+        } else {
+            pagination.add(FIELD_OLDER_URL, null);
+        }
+
+        JsonObject body = new JsonObject();
+        body.add(FIELD_RESPONSE, allItem);
+        body.add(FIELD_PAGINATION, pagination);
+
+        return gson.toJson(body);
+    }
+
+    /**
+     * Creates a print stream that drops everything, to point System.out at while measuring the renderers.
+     */
+    static PrintStream createDiscardingPrintStream() {
+        return new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                // Discard.
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                // Discard.
+            }
+        }, true);
+    }
+
+    private static JsonObject createAmountJson(String value) {
+        JsonObject amount = new JsonObject();
+        amount.addProperty("currency", CURRENCY);
+        amount.addProperty("value", value);
+
+        return amount;
+    }
+
+    private static JsonObject createPointerJson(String type, String value) {
+        JsonObject pointer = new JsonObject();
+        pointer.addProperty("type", type);
+        pointer.addProperty("value", value);
+        pointer.addProperty("name", String.format(DISPLAY_NAME_FORMAT, value.hashCode() & 0xff));
+
+        return pointer;
+    }
+
+    private static JsonObject createLabelMonetaryAccountJson(int index) {
+        JsonObject labelUser = new JsonObject();
+        labelUser.addProperty("uuid", String.format("00000000-0000-0000-0000-%012d", index));
+        labelUser.addProperty("display_name", String.format(DISPLAY_NAME_FORMAT, index));
+        labelUser.addProperty("public_nick_name", String.format(DISPLAY_NAME_FORMAT, index));
+
+        JsonObject label = new JsonObject();
+        label.addProperty("iban", createIban(index));
+        label.addProperty("display_name", String.format(DISPLAY_NAME_FORMAT, index));
+        label.add("label_user", labelUser);
+
+        return label;
+    }
+}
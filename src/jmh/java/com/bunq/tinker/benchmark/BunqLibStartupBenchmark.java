@@ -0,0 +1,67 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.context.ApiContext;
+import com.bunq.sdk.context.ApiEnvironmentType;
+import com.bunq.sdk.context.BunqContext;
+import com.bunq.tinker.libs.BunqLib;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time it takes to construct a BunqLib against the sandbox, which every tinker does before its first call.
+ *
+ * This one talks to bunq, so "gradle jmh" leaves it out; run it with "gradle jmh -Pbenchmark=BunqLibStartup" from a
+ * directory where bunq-sandbox.conf may be created. The first construction sets up a sandbox user when there is no
+ * configuration yet, the measured ones start from that configuration:
+ * - constructCold restores the context from the file and fetches the user, the way a new process starts.
+ * - constructLoaded reuses the context an earlier instance loaded, the way TinkerDaemon runs its commands.
+ * Neither waits for spending money anymore, so a user with an empty balance starts as fast as any other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+public class BunqLibStartupBenchmark {
+
+    private static final String FILE_NAME_BUNQ_CONF_SANDBOX = "bunq-sandbox.conf";
+
+    @Setup
+    public void setup() {
+        new BunqLib(ApiEnvironmentType.SANDBOX).updateContext();
+    }
+
+    /**
+     * Loads a context of its own before every construction, so BunqLib can not reuse the one it loaded before.
+     */
+    @State(Scope.Benchmark)
+    public static class ContextReplaced {
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            BunqContext.loadApiContext(ApiContext.restore(FILE_NAME_BUNQ_CONF_SANDBOX));
+        }
+    }
+
+    @Benchmark
+    public BunqLib constructCold(ContextReplaced contextReplaced) {
+        return new BunqLib(ApiEnvironmentType.SANDBOX);
+    }
+
+    @Benchmark
+    public BunqLib constructLoaded() {
+        return new BunqLib(ApiEnvironmentType.SANDBOX);
+    }
+}
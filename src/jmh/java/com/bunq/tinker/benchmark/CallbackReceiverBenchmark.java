@@ -0,0 +1,110 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.tinker.callback.CallbackReceiver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Callbacks per second a CallbackReceiver sustains on localhost, posted over keep-alive connections like bunq does.
+ * Every callback is about a new payment, so none of them is dropped as a duplicate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class CallbackReceiverBenchmark {
+
+    private static final String METHOD_POST = "POST";
+    private static final String HEADER_CONTENT_TYPE = "Content-Type";
+    private static final String CONTENT_TYPE_JSON = "application/json";
+    private static final String BODY_FORMAT = "{\"NotificationUrl\":{\"target_url\":\"https://example.com/callback\","
+            + "\"category\":\"MUTATION\",\"event_type\":\"MUTATION_CREATED\",\"object\":{\"Payment\":"
+            + "%s}}}";
+    private static final int HTTP_STATUS_OK = 200;
+
+    private final AtomicLong paymentIdCounter = new AtomicLong();
+    private final AtomicLong countHandled = new AtomicLong();
+    private CallbackReceiver receiver;
+    private URL url;
+
+    @Setup
+    public void setup() throws IOException {
+        receiver = new CallbackReceiver(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                null,
+                notification -> countHandled.incrementAndGet()
+        );
+        url = new URL(receiver.getUrl());
+    }
+
+    @TearDown
+    public void tearDown() {
+        receiver.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int postCallback() throws IOException {
+        return post();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int postCallbackConcurrent() throws IOException {
+        return post();
+    }
+
+    private int post() throws IOException {
+        int paymentId = (int) paymentIdCounter.incrementAndGet();
+        byte[] body = String.format(
+                BODY_FORMAT,
+                BenchmarkFixtures.createPaymentJson(paymentId, 1)
+        ).getBytes(StandardCharsets.UTF_8);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(METHOD_POST);
+        connection.setRequestProperty(HEADER_CONTENT_TYPE, CONTENT_TYPE_JSON);
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(body.length);
+
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(body);
+        }
+
+        int responseCode = connection.getResponseCode();
+
+        if (responseCode != HTTP_STATUS_OK) {
+            throw new IllegalStateException("Callback refused with " + responseCode);
+        }
+
+        try (InputStream input = connection.getInputStream()) {
+            while (input.read() != -1) {
+                // Drain the response, so the connection goes back to the keep-alive pool.
+            }
+        }
+
+        return responseCode;
+    }
+}
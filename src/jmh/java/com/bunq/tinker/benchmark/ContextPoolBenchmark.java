@@ -0,0 +1,88 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.tinker.libs.ContextPool;
+import com.bunq.tinker.libs.ContextUserApi;
+import com.bunq.tinker.libs.UserSummary;
+import com.bunq.tinker.mock.MockBunqClient;
+import com.bunq.tinker.mock.MockBunqDataset;
+import com.bunq.tinker.mock.MockBunqServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overview of N users fetched through a ContextPool of ContextUserApi, against a MockBunqServer on loopback with
+ * a bunq-like round-trip. Every ContextUserApi throttles and parses its requests like it does against bunq, only its
+ * requests go to the mock through a MockBunqClient instead of through the ApiClient of a context.
+ *
+ * An overview takes 4 GET requests, one more than bunq allows a user per window, so the GET limit is raised to keep
+ * a run short; the limit is per user, so users fetched at the same time do not slow each other down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dtinker.rate.get=30")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ContextPoolBenchmark {
+
+    /**
+     * Mock constants.
+     */
+    private static final int PORT_ANY = 0;
+    private static final int THREAD_COUNT = 32;
+    private static final int MONETARY_ACCOUNT_COUNT = 2;
+    private static final int ITEM_COUNT_PER_ACCOUNT = 50;
+    private static final int CARD_COUNT = 2;
+    private static final long SEED = 1;
+    private static final int LATENCY_MILLISECONDS = 5;
+    private static final double ERROR_RATE_NONE = 0.0;
+    private static final int PAYMENT_COUNT = 10;
+
+    @Param({"10", "100"})
+    public int userCount;
+
+    @Param({"1", "8"})
+    public int concurrency;
+
+    private MockBunqServer server;
+    private ContextPool pool;
+
+    @Setup
+    public void setup() {
+        MockBunqDataset dataset = new MockBunqDataset(MONETARY_ACCOUNT_COUNT, ITEM_COUNT_PER_ACCOUNT, CARD_COUNT, SEED);
+        server = new MockBunqServer(dataset, PORT_ANY, LATENCY_MILLISECONDS, ERROR_RATE_NONE, THREAD_COUNT);
+        List<ContextUserApi> allUserApi = new ArrayList<>();
+
+        for (int i = 0; i < userCount; i++) {
+            MockBunqClient client = new MockBunqClient(server.getBaseUrl(), dataset.getUserId());
+            allUserApi.add(new ContextUserApi(dataset.getUserId(), client::getBodyBytes));
+        }
+
+        pool = new ContextPool(allUserApi, concurrency);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+        server.close();
+    }
+
+    @Benchmark
+    public List<UserSummary> fetchAllUserSummary() {
+        return pool.runForAll(userApi -> UserSummary.fetch(userApi, PAYMENT_COUNT));
+    }
+}
@@ -0,0 +1,153 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.context.ApiEnvironmentType;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.tinker.MultiUserOverview;
+import com.bunq.tinker.libs.ContextPool;
+import com.bunq.tinker.libs.ContextUserApi;
+import com.bunq.tinker.libs.PageIterator;
+import com.bunq.tinker.libs.SnapshotWriter;
+import com.bunq.tinker.mock.MockBunqClient;
+import com.bunq.tinker.mock.MockBunqDataset;
+import com.bunq.tinker.mock.MockBunqServer;
+import com.bunq.tinker.utils.TinkerRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tinker commands from request to rendered output, against a MockBunqServer on loopback.
+ *
+ * The SDK, and so BunqLib, can not be pointed at the mock, so only the commands that do not go through BunqContext
+ * run here as they do for a user:
+ * - MultiUserOverview, fetching through ContextUserApi with its throttle and parser, whose requests go to the mock.
+ * - UserOverview on a snapshot of the mock account, run through TinkerRunner with its options like from the command
+ *   line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Dtinker.rate.get=30")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EndToEndBenchmark {
+
+    /**
+     * Mock constants.
+     */
+    private static final int PORT_ANY = 0;
+    private static final int THREAD_COUNT = 16;
+    private static final int CARD_COUNT = 2;
+    private static final long SEED = 1;
+    private static final double ERROR_RATE_NONE = 0.0;
+    private static final int PAGE_SIZE_MAXIMUM = 200;
+
+    /**
+     * Command constants.
+     */
+    private static final int USER_COUNT = 10;
+    private static final int CONCURRENCY = 4;
+    private static final String DIRECTORY_PREFIX = "tinker-end-to-end-benchmark";
+    private static final String FILE_NAME_SNAPSHOT = "bunq.snapshot";
+    private static final String COMMAND_USER_OVERVIEW = "UserOverview";
+    private static final String OPTION_SNAPSHOT_FILE = "--snapshot-file";
+    private static final String OPTION_ALL_ACCOUNTS = "--all-accounts";
+
+    @Param({"200", "2000"})
+    public int historySize;
+
+    @Param({"0", "5"})
+    public int latencyMilliseconds;
+
+    private MockBunqServer server;
+    private ContextPool pool;
+    private Path directory;
+    private Path snapshotFile;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setup() throws IOException {
+        MockBunqDataset dataset = new MockBunqDataset(1, historySize, CARD_COUNT, SEED);
+        server = new MockBunqServer(dataset, PORT_ANY, latencyMilliseconds, ERROR_RATE_NONE, THREAD_COUNT);
+        MockBunqClient client = new MockBunqClient(server.getBaseUrl(), dataset.getUserId());
+        List<ContextUserApi> allUserApi = new ArrayList<>();
+
+        for (int i = 0; i < USER_COUNT; i++) {
+            allUserApi.add(new ContextUserApi(dataset.getUserId(), client::getBodyBytes));
+        }
+
+        pool = new ContextPool(allUserApi, CONCURRENCY);
+        directory = Files.createTempDirectory(DIRECTORY_PREFIX);
+        snapshotFile = directory.resolve(FILE_NAME_SNAPSHOT);
+        writeSnapshot(client);
+
+        originalOut = System.out;
+        System.setOut(BenchmarkFixtures.createDiscardingPrintStream());
+    }
+
+    /**
+     * Saves the mock account the way SaveSnapshot saves an account of bunq.
+     */
+    private void writeSnapshot(MockBunqClient client) {
+        SnapshotWriter writer = new SnapshotWriter();
+        writer.setUser(client.getUserId(), client.getUserPerson().getDisplayName());
+
+        for (MonetaryAccountBank monetaryAccountBank : PageIterator.iterable(
+                client::listMonetaryAccountBank,
+                PAGE_SIZE_MAXIMUM
+        )) {
+            writer.addMonetaryAccountBank(
+                    monetaryAccountBank,
+                    PageIterator.iterable(
+                            urlParams -> client.listPayment(monetaryAccountBank.getId(), urlParams),
+                            PAGE_SIZE_MAXIMUM
+                    ),
+                    PageIterator.iterable(
+                            urlParams -> client.listRequestInquiry(monetaryAccountBank.getId(), urlParams),
+                            PAGE_SIZE_MAXIMUM
+                    )
+            );
+        }
+
+        writer.addAllCard(PageIterator.iterable(client::listCard, PAGE_SIZE_MAXIMUM));
+        writer.write(snapshotFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        pool.close();
+        server.close();
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void multiUserOverview() {
+        MultiUserOverview.printOverview(pool, ApiEnvironmentType.SANDBOX);
+    }
+
+    @Benchmark
+    public void userOverviewSnapshot() throws Exception {
+        TinkerRunner.runTinker(
+                new String[]{COMMAND_USER_OVERVIEW, OPTION_SNAPSHOT_FILE, snapshotFile.toString(), OPTION_ALL_ACCOUNTS}
+        );
+    }
+}
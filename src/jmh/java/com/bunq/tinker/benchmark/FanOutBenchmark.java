@@ -0,0 +1,75 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.tinker.libs.FanOut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetching the activity of several accounts one after the other compared to fanned out, with every call taking
+ * roughly a sandbox round-trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class FanOutBenchmark {
+
+    @Param({"8"})
+    public int monetaryAccountCount;
+
+    @Param({"20"})
+    public int latencyMilliseconds;
+
+    @Param({"1", "3", "8"})
+    public int concurrency;
+
+    private List<Integer> allMonetaryAccountId;
+    private FanOut fanOut;
+
+    @Setup
+    public void setup() {
+        allMonetaryAccountId = new ArrayList<>();
+
+        for (int i = 0; i < monetaryAccountCount; i++) {
+            allMonetaryAccountId.add(i);
+        }
+
+        fanOut = new FanOut(concurrency);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fanOut.close();
+    }
+
+    @Benchmark
+    public List<Integer> fetchAllActivity() {
+        return FanOut.joinAll(fanOut.submitAll(allMonetaryAccountId, this::fetchActivity));
+    }
+
+    private Integer fetchActivity(Integer monetaryAccountId) {
+        try {
+            Thread.sleep(latencyMilliseconds);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        return monetaryAccountId;
+    }
+}
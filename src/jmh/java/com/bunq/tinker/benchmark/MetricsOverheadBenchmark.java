@@ -0,0 +1,82 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.tinker.metrics.Counter;
+import com.bunq.tinker.metrics.Metrics;
+import com.bunq.tinker.metrics.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What timing a call costs on top of the call itself, next to the two System.nanoTime reads it cannot do without.
+ * ApiThrottle.call looks its timer up by endpoint name on every call, so that is measured as well; with 8 threads
+ * the same metric is recorded concurrently, like a FanOut over many users does. A call to bunq takes milliseconds,
+ * so anything in the order of tens of nanoseconds is lost in the noise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MetricsOverheadBenchmark {
+
+    /**
+     * Metric constants.
+     */
+    private static final String METRIC_TIMER = "benchmark_seconds";
+    private static final String METRIC_COUNTER = "benchmark_total";
+    private static final String LABEL_ENDPOINT = "endpoint";
+    private static final String ENDPOINT = "payment.list";
+
+    /**
+     * Thread constants.
+     */
+    private static final int THREAD_COUNT_CONTENDED = 8;
+
+    private final Timer timer = Metrics.timer(METRIC_TIMER, LABEL_ENDPOINT, ENDPOINT);
+    private final Counter counter = Metrics.counter(METRIC_COUNTER, LABEL_ENDPOINT, ENDPOINT);
+
+    @Benchmark
+    public long baseline() {
+        long started = System.nanoTime();
+
+        return System.nanoTime() - started;
+    }
+
+    @Benchmark
+    public void timerRecord() {
+        timer.recordSince(System.nanoTime());
+    }
+
+    @Benchmark
+    public void registryLookupAndRecord() {
+        Metrics.timer(METRIC_TIMER, LABEL_ENDPOINT, ENDPOINT).recordSince(System.nanoTime());
+    }
+
+    @Benchmark
+    public void counterIncrement() {
+        counter.increment();
+    }
+
+    @Benchmark
+    @Threads(THREAD_COUNT_CONTENDED)
+    public void timerRecordContended() {
+        timer.recordSince(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(THREAD_COUNT_CONTENDED)
+    public void registryLookupAndRecordContended() {
+        Metrics.timer(METRIC_TIMER, LABEL_ENDPOINT, ENDPOINT).recordSince(System.nanoTime());
+    }
+}
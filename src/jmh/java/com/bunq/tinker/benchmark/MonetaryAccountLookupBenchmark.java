@@ -0,0 +1,84 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.object.Pointer;
+import com.bunq.tinker.libs.BunqLib;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the account behind every card, which is what printing the card overview does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MonetaryAccountLookupBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int monetaryAccountCount;
+
+    @Param({"10", "1000"})
+    public int cardCount;
+
+    private List<MonetaryAccountBank> allMonetaryAccountBank;
+    private List<Card> allCard;
+
+    @Setup
+    public void setup() {
+        allMonetaryAccountBank = BenchmarkFixtures.createAllMonetaryAccountBank(monetaryAccountCount);
+        allCard = BenchmarkFixtures.createAllCard(cardCount, monetaryAccountCount);
+    }
+
+    @Benchmark
+    public void getMonetaryAccountBankFromLabel(Blackhole blackhole) {
+        for (Card card : allCard) {
+            blackhole.consume(
+                    BunqLib.getMonetaryAccountBankFromLabel(card.getLabelMonetaryAccountCurrent(), allMonetaryAccountBank)
+            );
+        }
+    }
+
+    /**
+     * Includes building the index, since it is built once per account listing.
+     */
+    @Benchmark
+    public void getMonetaryAccountBankFromLabelIndexed(Blackhole blackhole) {
+        Map<String, MonetaryAccountBank> allMonetaryAccountBankByIban =
+                BunqLib.indexAllMonetaryAccountBankByIban(allMonetaryAccountBank);
+
+        for (Card card : allCard) {
+            blackhole.consume(
+                    BunqLib.getMonetaryAccountBankFromLabel(
+                            card.getLabelMonetaryAccountCurrent(),
+                            allMonetaryAccountBankByIban
+                    )
+            );
+        }
+    }
+
+    @Benchmark
+    public void getPointerIbanForMonetaryAccountBank(Blackhole blackhole) {
+        for (MonetaryAccountBank monetaryAccountBank : allMonetaryAccountBank) {
+            Pointer pointerIban = BunqLib.getPointerIbanForMonetaryAccountBank(monetaryAccountBank);
+            blackhole.consume(pointerIban);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.tinker.libs.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and formatting a batch of amounts with Money against BigDecimal and double, the ways tinker used to.
+ * Run with "-prof gc" to see the allocation per amount next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MoneyBenchmark {
+
+    /**
+     * Amount constants.
+     */
+    private static final long SEED = 1;
+    private static final int CENTS_MAXIMUM = 1000000;
+    private static final int SCALE_CENTS = 2;
+    private static final double CENTS_PER_UNIT = 100.0;
+    private static final String AMOUNT_FORMAT = "%.2f";
+
+    @Param({"1000"})
+    public int amountCount;
+
+    private String[] allAmount;
+    private long[] allCents;
+    private final StringBuilder builder = new StringBuilder();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        allAmount = new String[amountCount];
+        allCents = new long[amountCount];
+
+        for (int i = 0; i < amountCount; i++) {
+            allCents[i] = random.nextInt(CENTS_MAXIMUM);
+            allAmount[i] = Money.format(allCents[i]);
+        }
+    }
+
+    @Benchmark
+    public long parseMoney() {
+        long total = 0;
+
+        for (String amount : allAmount) {
+            total += Money.parseCents(amount);
+        }
+
+        return total;
+    }
+
+    @Benchmark
+    public long parseBigDecimal() {
+        long total = 0;
+
+        for (String amount : allAmount) {
+            total += new BigDecimal(amount).setScale(SCALE_CENTS).unscaledValue().longValue();
+        }
+
+        return total;
+    }
+
+    @Benchmark
+    public long parseDouble() {
+        long total = 0;
+
+        for (String amount : allAmount) {
+            total += Math.round(Double.parseDouble(amount) * CENTS_PER_UNIT);
+        }
+
+        return total;
+    }
+
+    @Benchmark
+    public int formatMoney() {
+        int length = 0;
+
+        for (long cents : allCents) {
+            builder.setLength(0);
+            Money.appendTo(builder, cents);
+            length += builder.length();
+        }
+
+        return length;
+    }
+
+    @Benchmark
+    public int formatBigDecimal() {
+        int length = 0;
+
+        for (long cents : allCents) {
+            length += BigDecimal.valueOf(cents, SCALE_CENTS).toPlainString().length();
+        }
+
+        return length;
+    }
+
+    @Benchmark
+    public int formatDouble() {
+        int length = 0;
+
+        for (long cents : allCents) {
+            length += String.format(AMOUNT_FORMAT, cents / CENTS_PER_UNIT).length();
+        }
+
+        return length;
+    }
+}
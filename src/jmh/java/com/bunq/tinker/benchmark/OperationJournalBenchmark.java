@@ -0,0 +1,72 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.tinker.libs.OperationJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cost of journaling one operation durably, alone and with several threads sharing the group commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class OperationJournalBenchmark {
+
+    /**
+     * Journal constants.
+     */
+    private static final String KEY_FORMAT = "benchmark %d";
+    private static final String DETAIL_DONE = "1";
+
+    private final AtomicLong keyCounter = new AtomicLong();
+    private File journalFile;
+    private OperationJournal journal;
+
+    @Setup
+    public void setup() throws IOException {
+        journalFile = File.createTempFile("journal-benchmark", ".journal");
+        journal = OperationJournal.open(journalFile.getPath());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        journalFile.delete();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void beginAndMarkDone() {
+        journalOperation();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void beginAndMarkDoneConcurrent() {
+        journalOperation();
+    }
+
+    private void journalOperation() {
+        String key = String.format(KEY_FORMAT, keyCounter.incrementAndGet());
+        journal.begin(key);
+        journal.markDone(key, DETAIL_DONE);
+    }
+}
@@ -0,0 +1,95 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.tinker.libs.PageFetcher;
+import com.bunq.tinker.libs.PageIterator;
+import com.bunq.tinker.mock.MockBunqClient;
+import com.bunq.tinker.mock.MockBunqDataset;
+import com.bunq.tinker.mock.MockBunqServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Walking a payment history page by page compared to collecting it first, for growing history sizes.
+ * The pages come from a MockBunqServer on loopback, so every page is a real request that is parsed into new models.
+ * Run with "-prof gc": the allocation rate of iterating stays flat per payment while collecting grows with the
+ * history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PageIteratorBenchmark {
+
+    /**
+     * Pagination constants.
+     */
+    private static final int PAGE_SIZE = 200;
+
+    /**
+     * Mock constants.
+     */
+    private static final int PORT_ANY = 0;
+    private static final int THREAD_COUNT = 4;
+    private static final int LATENCY_NONE = 0;
+    private static final double ERROR_RATE_NONE = 0.0;
+    private static final int CARD_COUNT = 0;
+    private static final long SEED = 1;
+
+    @Param({"1000", "10000", "100000"})
+    public int historySize;
+
+    private MockBunqServer server;
+    private PageFetcher<Payment> paymentFetcher;
+
+    @Setup
+    public void setup() {
+        MockBunqDataset dataset = new MockBunqDataset(1, historySize, CARD_COUNT, SEED);
+        server = new MockBunqServer(dataset, PORT_ANY, LATENCY_NONE, ERROR_RATE_NONE, THREAD_COUNT);
+        MockBunqClient client = new MockBunqClient(server.getBaseUrl(), dataset.getUserId());
+        int monetaryAccountId = PageIterator.iterable(client::listMonetaryAccountBank, PAGE_SIZE).iterator().next()
+                .getId();
+
+        paymentFetcher = urlParams -> client.listPayment(monetaryAccountId, urlParams);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Payment payment : PageIterator.iterable(paymentFetcher, PAGE_SIZE)) {
+            blackhole.consume(payment);
+        }
+    }
+
+    @Benchmark
+    public List<Payment> collect() {
+        List<Payment> allPayment = new ArrayList<>();
+
+        for (Payment payment : PageIterator.iterable(paymentFetcher, PAGE_SIZE)) {
+            allPayment.add(payment);
+        }
+
+        return allPayment;
+    }
+}
@@ -0,0 +1,117 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.tinker.libs.PaymentColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spend per counterparty over the same payment history, kept as SDK objects against kept in PaymentColumns.
+ *
+ * The setup also prints how many bytes per payment each representation keeps on the heap, measured as the growth of
+ * the used heap after a full collection, next to what PaymentColumns.estimateSizeBytes() estimates. The columns are
+ * loaded and measured first, from payments that are garbage once they are loaded; the SDK objects are created again
+ * afterwards. That way neither measurement includes strings that the other representation is also holding on to.
+ * That is coarse, but at a million rows the difference is not subtle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PaymentColumnsBenchmark {
+
+    /**
+     * Heap constants.
+     */
+    private static final int GC_COUNT = 3;
+    private static final String FOOTPRINT_FORMAT =
+            "Retained bytes per payment: SDK objects %d, columns %d, columns estimated %d";
+
+    @Param({"1000000"})
+    public int paymentCount;
+
+    private List<Payment> allPayment;
+    private PaymentColumns columns;
+
+    @Setup
+    public void setup() {
+        long heapStart = determineHeapUsedBytes();
+        columns = new PaymentColumns();
+        columns.addAll(BenchmarkFixtures.createAllPaymentHistory(paymentCount));
+        long heapColumns = determineHeapUsedBytes();
+        allPayment = BenchmarkFixtures.createAllPaymentHistory(paymentCount);
+        long heapObjects = determineHeapUsedBytes();
+
+        System.out.println(
+                String.format(
+                        FOOTPRINT_FORMAT,
+                        (heapObjects - heapColumns) / paymentCount,
+                        (heapColumns - heapStart) / paymentCount,
+                        columns.estimateSizeBytes() / paymentCount
+                )
+        );
+    }
+
+    private static long determineHeapUsedBytes() {
+        Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < GC_COUNT; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> spendPerCounterpartyObjects() {
+        Map<String, BigDecimal> allSpendByCounterparty = new HashMap<>();
+
+        for (Payment payment : allPayment) {
+            BigDecimal amount = new BigDecimal(payment.getAmount().getValue());
+
+            if (amount.signum() < 0) {
+                allSpendByCounterparty.merge(
+                        payment.getCounterpartyAlias().getDisplayName(),
+                        amount.negate(),
+                        BigDecimal::add
+                );
+            } else {
+                // Incoming payment.
+            }
+        }
+
+        return allSpendByCounterparty;
+    }
+
+    @Benchmark
+    public List<PaymentColumns.Total> spendPerCounterpartyColumns() {
+        return columns.sumSpendPerCounterparty();
+    }
+
+    @Benchmark
+    public List<PaymentColumns.Total> spendPerMonthColumns() {
+        return columns.sumSpendPerMonth();
+    }
+
+    @Benchmark
+    public long spendColumns() {
+        return columns.sumSpend();
+    }
+}
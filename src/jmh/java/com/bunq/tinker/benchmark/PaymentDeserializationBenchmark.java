@@ -0,0 +1,47 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.http.BunqResponse;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.tinker.libs.BunqResponseParser;
+import com.bunq.tinker.mock.MockBunqDataset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning a payment listing body into models, from a single API page up to a full history in one body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PaymentDeserializationBenchmark {
+
+    @Param({"10", "200", "10000"})
+    public int paymentCount;
+
+    private String body;
+
+    @Setup
+    public void setup() {
+        body = BenchmarkFixtures.createPaymentPageBody(1, paymentCount, paymentCount);
+    }
+
+    @Benchmark
+    public BunqResponse<List<Payment>> parsePaymentPage() {
+        return BunqResponseParser.parseList(body, MockBunqDataset.WRAPPER_PAYMENT, Payment.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.tinker.libs.BoxRenderer;
+import com.bunq.tinker.libs.SharedLib;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payments rendered per second by the println printer SharedLib used to have, compared to the BoxRenderer.
+ * Both write to a stream that drops everything, so the difference is formatting and PrintStream overhead only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RendererThroughputBenchmark {
+
+    private static final int ENTITY_COUNT = 10000;
+    private static final String ECHO_PAYMENT = System.getProperty("line.separator") + "   Payments";
+
+    private List<Payment> allPayment;
+    private PrintStream output;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setup() {
+        allPayment = BenchmarkFixtures.createAllPayment(ENTITY_COUNT);
+        output = BenchmarkFixtures.createDiscardingPrintStream();
+        originalOut = System.out;
+        System.setOut(output);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITY_COUNT)
+    public void printlnPrinter() {
+        output.println(ECHO_PAYMENT);
+
+        for (Payment payment : allPayment) {
+            printPaymentWithPrintln(payment);
+            output.println();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITY_COUNT)
+    public void sharedLibPrinter() {
+        SharedLib.printAllPayment(allPayment);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITY_COUNT)
+    public void boxRendererStreaming() {
+        BoxRenderer renderer = new BoxRenderer(output);
+
+        for (Payment payment : allPayment) {
+            renderer.renderPayment(payment);
+        }
+
+        renderer.flush();
+    }
+
+    /**
+     * The printer as it was before the BoxRenderer, kept here as the baseline.
+     */
+    private void printPaymentWithPrintln(Payment payment) {
+        String currency = payment.getAmount().getCurrency();
+        String value = payment.getAmount().getValue();
+        String counterpartyDisplayName = payment.getCounterpartyAlias().getLabelUser().getDisplayName();
+
+        output.println("  ┌───────────────────┬────────────────────────────────────────────────────");
+        output.println("  │ ID                │ " + payment.getId());
+        output.println("  ├───────────────────┼────────────────────────────────────────────────────");
+        output.println("  │ Description       │ " + payment.getDescription());
+        output.println("  ├───────────────────┼────────────────────────────────────────────────────");
+        output.println("  │ Amount            │ " + currency + " " + value);
+        output.println("  ├───────────────────┼────────────────────────────────────────────────────");
+        output.println("  │ Recipient         │ " + counterpartyDisplayName);
+        output.println("  └───────────────────┴────────────────────────────────────────────────────");
+    }
+}
@@ -0,0 +1,130 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.tinker.libs.BatchEntry;
+import com.bunq.tinker.libs.BatchExecutor;
+import com.bunq.tinker.libs.BatchResultWriter;
+import com.bunq.tinker.libs.BatchSender;
+import com.bunq.tinker.libs.BatchSummary;
+import com.bunq.tinker.libs.OperationJournal;
+import com.bunq.tinker.libs.PageIterator;
+import com.bunq.tinker.mock.MockBunqClient;
+import com.bunq.tinker.mock.MockBunqDataset;
+import com.bunq.tinker.mock.MockBunqServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requesting money from thousands of recipients like "MakeRequest --batch-file" does, against a MockBunqServer on
+ * loopback. With invalidEvery set, one recipient in that many has an amount the mock refuses, so every batch holding
+ * one is rejected and its entries fall back to single requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RequestFanOutBenchmark {
+
+    /**
+     * Mock constants.
+     */
+    private static final int PORT_ANY = 0;
+    private static final int THREAD_COUNT = 16;
+    private static final int MONETARY_ACCOUNT_COUNT = 1;
+    private static final int ITEM_COUNT_PER_ACCOUNT = 0;
+    private static final int CARD_COUNT = 0;
+    private static final long SEED = 1;
+    private static final double ERROR_RATE_NONE = 0.0;
+    private static final int PAGE_SIZE = 10;
+
+    /**
+     * Recipient constants.
+     */
+    private static final String AMOUNT = "4.20";
+    private static final String AMOUNT_INVALID = "0.00";
+    private static final String RECIPIENT_FORMAT = "guest%d@example.com";
+    private static final String DESCRIPTION = "Benchmark event";
+    private static final String RUN_ID = "benchmark";
+
+    @Param({"5000"})
+    public int recipientCount;
+
+    @Param({"5"})
+    public int latencyMilliseconds;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    @Param({"1", "8"})
+    public int concurrency;
+
+    @Param({"0", "250"})
+    public int invalidEvery;
+
+    private MockBunqServer server;
+    private BatchSender sender;
+    private List<BatchEntry> allEntry;
+    private File resultFile;
+
+    @Setup
+    public void setup() throws IOException {
+        MockBunqDataset dataset = new MockBunqDataset(
+                MONETARY_ACCOUNT_COUNT,
+                ITEM_COUNT_PER_ACCOUNT,
+                CARD_COUNT,
+                SEED
+        );
+        server = new MockBunqServer(dataset, PORT_ANY, latencyMilliseconds, ERROR_RATE_NONE, THREAD_COUNT);
+        MockBunqClient client = new MockBunqClient(server.getBaseUrl(), dataset.getUserId());
+        Integer monetaryAccountId = null;
+
+        for (MonetaryAccountBank monetaryAccountBank : PageIterator.iterable(client::listMonetaryAccountBank, PAGE_SIZE)) {
+            monetaryAccountId = monetaryAccountBank.getId();
+        }
+
+        sender = client.createRequestInquirySender(monetaryAccountId);
+        allEntry = new ArrayList<>(recipientCount);
+
+        for (int i = 1; i <= recipientCount; i++) {
+            String amount = invalidEvery > 0 && i % invalidEvery == 0 ? AMOUNT_INVALID : AMOUNT;
+            allEntry.add(new BatchEntry(i, amount, String.format(RECIPIENT_FORMAT, i), DESCRIPTION));
+        }
+
+        resultFile = File.createTempFile("request-benchmark", ".result.csv");
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+        resultFile.delete();
+    }
+
+    @Benchmark
+    public BatchSummary execute() throws IOException {
+        try (
+                OperationJournal journal = OperationJournal.open(null);
+                BatchResultWriter resultWriter = new BatchResultWriter(resultFile.getPath())
+        ) {
+            return new BatchExecutor(sender, batchSize, concurrency, journal, RUN_ID)
+                    .execute(allEntry.iterator(), resultWriter);
+        }
+    }
+}
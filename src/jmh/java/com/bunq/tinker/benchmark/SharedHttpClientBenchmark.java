@@ -0,0 +1,84 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.tinker.libs.SharedHttpClient;
+import com.bunq.tinker.mock.MockBunqClient;
+import com.bunq.tinker.mock.MockBunqDataset;
+import com.bunq.tinker.mock.MockBunqServer;
+import okhttp3.OkHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single call to a MockBunqServer on loopback, through the shared client against a new client per call like
+ * generateNewSandboxUser used to do. Over TLS to bunq the gap is larger, as every new client also handshakes again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SharedHttpClientBenchmark {
+
+    /**
+     * Mock constants.
+     */
+    private static final int PORT_ANY = 0;
+    private static final int THREAD_COUNT = 4;
+    private static final int MONETARY_ACCOUNT_COUNT = 1;
+    private static final int ITEM_COUNT_PER_ACCOUNT = 0;
+    private static final int CARD_COUNT = 0;
+    private static final long SEED = 1;
+    private static final int LATENCY_NONE = 0;
+    private static final double ERROR_RATE_NONE = 0.0;
+
+    private MockBunqServer server;
+    private MockBunqClient clientShared;
+
+    @Setup
+    public void setup() {
+        MockBunqDataset dataset = new MockBunqDataset(
+                MONETARY_ACCOUNT_COUNT,
+                ITEM_COUNT_PER_ACCOUNT,
+                CARD_COUNT,
+                SEED
+        );
+        server = new MockBunqServer(dataset, PORT_ANY, LATENCY_NONE, ERROR_RATE_NONE, THREAD_COUNT);
+        clientShared = new MockBunqClient(server.getBaseUrl(), dataset.getUserId(), SharedHttpClient.get());
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public List<MonetaryAccountBank> callShared() {
+        return clientShared.listMonetaryAccountBank(Collections.emptyMap()).getValue();
+    }
+
+    @Benchmark
+    public List<MonetaryAccountBank> callNewClient() {
+        MockBunqClient client = new MockBunqClient(
+                server.getBaseUrl(),
+                server.getDataset().getUserId(),
+                new OkHttpClient()
+        );
+
+        return client.listMonetaryAccountBank(Collections.emptyMap()).getValue();
+    }
+}
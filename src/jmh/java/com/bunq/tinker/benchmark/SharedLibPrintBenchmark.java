@@ -0,0 +1,72 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.tinker.libs.SharedLib;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The renderers write straight to System.out, so it is pointed at a stream that drops everything while measuring.
+ * What is left is the cost of formatting and of the PrintStream itself, not of the terminal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SharedLibPrintBenchmark {
+
+    @Param({"100", "1000"})
+    public int itemCount;
+
+    private List<Payment> allPayment;
+    private List<MonetaryAccountBank> allMonetaryAccountBank;
+    private List<Card> allCard;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setup() {
+        allPayment = BenchmarkFixtures.createAllPayment(itemCount);
+        allMonetaryAccountBank = BenchmarkFixtures.createAllMonetaryAccountBank(itemCount);
+        allCard = BenchmarkFixtures.createAllCard(itemCount, itemCount);
+        originalOut = System.out;
+        System.setOut(BenchmarkFixtures.createDiscardingPrintStream());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void printAllPayment() {
+        SharedLib.printAllPayment(allPayment);
+    }
+
+    @Benchmark
+    public void printAllMonetaryAccountBank() {
+        SharedLib.printAllMonetaryAccountBank(allMonetaryAccountBank);
+    }
+
+    @Benchmark
+    public void printAllCard() {
+        SharedLib.printAllCard(allCard, allMonetaryAccountBank);
+    }
+}
@@ -0,0 +1,122 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.sdk.json.BunqGsonBuilder;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.tinker.libs.Money;
+import com.bunq.tinker.libs.SnapshotReader;
+import com.bunq.tinker.libs.SnapshotWriter;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Getting the spend of a saved payment history back: opening a snapshot and reading the amounts from the mapped file,
+ * against reading the same payments from one JSON object per line, the format of TransactionCache.
+ *
+ * Both files are written once per trial, so after the first iteration they come from the page cache; what is left is
+ * the cost of getting from bytes to amounts, not of the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SnapshotBenchmark {
+
+    /**
+     * File constants.
+     */
+    private static final String DIRECTORY_PREFIX = "tinker-snapshot-benchmark";
+    private static final String FILE_NAME_SNAPSHOT = "payments.snapshot";
+    private static final String FILE_NAME_NDJSON = "payments.ndjson";
+
+    @Param({"1000000"})
+    public int paymentCount;
+
+    private final Gson gson = BunqGsonBuilder.buildDefault().create();
+    private Path directory;
+    private Path snapshotFile;
+    private Path ndjsonFile;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory(DIRECTORY_PREFIX);
+        snapshotFile = directory.resolve(FILE_NAME_SNAPSHOT);
+        ndjsonFile = directory.resolve(FILE_NAME_NDJSON);
+
+        List<Payment> allPayment = BenchmarkFixtures.createAllPayment(paymentCount);
+        SnapshotWriter writer = new SnapshotWriter();
+        writer.addMonetaryAccountBank(
+                BenchmarkFixtures.createAllMonetaryAccountBank(1).get(0),
+                allPayment,
+                Collections.emptyList()
+        );
+        writer.write(snapshotFile);
+
+        try (Writer ndjsonWriter = Files.newBufferedWriter(ndjsonFile, StandardCharsets.UTF_8)) {
+            for (Payment payment : allPayment) {
+                ndjsonWriter.write(gson.toJson(payment));
+                ndjsonWriter.write('\n');
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(ndjsonFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public SnapshotReader openSnapshot() {
+        return SnapshotReader.open(snapshotFile);
+    }
+
+    @Benchmark
+    public long spendSnapshot() {
+        SnapshotReader snapshot = SnapshotReader.open(snapshotFile);
+        long spendCents = 0;
+
+        for (int i = 0; i < snapshot.getCountPayment(); i++) {
+            spendCents -= Math.min(snapshot.getPaymentAmountCents(i), 0);
+        }
+
+        return spendCents;
+    }
+
+    @Benchmark
+    public long spendNdjson() throws IOException {
+        long spendCents = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(ndjsonFile, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                Payment payment = gson.fromJson(line, Payment.class);
+                spendCents -= Math.min(Money.parseCents(payment.getAmount().getValue()), 0);
+            }
+        }
+
+        return spendCents;
+    }
+}
@@ -0,0 +1,196 @@
+package com.bunq.tinker.benchmark;
+
+import com.bunq.tinker.TinkerDaemon;
+import com.bunq.tinker.libs.SnapshotWriter;
+import com.bunq.tinker.utils.TinkerRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The latency of one tinker command before and after TinkerDaemon: started in a fresh JVM, the way scripts ran it
+ * before, against sent to a daemon that is already running. Sample time mode reports the p50 and p99 of both.
+ *
+ * The command is UserOverview on a snapshot, a real tinker that reads and renders an account with its payments
+ * without calling bunq, so the numbers hold the JVM start and class loading that the daemon saves, and not the
+ * latency of the sandbox. Against bunq a cold command also restores its context, which the daemon saves as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class TinkerDaemonBenchmark {
+
+    /**
+     * File constants.
+     */
+    private static final String DIRECTORY_PREFIX = "tinker-daemon-benchmark";
+    private static final String FILE_NAME_SNAPSHOT = "bunq.snapshot";
+
+    /**
+     * Command constants.
+     */
+    private static final String COMMAND = "UserOverview";
+    private static final String OPTION_SNAPSHOT_FILE = "--snapshot-file";
+    private static final String OPTION_PORT = "--port";
+    private static final String PROPERTY_JAVA_HOME = "java.home";
+    private static final String PROPERTY_CLASS_PATH = "java.class.path";
+    private static final String PATH_JAVA = "bin" + File.separator + "java";
+    private static final String OPTION_CLASS_PATH = "-cp";
+    private static final int EXIT_CODE_OK = 0;
+    private static final String STATUS_OK = "0";
+
+    private static final int PAYMENT_COUNT = 1000;
+    private static final int BUFFER_SIZE = 8192;
+
+    private Path directory;
+    private Path snapshotFile;
+    private int port;
+    private Thread daemonThread;
+
+    @Setup
+    public void setup() throws IOException, InterruptedException {
+        directory = Files.createTempDirectory(DIRECTORY_PREFIX);
+        snapshotFile = directory.resolve(FILE_NAME_SNAPSHOT);
+
+        SnapshotWriter writer = new SnapshotWriter();
+        writer.addMonetaryAccountBank(
+                BenchmarkFixtures.createAllMonetaryAccountBank(1).get(0),
+                BenchmarkFixtures.createAllPayment(PAYMENT_COUNT),
+                Collections.emptyList()
+        );
+        writer.write(snapshotFile);
+
+        try (ServerSocket socketFree = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socketFree.getLocalPort();
+        }
+
+        daemonThread = new Thread(() -> {
+            try {
+                new TinkerDaemon().run(new String[]{OPTION_PORT, String.valueOf(port)});
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        daemonThread.start();
+        awaitDaemon();
+    }
+
+    private void awaitDaemon() throws InterruptedException {
+        while (true) {
+            try (Socket ignored = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                // The daemon reads an empty request from this connection and answers it with an error status.
+                return;
+            } catch (IOException exception) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        send(TinkerDaemon.COMMAND_STOP);
+        daemonThread.join();
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int commandColdJvm() throws IOException, InterruptedException {
+        List<String> allArgument = Arrays.asList(
+                System.getProperty(PROPERTY_JAVA_HOME) + File.separator + PATH_JAVA,
+                OPTION_CLASS_PATH,
+                System.getProperty(PROPERTY_CLASS_PATH),
+                TinkerRunner.class.getName(),
+                COMMAND,
+                OPTION_SNAPSHOT_FILE,
+                snapshotFile.toString()
+        );
+        Process process = new ProcessBuilder(allArgument).redirectErrorStream(true).start();
+        int size = drain(process.getInputStream());
+
+        if (process.waitFor() != EXIT_CODE_OK) {
+            throw new IllegalStateException(COMMAND + " exited with " + process.exitValue());
+        }
+
+        return size;
+    }
+
+    @Benchmark
+    public int commandDaemon() throws IOException {
+        return send(
+                String.join(TinkerDaemon.ARGUMENT_SEPARATOR, COMMAND, OPTION_SNAPSHOT_FILE, snapshotFile.toString())
+        );
+    }
+
+    /**
+     * Sends a command the way TinkerClient does, without printing its output.
+     *
+     * @return The number of lines of output.
+     */
+    private int send(String command) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            writer.write(command + "\n");
+            writer.flush();
+
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)
+            );
+            int countLine = 0;
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith(TinkerDaemon.STATUS_PREFIX)) {
+                    if (STATUS_OK.equals(line.substring(TinkerDaemon.STATUS_PREFIX.length()).trim())) {
+                        return countLine;
+                    } else {
+                        throw new IllegalStateException(command + " failed with " + line);
+                    }
+                }
+
+                countLine++;
+            }
+
+            throw new IllegalStateException(command + " did not finish");
+        }
+    }
+
+    private static int drain(InputStream input) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int size = 0;
+
+        for (int count = input.read(buffer); count >= 0; count = input.read(buffer)) {
+            size += count;
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,474 @@
+package com.bunq.tinker.mock;
+
+import com.bunq.sdk.exception.BunqException;
+import com.bunq.sdk.exception.ExceptionFactory;
+import com.bunq.sdk.http.BunqResponse;
+import com.bunq.sdk.json.BunqGsonBuilder;
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.sdk.model.generated.endpoint.RequestInquiry;
+import com.bunq.sdk.model.generated.endpoint.UserPerson;
+import com.bunq.sdk.model.generated.object.Amount;
+import com.bunq.sdk.model.generated.object.NotificationFilterUrl;
+import com.bunq.sdk.model.generated.object.Pointer;
+import com.bunq.tinker.libs.BatchEntry;
+import com.bunq.tinker.libs.BatchSender;
+import com.bunq.tinker.libs.BunqResponseParser;
+import com.bunq.tinker.libs.OperationJournal;
+import com.bunq.tinker.libs.SharedHttpClient;
+import com.bunq.tinker.libs.UserApi;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Talks to a MockBunqServer and hands out the same SDK models the bunq SDK would, so the paging, batching and
+ * rendering code of the tinkers can run against the mock. The list methods fit PageFetcher and TransactionCache,
+ * e.g. "urlParams -> client.listPayment(monetaryAccountId, urlParams)".
+ */
+public class MockBunqClient implements UserApi {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_REACH_MOCK = "Could not reach the mock bunq server: %s";
+
+    /**
+     * Endpoint constants.
+     */
+    private static final String ENDPOINT_USER = "user/%d";
+    private static final String ENDPOINT_MONETARY_ACCOUNT_BANK = "user/%d/monetary-account-bank";
+    private static final String ENDPOINT_MONETARY_ACCOUNT_BANK_ITEM = "user/%d/monetary-account-bank/%d";
+    private static final String ENDPOINT_PAYMENT = "user/%d/monetary-account/%d/payment";
+    private static final String ENDPOINT_PAYMENT_BATCH = "user/%d/monetary-account/%d/payment-batch";
+    private static final String ENDPOINT_REQUEST_INQUIRY = "user/%d/monetary-account/%d/request-inquiry";
+    private static final String ENDPOINT_REQUEST_INQUIRY_BATCH = "user/%d/monetary-account/%d/request-inquiry-batch";
+    private static final String ENDPOINT_CARD = "user/%d/card";
+    private static final String ENDPOINT_CARD_ITEM = "user/%d/card/%d";
+    private static final String ENDPOINT_NOTIFICATION_FILTER_URL = "user/%d/notification-filter-url";
+
+    /**
+     * Http constants.
+     */
+    private static final int HTTP_STATUS_OK = 200;
+    private static final String HEADER_RESPONSE_ID = "X-Bunq-Client-Response-Id";
+    private static final MediaType MEDIA_TYPE_JSON = MediaType.parse("application/json");
+
+    /**
+     * Query constants.
+     */
+    private static final String QUERY_START = "?";
+    private static final String QUERY_SEPARATOR = "&";
+    private static final String QUERY_ASSIGNMENT = "=";
+
+    /**
+     * Json constants.
+     */
+    private static final String FIELD_RESPONSE = "Response";
+    private static final String FIELD_ERROR = "Error";
+    private static final String FIELD_ERROR_DESCRIPTION = "error_description";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_AMOUNT = "amount";
+    private static final String FIELD_AMOUNT_INQUIRED = "amount_inquired";
+    private static final String FIELD_COUNTERPARTY_ALIAS = "counterparty_alias";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_ALLOW_BUNQME = "allow_bunqme";
+    private static final String FIELD_PAYMENTS = "payments";
+    private static final String FIELD_REQUEST_INQUIRIES = "request_inquiries";
+    private static final String FIELD_PIN_CODE_ASSIGNMENT = "pin_code_assignment";
+    private static final String FIELD_MONETARY_ACCOUNT_ID = "monetary_account_id";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_VALUE = "value";
+    private static final String FIELD_CURRENCY = "currency";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_NOTIFICATION_FILTERS = "notification_filters";
+    private static final String FIELD_CATEGORY = "category";
+    private static final String FIELD_NOTIFICATION_TARGET = "notification_target";
+
+    /**
+     * Payment constants.
+     */
+    private static final String CURRENCY_EUR = "EUR";
+    private static final String POINTER_TYPE_EMAIL = "EMAIL";
+    private static final String PIN_CODE_ASSIGNMENT_PRIMARY = "PRIMARY";
+
+    private static final Gson gson = BunqGsonBuilder.buildDefault().create();
+
+    private final OkHttpClient client;
+    private final String baseUrl;
+    private final int userId;
+
+    /**
+     * @param baseUrl The base URL of the mock, as given by MockBunqServer.getBaseUrl.
+     */
+    public MockBunqClient(String baseUrl, int userId) {
+        this(baseUrl, userId, SharedHttpClient.get());
+    }
+
+    /**
+     * @param client The client to send requests with, e.g. one from SharedHttpClient.create to compare pool settings.
+     */
+    public MockBunqClient(String baseUrl, int userId, OkHttpClient client) {
+        this.baseUrl = baseUrl;
+        this.userId = userId;
+        this.client = client;
+    }
+
+    @Override
+    public int getUserId() {
+        return userId;
+    }
+
+    public UserPerson getUserPerson() {
+        return parseItem(get(String.format(ENDPOINT_USER, userId), Collections.emptyMap()), UserPerson.class);
+    }
+
+    @Override
+    public BunqResponse<List<MonetaryAccountBank>> listMonetaryAccountBank(Map<String, String> urlParams) {
+        return BunqResponseParser.parseList(
+                get(String.format(ENDPOINT_MONETARY_ACCOUNT_BANK, userId), urlParams),
+                MockBunqDataset.WRAPPER_MONETARY_ACCOUNT_BANK,
+                MonetaryAccountBank.class
+        );
+    }
+
+    public MonetaryAccountBank getMonetaryAccountBank(int monetaryAccountId) {
+        return parseItem(
+                get(String.format(ENDPOINT_MONETARY_ACCOUNT_BANK_ITEM, userId, monetaryAccountId), Collections.emptyMap()),
+                MonetaryAccountBank.class
+        );
+    }
+
+    public Integer updateMonetaryAccountBank(int monetaryAccountId, String description) {
+        JsonObject body = new JsonObject();
+        body.addProperty(FIELD_DESCRIPTION, description);
+
+        return parseId(put(String.format(ENDPOINT_MONETARY_ACCOUNT_BANK_ITEM, userId, monetaryAccountId), body));
+    }
+
+    @Override
+    public BunqResponse<List<Payment>> listPayment(int monetaryAccountId, Map<String, String> urlParams) {
+        return BunqResponseParser.parseList(
+                get(String.format(ENDPOINT_PAYMENT, userId, monetaryAccountId), urlParams),
+                MockBunqDataset.WRAPPER_PAYMENT,
+                Payment.class
+        );
+    }
+
+    public Integer createPayment(int monetaryAccountId, Amount amount, Pointer counterpartyAlias, String description) {
+        return parseId(
+                post(
+                        String.format(ENDPOINT_PAYMENT, userId, monetaryAccountId),
+                        createPaymentBody(amount, counterpartyAlias, description)
+                )
+        );
+    }
+
+    /**
+     * @return A sender for the batch engine, so batch files can be sent to the mock like MakePayment sends them.
+     */
+    public BatchSender createPaymentSender(int monetaryAccountId) {
+        return new BatchSender() {
+            @Override
+            public Integer sendBatch(List<BatchEntry> allEntry, String requestId) {
+                JsonArray allPayment = new JsonArray();
+
+                for (BatchEntry entry : allEntry) {
+                    allPayment.add(createPaymentBody(entry));
+                }
+
+                JsonObject body = new JsonObject();
+                body.add(FIELD_PAYMENTS, allPayment);
+
+                return parseId(
+                        post(String.format(ENDPOINT_PAYMENT_BATCH, userId, monetaryAccountId), body, requestId)
+                );
+            }
+
+            @Override
+            public Integer sendSingle(BatchEntry entry, String requestId) {
+                return parseId(
+                        post(
+                                String.format(ENDPOINT_PAYMENT, userId, monetaryAccountId),
+                                createPaymentBody(entry),
+                                requestId
+                        )
+                );
+            }
+        };
+    }
+
+    @Override
+    public BunqResponse<List<RequestInquiry>> listRequestInquiry(int monetaryAccountId, Map<String, String> urlParams) {
+        return BunqResponseParser.parseList(
+                get(String.format(ENDPOINT_REQUEST_INQUIRY, userId, monetaryAccountId), urlParams),
+                MockBunqDataset.WRAPPER_REQUEST_INQUIRY,
+                RequestInquiry.class
+        );
+    }
+
+    public Integer createRequestInquiry(
+            int monetaryAccountId,
+            Amount amountInquired,
+            Pointer counterpartyAlias,
+            String description
+    ) {
+        return parseId(
+                post(
+                        String.format(ENDPOINT_REQUEST_INQUIRY, userId, monetaryAccountId),
+                        createRequestInquiryBody(amountInquired, counterpartyAlias, description)
+                )
+        );
+    }
+
+    /**
+     * @return A sender for the batch engine, so recipient files can be sent to the mock like MakeRequest sends them.
+     */
+    public BatchSender createRequestInquirySender(int monetaryAccountId) {
+        return new BatchSender() {
+            @Override
+            public Integer sendBatch(List<BatchEntry> allEntry, String requestId) {
+                JsonArray allRequestInquiry = new JsonArray();
+
+                for (BatchEntry entry : allEntry) {
+                    allRequestInquiry.add(createRequestInquiryBody(entry));
+                }
+
+                JsonObject body = new JsonObject();
+                body.add(FIELD_REQUEST_INQUIRIES, allRequestInquiry);
+
+                return parseId(
+                        post(String.format(ENDPOINT_REQUEST_INQUIRY_BATCH, userId, monetaryAccountId), body, requestId)
+                );
+            }
+
+            @Override
+            public Integer sendSingle(BatchEntry entry, String requestId) {
+                return parseId(
+                        post(
+                                String.format(ENDPOINT_REQUEST_INQUIRY, userId, monetaryAccountId),
+                                createRequestInquiryBody(entry),
+                                requestId
+                        )
+                );
+            }
+        };
+    }
+
+    @Override
+    public BunqResponse<List<Card>> listCard(Map<String, String> urlParams) {
+        return BunqResponseParser.parseList(
+                get(String.format(ENDPOINT_CARD, userId), urlParams),
+                MockBunqDataset.WRAPPER_CARD,
+                Card.class
+        );
+    }
+
+    /**
+     * Makes the given account the primary account of the card, like LinkCard does.
+     */
+    public Card updateCard(int cardId, int monetaryAccountId) {
+        JsonObject assignment = new JsonObject();
+        assignment.addProperty(FIELD_TYPE, PIN_CODE_ASSIGNMENT_PRIMARY);
+        assignment.addProperty(FIELD_MONETARY_ACCOUNT_ID, monetaryAccountId);
+
+        JsonArray allAssignment = new JsonArray();
+        allAssignment.add(assignment);
+
+        JsonObject body = new JsonObject();
+        body.add(FIELD_PIN_CODE_ASSIGNMENT, allAssignment);
+
+        return parseItem(put(String.format(ENDPOINT_CARD_ITEM, userId, cardId), body), Card.class);
+    }
+
+    public List<NotificationFilterUrl> listNotificationFilterUrl() {
+        return BunqResponseParser.parseList(
+                get(String.format(ENDPOINT_NOTIFICATION_FILTER_URL, userId), Collections.emptyMap()),
+                MockBunqDataset.WRAPPER_NOTIFICATION_FILTER_URL,
+                NotificationFilterUrl.class
+        ).getValue();
+    }
+
+    /**
+     * Replaces all notification filters of the user.
+     */
+    public List<NotificationFilterUrl> createNotificationFilterUrl(List<NotificationFilterUrl> allNotificationFilter) {
+        JsonArray allFilter = new JsonArray();
+
+        for (NotificationFilterUrl notificationFilter : allNotificationFilter) {
+            JsonObject filter = new JsonObject();
+            filter.addProperty(FIELD_CATEGORY, notificationFilter.getCategory());
+            filter.addProperty(FIELD_NOTIFICATION_TARGET, notificationFilter.getNotificationTarget());
+            allFilter.add(filter);
+        }
+
+        JsonObject body = new JsonObject();
+        body.add(FIELD_NOTIFICATION_FILTERS, allFilter);
+
+        return BunqResponseParser.parseList(
+                post(String.format(ENDPOINT_NOTIFICATION_FILTER_URL, userId), body),
+                MockBunqDataset.WRAPPER_NOTIFICATION_FILTER_URL,
+                NotificationFilterUrl.class
+        ).getValue();
+    }
+
+    private static <T> T parseItem(String body, Class<T> modelClass) {
+        JsonObject item = new JsonParser().parse(body).getAsJsonObject()
+                .getAsJsonArray(FIELD_RESPONSE).get(0).getAsJsonObject();
+
+        return gson.fromJson(item.entrySet().iterator().next().getValue(), modelClass);
+    }
+
+    private static Integer parseId(String body) {
+        return new JsonParser().parse(body).getAsJsonObject()
+                .getAsJsonArray(FIELD_RESPONSE).get(0).getAsJsonObject()
+                .getAsJsonObject(MockBunqDataset.WRAPPER_ID).get(FIELD_ID).getAsInt();
+    }
+
+    private static JsonObject createPaymentBody(BatchEntry entry) {
+        return createPaymentBody(
+                new Amount(entry.getAmount(), CURRENCY_EUR),
+                new Pointer(POINTER_TYPE_EMAIL, entry.getRecipient()),
+                entry.getDescription()
+        );
+    }
+
+    private static JsonObject createPaymentBody(Amount amount, Pointer counterpartyAlias, String description) {
+        JsonObject body = new JsonObject();
+        body.add(FIELD_AMOUNT, createAmountJson(amount));
+        body.add(FIELD_COUNTERPARTY_ALIAS, createPointerJson(counterpartyAlias));
+        body.addProperty(FIELD_DESCRIPTION, description);
+
+        return body;
+    }
+
+    private static JsonObject createRequestInquiryBody(BatchEntry entry) {
+        return createRequestInquiryBody(
+                new Amount(entry.getAmount(), CURRENCY_EUR),
+                new Pointer(POINTER_TYPE_EMAIL, entry.getRecipient()),
+                entry.getDescription()
+        );
+    }
+
+    private static JsonObject createRequestInquiryBody(
+            Amount amountInquired,
+            Pointer counterpartyAlias,
+            String description
+    ) {
+        JsonObject body = new JsonObject();
+        body.add(FIELD_AMOUNT_INQUIRED, createAmountJson(amountInquired));
+        body.add(FIELD_COUNTERPARTY_ALIAS, createPointerJson(counterpartyAlias));
+        body.addProperty(FIELD_DESCRIPTION, description);
+        body.addProperty(FIELD_ALLOW_BUNQME, false);
+
+        return body;
+    }
+
+    private static JsonObject createAmountJson(Amount amount) {
+        JsonObject amountJson = new JsonObject();
+        amountJson.addProperty(FIELD_VALUE, amount.getValue());
+        amountJson.addProperty(FIELD_CURRENCY, amount.getCurrency());
+
+        return amountJson;
+    }
+
+    private static JsonObject createPointerJson(Pointer pointer) {
+        JsonObject pointerJson = new JsonObject();
+        pointerJson.addProperty(FIELD_TYPE, pointer.getType());
+        pointerJson.addProperty(FIELD_VALUE, pointer.getValue());
+        pointerJson.addProperty(FIELD_NAME, pointer.getName());
+
+        return pointerJson;
+    }
+
+    /**
+     * Fits ApiTransport, to send the requests of e.g. a ContextUserApi to the mock instead of to bunq.
+     */
+    public byte[] getBodyBytes(String endpoint, Map<String, String> urlParams) {
+        return get(endpoint, urlParams).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String get(String endpoint, Map<String, String> urlParams) {
+        StringBuilder url = new StringBuilder(baseUrl).append(endpoint);
+        String separator = QUERY_START;
+
+        for (Map.Entry<String, String> param : new TreeMap<>(urlParams).entrySet()) {
+            url.append(separator).append(param.getKey()).append(QUERY_ASSIGNMENT).append(param.getValue());
+            separator = QUERY_SEPARATOR;
+        }
+
+        return execute(new Request.Builder().url(url.toString()).get().build());
+    }
+
+    private String post(String endpoint, JsonObject body) {
+        return execute(
+                new Request.Builder()
+                        .url(baseUrl + endpoint)
+                        .post(RequestBody.create(MEDIA_TYPE_JSON, gson.toJson(body)))
+                        .build()
+        );
+    }
+
+    private String post(String endpoint, JsonObject body, String requestId) {
+        return execute(
+                new Request.Builder()
+                        .url(baseUrl + endpoint)
+                        .header(OperationJournal.HEADER_CLIENT_REQUEST_ID, requestId)
+                        .post(RequestBody.create(MEDIA_TYPE_JSON, gson.toJson(body)))
+                        .build()
+        );
+    }
+
+    private String put(String endpoint, JsonObject body) {
+        return execute(
+                new Request.Builder()
+                        .url(baseUrl + endpoint)
+                        .put(RequestBody.create(MEDIA_TYPE_JSON, gson.toJson(body)))
+                        .build()
+        );
+    }
+
+    /**
+     * Turns error responses into the same ApiException subclasses the SDK throws, so retry and fallback logic that
+     * looks at response codes behaves the same against the mock.
+     */
+    private String execute(Request request) {
+        try (Response response = client.newCall(request).execute()) {
+            String body = response.body().string();
+
+            if (response.code() == HTTP_STATUS_OK) {
+                return body;
+            }
+
+            List<String> allErrorDescription = new ArrayList<>();
+
+            for (JsonElement error : new JsonParser().parse(body).getAsJsonObject().getAsJsonArray(FIELD_ERROR)) {
+                allErrorDescription.add(error.getAsJsonObject().get(FIELD_ERROR_DESCRIPTION).getAsString());
+            }
+
+            throw ExceptionFactory.createExceptionForResponse(
+                    allErrorDescription,
+                    response.code(),
+                    response.header(HEADER_RESPONSE_ID)
+            );
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_REACH_MOCK, exception.getMessage()));
+        }
+    }
+}
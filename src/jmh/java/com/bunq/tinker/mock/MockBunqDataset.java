@@ -0,0 +1,666 @@
+package com.bunq.tinker.mock;
+
+import com.bunq.tinker.libs.Money;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The in-memory state behind MockBunqServer: one user with accounts, payments, requests, cards and notification
+ * filters, generated from a seed so every run starts from the same data. Objects are kept in the JSON shape bunq
+ * returns them in, ordered from old to new, and IDs are unique over all objects like they are at bunq.
+ */
+public class MockBunqDataset {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_FIELD_MISSING = "Field \"%s\" is missing.";
+    private static final String ERROR_AMOUNT_INVALID = "Amount \"%s\" is not a valid amount.";
+
+    /**
+     * Pagination constants.
+     */
+    private static final String PARAM_COUNT = "count";
+    private static final String PARAM_OLDER_ID = "older_id";
+    private static final String PARAM_NEWER_ID = "newer_id";
+    private static final String URL_PAGE_FORMAT = "%s?count=%d&%s=%d";
+    private static final int COUNT_DEFAULT = 10;
+    private static final int COUNT_MAXIMUM = 200;
+    private static final int ID_NONE = 0;
+
+    /**
+     * Json constants.
+     */
+    private static final String FIELD_RESPONSE = "Response";
+    private static final String FIELD_PAGINATION = "Pagination";
+    private static final String FIELD_OLDER_URL = "older_url";
+    private static final String FIELD_NEWER_URL = "newer_url";
+    private static final String FIELD_FUTURE_URL = "future_url";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_CREATED = "created";
+    private static final String FIELD_UPDATED = "updated";
+    private static final String FIELD_BATCH_ID = "batch_id";
+    private static final String FIELD_AMOUNT = "amount";
+    private static final String FIELD_AMOUNT_INQUIRED = "amount_inquired";
+    private static final String FIELD_VALUE = "value";
+    private static final String FIELD_CURRENCY = "currency";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_COUNTERPARTY_ALIAS = "counterparty_alias";
+    private static final String FIELD_PAYMENTS = "payments";
+    private static final String FIELD_REQUEST_INQUIRIES = "request_inquiries";
+    private static final String FIELD_BALANCE = "balance";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_PIN_CODE_ASSIGNMENT = "pin_code_assignment";
+    private static final String FIELD_MONETARY_ACCOUNT_ID = "monetary_account_id";
+    private static final String FIELD_LABEL_MONETARY_ACCOUNT_CURRENT = "label_monetary_account_current";
+    private static final String FIELD_NOTIFICATION_FILTERS = "notification_filters";
+    private static final String FIELD_ALIAS = "alias";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_API_KEY = "api_key";
+    private static final String FIELD_IBAN = "iban";
+    private static final String FIELD_DISPLAY_NAME = "display_name";
+    private static final String FIELD_LABEL_USER = "label_user";
+
+    /**
+     * Wrapper constants, the object names bunq wraps every item in.
+     */
+    public static final String WRAPPER_USER_PERSON = "UserPerson";
+    public static final String WRAPPER_MONETARY_ACCOUNT_BANK = "MonetaryAccountBank";
+    public static final String WRAPPER_PAYMENT = "Payment";
+    public static final String WRAPPER_REQUEST_INQUIRY = "RequestInquiry";
+    public static final String WRAPPER_CARD = "CardDebit";
+    public static final String WRAPPER_NOTIFICATION_FILTER_URL = "NotificationFilterUrl";
+    public static final String WRAPPER_ID = "Id";
+    public static final String WRAPPER_API_KEY = "ApiKey";
+
+    /**
+     * Fixture constants.
+     */
+    private static final String CURRENCY_EUR = "EUR";
+    private static final String POINTER_TYPE_IBAN = "IBAN";
+    private static final String POINTER_TYPE_EMAIL = "EMAIL";
+    private static final String POINTER_TYPE_PHONE = "PHONE_NUMBER";
+    private static final String STATUS_ACTIVE = "ACTIVE";
+    private static final String STATUS_PENDING = "PENDING";
+    private static final String STATUS_ACCEPTED = "ACCEPTED";
+    private static final String PAYMENT_TYPE_BUNQ = "BUNQ";
+    private static final String CARD_TYPE_MAESTRO = "MAESTRO";
+    private static final String PIN_CODE_ASSIGNMENT_PRIMARY = "PRIMARY";
+    private static final String TIMESTAMP = "2019-01-01 12:00:00.000000";
+    private static final String IBAN_FORMAT = "NL%02dBUNQ%010d";
+    private static final String UUID_FORMAT = "00000000-0000-0000-0000-%012d";
+    private static final String API_KEY_FORMAT = "sandbox_mock_%032x";
+    private static final String USER_DISPLAY_NAME = "Mock User";
+    private static final String USER_EMAIL = "mock-user@bunq.example";
+    private static final String USER_PHONE = "+31612345678";
+    private static final String ACCOUNT_DESCRIPTION_FORMAT = "Mock account %d";
+    private static final String PAYMENT_DESCRIPTION_FORMAT = "Mock payment %d";
+    private static final String REQUEST_DESCRIPTION_FORMAT = "Mock request %d";
+    private static final String COUNTERPARTY_DISPLAY_NAME_FORMAT = "Counterparty %d";
+    private static final String SPENDING_MONEY_RECIPIENT = "sugardaddy@bunq.com";
+    private static final int COUNTERPARTY_COUNT = 50;
+    private static final long BALANCE_INITIAL_CENTS = 50000;
+    private static final int AMOUNT_MAXIMUM_CENTS = 5000;
+
+    private final Random random;
+    private final int userId;
+    private final List<JsonObject> allMonetaryAccountBank = new ArrayList<>();
+    private final Map<Integer, Long> allBalanceCentsByMonetaryAccountId = new HashMap<>();
+    private final Map<Integer, List<JsonObject>> allPaymentByMonetaryAccountId = new HashMap<>();
+    private final Map<Integer, List<JsonObject>> allRequestByMonetaryAccountId = new HashMap<>();
+    private final List<JsonObject> allCard = new ArrayList<>();
+    private JsonArray allNotificationFilter = new JsonArray();
+    private int idLast = ID_NONE;
+
+    public MockBunqDataset(int monetaryAccountCount, int itemCountPerAccount, int cardCount, long seed) {
+        this.random = new Random(seed);
+        this.userId = nextId();
+
+        for (int i = 0; i < monetaryAccountCount; i++) {
+            int monetaryAccountId = nextId();
+            allMonetaryAccountBank.add(createMonetaryAccountBank(monetaryAccountId));
+            allBalanceCentsByMonetaryAccountId.put(monetaryAccountId, BALANCE_INITIAL_CENTS);
+            allPaymentByMonetaryAccountId.put(monetaryAccountId, new ArrayList<>());
+            allRequestByMonetaryAccountId.put(monetaryAccountId, new ArrayList<>());
+        }
+
+        for (int i = 0; i < itemCountPerAccount; i++) {
+            for (JsonObject monetaryAccountBank : allMonetaryAccountBank) {
+                int monetaryAccountId = monetaryAccountBank.get(FIELD_ID).getAsInt();
+                int counterparty = random.nextInt(COUNTERPARTY_COUNT);
+                long cents = 1 + random.nextInt(AMOUNT_MAXIMUM_CENTS);
+                long centsRequested = 1 + random.nextInt(AMOUNT_MAXIMUM_CENTS);
+
+                addPayment(monetaryAccountId, random.nextBoolean() ? -cents : cents, createLabel(counterparty), null, null);
+                addRequest(monetaryAccountId, centsRequested, createLabel(counterparty), null, null, STATUS_PENDING);
+            }
+        }
+
+        for (int i = 0; i < cardCount && !allMonetaryAccountBank.isEmpty(); i++) {
+            allCard.add(createCard(nextId(), allMonetaryAccountBank.get(i % allMonetaryAccountBank.size())));
+        }
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public synchronized JsonObject createSandboxUser() {
+        JsonObject apiKey = new JsonObject();
+        apiKey.addProperty(FIELD_API_KEY, String.format(API_KEY_FORMAT, random.nextLong()));
+
+        return createResponse(WRAPPER_API_KEY, apiKey);
+    }
+
+    public synchronized JsonObject getUser() {
+        JsonArray allAlias = new JsonArray();
+        allAlias.add(createPointer(POINTER_TYPE_EMAIL, USER_EMAIL, USER_DISPLAY_NAME));
+        allAlias.add(createPointer(POINTER_TYPE_PHONE, USER_PHONE, USER_DISPLAY_NAME));
+
+        JsonObject user = new JsonObject();
+        user.addProperty(FIELD_ID, userId);
+        user.addProperty(FIELD_CREATED, TIMESTAMP);
+        user.addProperty(FIELD_UPDATED, TIMESTAMP);
+        user.addProperty(FIELD_DISPLAY_NAME, USER_DISPLAY_NAME);
+        user.addProperty("public_nick_name", USER_DISPLAY_NAME);
+        user.addProperty("legal_name", USER_DISPLAY_NAME);
+        user.add(FIELD_ALIAS, allAlias);
+
+        return createResponse(WRAPPER_USER_PERSON, user);
+    }
+
+    public synchronized JsonObject listMonetaryAccountBank(String path, Map<String, String> allParam) {
+        return createPage(allMonetaryAccountBank, WRAPPER_MONETARY_ACCOUNT_BANK, path, allParam);
+    }
+
+    /**
+     * @return The response, or null when there is no such account.
+     */
+    public synchronized JsonObject getMonetaryAccountBank(int monetaryAccountId) {
+        JsonObject monetaryAccountBank = findMonetaryAccountBank(monetaryAccountId);
+
+        return monetaryAccountBank == null ? null : createResponse(WRAPPER_MONETARY_ACCOUNT_BANK, monetaryAccountBank);
+    }
+
+    public synchronized JsonObject updateMonetaryAccountBank(int monetaryAccountId, JsonObject body) {
+        JsonObject monetaryAccountBank = findMonetaryAccountBank(monetaryAccountId);
+
+        if (monetaryAccountBank == null) {
+            return null;
+        }
+
+        if (body.has(FIELD_DESCRIPTION)) {
+            monetaryAccountBank.addProperty(FIELD_DESCRIPTION, body.get(FIELD_DESCRIPTION).getAsString());
+        } else {
+            // Nothing else can be updated on the mock.
+        }
+
+        return createIdResponse(monetaryAccountId);
+    }
+
+    public synchronized JsonObject listPayment(int monetaryAccountId, String path, Map<String, String> allParam) {
+        List<JsonObject> allPayment = allPaymentByMonetaryAccountId.get(monetaryAccountId);
+
+        return allPayment == null ? null : createPage(allPayment, WRAPPER_PAYMENT, path, allParam);
+    }
+
+    public synchronized JsonObject createPayment(int monetaryAccountId, JsonObject body) {
+        if (findMonetaryAccountBank(monetaryAccountId) == null) {
+            return null;
+        }
+
+        return createIdResponse(addPaymentFromBody(monetaryAccountId, body, null));
+    }
+
+    /**
+     * Validates every payment before adding any, so a rejected batch leaves nothing behind like it does at bunq.
+     */
+    public synchronized JsonObject createPaymentBatch(int monetaryAccountId, JsonObject body) {
+        if (findMonetaryAccountBank(monetaryAccountId) == null) {
+            return null;
+        }
+
+        JsonArray allPayment = requireField(body, FIELD_PAYMENTS).getAsJsonArray();
+
+        for (JsonElement payment : allPayment) {
+            parseAmountCents(requireField(payment.getAsJsonObject(), FIELD_AMOUNT).getAsJsonObject());
+            requireField(payment.getAsJsonObject(), FIELD_COUNTERPARTY_ALIAS);
+        }
+
+        int batchId = nextId();
+
+        for (JsonElement payment : allPayment) {
+            addPaymentFromBody(monetaryAccountId, payment.getAsJsonObject(), batchId);
+        }
+
+        return createIdResponse(batchId);
+    }
+
+    public synchronized JsonObject listRequest(int monetaryAccountId, String path, Map<String, String> allParam) {
+        List<JsonObject> allRequest = allRequestByMonetaryAccountId.get(monetaryAccountId);
+
+        return allRequest == null ? null : createPage(allRequest, WRAPPER_REQUEST_INQUIRY, path, allParam);
+    }
+
+    public synchronized JsonObject createRequest(int monetaryAccountId, JsonObject body) {
+        if (findMonetaryAccountBank(monetaryAccountId) == null) {
+            return null;
+        }
+
+        return createIdResponse(addRequestFromBody(monetaryAccountId, body, null));
+    }
+
+    public synchronized JsonObject createRequestBatch(int monetaryAccountId, JsonObject body) {
+        if (findMonetaryAccountBank(monetaryAccountId) == null) {
+            return null;
+        }
+
+        JsonArray allRequest = requireField(body, FIELD_REQUEST_INQUIRIES).getAsJsonArray();
+
+        for (JsonElement request : allRequest) {
+            parseAmountCents(requireField(request.getAsJsonObject(), FIELD_AMOUNT_INQUIRED).getAsJsonObject());
+            requireField(request.getAsJsonObject(), FIELD_COUNTERPARTY_ALIAS);
+        }
+
+        int batchId = nextId();
+
+        for (JsonElement request : allRequest) {
+            addRequestFromBody(monetaryAccountId, request.getAsJsonObject(), batchId);
+        }
+
+        return createIdResponse(batchId);
+    }
+
+    public synchronized JsonObject listCard(String path, Map<String, String> allParam) {
+        return createPage(allCard, WRAPPER_CARD, path, allParam);
+    }
+
+    /**
+     * Links the card to the account of its primary pin code assignment.
+     */
+    public synchronized JsonObject updateCard(int cardId, JsonObject body) {
+        JsonObject card = null;
+
+        for (JsonObject candidate : allCard) {
+            if (candidate.get(FIELD_ID).getAsInt() == cardId) {
+                card = candidate;
+            }
+        }
+
+        if (card == null) {
+            return null;
+        }
+
+        if (body.has(FIELD_PIN_CODE_ASSIGNMENT)) {
+            for (JsonElement assignment : body.getAsJsonArray(FIELD_PIN_CODE_ASSIGNMENT)) {
+                int monetaryAccountId = requireField(assignment.getAsJsonObject(), FIELD_MONETARY_ACCOUNT_ID).getAsInt();
+                JsonObject monetaryAccountBank = findMonetaryAccountBank(monetaryAccountId);
+
+                if (monetaryAccountBank == null) {
+                    throw new IllegalArgumentException(String.format(ERROR_FIELD_MISSING, FIELD_MONETARY_ACCOUNT_ID));
+                }
+
+                card.add(FIELD_LABEL_MONETARY_ACCOUNT_CURRENT, createLabelForMonetaryAccountBank(monetaryAccountBank));
+                card.add(FIELD_PIN_CODE_ASSIGNMENT, body.getAsJsonArray(FIELD_PIN_CODE_ASSIGNMENT).deepCopy());
+            }
+        } else {
+            // Nothing else can be updated on the mock.
+        }
+
+        return createResponse(WRAPPER_CARD, card);
+    }
+
+    public synchronized JsonObject listNotificationFilter() {
+        JsonArray allItem = new JsonArray();
+
+        for (JsonElement notificationFilter : allNotificationFilter) {
+            JsonObject item = new JsonObject();
+            item.add(WRAPPER_NOTIFICATION_FILTER_URL, notificationFilter.deepCopy());
+            allItem.add(item);
+        }
+
+        JsonObject response = new JsonObject();
+        response.add(FIELD_RESPONSE, allItem);
+
+        return response;
+    }
+
+    /**
+     * Replaces all notification filters of the user, the way the notification-filter-url endpoint does.
+     */
+    public synchronized JsonObject createNotificationFilter(JsonObject body) {
+        allNotificationFilter = requireField(body, FIELD_NOTIFICATION_FILTERS).getAsJsonArray().deepCopy();
+
+        return listNotificationFilter();
+    }
+
+    private int nextId() {
+        return ++idLast;
+    }
+
+    private JsonObject findMonetaryAccountBank(int monetaryAccountId) {
+        for (JsonObject monetaryAccountBank : allMonetaryAccountBank) {
+            if (monetaryAccountBank.get(FIELD_ID).getAsInt() == monetaryAccountId) {
+                return monetaryAccountBank;
+            }
+        }
+
+        return null;
+    }
+
+    private int addPaymentFromBody(int monetaryAccountId, JsonObject body, Integer batchId) {
+        long cents = parseAmountCents(requireField(body, FIELD_AMOUNT).getAsJsonObject());
+        JsonObject counterparty = requireField(body, FIELD_COUNTERPARTY_ALIAS).getAsJsonObject();
+
+        return addPayment(monetaryAccountId, -cents, createLabelForPointer(counterparty), body, batchId);
+    }
+
+    private int addRequestFromBody(int monetaryAccountId, JsonObject body, Integer batchId) {
+        long cents = parseAmountCents(requireField(body, FIELD_AMOUNT_INQUIRED).getAsJsonObject());
+        JsonObject counterparty = requireField(body, FIELD_COUNTERPARTY_ALIAS).getAsJsonObject();
+        JsonObject label = createLabelForPointer(counterparty);
+
+        if (SPENDING_MONEY_RECIPIENT.equals(counterparty.get(FIELD_VALUE).getAsString())) {
+            addPayment(monetaryAccountId, cents, label, null, null);
+
+            return addRequest(monetaryAccountId, cents, label, body, batchId, STATUS_ACCEPTED);
+        } else {
+            return addRequest(monetaryAccountId, cents, label, body, batchId, STATUS_PENDING);
+        }
+    }
+
+    private int addPayment(int monetaryAccountId, long cents, JsonObject counterparty, JsonObject body, Integer batchId) {
+        int paymentId = nextId();
+        JsonObject monetaryAccountBank = findMonetaryAccountBank(monetaryAccountId);
+        JsonObject payment = new JsonObject();
+        payment.addProperty(FIELD_ID, paymentId);
+        payment.addProperty(FIELD_CREATED, TIMESTAMP);
+        payment.addProperty(FIELD_UPDATED, TIMESTAMP);
+        payment.addProperty(FIELD_MONETARY_ACCOUNT_ID, monetaryAccountId);
+        payment.add(FIELD_AMOUNT, createAmount(cents));
+        payment.addProperty(FIELD_DESCRIPTION, determineDescription(body, PAYMENT_DESCRIPTION_FORMAT, paymentId));
+        payment.addProperty(FIELD_TYPE, PAYMENT_TYPE_BUNQ);
+        payment.add(FIELD_ALIAS, createLabelForMonetaryAccountBank(monetaryAccountBank));
+        payment.add(FIELD_COUNTERPARTY_ALIAS, counterparty);
+        addBatchId(payment, batchId);
+
+        allPaymentByMonetaryAccountId.get(monetaryAccountId).add(payment);
+        long balanceCents = allBalanceCentsByMonetaryAccountId.merge(monetaryAccountId, cents, Long::sum);
+        monetaryAccountBank.add(FIELD_BALANCE, createAmount(balanceCents));
+
+        return paymentId;
+    }
+
+    private int addRequest(
+            int monetaryAccountId,
+            long cents,
+            JsonObject counterparty,
+            JsonObject body,
+            Integer batchId,
+            String status
+    ) {
+        int requestId = nextId();
+        JsonObject request = new JsonObject();
+        request.addProperty(FIELD_ID, requestId);
+        request.addProperty(FIELD_CREATED, TIMESTAMP);
+        request.addProperty(FIELD_UPDATED, TIMESTAMP);
+        request.addProperty(FIELD_MONETARY_ACCOUNT_ID, monetaryAccountId);
+        request.add(FIELD_AMOUNT_INQUIRED, createAmount(cents));
+        request.addProperty(FIELD_DESCRIPTION, determineDescription(body, REQUEST_DESCRIPTION_FORMAT, requestId));
+        request.addProperty(FIELD_STATUS, status);
+        request.add(FIELD_COUNTERPARTY_ALIAS, counterparty);
+        addBatchId(request, batchId);
+        allRequestByMonetaryAccountId.get(monetaryAccountId).add(request);
+
+        return requestId;
+    }
+
+    private static String determineDescription(JsonObject body, String descriptionDefaultFormat, int id) {
+        if (body != null && body.has(FIELD_DESCRIPTION)) {
+            return body.get(FIELD_DESCRIPTION).getAsString();
+        } else {
+            return String.format(descriptionDefaultFormat, id);
+        }
+    }
+
+    private static void addBatchId(JsonObject object, Integer batchId) {
+        if (batchId == null) {
+            // Not part of a batch.
+        } else {
+            object.addProperty(FIELD_BATCH_ID, batchId);
+        }
+    }
+
+    private JsonObject createMonetaryAccountBank(int monetaryAccountId) {
+        JsonArray allAlias = new JsonArray();
+        allAlias.add(createPointer(POINTER_TYPE_IBAN, createIban(monetaryAccountId), USER_DISPLAY_NAME));
+
+        JsonObject monetaryAccountBank = new JsonObject();
+        monetaryAccountBank.addProperty(FIELD_ID, monetaryAccountId);
+        monetaryAccountBank.addProperty(FIELD_CREATED, TIMESTAMP);
+        monetaryAccountBank.addProperty(FIELD_UPDATED, TIMESTAMP);
+        monetaryAccountBank.addProperty(FIELD_DESCRIPTION, String.format(ACCOUNT_DESCRIPTION_FORMAT, monetaryAccountId));
+        monetaryAccountBank.addProperty(FIELD_CURRENCY, CURRENCY_EUR);
+        monetaryAccountBank.addProperty(FIELD_STATUS, STATUS_ACTIVE);
+        monetaryAccountBank.addProperty("user_id", userId);
+        monetaryAccountBank.add(FIELD_BALANCE, createAmount(BALANCE_INITIAL_CENTS));
+        monetaryAccountBank.add(FIELD_ALIAS, allAlias);
+
+        return monetaryAccountBank;
+    }
+
+    private JsonObject createCard(int cardId, JsonObject monetaryAccountBank) {
+        JsonObject assignment = new JsonObject();
+        assignment.addProperty(FIELD_TYPE, PIN_CODE_ASSIGNMENT_PRIMARY);
+        assignment.addProperty(FIELD_MONETARY_ACCOUNT_ID, monetaryAccountBank.get(FIELD_ID).getAsInt());
+
+        JsonArray allAssignment = new JsonArray();
+        allAssignment.add(assignment);
+
+        JsonObject card = new JsonObject();
+        card.addProperty(FIELD_ID, cardId);
+        card.addProperty(FIELD_CREATED, TIMESTAMP);
+        card.addProperty(FIELD_UPDATED, TIMESTAMP);
+        card.addProperty(FIELD_TYPE, CARD_TYPE_MAESTRO);
+        card.addProperty(FIELD_STATUS, STATUS_ACTIVE);
+        card.addProperty("name_on_card", USER_DISPLAY_NAME);
+        card.addProperty("second_line", String.format("Mock card %d", cardId));
+        card.add(FIELD_LABEL_MONETARY_ACCOUNT_CURRENT, createLabelForMonetaryAccountBank(monetaryAccountBank));
+        card.add(FIELD_PIN_CODE_ASSIGNMENT, allAssignment);
+
+        return card;
+    }
+
+    private JsonObject createLabel(int counterparty) {
+        JsonObject labelUser = new JsonObject();
+        labelUser.addProperty("uuid", String.format(UUID_FORMAT, counterparty));
+        labelUser.addProperty(FIELD_DISPLAY_NAME, String.format(COUNTERPARTY_DISPLAY_NAME_FORMAT, counterparty));
+        labelUser.addProperty("public_nick_name", String.format(COUNTERPARTY_DISPLAY_NAME_FORMAT, counterparty));
+
+        JsonObject label = new JsonObject();
+        label.addProperty(FIELD_IBAN, String.format(IBAN_FORMAT, counterparty % 100, 1000000 + counterparty));
+        label.addProperty(FIELD_DISPLAY_NAME, String.format(COUNTERPARTY_DISPLAY_NAME_FORMAT, counterparty));
+        label.add(FIELD_LABEL_USER, labelUser);
+
+        return label;
+    }
+
+    private JsonObject createLabelForPointer(JsonObject pointer) {
+        JsonObject label = createLabel(Math.abs(pointer.get(FIELD_VALUE).getAsString().hashCode() % COUNTERPARTY_COUNT));
+
+        if (POINTER_TYPE_IBAN.equals(pointer.get(FIELD_TYPE).getAsString())) {
+            label.addProperty(FIELD_IBAN, pointer.get(FIELD_VALUE).getAsString());
+        } else {
+            // Only IBAN pointers tell which account the counterparty uses.
+        }
+
+        return label;
+    }
+
+    private JsonObject createLabelForMonetaryAccountBank(JsonObject monetaryAccountBank) {
+        int monetaryAccountId = monetaryAccountBank.get(FIELD_ID).getAsInt();
+        JsonObject label = createLabel(COUNTERPARTY_COUNT);
+        label.addProperty(FIELD_IBAN, createIban(monetaryAccountId));
+        label.addProperty(FIELD_DISPLAY_NAME, USER_DISPLAY_NAME);
+        label.getAsJsonObject(FIELD_LABEL_USER).addProperty(FIELD_DISPLAY_NAME, USER_DISPLAY_NAME);
+
+        return label;
+    }
+
+    private static String createIban(int monetaryAccountId) {
+        return String.format(IBAN_FORMAT, monetaryAccountId % 100, monetaryAccountId);
+    }
+
+    private static JsonObject createPointer(String type, String value, String name) {
+        JsonObject pointer = new JsonObject();
+        pointer.addProperty(FIELD_TYPE, type);
+        pointer.addProperty(FIELD_VALUE, value);
+        pointer.addProperty(FIELD_NAME, name);
+
+        return pointer;
+    }
+
+    private static JsonObject createAmount(long cents) {
+        JsonObject amount = new JsonObject();
+        amount.addProperty(FIELD_CURRENCY, CURRENCY_EUR);
+        amount.addProperty(FIELD_VALUE, Money.format(cents));
+
+        return amount;
+    }
+
+    private static long parseAmountCents(JsonObject amount) {
+        String value = requireField(amount, FIELD_VALUE).getAsString();
+
+        if (!Money.isValid(value)) {
+            throw new IllegalArgumentException(String.format(ERROR_AMOUNT_INVALID, value));
+        }
+
+        long cents = Money.parseCents(value);
+
+        if (cents <= 0) {
+            throw new IllegalArgumentException(String.format(ERROR_AMOUNT_INVALID, value));
+        }
+
+        return cents;
+    }
+
+    private static JsonElement requireField(JsonObject object, String field) {
+        JsonElement element = object.get(field);
+
+        if (element == null || element.isJsonNull()) {
+            throw new IllegalArgumentException(String.format(ERROR_FIELD_MISSING, field));
+        }
+
+        return element;
+    }
+
+    private static JsonObject createResponse(String wrapper, JsonObject object) {
+        JsonObject item = new JsonObject();
+        item.add(wrapper, object.deepCopy());
+
+        JsonArray allItem = new JsonArray();
+        allItem.add(item);
+
+        JsonObject response = new JsonObject();
+        response.add(FIELD_RESPONSE, allItem);
+
+        return response;
+    }
+
+    private static JsonObject createIdResponse(int id) {
+        JsonObject idObject = new JsonObject();
+        idObject.addProperty(FIELD_ID, id);
+
+        return createResponse(WRAPPER_ID, idObject);
+    }
+
+    /**
+     * Pages like bunq does: newest first, older_id walks back in time, newer_id walks forward and a future_url is
+     * handed out once the newest item was reached.
+     */
+    private static JsonObject createPage(
+            List<JsonObject> allObject,
+            String wrapper,
+            String path,
+            Map<String, String> allParam
+    ) {
+        int count = allParam.containsKey(PARAM_COUNT)
+                ? Math.min(Integer.parseInt(allParam.get(PARAM_COUNT)), COUNT_MAXIMUM)
+                : COUNT_DEFAULT;
+        int indexStart;
+        int indexEnd;
+
+        if (allParam.containsKey(PARAM_OLDER_ID)) {
+            indexEnd = determineIndexOfFirstIdFrom(allObject, Integer.parseInt(allParam.get(PARAM_OLDER_ID)));
+            indexStart = Math.max(indexEnd - count, 0);
+        } else if (allParam.containsKey(PARAM_NEWER_ID)) {
+            indexStart = determineIndexOfFirstIdFrom(allObject, Integer.parseInt(allParam.get(PARAM_NEWER_ID)) + 1);
+            indexEnd = Math.min(indexStart + count, allObject.size());
+        } else {
+            indexEnd = allObject.size();
+            indexStart = Math.max(indexEnd - count, 0);
+        }
+
+        List<JsonObject> allObjectOnPage = new ArrayList<>(allObject.subList(indexStart, indexEnd));
+        Collections.reverse(allObjectOnPage);
+
+        JsonArray allItem = new JsonArray();
+
+        for (JsonObject object : allObjectOnPage) {
+            JsonObject item = new JsonObject();
+            item.add(wrapper, object.deepCopy());
+            allItem.add(item);
+        }
+
+        JsonObject pagination = new JsonObject();
+
+        if (indexStart > 0 && indexStart < indexEnd) {
+            int idOldest = allObject.get(indexStart).get(FIELD_ID).getAsInt();
+            pagination.addProperty(FIELD_OLDER_URL, String.format(URL_PAGE_FORMAT, path, count, PARAM_OLDER_ID, idOldest));
+        } else {
+            // This page holds the oldest item.
+        }
+
+        int idNewest = indexEnd > indexStart
+                ? allObject.get(indexEnd - 1).get(FIELD_ID).getAsInt()
+                : allParam.containsKey(PARAM_NEWER_ID) ? Integer.parseInt(allParam.get(PARAM_NEWER_ID)) : ID_NONE;
+
+        if (indexEnd < allObject.size()) {
+            pagination.addProperty(FIELD_NEWER_URL, String.format(URL_PAGE_FORMAT, path, count, PARAM_NEWER_ID, idNewest));
+        } else {
+            pagination.addProperty(FIELD_FUTURE_URL, String.format(URL_PAGE_FORMAT, path, count, PARAM_NEWER_ID, idNewest));
+        }
+
+        JsonObject response = new JsonObject();
+        response.add(FIELD_RESPONSE, allItem);
+        response.add(FIELD_PAGINATION, pagination);
+
+        return response;
+    }
+
+    private static int determineIndexOfFirstIdFrom(List<JsonObject> allObject, int id) {
+        int low = 0;
+        int high = allObject.size();
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (allObject.get(middle).get(FIELD_ID).getAsInt() < id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
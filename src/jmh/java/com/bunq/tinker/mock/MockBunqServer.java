@@ -0,0 +1,370 @@
+package com.bunq.tinker.mock;
+
+import com.bunq.sdk.exception.BunqException;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A fake bunq API on loopback, serving a MockBunqDataset in the bunq wire format with injected latency and errors.
+ *
+ * It serves the sandbox user endpoint, the user, monetary accounts, payments, request inquiries, cards and
+ * notification filters. The installation, device and session endpoints are not served: the bunq SDK pins its base
+ * URL and the certificate of bunq, so neither the SDK nor BunqLib can be pointed here, and the API key the sandbox
+ * user endpoint hands out only works against this server. MockBunqClient talks to it in the shape of the SDK.
+ *
+ * This lives with the benchmarks, not in the tinker jar.
+ */
+public class MockBunqServer implements Closeable {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_START = "Could not start the mock bunq server: %s";
+    private static final String ERROR_NOT_FOUND = "Route not found.";
+    private static final String ERROR_METHOD_NOT_ALLOWED = "Method not allowed.";
+    private static final String ERROR_INJECTED_TOO_MANY_REQUESTS = "Too many requests. (injected by mock)";
+    private static final String ERROR_INJECTED_INTERNAL = "Internal error. (injected by mock)";
+    private static final String ERROR_BODY_INVALID = "Request body is not valid JSON.";
+
+    /**
+     * Http constants.
+     */
+    private static final int HTTP_STATUS_OK = 200;
+    private static final int HTTP_STATUS_BAD_REQUEST = 400;
+    private static final int HTTP_STATUS_NOT_FOUND = 404;
+    private static final int HTTP_STATUS_METHOD_NOT_ALLOWED = 405;
+    private static final int HTTP_STATUS_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_STATUS_INTERNAL_SERVER_ERROR = 500;
+    private static final String METHOD_GET = "GET";
+    private static final String METHOD_POST = "POST";
+    private static final String METHOD_PUT = "PUT";
+    private static final String HEADER_CONTENT_TYPE = "Content-Type";
+    private static final String HEADER_RESPONSE_ID = "X-Bunq-Client-Response-Id";
+    private static final String CONTENT_TYPE_JSON = "application/json";
+    private static final String URL_BASE_FORMAT = "http://%s:%d/v1/";
+    private static final int BACKLOG = 50;
+    private static final int STOP_DELAY_SECONDS = 0;
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Route constants.
+     */
+    private static final String PATH_ROOT = "/";
+    private static final Pattern PATTERN_SANDBOX_USER = Pattern.compile("/v1/sandbox-user(-person)?");
+    private static final Pattern PATTERN_USER = Pattern.compile("/v1/user(/(\\d+))?");
+    private static final Pattern PATTERN_USER_PREFIX = Pattern.compile("/v1/user/(\\d+)/");
+    private static final Pattern PATTERN_MONETARY_ACCOUNT_BANK =
+            Pattern.compile("/v1/user/(\\d+)/monetary-account-bank(/(\\d+))?");
+    private static final Pattern PATTERN_PAYMENT =
+            Pattern.compile("/v1/user/(\\d+)/monetary-account/(\\d+)/payment(-batch)?");
+    private static final Pattern PATTERN_REQUEST_INQUIRY =
+            Pattern.compile("/v1/user/(\\d+)/monetary-account/(\\d+)/request-inquiry(-batch)?");
+    private static final Pattern PATTERN_CARD = Pattern.compile("/v1/user/(\\d+)/card(/(\\d+))?");
+    private static final Pattern PATTERN_NOTIFICATION_FILTER = Pattern.compile("/v1/user/(\\d+)/notification-filter-url");
+    private static final int GROUP_USER_ID = 1;
+    private static final int GROUP_ITEM_ID = 2;
+    private static final int GROUP_ITEM_ID_NESTED = 3;
+    private static final int GROUP_BATCH = 3;
+
+    /**
+     * Query constants.
+     */
+    private static final String QUERY_SEPARATOR = "&";
+    private static final String QUERY_ASSIGNMENT = "=";
+
+    /**
+     * Json constants.
+     */
+    private static final String FIELD_ERROR = "Error";
+    private static final String FIELD_ERROR_DESCRIPTION = "error_description";
+    private static final String FIELD_ERROR_DESCRIPTION_TRANSLATED = "error_description_translated";
+
+    private final MockBunqDataset dataset;
+    private final int latencyMilliseconds;
+    private final double errorRate;
+    private final Random random;
+    private final Gson gson = new Gson();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final ExecutorService executor;
+    private final HttpServer server;
+
+    /**
+     * @param port                The port to listen on, 0 to pick a free one.
+     * @param latencyMilliseconds Delay added to every response, to approximate the round-trip to bunq.
+     * @param errorRate           Fraction of requests, between 0 and 1, that fail with a 429 or a 500 instead.
+     * @param threadCount         The number of requests handled at the same time.
+     */
+    public MockBunqServer(
+            MockBunqDataset dataset,
+            int port,
+            int latencyMilliseconds,
+            double errorRate,
+            int threadCount
+    ) {
+        this.dataset = dataset;
+        this.latencyMilliseconds = latencyMilliseconds;
+        this.errorRate = errorRate;
+        this.random = new Random(dataset.getUserId());
+        this.executor = Executors.newFixedThreadPool(threadCount);
+
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        } catch (IOException exception) {
+            executor.shutdownNow();
+
+            throw new BunqException(String.format(ERROR_COULD_NOT_START, exception.getMessage()));
+        }
+
+        this.server.createContext(PATH_ROOT, this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * @return The URL to put in front of endpoint paths, like "http://127.0.0.1:7891/v1/".
+     */
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+
+        return String.format(URL_BASE_FORMAT, address.getHostString(), address.getPort());
+    }
+
+    public MockBunqDataset getDataset() {
+        return dataset;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+
+        try {
+            simulateLatency();
+
+            if (random.nextDouble() < errorRate) {
+                if (random.nextBoolean()) {
+                    sendError(exchange, HTTP_STATUS_TOO_MANY_REQUESTS, ERROR_INJECTED_TOO_MANY_REQUESTS);
+                } else {
+                    sendError(exchange, HTTP_STATUS_INTERNAL_SERVER_ERROR, ERROR_INJECTED_INTERNAL);
+                }
+            } else {
+                JsonObject response = route(exchange);
+
+                if (response == null) {
+                    sendError(exchange, HTTP_STATUS_NOT_FOUND, ERROR_NOT_FOUND);
+                } else {
+                    send(exchange, HTTP_STATUS_OK, response);
+                }
+            }
+        } catch (MethodNotAllowedException exception) {
+            sendError(exchange, HTTP_STATUS_METHOD_NOT_ALLOWED, ERROR_METHOD_NOT_ALLOWED);
+        } catch (JsonSyntaxException | IllegalStateException exception) {
+            sendError(exchange, HTTP_STATUS_BAD_REQUEST, ERROR_BODY_INVALID);
+        } catch (IllegalArgumentException exception) {
+            sendError(exchange, HTTP_STATUS_BAD_REQUEST, exception.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return The response body, or null when nothing lives at the requested path.
+     */
+    private JsonObject route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> allParam = parseQuery(exchange.getRequestURI().getRawQuery());
+        Matcher matcher;
+
+        if ((matcher = PATTERN_SANDBOX_USER.matcher(path)).matches()) {
+            requireMethod(method, METHOD_POST);
+
+            return dataset.createSandboxUser();
+        } else if ((matcher = PATTERN_USER.matcher(path)).matches()) {
+            requireMethod(method, METHOD_GET);
+
+            return matcher.group(GROUP_ITEM_ID) == null || isUser(matcher.group(GROUP_ITEM_ID))
+                    ? dataset.getUser()
+                    : null;
+        } else if (!(matcher = PATTERN_USER_PREFIX.matcher(path)).lookingAt() || !isUser(matcher.group(GROUP_USER_ID))) {
+            return null;
+        } else if ((matcher = PATTERN_MONETARY_ACCOUNT_BANK.matcher(path)).matches()) {
+            if (matcher.group(GROUP_ITEM_ID_NESTED) == null) {
+                requireMethod(method, METHOD_GET);
+
+                return dataset.listMonetaryAccountBank(path, allParam);
+            } else if (METHOD_PUT.equals(method)) {
+                return dataset.updateMonetaryAccountBank(
+                        Integer.parseInt(matcher.group(GROUP_ITEM_ID_NESTED)),
+                        readBody(exchange)
+                );
+            } else {
+                requireMethod(method, METHOD_GET);
+
+                return dataset.getMonetaryAccountBank(Integer.parseInt(matcher.group(GROUP_ITEM_ID_NESTED)));
+            }
+        } else if ((matcher = PATTERN_PAYMENT.matcher(path)).matches()) {
+            int monetaryAccountId = Integer.parseInt(matcher.group(GROUP_ITEM_ID));
+
+            if (matcher.group(GROUP_BATCH) != null) {
+                requireMethod(method, METHOD_POST);
+
+                return dataset.createPaymentBatch(monetaryAccountId, readBody(exchange));
+            } else if (METHOD_POST.equals(method)) {
+                return dataset.createPayment(monetaryAccountId, readBody(exchange));
+            } else {
+                requireMethod(method, METHOD_GET);
+
+                return dataset.listPayment(monetaryAccountId, path, allParam);
+            }
+        } else if ((matcher = PATTERN_REQUEST_INQUIRY.matcher(path)).matches()) {
+            int monetaryAccountId = Integer.parseInt(matcher.group(GROUP_ITEM_ID));
+
+            if (matcher.group(GROUP_BATCH) != null) {
+                requireMethod(method, METHOD_POST);
+
+                return dataset.createRequestBatch(monetaryAccountId, readBody(exchange));
+            } else if (METHOD_POST.equals(method)) {
+                return dataset.createRequest(monetaryAccountId, readBody(exchange));
+            } else {
+                requireMethod(method, METHOD_GET);
+
+                return dataset.listRequest(monetaryAccountId, path, allParam);
+            }
+        } else if ((matcher = PATTERN_CARD.matcher(path)).matches()) {
+            if (matcher.group(GROUP_ITEM_ID_NESTED) == null) {
+                requireMethod(method, METHOD_GET);
+
+                return dataset.listCard(path, allParam);
+            } else {
+                requireMethod(method, METHOD_PUT);
+
+                return dataset.updateCard(Integer.parseInt(matcher.group(GROUP_ITEM_ID_NESTED)), readBody(exchange));
+            }
+        } else if (PATTERN_NOTIFICATION_FILTER.matcher(path).matches()) {
+            if (METHOD_POST.equals(method)) {
+                return dataset.createNotificationFilter(readBody(exchange));
+            } else {
+                requireMethod(method, METHOD_GET);
+
+                return dataset.listNotificationFilter();
+            }
+        } else {
+            return null;
+        }
+    }
+
+    private boolean isUser(String userId) {
+        return Integer.parseInt(userId) == dataset.getUserId();
+    }
+
+    private static void requireMethod(String method, String methodExpected) {
+        if (!methodExpected.equals(method)) {
+            throw new MethodNotAllowedException();
+        }
+    }
+
+    private void simulateLatency() {
+        if (latencyMilliseconds > 0) {
+            try {
+                Thread.sleep(latencyMilliseconds);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            // No latency to simulate.
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) throws IOException {
+        Map<String, String> allParam = new HashMap<>();
+
+        if (query == null || query.isEmpty()) {
+            return allParam;
+        }
+
+        for (String param : query.split(QUERY_SEPARATOR)) {
+            String[] keyAndValue = param.split(QUERY_ASSIGNMENT, 2);
+            allParam.put(
+                    URLDecoder.decode(keyAndValue[0], StandardCharsets.UTF_8.name()),
+                    keyAndValue.length > 1 ? URLDecoder.decode(keyAndValue[1], StandardCharsets.UTF_8.name()) : ""
+            );
+        }
+
+        return allParam;
+    }
+
+    private static JsonObject readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            for (int read = requestBody.read(buffer); read != -1; read = requestBody.read(buffer)) {
+                body.write(buffer, 0, read);
+            }
+        }
+
+        return new JsonParser().parse(new String(body.toByteArray(), StandardCharsets.UTF_8)).getAsJsonObject();
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty(FIELD_ERROR_DESCRIPTION, message);
+        error.addProperty(FIELD_ERROR_DESCRIPTION_TRANSLATED, message);
+
+        JsonArray allError = new JsonArray();
+        allError.add(error);
+
+        JsonObject response = new JsonObject();
+        response.add(FIELD_ERROR, allError);
+
+        send(exchange, status, response);
+    }
+
+    private void send(HttpExchange exchange, int status, JsonObject response) throws IOException {
+        byte[] body = gson.toJson(response).getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set(HEADER_CONTENT_TYPE, CONTENT_TYPE_JSON);
+        exchange.getResponseHeaders().set(HEADER_RESPONSE_ID, UUID.randomUUID().toString());
+        exchange.sendResponseHeaders(status, body.length);
+
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.shutdownNow();
+    }
+
+    private static class MethodNotAllowedException extends RuntimeException {
+    }
+}
@@ -4,22 +4,25 @@ import com.bunq.sdk.context.ApiEnvironmentType;
 import com.bunq.sdk.model.core.NotificationFilterUrlUserInternal;
 import com.bunq.sdk.model.generated.endpoint.NotificationFilterUrlUser;
 import com.bunq.sdk.model.generated.object.NotificationFilterUrl;
+import com.bunq.tinker.libs.ApiThrottle;
+import com.bunq.tinker.libs.BunqEndpoint;
 import com.bunq.tinker.libs.BunqLib;
+import com.bunq.tinker.libs.NotificationFilterDiff;
 import com.bunq.tinker.libs.SharedLib;
 import com.bunq.tinker.utils.ITinker;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.ParseException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Adds or, with --remove, removes callback URLs for notification categories, leaving all other filters as they are.
+ * Several URLs and categories can be given as comma separated lists, every URL gets every category.
+ */
 public class AddCallbackUrl implements ITinker {
 
-    /**
-     * Notification filter constants.
-     */
-    private static final String NOTIFICATION_CATEGORY_MUTATION = "MUTATION";
-
     /**
      * @param args
      *
@@ -33,33 +36,46 @@ public class AddCallbackUrl implements ITinker {
 
         BunqLib bunq = new BunqLib(environmentType);
 
-        String callbackUrl = SharedLib.determineCallbackUrlFromAllOptionOrStdIn(allOption);
+        List<String> allCallbackUrl = SharedLib.determineAllCallbackUrlFromAllOptionOrStdIn(allOption);
+        List<String> allCategory = SharedLib.determineAllCategoryFromAllOption(allOption);
+        boolean isRemove = SharedLib.determineRemoveFromAllOption(allOption);
 
         System.out.println();
-        System.out.println("  | Adding Callback URL:    " + callbackUrl);
+        System.out.println("  | " + (isRemove ? "Removing" : "Adding") + " Callback URLs:  " + allCallbackUrl);
+        System.out.println("  | For categories:         " + allCategory);
         System.out.println();
         System.out.println("    ...");
         System.out.println();
 
-        List<NotificationFilterUrlUser> allNotificationFilterCurrent = NotificationFilterUrlUser.list().getValue();
-        List<NotificationFilterUrl> allNotificationFilterUpdated = new ArrayList<>();
+        List<NotificationFilterUrl> allNotificationFilterGiven = new ArrayList<>();
 
-        for (NotificationFilterUrlUser notificationFilterUrlUser : allNotificationFilterCurrent) {
-            for (NotificationFilterUrl notificationFilterUrl : notificationFilterUrlUser.getNotificationFilters()) {
-                if (callbackUrl.equals(notificationFilterUrl.getNotificationTarget())) {
-                    allNotificationFilterUpdated.add(notificationFilterUrl);
-                }
+        for (String callbackUrl : allCallbackUrl) {
+            for (String category : allCategory) {
+                allNotificationFilterGiven.add(new NotificationFilterUrl(category, callbackUrl));
             }
         }
 
-        allNotificationFilterUpdated.add(
-                new NotificationFilterUrl(NOTIFICATION_CATEGORY_MUTATION, callbackUrl)
+        NotificationFilterDiff diff = NotificationFilterDiff.compute(
+                listAllNotificationFilterCurrent(),
+                isRemove ? Collections.emptyList() : allNotificationFilterGiven,
+                isRemove ? allNotificationFilterGiven : Collections.emptyList()
         );
 
-        NotificationFilterUrlUserInternal.createWithListResponse(allNotificationFilterUpdated);
+        if (diff.isChanged()) {
+            ApiThrottle.POST.call(
+                    BunqEndpoint.NOTIFICATION_FILTER_URL_CREATE,
+                    () -> NotificationFilterUrlUserInternal.createWithListResponse(diff.getAllFilterUpdated())
+            );
+        } else {
+            // Every filter is as requested already, skip the write.
+        }
 
         System.out.println();
-        System.out.println("  | ✅  Callback URL added");
+        System.out.println("  | " + (diff.isChanged() ? "✅  Callback URLs updated" : "✅  Callback URLs up to date"));
+        System.out.println();
+        System.out.println("  | Added:        " + diff.getCountAdded());
+        System.out.println("  | Removed:      " + diff.getCountRemoved());
+        System.out.println("  | Kept:         " + diff.getCountKept());
         System.out.println();
         System.out.println("  | ▶️  Check your changed overview");
         System.out.println();
@@ -67,4 +83,17 @@ public class AddCallbackUrl implements ITinker {
 
         bunq.updateContext();
     }
+
+    private static List<NotificationFilterUrl> listAllNotificationFilterCurrent() {
+        List<NotificationFilterUrl> allNotificationFilterCurrent = new ArrayList<>();
+
+        for (NotificationFilterUrlUser notificationFilterUrlUser : ApiThrottle.GET.call(
+                BunqEndpoint.NOTIFICATION_FILTER_URL_LIST,
+                () -> NotificationFilterUrlUser.list()
+        ).getValue()) {
+            allNotificationFilterCurrent.addAll(notificationFilterUrlUser.getNotificationFilters());
+        }
+
+        return allNotificationFilterCurrent;
+    }
 }
@@ -0,0 +1,269 @@
+package com.bunq.tinker;
+
+import com.bunq.sdk.context.ApiEnvironmentType;
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.tinker.libs.ApiThrottle;
+import com.bunq.tinker.libs.BunqEndpoint;
+import com.bunq.tinker.libs.BunqLib;
+import com.bunq.tinker.libs.DesiredState;
+import com.bunq.tinker.libs.DesiredStateDiff;
+import com.bunq.tinker.libs.FanOut;
+import com.bunq.tinker.libs.OperationJournal;
+import com.bunq.tinker.libs.SharedLib;
+import com.bunq.tinker.utils.ITinker;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renames accounts and relinks cards in bulk, to the state described in a plan file, see DesiredState.
+ *
+ * The current accounts and cards are fetched once, and only the ones that differ from the plan are written, in
+ * parallel within the PUT rate limit. Cards are only linked to accounts of the user that are active. Every write is
+ * journaled under the operation ID of the run and the account or card, so a run resumed with the same
+ * --operation-id skips what was written and a later run of the same plan is checked against the current state only.
+ */
+public class ApplyPlan implements ITinker {
+
+    /**
+     * Journal key constants.
+     */
+    private static final String JOURNAL_KEY_UPDATE_ACCOUNT = "apply-plan %s update-account %d";
+    private static final String JOURNAL_KEY_LINK_CARD = "apply-plan %s link-card %d";
+
+    /**
+     * Output constants.
+     */
+    private static final String PLAN_RENAME = "  | Rename account %d:  \"%s\" → \"%s\"";
+    private static final String PLAN_LINK = "  | Link card %d:       account %s → %d";
+    private static final String PLAN_MISSING_ACCOUNT = "  | ⚠️  Account %d not found or not active, skipped";
+    private static final String PLAN_MISSING_CARD = "  | ⚠️  Card %d not found, skipped";
+    private static final String PLAN_MISSING_CARD_ACCOUNT = "  | ⚠️  Card %d: account %d not active, skipped";
+    private static final String RESULT_RENAMED = "  | ✅  Account %d renamed";
+    private static final String RESULT_LINKED = "  | ✅  Card %d linked to account %d";
+    private static final String RESULT_SKIPPED = "  | ⏭  %s %d already done according to journal";
+    private static final String RESULT_FAILED = "  | ❌  %s %d failed: %s";
+    private static final String NAME_ACCOUNT = "Account";
+    private static final String NAME_CARD = "Card";
+
+    private final AtomicInteger countWritten = new AtomicInteger();
+    private final AtomicInteger countSkipped = new AtomicInteger();
+    private final AtomicInteger countFailed = new AtomicInteger();
+
+    /**
+     * @param args
+     *
+     * @throws ParseException
+     * @throws IOException
+     */
+    public void run(String[] args) throws ParseException, IOException {
+        CommandLine allOption = SharedLib.parseAllOption(args);
+        ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
+
+        SharedLib.printHeader();
+
+        BunqLib bunq = new BunqLib(environmentType);
+
+        String planFile = SharedLib.determinePlanFileFromAllOptionOrStdIn(allOption);
+        boolean isDryRun = SharedLib.determineDryRunFromAllOption(allOption);
+        String operationId = SharedLib.determineOperationIdFromAllOption(allOption);
+        long timeStart = System.nanoTime();
+
+        System.out.println();
+        System.out.println("  | Applying plan:  " + planFile + (isDryRun ? " (dry run)" : ""));
+        System.out.println("  | Operation:      " + operationId);
+        System.out.println();
+        System.out.println("    ...");
+        System.out.println();
+
+        DesiredState desiredState = DesiredState.read(planFile);
+        List<MonetaryAccountBank> allMonetaryAccountBank = new ArrayList<>();
+        List<Card> allCard = new ArrayList<>();
+
+        if (!desiredState.getAllDescriptionByMonetaryAccountId().isEmpty()
+                || !desiredState.getAllMonetaryAccountIdByCardId().isEmpty()) {
+            bunq.iterateAllMonetaryAccountBankActive().forEach(allMonetaryAccountBank::add);
+        } else {
+            // No accounts to rename or link cards to, no need to fetch them.
+        }
+
+        if (!desiredState.getAllMonetaryAccountIdByCardId().isEmpty()) {
+            bunq.iterateAllCard().forEach(allCard::add);
+        } else {
+            // No cards to link, no need to fetch them.
+        }
+
+        DesiredStateDiff diff = DesiredStateDiff.compute(allMonetaryAccountBank, allCard, desiredState);
+        printPlan(diff);
+
+        if (isDryRun || !diff.isChanged()) {
+            // Nothing to write.
+        } else {
+            applyAll(diff, allOption, operationId);
+        }
+
+        System.out.println();
+        System.out.println("  | " + (diff.isChanged() ? "✅  Plan applied" : "✅  Everything is as planned already"));
+        System.out.println();
+        System.out.println("  | Renames:      " + diff.getAllAccountRename().size());
+        System.out.println("  | Card links:   " + diff.getAllCardLink().size());
+        System.out.println("  | Written:      " + countWritten.get());
+        System.out.println("  | Avoided:      " + diff.getCountUnchanged() + " already as planned");
+        System.out.println("  | Skipped:      " + countSkipped.get());
+        System.out.println("  | Failed:       " + countFailed.get());
+        System.out.println(
+                "  | Missing:      " + (
+                        diff.getAllMonetaryAccountIdMissing().size()
+                                + diff.getAllCardIdMissing().size()
+                                + diff.getAllMonetaryAccountIdMissingByCardId().size()
+                )
+        );
+        System.out.println(
+                "  | Duration:     " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timeStart) + " ms"
+        );
+        System.out.println();
+        System.out.println("  | ▶️  Check your changed overview");
+        System.out.println();
+        System.out.println();
+
+        bunq.updateContext();
+    }
+
+    private static void printPlan(DesiredStateDiff diff) {
+        for (DesiredStateDiff.AccountRename rename : diff.getAllAccountRename()) {
+            System.out.println(
+                    String.format(
+                            PLAN_RENAME,
+                            rename.getMonetaryAccountId(),
+                            rename.getDescriptionCurrent(),
+                            rename.getDescriptionDesired()
+                    )
+            );
+        }
+
+        for (DesiredStateDiff.CardLink link : diff.getAllCardLink()) {
+            System.out.println(
+                    String.format(
+                            PLAN_LINK,
+                            link.getCardId(),
+                            link.getMonetaryAccountIdCurrent(),
+                            link.getMonetaryAccountIdDesired()
+                    )
+            );
+        }
+
+        for (Integer monetaryAccountId : diff.getAllMonetaryAccountIdMissing()) {
+            System.out.println(String.format(PLAN_MISSING_ACCOUNT, monetaryAccountId));
+        }
+
+        for (Integer cardId : diff.getAllCardIdMissing()) {
+            System.out.println(String.format(PLAN_MISSING_CARD, cardId));
+        }
+
+        for (Map.Entry<Integer, Integer> entry : diff.getAllMonetaryAccountIdMissingByCardId().entrySet()) {
+            System.out.println(String.format(PLAN_MISSING_CARD_ACCOUNT, entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private void applyAll(DesiredStateDiff diff, CommandLine allOption, String operationId) throws IOException {
+        List<String> allResult = new ArrayList<>();
+
+        System.out.println();
+
+        try (
+                OperationJournal journal = OperationJournal.open(SharedLib.determineJournalFileFromAllOption(allOption));
+                FanOut fanOut = new FanOut(SharedLib.determineConcurrencyFromAllOption(allOption))
+        ) {
+            allResult.addAll(
+                    FanOut.joinAll(
+                            fanOut.submitAll(diff.getAllAccountRename(), rename -> rename(journal, operationId, rename))
+                    )
+            );
+            allResult.addAll(
+                    FanOut.joinAll(fanOut.submitAll(diff.getAllCardLink(), link -> link(journal, operationId, link)))
+            );
+        }
+
+        for (String result : allResult) {
+            System.out.println(result);
+        }
+    }
+
+    private String rename(OperationJournal journal, String operationId, DesiredStateDiff.AccountRename rename) {
+        int monetaryAccountId = rename.getMonetaryAccountId();
+
+        try {
+            boolean isWritten = journal.execute(
+                    String.format(JOURNAL_KEY_UPDATE_ACCOUNT, operationId, monetaryAccountId),
+                    () -> ApiThrottle.PUT.call(
+                            BunqEndpoint.MONETARY_ACCOUNT_BANK_UPDATE,
+                            () -> MonetaryAccountBank.update(monetaryAccountId, rename.getDescriptionDesired())
+                    ).getValue()
+            );
+
+            return determineResult(
+                    isWritten,
+                    String.format(RESULT_RENAMED, monetaryAccountId),
+                    NAME_ACCOUNT,
+                    monetaryAccountId
+            );
+        } catch (RuntimeException exception) {
+            countFailed.incrementAndGet();
+
+            return String.format(RESULT_FAILED, NAME_ACCOUNT, monetaryAccountId, exception.getMessage());
+        }
+    }
+
+    private String link(OperationJournal journal, String operationId, DesiredStateDiff.CardLink link) {
+        int cardId = link.getCardId();
+
+        try {
+            boolean isWritten = journal.execute(
+                    String.format(JOURNAL_KEY_LINK_CARD, operationId, cardId),
+                    () -> ApiThrottle.PUT.call(
+                            BunqEndpoint.CARD_UPDATE,
+                            () -> Card.update(
+                                    cardId,
+                                    null, /* pinCode */
+                                    null, /* activationCode */
+                                    null, /* status */
+                                    null, /* cardLimit */
+                                    null, /* cardLimitAtm */
+                                    null, /* magStripePermissions */
+                                    link.getAllPinAssignmentDesired()
+                            )
+                    ).getValue().getId()
+            );
+
+            return determineResult(
+                    isWritten,
+                    String.format(RESULT_LINKED, cardId, link.getMonetaryAccountIdDesired()),
+                    NAME_CARD,
+                    cardId
+            );
+        } catch (RuntimeException exception) {
+            countFailed.incrementAndGet();
+
+            return String.format(RESULT_FAILED, NAME_CARD, cardId, exception.getMessage());
+        }
+    }
+
+    private String determineResult(boolean isWritten, String resultWritten, String name, int id) {
+        if (isWritten) {
+            countWritten.incrementAndGet();
+
+            return resultWritten;
+        } else {
+            countSkipped.incrementAndGet();
+
+            return String.format(RESULT_SKIPPED, name, id);
+        }
+    }
+}
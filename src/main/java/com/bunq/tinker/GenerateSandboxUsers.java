@@ -0,0 +1,104 @@
+package com.bunq.tinker;
+
+import com.bunq.sdk.context.ApiEnvironmentType;
+import com.bunq.sdk.exception.BunqException;
+import com.bunq.tinker.libs.FanOut;
+import com.bunq.tinker.libs.SandboxContextPool;
+import com.bunq.tinker.libs.SharedHttpClient;
+import com.bunq.tinker.libs.SharedLib;
+import com.bunq.tinker.utils.ITinker;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates many sandbox users at once, saving the configuration of each in the context directory, so
+ * MultiUserOverview and other multi-user tinkers can load them right away. Several users are set up at the same time,
+ * all of them over the connections of the shared HTTP client. Pointed at the sandbox pool directory, this fills the
+ * pool BunqLib leases new sandbox configurations from. Sandbox users only exist in the sandbox, so --production is
+ * refused.
+ */
+public class GenerateSandboxUsers implements ITinker {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_CREATE_DIRECTORY = "Could not create context directory \"%s\": %s";
+    private static final String ERROR_PRODUCTION =
+            "Sandbox users can only be generated in the sandbox, leave out --production.";
+
+    /**
+     * Default constants.
+     */
+    private static final int COUNT_DEFAULT = 10;
+
+    /**
+     * @param args
+     *
+     * @throws ParseException
+     */
+    public void run(String[] args) throws ParseException {
+        CommandLine allOption = SharedLib.parseAllOption(args);
+        ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
+
+        if (environmentType != ApiEnvironmentType.SANDBOX) {
+            throw new BunqException(ERROR_PRODUCTION);
+        }
+
+        int count = SharedLib.determineCountFromAllOption(allOption, COUNT_DEFAULT);
+        Path directory = Paths.get(SharedLib.determineContextDirectoryFromAllOption(allOption));
+
+        SharedLib.printHeader();
+        createDirectory(directory);
+
+        List<Integer> allIndex = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            allIndex.add(i);
+        }
+
+        long started = System.nanoTime();
+        int countFailed = 0;
+
+        System.out.println();
+
+        try (FanOut fanOut = new FanOut(SharedLib.determineConcurrencyFromAllOption(allOption))) {
+            for (Future<Path> future : fanOut.submitAll(allIndex, index -> SandboxContextPool.provision(directory))) {
+                try {
+                    System.out.println("  | Saved:        " + FanOut.join(future));
+                } catch (RuntimeException exception) {
+                    countFailed++;
+                    System.out.println("  | Failed:       " + exception.getMessage());
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println("  | Created:      " + (count - countFailed));
+        System.out.println("  | Failed:       " + countFailed);
+        System.out.println("  | Directory:    " + directory);
+        System.out.println("  | Connections:  " + SharedHttpClient.get().connectionPool().connectionCount());
+        System.out.println(
+                "  | Duration:     " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) + " ms"
+        );
+        System.out.println();
+    }
+
+    private static void createDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException exception) {
+            throw new BunqException(
+                    String.format(ERROR_COULD_NOT_CREATE_DIRECTORY, directory, exception.getMessage())
+            );
+        }
+    }
+}
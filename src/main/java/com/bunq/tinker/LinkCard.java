@@ -3,11 +3,16 @@ package com.bunq.tinker;
 import com.bunq.sdk.context.ApiEnvironmentType;
 import com.bunq.sdk.model.generated.endpoint.Card;
 import com.bunq.sdk.model.generated.object.CardPinAssignment;
+import com.bunq.tinker.libs.ApiThrottle;
+import com.bunq.tinker.libs.BunqEndpoint;
 import com.bunq.tinker.libs.BunqLib;
+import com.bunq.tinker.libs.OperationJournal;
 import com.bunq.tinker.libs.SharedLib;
 import com.bunq.tinker.utils.ITinker;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.ParseException;
+
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class LinkCard implements ITinker {
@@ -17,12 +22,18 @@ public class LinkCard implements ITinker {
      */
     private static final String CARD_PIN_ASSIGNMENT_TYPE_PRIMARY = "PRIMARY";
 
+    /**
+     * Journal key constants.
+     */
+    private static final String JOURNAL_KEY_LINK_CARD = "link-card %s";
+
     /**
      * @param args
      *
      * @throws ParseException
+     * @throws IOException
      */
-    public void run(String[] args) throws ParseException {
+    public void run(String[] args) throws ParseException, IOException {
         CommandLine allOption = SharedLib.parseAllOption(args);
         ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
         ArrayList<CardPinAssignment> allCardPinAssignment = new ArrayList<>();
@@ -33,6 +44,7 @@ public class LinkCard implements ITinker {
 
         String cardId = SharedLib.determineCardIdFromAllOptionOrStdIn(allOption);
         String accountId = SharedLib.determineAccountIdFromAllOptionOrStdIn(allOption);
+        String operationId = SharedLib.determineOperationIdFromAllOption(allOption);
 
         allCardPinAssignment.add(new CardPinAssignment(
             CARD_PIN_ASSIGNMENT_TYPE_PRIMARY,
@@ -43,27 +55,42 @@ public class LinkCard implements ITinker {
         System.out.println();
         System.out.println("  | Link Card:    " + cardId);
         System.out.println("  | To Account:   " + accountId);
+        System.out.println("  | Operation:    " + operationId);
         System.out.println();
         System.out.println("    ...");
         System.out.println();
 
-        Card.update(
-                Integer.parseInt(cardId),
-                null, /* pinCode */
-                null, /* activationCode */
-                null, /* status */
-                null, /* cardLimit */
-                null, /* cardLimitAtm */
-                null, /* magStripePermissions */
-                allCardPinAssignment
-        );
+        boolean isLinked;
 
-        System.out.println();
-        System.out.println("  | ✅  Account switched");
-        System.out.println();
-        System.out.println("  | ▶️  Check your changed overview");
-        System.out.println();
-        System.out.println();
+        try (OperationJournal journal = OperationJournal.open(SharedLib.determineJournalFileFromAllOption(allOption))) {
+            isLinked = journal.execute(
+                    String.format(JOURNAL_KEY_LINK_CARD, operationId),
+                    () -> ApiThrottle.PUT.call(
+                            BunqEndpoint.CARD_UPDATE,
+                            () -> Card.update(
+                                    Integer.parseInt(cardId),
+                                    null, /* pinCode */
+                                    null, /* activationCode */
+                                    null, /* status */
+                                    null, /* cardLimit */
+                                    null, /* cardLimitAtm */
+                                    null, /* magStripePermissions */
+                                    allCardPinAssignment
+                            )
+                    ).getValue().getId()
+            );
+        }
+
+        if (isLinked) {
+            System.out.println();
+            System.out.println("  | ✅  Account switched");
+            System.out.println();
+            System.out.println("  | ▶️  Check your changed overview");
+            System.out.println();
+            System.out.println();
+        } else {
+            SharedLib.printSkippedByJournal(SharedLib.determineJournalFileFromAllOption(allOption));
+        }
 
         bunq.updateContext();
     }
@@ -2,14 +2,31 @@ package com.bunq.tinker;
 
 import com.bunq.sdk.context.ApiEnvironmentType;
 import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.sdk.model.generated.endpoint.PaymentBatch;
 import com.bunq.sdk.model.generated.object.Amount;
+import com.bunq.sdk.model.generated.object.AttachmentMonetaryAccountPayment;
 import com.bunq.sdk.model.generated.object.Pointer;
+import com.bunq.tinker.libs.ApiThrottle;
+import com.bunq.tinker.libs.BunqEndpoint;
+import com.bunq.tinker.libs.BatchEntry;
+import com.bunq.tinker.libs.BatchExecutor;
+import com.bunq.tinker.libs.BatchFileReader;
+import com.bunq.tinker.libs.BatchResultWriter;
+import com.bunq.tinker.libs.BatchSender;
+import com.bunq.tinker.libs.BatchSummary;
 import com.bunq.tinker.libs.BunqLib;
+import com.bunq.tinker.libs.OperationJournal;
 import com.bunq.tinker.libs.SharedLib;
 import com.bunq.tinker.utils.ITinker;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.ParseException;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 public class MakePayment implements ITinker {
 
     /**
@@ -18,12 +35,31 @@ public class MakePayment implements ITinker {
     private static final String CURRENCY_EURO = "EUR";
     private static final String POINTER_TYPE_EMAIL = "EMAIL";
 
+    /**
+     * Batch constants.
+     */
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * Optional create arguments, left to the SDK defaults.
+     */
+    private static final Integer MONETARY_ACCOUNT_ID_PRIMARY = null;
+    private static final List<AttachmentMonetaryAccountPayment> ALL_ATTACHMENT_NONE = null;
+    private static final String MERCHANT_REFERENCE_NONE = null;
+    private static final Boolean ALLOW_BUNQTO_DEFAULT = null;
+
+    /**
+     * Journal key constants.
+     */
+    private static final String JOURNAL_KEY_PAYMENT = "payment %s";
+
     /**
      * @param args
      *
      * @throws ParseException
+     * @throws IOException
      */
-    public void run(String[] args) throws ParseException {
+    public void run(String[] args) throws ParseException, IOException {
         CommandLine allOption = SharedLib.parseAllOption(args);
         ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
 
@@ -31,27 +67,137 @@ public class MakePayment implements ITinker {
 
         BunqLib bunq = new BunqLib(environmentType);
 
+        if (SharedLib.determineBatchFileFromAllOption(allOption) != null) {
+            bunq.awaitSpendingMoney();
+            runBatch(allOption);
+            bunq.updateContext();
+
+            return;
+        }
+
         String amount = SharedLib.determineAmountFromAllOptionOrStdIn(allOption);
         String description = SharedLib.determineDescriptionFromAllOptionOrStdIn(allOption);
         String recipient = SharedLib.determineRecipientFromAllOptionOrStdIn(allOption);
+        String operationId = SharedLib.determineOperationIdFromAllOption(allOption);
 
         System.out.println();
         System.out.println("  | Sending:      € " + amount);
         System.out.println("  | To:           " + recipient);
         System.out.println("  | Description:  " + description);
+        System.out.println("  | Operation:    " + operationId);
         System.out.println();
         System.out.println("    ...");
         System.out.println();
 
-        Payment.create(new Amount(amount, CURRENCY_EURO), new Pointer(POINTER_TYPE_EMAIL, recipient), description);
+        bunq.awaitSpendingMoney();
+
+        boolean isSent;
+
+        try (OperationJournal journal = OperationJournal.open(SharedLib.determineJournalFileFromAllOption(allOption))) {
+            isSent = journal.execute(
+                    String.format(JOURNAL_KEY_PAYMENT, operationId),
+                    requestId -> createPayment(amount, recipient, description, requestId)
+            );
+        }
+
+        if (isSent) {
+            System.out.println();
+            System.out.println("  | ✅  Payment sent");
+            System.out.println();
+            System.out.println("  | ▶️  Check your changed overview");
+            System.out.println();
+            System.out.println();
+        } else {
+            SharedLib.printSkippedByJournal(SharedLib.determineJournalFileFromAllOption(allOption));
+        }
+
+        bunq.updateContext();
+    }
+
+    private void runBatch(CommandLine allOption) throws IOException {
+        String batchFile = SharedLib.determineBatchFileFromAllOption(allOption);
+        String resultFile = SharedLib.determineResultFileFromAllOption(allOption);
 
         System.out.println();
-        System.out.println("  | ✅  Payment sent");
-        System.out.println();
-        System.out.println("  | ▶️  Check your changed overview");
-        System.out.println();
+        System.out.println("  | Sending payments from:  " + batchFile);
         System.out.println();
+        System.out.println("    ...");
 
-        bunq.updateContext();
+        BatchSummary summary;
+
+        try (
+                OperationJournal journal = OperationJournal.open(
+                        SharedLib.determineBatchJournalFileFromAllOption(allOption)
+                );
+                BatchFileReader reader = new BatchFileReader(batchFile);
+                BatchResultWriter resultWriter = new BatchResultWriter(resultFile)
+        ) {
+            BatchExecutor executor = new BatchExecutor(
+                    new PaymentSender(),
+                    BATCH_SIZE,
+                    SharedLib.determineConcurrencyFromAllOption(allOption),
+                    journal,
+                    SharedLib.determineBatchRunIdFromAllOption(allOption)
+            );
+            summary = executor.execute(reader, resultWriter);
+        }
+
+        SharedLib.printBatchSummary(summary, resultFile);
+    }
+
+    /**
+     * Sends the client request ID of the journal along, so bunq can tell a resent payment from a new one.
+     */
+    private static Integer createPayment(String amount, String recipient, String description, String requestId) {
+        return ApiThrottle.POST.call(
+                BunqEndpoint.PAYMENT_CREATE,
+                () -> Payment.create(
+                        new Amount(amount, CURRENCY_EURO),
+                        new Pointer(POINTER_TYPE_EMAIL, recipient),
+                        description,
+                        MONETARY_ACCOUNT_ID_PRIMARY,
+                        ALL_ATTACHMENT_NONE,
+                        MERCHANT_REFERENCE_NONE,
+                        ALLOW_BUNQTO_DEFAULT,
+                        createAllCustomHeader(requestId)
+                )
+        ).getValue();
+    }
+
+    private static Map<String, String> createAllCustomHeader(String requestId) {
+        return Collections.singletonMap(OperationJournal.HEADER_CLIENT_REQUEST_ID, requestId);
+    }
+
+    private static Payment createPayment(BatchEntry entry) {
+        return new Payment(
+                new Amount(entry.getAmount(), CURRENCY_EURO),
+                new Pointer(POINTER_TYPE_EMAIL, entry.getRecipient()),
+                entry.getDescription()
+        );
+    }
+
+    /**
+     * Sends payments from the primary monetary account, grouped through the payment-batch endpoint.
+     */
+    private static class PaymentSender implements BatchSender {
+
+        @Override
+        public Integer sendBatch(List<BatchEntry> allEntry, String requestId) {
+            List<Payment> allPayment = new ArrayList<>(allEntry.size());
+
+            for (BatchEntry entry : allEntry) {
+                allPayment.add(createPayment(entry));
+            }
+
+            return ApiThrottle.POST.call(
+                    BunqEndpoint.PAYMENT_BATCH_CREATE,
+                    () -> PaymentBatch.create(allPayment, MONETARY_ACCOUNT_ID_PRIMARY, createAllCustomHeader(requestId))
+            ).getValue();
+        }
+
+        @Override
+        public Integer sendSingle(BatchEntry entry, String requestId) {
+            return createPayment(entry.getAmount(), entry.getRecipient(), entry.getDescription(), requestId);
+        }
     }
 }
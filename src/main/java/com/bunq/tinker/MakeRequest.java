@@ -2,14 +2,32 @@ package com.bunq.tinker;
 
 import com.bunq.sdk.context.ApiEnvironmentType;
 import com.bunq.sdk.model.generated.endpoint.RequestInquiry;
+import com.bunq.sdk.model.generated.endpoint.RequestInquiryBatch;
 import com.bunq.sdk.model.generated.object.Amount;
+import com.bunq.sdk.model.generated.object.BunqId;
 import com.bunq.sdk.model.generated.object.Pointer;
+import com.bunq.tinker.libs.ApiThrottle;
+import com.bunq.tinker.libs.BatchEntry;
+import com.bunq.tinker.libs.BatchExecutor;
+import com.bunq.tinker.libs.BatchFileReader;
+import com.bunq.tinker.libs.BatchResultWriter;
+import com.bunq.tinker.libs.BatchSender;
+import com.bunq.tinker.libs.BatchSummary;
+import com.bunq.tinker.libs.BunqEndpoint;
 import com.bunq.tinker.libs.BunqLib;
+import com.bunq.tinker.libs.Money;
+import com.bunq.tinker.libs.OperationJournal;
 import com.bunq.tinker.libs.SharedLib;
 import com.bunq.tinker.utils.ITinker;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.ParseException;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 public class MakeRequest implements ITinker {
 
     /**
@@ -17,13 +35,40 @@ public class MakeRequest implements ITinker {
      */
     private static final String CURRENCY_EURO = "EUR";
     private static final String POINTER_TYPE_EMAIL = "EMAIL";
+    private static final boolean ALLOW_BUNQME = true;
+
+    /**
+     * Batch constants.
+     */
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * Optional create arguments, left to the SDK defaults.
+     */
+    private static final Integer MONETARY_ACCOUNT_ID_PRIMARY = null;
+    private static final List<BunqId> ALL_ATTACHMENT_NONE = null;
+    private static final String MERCHANT_REFERENCE_NONE = null;
+    private static final String STATUS_DEFAULT = null;
+    private static final Integer MINIMUM_AGE_NONE = null;
+    private static final String REQUIRE_ADDRESS_DEFAULT = null;
+    private static final Boolean WANT_TIP_DEFAULT = null;
+    private static final Boolean ALLOW_AMOUNT_LOWER_DEFAULT = null;
+    private static final Boolean ALLOW_AMOUNT_HIGHER_DEFAULT = null;
+    private static final String REDIRECT_URL_NONE = null;
+    private static final Integer EVENT_ID_NONE = null;
+
+    /**
+     * Journal key constants.
+     */
+    private static final String JOURNAL_KEY_REQUEST = "request %s";
 
     /**
      * @param args
      *
      * @throws ParseException
+     * @throws IOException
      */
-    public void run(String[] args) throws ParseException {
+    public void run(String[] args) throws ParseException, IOException {
         CommandLine allOption = SharedLib.parseAllOption(args);
         ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
 
@@ -31,32 +76,174 @@ public class MakeRequest implements ITinker {
 
         BunqLib bunq = new BunqLib(environmentType);
 
+        if (SharedLib.determineBatchFileFromAllOption(allOption) != null) {
+            runBatch(allOption);
+            bunq.updateContext();
+
+            return;
+        }
+
         String amount = SharedLib.determineAmountFromAllOptionOrStdIn(allOption);
         String description = SharedLib.determineDescriptionFromAllOptionOrStdIn(allOption);
         String recipient = SharedLib.determineRecipientFromAllOptionOrStdIn(allOption);
+        String operationId = SharedLib.determineOperationIdFromAllOption(allOption);
 
         System.out.println();
         System.out.println("  | Requesting:   € " + amount);
         System.out.println("  | From:         " + recipient);
         System.out.println("  | Description:  " + description);
+        System.out.println("  | Operation:    " + operationId);
         System.out.println();
         System.out.println("    ...");
         System.out.println();
 
-        RequestInquiry.create(
-                new Amount(amount, CURRENCY_EURO),
-                new Pointer(POINTER_TYPE_EMAIL, recipient),
-                description,
-                true
-        );
+        boolean isSent;
+
+        try (OperationJournal journal = OperationJournal.open(SharedLib.determineJournalFileFromAllOption(allOption))) {
+            isSent = journal.execute(
+                    String.format(JOURNAL_KEY_REQUEST, operationId),
+                    requestId -> createRequestInquiry(amount, recipient, description, requestId)
+            );
+        }
+
+        if (isSent) {
+            System.out.println();
+            System.out.println("  | ✅  Request sent");
+            System.out.println();
+            System.out.println("  | ▶️  Check your changed overview");
+            System.out.println();
+            System.out.println();
+        } else {
+            SharedLib.printSkippedByJournal(SharedLib.determineJournalFileFromAllOption(allOption));
+        }
+
+        bunq.updateContext();
+    }
+
+    /**
+     * Requests money from every recipient in the batch file, e.g. to split the costs of an event.
+     */
+    private void runBatch(CommandLine allOption) throws IOException {
+        String batchFile = SharedLib.determineBatchFileFromAllOption(allOption);
+        String resultFile = SharedLib.determineResultFileFromAllOption(allOption);
 
         System.out.println();
-        System.out.println("  | ✅  Request sent");
-        System.out.println();
-        System.out.println("  | ▶️  Check your changed overview");
-        System.out.println();
+        System.out.println("  | Requesting from recipients in:  " + batchFile);
+        System.out.println("  | Status per recipient in:        " + resultFile);
         System.out.println();
+        System.out.println("    ...");
 
-        bunq.updateContext();
+        BatchSummary summary;
+
+        try (
+                OperationJournal journal = OperationJournal.open(
+                        SharedLib.determineBatchJournalFileFromAllOption(allOption)
+                );
+                BatchFileReader reader = new BatchFileReader(batchFile);
+                BatchResultWriter resultWriter = new BatchResultWriter(resultFile)
+        ) {
+            BatchExecutor executor = new BatchExecutor(
+                    new RequestSender(),
+                    BATCH_SIZE,
+                    SharedLib.determineConcurrencyFromAllOption(allOption),
+                    journal,
+                    SharedLib.determineBatchRunIdFromAllOption(allOption)
+            );
+            summary = executor.execute(reader, resultWriter);
+        }
+
+        SharedLib.printBatchSummary(summary, resultFile);
+    }
+
+    /**
+     * Sends the client request ID of the journal along, so bunq can tell a resent request from a new one.
+     */
+    private static Integer createRequestInquiry(
+            String amount,
+            String recipient,
+            String description,
+            String requestId
+    ) {
+        return ApiThrottle.POST.call(
+                BunqEndpoint.REQUEST_INQUIRY_CREATE,
+                () -> RequestInquiry.create(
+                        new Amount(amount, CURRENCY_EURO),
+                        new Pointer(POINTER_TYPE_EMAIL, recipient),
+                        description,
+                        ALLOW_BUNQME,
+                        MONETARY_ACCOUNT_ID_PRIMARY,
+                        ALL_ATTACHMENT_NONE,
+                        MERCHANT_REFERENCE_NONE,
+                        STATUS_DEFAULT,
+                        MINIMUM_AGE_NONE,
+                        REQUIRE_ADDRESS_DEFAULT,
+                        WANT_TIP_DEFAULT,
+                        ALLOW_AMOUNT_LOWER_DEFAULT,
+                        ALLOW_AMOUNT_HIGHER_DEFAULT,
+                        REDIRECT_URL_NONE,
+                        EVENT_ID_NONE,
+                        createAllCustomHeader(requestId)
+                )
+        ).getValue();
+    }
+
+    private static Map<String, String> createAllCustomHeader(String requestId) {
+        return Collections.singletonMap(OperationJournal.HEADER_CLIENT_REQUEST_ID, requestId);
+    }
+
+    private static RequestInquiry createRequestInquiry(BatchEntry entry) {
+        return new RequestInquiry(
+                new Amount(entry.getAmount(), CURRENCY_EURO),
+                new Pointer(POINTER_TYPE_EMAIL, entry.getRecipient()),
+                entry.getDescription(),
+                ALLOW_BUNQME
+        );
+    }
+
+    /**
+     * bunq wants the total of a request batch up front. The batch executor only sends entries with a valid amount.
+     */
+    private static Amount determineTotalAmount(List<BatchEntry> allEntry) {
+        long totalCents = 0;
+
+        for (BatchEntry entry : allEntry) {
+            totalCents += Money.parseCents(entry.getAmount());
+        }
+
+        return new Amount(Money.format(totalCents), CURRENCY_EURO);
+    }
+
+    /**
+     * Sends requests from the primary monetary account, grouped through the request-inquiry-batch endpoint.
+     */
+    private static class RequestSender implements BatchSender {
+
+        @Override
+        public Integer sendBatch(List<BatchEntry> allEntry, String requestId) {
+            List<RequestInquiry> allRequestInquiry = new ArrayList<>(allEntry.size());
+
+            for (BatchEntry entry : allEntry) {
+                allRequestInquiry.add(createRequestInquiry(entry));
+            }
+
+            Amount totalAmount = determineTotalAmount(allEntry);
+
+            return ApiThrottle.POST.call(
+                    BunqEndpoint.REQUEST_INQUIRY_BATCH_CREATE,
+                    () -> RequestInquiryBatch.create(
+                            allRequestInquiry,
+                            totalAmount,
+                            MONETARY_ACCOUNT_ID_PRIMARY,
+                            STATUS_DEFAULT,
+                            EVENT_ID_NONE,
+                            createAllCustomHeader(requestId)
+                    )
+            ).getValue();
+        }
+
+        @Override
+        public Integer sendSingle(BatchEntry entry, String requestId) {
+            return createRequestInquiry(entry.getAmount(), entry.getRecipient(), entry.getDescription(), requestId);
+        }
     }
 }
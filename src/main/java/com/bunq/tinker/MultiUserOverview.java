@@ -0,0 +1,104 @@
+package com.bunq.tinker;
+
+import com.bunq.sdk.context.ApiEnvironmentType;
+import com.bunq.tinker.libs.ContextPool;
+import com.bunq.tinker.libs.SharedLib;
+import com.bunq.tinker.libs.UserSummary;
+import com.bunq.tinker.utils.ITinker;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches the overview of every user with a configuration file in the context directory, many users at the same time.
+ * A user that fails, for whatever reason, is reported on its own line, the other users are still fetched.
+ */
+public class MultiUserOverview implements ITinker {
+
+    /**
+     * Fetch constants.
+     */
+    private static final int PAYMENT_COUNT = 10;
+
+    /**
+     * @param args
+     *
+     * @throws ParseException
+     */
+    public void run(String[] args) throws ParseException {
+        CommandLine allOption = SharedLib.parseAllOption(args);
+        ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
+
+        SharedLib.printHeader();
+
+        try (ContextPool pool = ContextPool.load(
+                SharedLib.determineContextDirectoryFromAllOption(allOption),
+                SharedLib.determineConcurrencyFromAllOption(allOption)
+        )) {
+            printOverview(pool, environmentType);
+        }
+    }
+
+    /**
+     * Fetches and prints the overview of every user in the pool, however the pool was loaded.
+     */
+    public static void printOverview(ContextPool pool, ApiEnvironmentType environmentType) {
+        long started = System.nanoTime();
+        List<UserSummary> allSummary = pool.runForAll(userApi -> {
+            try {
+                return UserSummary.fetch(userApi, PAYMENT_COUNT);
+            } catch (RuntimeException exception) {
+                return UserSummary.createFailed(userApi.getUserId(), exception.getMessage());
+            }
+        });
+
+        printAllSummary(allSummary, environmentType, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private static void printAllSummary(
+            List<UserSummary> allSummary,
+            ApiEnvironmentType environmentType,
+            long durationMilliseconds
+    ) {
+        int countUserFailed = 0;
+        int countMonetaryAccountTotal = 0;
+        int countPaymentTotal = 0;
+        int countCardTotal = 0;
+
+        System.out.println();
+
+        for (UserSummary summary : allSummary) {
+            if (summary.isFailed()) {
+                countUserFailed++;
+                System.out.println("  | User " + summary.getUserId() + " failed: " + summary.getFailedReason());
+                continue;
+            }
+
+            countMonetaryAccountTotal += summary.getAllMonetaryAccountBankActive().size();
+            countPaymentTotal += summary.getAllPayment().size();
+            countCardTotal += summary.getAllCard().size();
+
+            System.out.println(
+                    String.format(
+                            "  | User %-10d  Accounts: %-4d  Payments: %-4d  Cards: %d",
+                            summary.getUserId(),
+                            summary.getAllMonetaryAccountBankActive().size(),
+                            summary.getAllPayment().size(),
+                            summary.getAllCard().size()
+                    )
+            );
+        }
+
+        System.out.println();
+        System.out.println("  | Environment:  " + environmentType.name());
+        System.out.println("  | Users:        " + (allSummary.size() - countUserFailed));
+        System.out.println("  | Failed:       " + countUserFailed);
+        System.out.println("  | Accounts:     " + countMonetaryAccountTotal);
+        System.out.println("  | Payments:     " + countPaymentTotal);
+        System.out.println("  | Cards:        " + countCardTotal);
+        System.out.println("  | Duration:     " + durationMilliseconds + " ms");
+        System.out.println();
+    }
+}
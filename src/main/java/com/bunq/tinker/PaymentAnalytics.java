@@ -0,0 +1,102 @@
+package com.bunq.tinker;
+
+import com.bunq.sdk.context.ApiEnvironmentType;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.tinker.libs.BunqLib;
+import com.bunq.tinker.libs.Money;
+import com.bunq.tinker.libs.PaymentColumns;
+import com.bunq.tinker.libs.SharedLib;
+import com.bunq.tinker.utils.ITinker;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the whole payment history into PaymentColumns and shows where the money went: spend per counterparty, per
+ * month and per account. Only the first account is loaded, unless --all-accounts is given.
+ */
+public class PaymentAnalytics implements ITinker {
+
+    /**
+     * Output constants.
+     */
+    private static final int COUNT_TOP_DEFAULT = 10;
+    private static final String TOTAL_FORMAT = "  |   € %12s  %6d×  %s";
+
+    /**
+     * @param args
+     *
+     * @throws ParseException
+     */
+    public void run(String[] args) throws ParseException {
+        CommandLine allOption = SharedLib.parseAllOption(args);
+        ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
+        int countTop = SharedLib.determineCountFromAllOption(allOption, COUNT_TOP_DEFAULT);
+
+        SharedLib.printHeader();
+
+        BunqLib bunq = new BunqLib(environmentType);
+        List<MonetaryAccountBank> allMonetaryAccountBankActive = new ArrayList<>();
+
+        if (SharedLib.determineAllAccountsFromAllOption(allOption)) {
+            bunq.iterateAllMonetaryAccountBankActive().forEach(allMonetaryAccountBankActive::add);
+        } else {
+            allMonetaryAccountBankActive.addAll(bunq.getAllMonetaryAccountBankActive(1));
+        }
+
+        long timeStart = System.nanoTime();
+        PaymentColumns columns = new PaymentColumns();
+
+        for (MonetaryAccountBank monetaryAccountBank : allMonetaryAccountBankActive) {
+            columns.addAll(bunq.iterateAllPayment(monetaryAccountBank));
+        }
+
+        long timeLoaded = System.nanoTime();
+        long spendCents = columns.sumSpend();
+        List<PaymentColumns.Total> allTotalPerCounterparty = PaymentColumns.selectFirst(
+                columns.sumSpendPerCounterparty(),
+                countTop
+        );
+        List<PaymentColumns.Total> allTotalPerMonth = columns.sumSpendPerMonth();
+        List<PaymentColumns.Total> allTotalPerMonetaryAccount = columns.sumSpendPerMonetaryAccount();
+        long timeQueried = System.nanoTime();
+
+        System.out.println();
+        System.out.println("  | Payments:     " + columns.size());
+        System.out.println("  | Spend:        € " + Money.format(spendCents));
+        System.out.println("  | Memory:       ~" + determineBytesPerPayment(columns) + " bytes per payment (estimate)");
+        System.out.println("  | Loaded in:    " + TimeUnit.NANOSECONDS.toMillis(timeLoaded - timeStart) + " ms");
+        System.out.println("  | Queried in:   " + TimeUnit.NANOSECONDS.toMicros(timeQueried - timeLoaded) + " µs");
+
+        printAllTotal("Top " + countTop + " counterparties by spend", allTotalPerCounterparty);
+        printAllTotal("Spend per month", allTotalPerMonth);
+        printAllTotal("Spend per account", allTotalPerMonetaryAccount);
+
+        System.out.println();
+        System.out.println();
+
+        bunq.updateContext();
+    }
+
+    /**
+     * @return An estimate from the capacity of the columns and the strings in the dictionaries, not a measurement.
+     */
+    private static long determineBytesPerPayment(PaymentColumns columns) {
+        return columns.size() == 0 ? 0 : columns.estimateSizeBytes() / columns.size();
+    }
+
+    private static void printAllTotal(String title, List<PaymentColumns.Total> allTotal) {
+        System.out.println();
+        System.out.println("  | " + title);
+        System.out.println();
+
+        for (PaymentColumns.Total total : allTotal) {
+            System.out.println(
+                    String.format(TOTAL_FORMAT, Money.format(total.getAmountCents()), total.getCount(), total.getKey())
+            );
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.bunq.tinker;
+
+import com.bunq.sdk.context.ApiEnvironmentType;
+import com.bunq.sdk.context.BunqContext;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.sdk.model.generated.endpoint.RequestInquiry;
+import com.bunq.tinker.callback.CallbackNotification;
+import com.bunq.tinker.callback.CallbackReceiver;
+import com.bunq.tinker.libs.BunqLib;
+import com.bunq.tinker.libs.SharedLib;
+import com.bunq.tinker.utils.ITinker;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Prints the notifications bunq posts to the callback URLs added with AddCallbackUrl, as they come in.
+ * Point the tunnel or proxy behind the public callback URL at the printed address.
+ *
+ * Runs until the JVM is stopped, or until the thread running it is interrupted, which is why TinkerDaemon refuses it.
+ */
+public class ReceiveCallbacks implements ITinker {
+
+    /**
+     * Default constants.
+     */
+    private static final int PORT_DEFAULT = 7892;
+
+    /**
+     * Object type constants.
+     */
+    private static final String OBJECT_TYPE_PAYMENT = "Payment";
+    private static final String OBJECT_TYPE_REQUEST_INQUIRY = "RequestInquiry";
+
+    /**
+     * @param args
+     *
+     * @throws ParseException
+     * @throws InterruptedException
+     */
+    public void run(String[] args) throws ParseException, InterruptedException {
+        CommandLine allOption = SharedLib.parseAllOption(args);
+        ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
+
+        SharedLib.printHeader();
+
+        BunqLib bunq = new BunqLib(environmentType);
+        bunq.updateContext();
+
+        CallbackReceiver receiver = new CallbackReceiver(
+                new InetSocketAddress(
+                        InetAddress.getLoopbackAddress(),
+                        SharedLib.determinePortFromAllOption(allOption, PORT_DEFAULT)
+                ),
+                BunqContext.getApiContext().getInstallationContext().getPublicKeyServer(),
+                ReceiveCallbacks::printNotification
+        );
+        CountDownLatch stopped = new CountDownLatch(1);
+        Thread shutdownHook = new Thread(() -> stop(receiver, stopped));
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        System.out.println();
+        System.out.println("  | Receiving callbacks on " + receiver.getUrl() + ", stop with Ctrl+C");
+        System.out.println();
+
+        try {
+            stopped.await();
+        } finally {
+            if (stopped.getCount() > 0) {
+                // Interrupted instead of shut down, so the hook will not run.
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                stop(receiver, stopped);
+            } else {
+                // Stopped by the shutdown hook.
+            }
+        }
+    }
+
+    private static void stop(CallbackReceiver receiver, CountDownLatch stopped) {
+        receiver.close();
+        System.out.println();
+        System.out.println("  | Received:     " + receiver.getCountReceived());
+        System.out.println("  | Handled:      " + receiver.getCountHandled());
+        System.out.println("  | Duplicates:   " + receiver.getCountDuplicate());
+        System.out.println("  | Rejected:     " + receiver.getCountRejected());
+        System.out.println();
+        stopped.countDown();
+    }
+
+    private static void printNotification(CallbackNotification notification) {
+        System.out.println(
+                "  | " + notification.getCategory() + " " + notification.getEventType() + " "
+                        + notification.getObjectType() + " " + notification.getObjectId()
+        );
+
+        if (OBJECT_TYPE_PAYMENT.equals(notification.getObjectType())) {
+            SharedLib.printPayment(notification.getObjectAs(Payment.class));
+        } else if (OBJECT_TYPE_REQUEST_INQUIRY.equals(notification.getObjectType())) {
+            SharedLib.printRequest(notification.getObjectAs(RequestInquiry.class));
+        } else {
+            // Only the notification line for other objects.
+        }
+    }
+}
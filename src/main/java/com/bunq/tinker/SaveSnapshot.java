@@ -0,0 +1,90 @@
+package com.bunq.tinker;
+
+import com.bunq.sdk.context.ApiEnvironmentType;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.tinker.libs.BunqLib;
+import com.bunq.tinker.libs.SharedLib;
+import com.bunq.tinker.libs.SnapshotWriter;
+import com.bunq.tinker.utils.ITinker;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches the user, the active accounts with all of their payments and requests, the cards and the aliases, and saves
+ * them to a snapshot file, see SnapshotWriter. Only the first account is saved, unless --all-accounts is given.
+ *
+ * Read the snapshot back with e.g. "UserOverview --snapshot-file bunq.snapshot", which opens it in milliseconds
+ * instead of fetching everything again.
+ */
+public class SaveSnapshot implements ITinker {
+
+    private static final String SNAPSHOT_FILE_DEFAULT = "bunq.snapshot";
+
+    /**
+     * @param args
+     *
+     * @throws ParseException
+     */
+    public void run(String[] args) throws ParseException {
+        CommandLine allOption = SharedLib.parseAllOption(args);
+        ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
+        String snapshotFile = SharedLib.determineSnapshotFileFromAllOption(allOption);
+        Path file = Paths.get(snapshotFile == null ? SNAPSHOT_FILE_DEFAULT : snapshotFile);
+
+        SharedLib.printHeader();
+
+        BunqLib bunq = new BunqLib(environmentType);
+        long timeStart = System.nanoTime();
+
+        System.out.println();
+        System.out.println("  | Saving snapshot:  " + file);
+        System.out.println();
+        System.out.println("    ...");
+        System.out.println();
+
+        List<MonetaryAccountBank> allMonetaryAccountBankActive = new ArrayList<>();
+
+        if (SharedLib.determineAllAccountsFromAllOption(allOption)) {
+            bunq.iterateAllMonetaryAccountBankActive().forEach(allMonetaryAccountBankActive::add);
+        } else {
+            allMonetaryAccountBankActive.addAll(bunq.getAllMonetaryAccountBankActive(1));
+        }
+
+        SnapshotWriter writer = new SnapshotWriter();
+        writer.setUser(BunqLib.getUserId(bunq.getUser()), BunqLib.getUserDisplayName(bunq.getUser()));
+
+        for (MonetaryAccountBank monetaryAccountBank : allMonetaryAccountBankActive) {
+            writer.addMonetaryAccountBank(
+                    monetaryAccountBank,
+                    bunq.iterateAllPayment(monetaryAccountBank),
+                    bunq.iterateAllRequest(monetaryAccountBank)
+            );
+        }
+
+        writer.addAllCard(bunq.iterateAllCard());
+        writer.addAllUserAlias(bunq.getAllUserAlias());
+        writer.write(file);
+
+        System.out.println("  | ✅  Snapshot saved");
+        System.out.println();
+        System.out.println("  | Accounts:     " + allMonetaryAccountBankActive.size());
+        System.out.println("  | Payments:     " + writer.getCountPayment());
+        System.out.println("  | Requests:     " + writer.getCountRequest());
+        System.out.println("  | Size:         " + file.toFile().length() + " bytes");
+        System.out.println(
+                "  | Duration:     " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timeStart) + " ms"
+        );
+        System.out.println();
+        System.out.println("  | ▶️  Check it with UserOverview --snapshot-file " + file);
+        System.out.println();
+        System.out.println();
+
+        bunq.updateContext();
+    }
+}
@@ -0,0 +1,77 @@
+package com.bunq.tinker;
+
+import com.bunq.sdk.exception.BunqException;
+import com.bunq.tinker.utils.ITinker;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Sends a tinker command to a running TinkerDaemon and prints its output, e.g. "TinkerClient UserOverview".
+ * Set the system property tinker.daemon.port when the daemon does not listen on the default port.
+ */
+public class TinkerClient implements ITinker {
+
+    /**
+     * Property constants.
+     */
+    private static final String PROPERTY_PORT = "tinker.daemon.port";
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_MISSING_COMMAND = "Missing the tinker to run, e.g. \"TinkerClient UserOverview\".";
+    private static final String ERROR_COMMAND_FAILED = "Command failed with status %s.";
+    private static final String ERROR_NO_STATUS = "Connection closed before the command finished.";
+
+    private static final int INDEX_COMMAND = 1;
+    private static final String STATUS_OK = "0";
+
+    /**
+     * @param args
+     *
+     * @throws IOException
+     */
+    @Override
+    public void run(String[] args) throws IOException {
+        if (args.length <= INDEX_COMMAND) {
+            throw new BunqException(ERROR_MISSING_COMMAND);
+        }
+
+        String command = String.join(TinkerDaemon.ARGUMENT_SEPARATOR, Arrays.copyOfRange(args, INDEX_COMMAND, args.length));
+        int port = Integer.getInteger(PROPERTY_PORT, TinkerDaemon.PORT_DEFAULT);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            writer.write(command + "\n");
+            writer.flush();
+
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)
+            );
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith(TinkerDaemon.STATUS_PREFIX)) {
+                    String status = line.substring(TinkerDaemon.STATUS_PREFIX.length()).trim();
+
+                    if (STATUS_OK.equals(status)) {
+                        return;
+                    } else {
+                        throw new BunqException(String.format(ERROR_COMMAND_FAILED, status));
+                    }
+                }
+
+                System.out.println(line);
+            }
+        }
+
+        throw new BunqException(ERROR_NO_STATUS);
+    }
+}
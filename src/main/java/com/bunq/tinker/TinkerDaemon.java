@@ -0,0 +1,175 @@
+package com.bunq.tinker;
+
+import com.bunq.tinker.utils.ITinker;
+import com.bunq.tinker.utils.LatencyRecorder;
+import com.bunq.tinker.utils.ThreadOutputStream;
+import com.bunq.tinker.utils.TinkerRunner;
+import org.apache.commons.cli.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps a JVM with a warm bunq API context resident and runs tinker commands sent to it over a loopback socket.
+ *
+ * A request is a single line with the tinker arguments separated by tabs, e.g. "UserOverview\t--all-accounts".
+ * The output of the tinker is streamed back and followed by a status line holding its exit code. Commands run one at
+ * a time since the bunq SDK context is shared by the whole JVM. System.out is replaced once by a ThreadOutputStream,
+ * so only what the command prints on its own thread reaches its socket. Tinkers that run until they are stopped, like
+ * ReceiveCallbacks, are refused, as they would keep every later command waiting. Use TinkerClient to send commands,
+ * or any tool that can write a line to a TCP socket.
+ */
+public class TinkerDaemon implements ITinker {
+
+    /**
+     * Option constants.
+     */
+    private static final String OPTION_PORT = "port";
+
+    /**
+     * Protocol constants.
+     */
+    public static final int PORT_DEFAULT = 7890;
+    public static final String ARGUMENT_SEPARATOR = "\t";
+    public static final String STATUS_PREFIX = "#tinker-status ";
+    public static final String COMMAND_STATS = "Stats";
+    public static final String COMMAND_STOP = "Stop";
+
+    private static final int STATUS_OK = 0;
+    private static final int STATUS_ERROR = 1;
+    private static final int BACKLOG = 50;
+
+    /**
+     * The tinkers that do not return by themselves.
+     */
+    private static final List<String> ALL_COMMAND_BLOCKING = Arrays.asList(
+            "TinkerDaemon",
+            "TinkerClient",
+            "ReceiveCallbacks"
+    );
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COMMAND_BLOCKING = " | %s does not return by itself, run it without the daemon.";
+
+    /**
+     * Percentile constants.
+     */
+    private static final double PERCENTILE_MEDIAN = 50.0;
+    private static final double PERCENTILE_99 = 99.0;
+
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder();
+    private ThreadOutputStream outputCommand;
+
+    /**
+     * @param args
+     *
+     * @throws ParseException
+     * @throws IOException
+     */
+    @Override
+    public void run(String[] args) throws ParseException, IOException {
+        Options options = new Options();
+        options.addOption(new Option("", OPTION_PORT, true, ""));
+        CommandLineParser parser = new BasicParser();
+
+        CommandLine allOption = parser.parse(options, args);
+        int port = allOption.hasOption(OPTION_PORT)
+                ? Integer.parseInt(allOption.getOptionValue(OPTION_PORT))
+                : PORT_DEFAULT;
+
+        PrintStream stdOut = System.out;
+        outputCommand = new ThreadOutputStream(stdOut);
+        System.setOut(new PrintStream(outputCommand, true, StandardCharsets.UTF_8.name()));
+
+        try (ServerSocket serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress())) {
+            System.out.println(" | Tinker daemon listening on " + serverSocket.getLocalSocketAddress());
+
+            boolean isRunning = true;
+
+            while (isRunning) {
+                try (Socket socket = serverSocket.accept()) {
+                    isRunning = handleConnection(socket);
+                } catch (IOException exception) {
+                    System.out.println(" | Connection failed: " + exception.getMessage());
+                }
+            }
+        } finally {
+            System.setOut(stdOut);
+        }
+    }
+
+    /**
+     * @return False when the daemon was asked to stop.
+     */
+    private boolean handleConnection(Socket socket) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)
+        );
+        PrintStream output = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8.name());
+        String line = reader.readLine();
+
+        if (line == null || line.trim().isEmpty()) {
+            output.println(STATUS_PREFIX + STATUS_ERROR);
+        } else if (COMMAND_STATS.equals(line.trim())) {
+            printStats(output);
+            output.println(STATUS_PREFIX + STATUS_OK);
+        } else if (COMMAND_STOP.equals(line.trim())) {
+            output.println(STATUS_PREFIX + STATUS_OK);
+
+            return false;
+        } else {
+            String[] allArgument = line.split(ARGUMENT_SEPARATOR);
+
+            if (ALL_COMMAND_BLOCKING.contains(allArgument[0].trim())) {
+                output.println(String.format(ERROR_COMMAND_BLOCKING, allArgument[0].trim()));
+                output.println(STATUS_PREFIX + STATUS_ERROR);
+            } else {
+                output.println(STATUS_PREFIX + runCommand(allArgument, output));
+            }
+        }
+
+        return true;
+    }
+
+    private int runCommand(String[] args, PrintStream output) {
+        InputStream stdIn = System.in;
+        long timeStart = System.nanoTime();
+
+        // Commands can not prompt for missing options, there is nobody at the terminal of the daemon.
+        outputCommand.set(output);
+        System.setIn(new ByteArrayInputStream(new byte[0]));
+
+        try {
+            TinkerRunner.runTinker(args);
+
+            return STATUS_OK;
+        } catch (Exception exception) {
+            output.println(" | " + exception.getClass().getSimpleName() + ": " + exception.getMessage());
+
+            return STATUS_ERROR;
+        } finally {
+            System.out.flush();
+            outputCommand.clear();
+            System.setIn(stdIn);
+            latencyRecorder.record(System.nanoTime() - timeStart);
+        }
+    }
+
+    private void printStats(PrintStream output) {
+        output.println(" | Commands:  " + latencyRecorder.getCount());
+        output.println(" | p50:       " + String.format("%.1f", latencyRecorder.getPercentileMilliseconds(PERCENTILE_MEDIAN)) + " ms");
+        output.println(" | p99:       " + String.format("%.1f", latencyRecorder.getPercentileMilliseconds(PERCENTILE_99)) + " ms");
+    }
+}
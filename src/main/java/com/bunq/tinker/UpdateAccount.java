@@ -2,20 +2,31 @@ package com.bunq.tinker;
 
 import com.bunq.sdk.context.ApiEnvironmentType;
 import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.tinker.libs.ApiThrottle;
+import com.bunq.tinker.libs.BunqEndpoint;
 import com.bunq.tinker.libs.BunqLib;
+import com.bunq.tinker.libs.OperationJournal;
 import com.bunq.tinker.libs.SharedLib;
 import com.bunq.tinker.utils.ITinker;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.ParseException;
 
+import java.io.IOException;
+
 public class UpdateAccount implements ITinker {
 
+    /**
+     * Journal key constants.
+     */
+    private static final String JOURNAL_KEY_UPDATE_ACCOUNT = "update-account %s";
+
     /**
      * @param args
      *
      * @throws ParseException
+     * @throws IOException
      */
-    public void run(String[] args) throws ParseException {
+    public void run(String[] args) throws ParseException, IOException {
         CommandLine allOption = SharedLib.parseAllOption(args);
         ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
 
@@ -25,21 +36,38 @@ public class UpdateAccount implements ITinker {
 
         String name = SharedLib.determineNameFromAllOptionOrStdIn(allOption);
         String accountId = SharedLib.determineAccountIdFromAllOptionOrStdIn(allOption);
+        String operationId = SharedLib.determineOperationIdFromAllOption(allOption);
 
         System.out.println();
         System.out.println("  | Updating Name:      " + name);
         System.out.println("  | of Account:         " + accountId);
+        System.out.println("  | Operation:          " + operationId);
         System.out.println();
         System.out.println("    ...");
         System.out.println();
 
-        MonetaryAccountBank.update(Integer.parseInt(accountId), name);
-        System.out.println();
-        System.out.println("  | ✅  Account updated");
-        System.out.println();
-        System.out.println("  | ▶️  Check your changed overview");
-        System.out.println();
-        System.out.println();
+        boolean isUpdated;
+
+        try (OperationJournal journal = OperationJournal.open(SharedLib.determineJournalFileFromAllOption(allOption))) {
+            isUpdated = journal.execute(
+                    String.format(JOURNAL_KEY_UPDATE_ACCOUNT, operationId),
+                    () -> ApiThrottle.PUT.call(
+                            BunqEndpoint.MONETARY_ACCOUNT_BANK_UPDATE,
+                            () -> MonetaryAccountBank.update(Integer.parseInt(accountId), name)
+                    ).getValue()
+            );
+        }
+
+        if (isUpdated) {
+            System.out.println();
+            System.out.println("  | ✅  Account updated");
+            System.out.println();
+            System.out.println("  | ▶️  Check your changed overview");
+            System.out.println();
+            System.out.println();
+        } else {
+            SharedLib.printSkippedByJournal(SharedLib.determineJournalFileFromAllOption(allOption));
+        }
 
         bunq.updateContext();
     }
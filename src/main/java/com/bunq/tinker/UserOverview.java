@@ -4,14 +4,26 @@ import com.bunq.sdk.context.ApiEnvironmentType;
 import com.bunq.sdk.model.generated.endpoint.*;
 import com.bunq.sdk.model.generated.object.Pointer;
 import com.bunq.tinker.libs.BunqLib;
+import com.bunq.tinker.libs.MonetaryAccountActivity;
+import com.bunq.tinker.libs.RecordWriter;
 import com.bunq.tinker.libs.SharedLib;
+import com.bunq.tinker.libs.SnapshotReader;
 import com.bunq.tinker.utils.ITinker;
 import org.apache.commons.cli.*;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class UserOverview implements ITinker {
 
+    /**
+     * Snapshot constants.
+     */
+    private static final int COUNT_SNAPSHOT_DEFAULT = 1;
+
     /**
      * @param args
      *
@@ -20,22 +32,63 @@ public class UserOverview implements ITinker {
     public void run(String[] args) throws ParseException {
         CommandLine allOption = SharedLib.parseAllOption(args);
         ApiEnvironmentType environmentType = SharedLib.determineEnvironmentType(allOption);
+        String format = SharedLib.determineFormatFromAllOption(allOption);
+        String snapshotFile = SharedLib.determineSnapshotFileFromAllOption(allOption);
 
-        SharedLib.printHeader();
+        if (snapshotFile != null) {
+            SharedLib.printHeader();
+            printOverview(Paths.get(snapshotFile), allOption);
+        } else if (format.equals(RecordWriter.FORMAT_TABLE)) {
+            SharedLib.printHeader();
 
-        BunqLib bunq = new BunqLib(environmentType);
+            BunqLib bunq = new BunqLib(environmentType);
+            printOverview(bunq, allOption);
+            bunq.updateContext();
+        } else {
+            RecordWriter recordWriter = new RecordWriter(System.out, format);
+            BunqLib bunq = new BunqLib(environmentType);
+            writeAllRecord(bunq, allOption, recordWriter);
+            bunq.updateContext();
+        }
+    }
 
+    private void printOverview(BunqLib bunq, CommandLine allOption) {
         User user = bunq.getUser();
         SharedLib.printUser(user);
 
-        List<MonetaryAccountBank> allMonetaryAccountBankActive = bunq.getAllMonetaryAccountBankActive(1);
+        boolean isAllAccounts = SharedLib.determineAllAccountsFromAllOption(allOption);
+        boolean useCache = SharedLib.determineCacheFromAllOption(allOption);
+        List<MonetaryAccountBank> allMonetaryAccountBankActive = new ArrayList<>();
+
+        if (isAllAccounts) {
+            bunq.iterateAllMonetaryAccountBankActive().forEach(allMonetaryAccountBankActive::add);
+        } else {
+            allMonetaryAccountBankActive.addAll(bunq.getAllMonetaryAccountBankActive(1));
+        }
+
         SharedLib.printAllMonetaryAccountBank(allMonetaryAccountBankActive);
 
-        List<Payment> allPayment = bunq.getAllPayment(allMonetaryAccountBankActive.get(0), 1);
-        SharedLib.printAllPayment(allPayment);
+        if (isAllAccounts) {
+            List<MonetaryAccountActivity> allActivity = bunq.getAllActivity(
+                    allMonetaryAccountBankActive,
+                    1,
+                    SharedLib.determineConcurrencyFromAllOption(allOption),
+                    useCache
+            );
+            SharedLib.printAllMonetaryAccountActivity(allActivity);
+        } else if (useCache) {
+            List<Payment> allPayment = bunq.getAllPaymentCached(allMonetaryAccountBankActive.get(0), 1);
+            SharedLib.printAllPayment(allPayment);
+
+            List<RequestInquiry> allRequest = bunq.getAllRequestCached(allMonetaryAccountBankActive.get(0), 1);
+            SharedLib.printAllRequest(allRequest);
+        } else {
+            List<Payment> allPayment = bunq.getAllPayment(allMonetaryAccountBankActive.get(0), 1);
+            SharedLib.printAllPayment(allPayment);
 
-        List<RequestInquiry> allRequest = bunq.getAllRequest(allMonetaryAccountBankActive.get(0), 1);
-        SharedLib.printAllRequest(allRequest);
+            List<RequestInquiry> allRequest = bunq.getAllRequest(allMonetaryAccountBankActive.get(0), 1);
+            SharedLib.printAllRequest(allRequest);
+        }
 
         List<Card> allCard = bunq.getAllCard(1);
         SharedLib.printAllCard(allCard, allMonetaryAccountBankActive);
@@ -50,7 +103,71 @@ public class UserOverview implements ITinker {
         System.out.println("");
         System.out.println("");
         System.out.println("");
+    }
+
+    /**
+     * Prints the overview from a snapshot saved by SaveSnapshot, without calling bunq. The snapshot holds every
+     * payment and request, so --count shows more than the newest one of each.
+     */
+    private void printOverview(Path snapshotFile, CommandLine allOption) {
+        long timeStart = System.nanoTime();
+        SnapshotReader snapshot = SnapshotReader.open(snapshotFile);
+        long timeOpened = System.nanoTime();
+        int count = SharedLib.determineCountFromAllOption(allOption, COUNT_SNAPSHOT_DEFAULT);
+
+        SharedLib.printSnapshotUser(snapshot);
+        SharedLib.printAllMonetaryAccountBank(snapshot);
+
+        if (SharedLib.determineAllAccountsFromAllOption(allOption)) {
+            SharedLib.printAllMonetaryAccountActivity(snapshot, count);
+        } else if (snapshot.getCountMonetaryAccount() > 0) {
+            SharedLib.printAllPayment(snapshot, 0, count);
+            SharedLib.printAllRequest(snapshot, 0, count);
+        } else {
+            // Nothing but the user and its cards in this snapshot.
+        }
+
+        SharedLib.printAllCard(snapshot, count);
+        SharedLib.printAllUserAlias(snapshot);
+
+        System.out.println("");
+        System.out.println("  | Snapshot:     " + snapshotFile + ", " + snapshot.getSizeBytes() + " bytes");
+        System.out.println("  | Payments:     " + snapshot.getCountPayment());
+        System.out.println("  | Requests:     " + snapshot.getCountRequest());
+        System.out.println("  | Opened in:    " + TimeUnit.NANOSECONDS.toMicros(timeOpened - timeStart) + " µs");
+        System.out.println("");
+        System.out.println("");
+    }
+
+    /**
+     * Streams the accounts, and all payments, requests and cards of them, one record per line as they are fetched.
+     * Nothing but records goes to the output, so it can be piped straight into other tools.
+     */
+    private void writeAllRecord(BunqLib bunq, CommandLine allOption, RecordWriter recordWriter) {
+        boolean isAllAccounts = SharedLib.determineAllAccountsFromAllOption(allOption);
+        List<MonetaryAccountBank> allMonetaryAccountBankActive = new ArrayList<>();
+
+        for (MonetaryAccountBank monetaryAccountBank : bunq.iterateAllMonetaryAccountBankActive()) {
+            recordWriter.writeMonetaryAccountBank(monetaryAccountBank);
+            allMonetaryAccountBankActive.add(monetaryAccountBank);
+
+            if (isAllAccounts) {
+                // Continue with the next account.
+            } else {
+                break;
+            }
+        }
+
+        recordWriter.flush();
+
+        for (MonetaryAccountBank monetaryAccountBank : allMonetaryAccountBankActive) {
+            recordWriter.writeAllPayment(bunq.iterateAllPayment(monetaryAccountBank));
+            recordWriter.flush();
+            recordWriter.writeAllRequest(bunq.iterateAllRequest(monetaryAccountBank));
+            recordWriter.flush();
+        }
 
-        bunq.updateContext();
+        recordWriter.writeAllCard(bunq.iterateAllCard());
+        recordWriter.flush();
     }
 }
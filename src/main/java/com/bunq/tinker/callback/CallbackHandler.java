@@ -0,0 +1,8 @@
+package com.bunq.tinker.callback;
+
+/**
+ * Handles the notifications a CallbackReceiver accepted, one at a time and in the order they were received.
+ */
+public interface CallbackHandler {
+    void handle(CallbackNotification notification);
+}
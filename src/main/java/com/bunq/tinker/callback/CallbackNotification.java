@@ -0,0 +1,168 @@
+package com.bunq.tinker.callback;
+
+import com.bunq.sdk.json.BunqGsonBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.util.Map;
+
+/**
+ * A notification bunq posted to a callback URL, like a payment that was made on one of the monetary accounts.
+ */
+public class CallbackNotification {
+
+    /**
+     * Field constants.
+     */
+    private static final String FIELD_NOTIFICATION_URL = "NotificationUrl";
+    private static final String FIELD_CATEGORY = "category";
+    private static final String FIELD_EVENT_TYPE = "event_type";
+    private static final String FIELD_OBJECT = "object";
+    private static final String FIELD_ID = "id";
+
+    private static final String KEY_SEPARATOR = "|";
+
+    private static final Gson gson = BunqGsonBuilder.buildDefault().create();
+
+    private final String category;
+    private final String eventType;
+    private final String objectType;
+    private final Integer objectId;
+    private final JsonObject object;
+    private final String deduplicationKey;
+
+    private CallbackNotification(
+            String category,
+            String eventType,
+            String objectType,
+            Integer objectId,
+            JsonObject object,
+            String body
+    ) {
+        this.category = category;
+        this.eventType = eventType;
+        this.objectType = objectType;
+        this.objectId = objectId;
+        this.object = object;
+
+        if (objectId == null) {
+            this.deduplicationKey = body;
+        } else {
+            this.deduplicationKey = category + KEY_SEPARATOR + eventType + KEY_SEPARATOR + objectType + KEY_SEPARATOR
+                    + objectId;
+        }
+    }
+
+    /**
+     * @return The notification in the body, or null when the body is not a bunq notification.
+     */
+    public static CallbackNotification parse(String body) {
+        JsonElement root;
+
+        try {
+            root = new JsonParser().parse(body);
+        } catch (RuntimeException exception) {
+            return null;
+        }
+
+        if (!root.isJsonObject() || !root.getAsJsonObject().has(FIELD_NOTIFICATION_URL)) {
+            return null;
+        }
+
+        JsonElement notificationUrl = root.getAsJsonObject().get(FIELD_NOTIFICATION_URL);
+
+        if (!notificationUrl.isJsonObject()) {
+            return null;
+        }
+
+        String category = getStringOrNull(notificationUrl.getAsJsonObject(), FIELD_CATEGORY);
+        JsonElement objectWrapper = notificationUrl.getAsJsonObject().get(FIELD_OBJECT);
+
+        if (category == null || objectWrapper == null || !objectWrapper.isJsonObject()) {
+            return null;
+        }
+
+        for (Map.Entry<String, JsonElement> objectEntry : objectWrapper.getAsJsonObject().entrySet()) {
+            if (objectEntry.getValue().isJsonObject()) {
+                JsonObject object = objectEntry.getValue().getAsJsonObject();
+                JsonElement id = object.get(FIELD_ID);
+
+                return new CallbackNotification(
+                        category,
+                        getStringOrNull(notificationUrl.getAsJsonObject(), FIELD_EVENT_TYPE),
+                        objectEntry.getKey(),
+                        isNumber(id) ? id.getAsInt() : null,
+                        object,
+                        body
+                );
+            } else {
+                // Not an object, bunq wraps the object in its type name.
+            }
+        }
+
+        return null;
+    }
+
+    private static String getStringOrNull(JsonObject jsonObject, String field) {
+        JsonElement value = jsonObject.get(field);
+
+        if (value != null && value.isJsonPrimitive()) {
+            return value.getAsString();
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean isNumber(JsonElement value) {
+        return value != null && value.isJsonPrimitive() && ((JsonPrimitive) value).isNumber();
+    }
+
+    /**
+     * @return The category of the notification filter that matched, like MUTATION or PAYMENT.
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * @return The event, like MUTATION_CREATED, or null when bunq did not send one.
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * @return The type of the object, like Payment or RequestInquiry.
+     */
+    public String getObjectType() {
+        return objectType;
+    }
+
+    /**
+     * @return The id of the object, or null when it has none.
+     */
+    public Integer getObjectId() {
+        return objectId;
+    }
+
+    public JsonObject getObject() {
+        return object;
+    }
+
+    /**
+     * @return The object as a bunq model, e.g. getObjectAs(Payment.class) when the object type is Payment.
+     */
+    public <T> T getObjectAs(Class<T> modelClass) {
+        return gson.fromJson(object, modelClass);
+    }
+
+    /**
+     * @return The key that is the same for every delivery of this notification, bunq retries failed deliveries.
+     */
+    String getDeduplicationKey() {
+        return deduplicationKey;
+    }
+}
@@ -0,0 +1,370 @@
+package com.bunq.tinker.callback;
+
+import com.bunq.sdk.exception.BunqException;
+import com.bunq.tinker.metrics.Metrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Receives the notifications bunq posts to a callback URL and hands them to a CallbackHandler.
+ *
+ * Connections are accepted by the NIO selector of the JDK HTTP server, and a small pool of threads only validates
+ * each body and puts it on a bounded queue, so a slow handler never holds up bunq. Bodies that are not a bunq
+ * notification, or whose signature does not match the public key of the bunq server, are refused. bunq retries a
+ * delivery that failed, so notifications seen recently are acknowledged but not handed out again. When the queue is
+ * full the delivery is refused with a 503, which makes bunq retry it later instead of losing it.
+ *
+ * bunq only posts to public HTTPS URLs, so in front of this receiver goes a tunnel or a proxy terminating TLS.
+ */
+public class CallbackReceiver implements Closeable {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_START = "Could not start the callback receiver: %s";
+    private static final String ERROR_INTERRUPTED = "Interrupted while stopping the callback receiver.";
+
+    /**
+     * Http constants.
+     */
+    private static final int HTTP_STATUS_OK = 200;
+    private static final int HTTP_STATUS_BAD_REQUEST = 400;
+    private static final int HTTP_STATUS_UNAUTHORIZED = 401;
+    private static final int HTTP_STATUS_METHOD_NOT_ALLOWED = 405;
+    private static final int HTTP_STATUS_PAYLOAD_TOO_LARGE = 413;
+    private static final int HTTP_STATUS_SERVICE_UNAVAILABLE = 503;
+    private static final int RESPONSE_LENGTH_EMPTY = -1;
+    private static final String METHOD_POST = "POST";
+    private static final String HEADER_SERVER_SIGNATURE = "X-Bunq-Server-Signature";
+    private static final String URL_FORMAT = "http://%s:%d%s";
+    private static final int BACKLOG = 128;
+    private static final int STOP_DELAY_SECONDS = 0;
+    private static final int BUFFER_SIZE = 4096;
+
+    /**
+     * Signature constants.
+     */
+    private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+
+    /**
+     * Default constants.
+     */
+    public static final String PATH_DEFAULT = "/callback";
+    private static final int THREAD_COUNT_DEFAULT = 4;
+    private static final int QUEUE_CAPACITY_DEFAULT = 10000;
+    private static final int DEDUPLICATION_CAPACITY_DEFAULT = 10000;
+    private static final int BODY_SIZE_MAXIMUM = 64 * 1024;
+
+    /**
+     * Dispatcher constants.
+     */
+    private static final String DISPATCHER_THREAD_NAME = "callback-dispatcher";
+    private static final long DISPATCHER_POLL_MILLISECONDS = 100;
+    private static final long DISPATCHER_STOP_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Metric constants.
+     */
+    private static final String METRIC_NOTIFICATIONS = "callback_notifications_total";
+    private static final String LABEL_RESULT = "result";
+    private static final String RESULT_RECEIVED = "received";
+    private static final String RESULT_ACCEPTED = "accepted";
+    private static final String RESULT_DUPLICATE = "duplicate";
+    private static final String RESULT_REJECTED = "rejected";
+    private static final String RESULT_DROPPED = "dropped";
+    private static final String RESULT_HANDLED = "handled";
+    private static final String RESULT_HANDLER_FAILED = "handler_failed";
+
+    private final String path;
+    private final PublicKey publicKeyServer;
+    private final CallbackHandler handler;
+    private final BlockingQueue<CallbackNotification> queue;
+    private final Map<String, Boolean> allDeduplicationKeyRecent;
+    private final ExecutorService executor;
+    private final HttpServer server;
+    private final Thread dispatcher;
+    private volatile boolean isClosed;
+
+    private final AtomicLong countReceived = new AtomicLong();
+    private final AtomicLong countAccepted = new AtomicLong();
+    private final AtomicLong countDuplicate = new AtomicLong();
+    private final AtomicLong countRejected = new AtomicLong();
+    private final AtomicLong countDropped = new AtomicLong();
+    private final AtomicLong countHandled = new AtomicLong();
+    private final AtomicLong countHandlerFailed = new AtomicLong();
+
+    /**
+     * @param publicKeyServer The public key of the bunq server to verify signatures with, null to skip verifying.
+     */
+    public CallbackReceiver(InetSocketAddress address, PublicKey publicKeyServer, CallbackHandler handler) {
+        this(
+                address,
+                PATH_DEFAULT,
+                publicKeyServer,
+                handler,
+                THREAD_COUNT_DEFAULT,
+                QUEUE_CAPACITY_DEFAULT,
+                DEDUPLICATION_CAPACITY_DEFAULT
+        );
+    }
+
+    /**
+     * @param threadCount             The number of threads validating and queueing incoming notifications.
+     * @param queueCapacity           The number of notifications waiting for the handler before deliveries are refused.
+     * @param deduplicationCapacity   The number of recent notifications remembered to recognise repeated deliveries,
+     *                                the least recently seen is forgotten first.
+     */
+    public CallbackReceiver(
+            InetSocketAddress address,
+            String path,
+            PublicKey publicKeyServer,
+            CallbackHandler handler,
+            int threadCount,
+            int queueCapacity,
+            int deduplicationCapacity
+    ) {
+        this.path = path;
+        this.publicKeyServer = publicKeyServer;
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.allDeduplicationKeyRecent = new LinkedHashMap<String, Boolean>(deduplicationCapacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > deduplicationCapacity;
+            }
+        };
+        this.executor = Executors.newFixedThreadPool(threadCount);
+
+        try {
+            this.server = HttpServer.create(address, BACKLOG);
+        } catch (IOException exception) {
+            executor.shutdownNow();
+
+            throw new BunqException(String.format(ERROR_COULD_NOT_START, exception.getMessage()));
+        }
+
+        registerAllCounter();
+
+        this.dispatcher = new Thread(this::dispatch, DISPATCHER_THREAD_NAME);
+        this.dispatcher.start();
+        this.server.createContext(path, this::receive);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * @return The URL notifications are received on, like "http://127.0.0.1:7892/callback".
+     */
+    public String getUrl() {
+        InetSocketAddress address = server.getAddress();
+
+        return String.format(URL_FORMAT, address.getHostString(), address.getPort(), path);
+    }
+
+    public long getCountReceived() {
+        return countReceived.get();
+    }
+
+    public long getCountAccepted() {
+        return countAccepted.get();
+    }
+
+    public long getCountDuplicate() {
+        return countDuplicate.get();
+    }
+
+    public long getCountRejected() {
+        return countRejected.get();
+    }
+
+    public long getCountDropped() {
+        return countDropped.get();
+    }
+
+    public long getCountHandled() {
+        return countHandled.get();
+    }
+
+    public long getCountHandlerFailed() {
+        return countHandlerFailed.get();
+    }
+
+    /**
+     * Exports the counts of this receiver, in place of those of a receiver started earlier in the process.
+     */
+    private void registerAllCounter() {
+        Metrics.registerCounter(METRIC_NOTIFICATIONS, LABEL_RESULT, RESULT_RECEIVED, this::getCountReceived);
+        Metrics.registerCounter(METRIC_NOTIFICATIONS, LABEL_RESULT, RESULT_ACCEPTED, this::getCountAccepted);
+        Metrics.registerCounter(METRIC_NOTIFICATIONS, LABEL_RESULT, RESULT_DUPLICATE, this::getCountDuplicate);
+        Metrics.registerCounter(METRIC_NOTIFICATIONS, LABEL_RESULT, RESULT_REJECTED, this::getCountRejected);
+        Metrics.registerCounter(METRIC_NOTIFICATIONS, LABEL_RESULT, RESULT_DROPPED, this::getCountDropped);
+        Metrics.registerCounter(METRIC_NOTIFICATIONS, LABEL_RESULT, RESULT_HANDLED, this::getCountHandled);
+        Metrics.registerCounter(METRIC_NOTIFICATIONS, LABEL_RESULT, RESULT_HANDLER_FAILED, this::getCountHandlerFailed);
+    }
+
+    private void receive(HttpExchange exchange) throws IOException {
+        countReceived.incrementAndGet();
+
+        try {
+            exchange.sendResponseHeaders(determineResponseStatus(exchange), RESPONSE_LENGTH_EMPTY);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private int determineResponseStatus(HttpExchange exchange) throws IOException {
+        if (!METHOD_POST.equals(exchange.getRequestMethod())) {
+            countRejected.incrementAndGet();
+
+            return HTTP_STATUS_METHOD_NOT_ALLOWED;
+        }
+
+        byte[] body = readBody(exchange.getRequestBody());
+
+        if (body == null) {
+            countRejected.incrementAndGet();
+
+            return HTTP_STATUS_PAYLOAD_TOO_LARGE;
+        } else if (!isSignatureValid(body, exchange.getRequestHeaders().getFirst(HEADER_SERVER_SIGNATURE))) {
+            countRejected.incrementAndGet();
+
+            return HTTP_STATUS_UNAUTHORIZED;
+        }
+
+        CallbackNotification notification = CallbackNotification.parse(new String(body, StandardCharsets.UTF_8));
+
+        if (notification == null) {
+            countRejected.incrementAndGet();
+
+            return HTTP_STATUS_BAD_REQUEST;
+        } else if (!markSeen(notification)) {
+            countDuplicate.incrementAndGet();
+
+            return HTTP_STATUS_OK;
+        } else if (queue.offer(notification)) {
+            countAccepted.incrementAndGet();
+
+            return HTTP_STATUS_OK;
+        } else {
+            forget(notification);
+            countDropped.incrementAndGet();
+
+            return HTTP_STATUS_SERVICE_UNAVAILABLE;
+        }
+    }
+
+    /**
+     * @return The body, or null when it is larger than a notification can be.
+     */
+    private static byte[] readBody(InputStream input) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+
+        while ((length = input.read(buffer)) != -1) {
+            if (body.size() + length > BODY_SIZE_MAXIMUM) {
+                return null;
+            }
+
+            body.write(buffer, 0, length);
+        }
+
+        return body.toByteArray();
+    }
+
+    private boolean isSignatureValid(byte[] body, String signatureBase64) {
+        if (publicKeyServer == null) {
+            return true;
+        } else if (signatureBase64 == null) {
+            return false;
+        }
+
+        try {
+            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+            signature.initVerify(publicKeyServer);
+            signature.update(body);
+
+            return signature.verify(Base64.getDecoder().decode(signatureBase64));
+        } catch (GeneralSecurityException | IllegalArgumentException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * @return False when the notification was seen recently.
+     */
+    private boolean markSeen(CallbackNotification notification) {
+        synchronized (allDeduplicationKeyRecent) {
+            return allDeduplicationKeyRecent.put(notification.getDeduplicationKey(), Boolean.TRUE) == null;
+        }
+    }
+
+    /**
+     * Forgets a notification that could not be queued, so the retry of bunq is not taken for a duplicate.
+     */
+    private void forget(CallbackNotification notification) {
+        synchronized (allDeduplicationKeyRecent) {
+            allDeduplicationKeyRecent.remove(notification.getDeduplicationKey());
+        }
+    }
+
+    private void dispatch() {
+        while (!isClosed || !queue.isEmpty()) {
+            CallbackNotification notification;
+
+            try {
+                notification = queue.poll(DISPATCHER_POLL_MILLISECONDS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exception) {
+                return;
+            }
+
+            if (notification == null) {
+                continue;
+            }
+
+            try {
+                handler.handle(notification);
+                countHandled.incrementAndGet();
+            } catch (RuntimeException exception) {
+                countHandlerFailed.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting notifications and waits for the handler to finish the ones already queued.
+     */
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(DISPATCHER_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            isClosed = true;
+            dispatcher.join(TimeUnit.SECONDS.toMillis(DISPATCHER_STOP_TIMEOUT_SECONDS));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new BunqException(ERROR_INTERRUPTED);
+        }
+    }
+}
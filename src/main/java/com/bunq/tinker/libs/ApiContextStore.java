@@ -0,0 +1,87 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.context.ApiContext;
+import com.bunq.sdk.exception.BunqException;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads and writes bunq configuration files, writing a file only when the context in it actually changed.
+ *
+ * The SDK only resets a session when it is about to expire, so most commands end with the same context they
+ * restored and no write is needed. Writes go to a temporary file that is renamed over the configuration, so a crash
+ * never leaves a half-written configuration behind.
+ */
+public class ApiContextStore {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_SAVE_CONTEXT = "Could not save API context to \"%s\": %s";
+
+    private static final String EXTENSION_TEMPORARY = ".tmp";
+
+    /**
+     * The serialized context as it is on disk, per configuration file.
+     */
+    private static final Map<String, String> allContextJsonByFileName = new ConcurrentHashMap<>();
+
+    public static ApiContext restore(String fileName) {
+        ApiContext apiContext = ApiContext.restore(fileName);
+        allContextJsonByFileName.put(fileName, apiContext.toJson());
+
+        return apiContext;
+    }
+
+    /**
+     * @return True when the context differed from the file and was written.
+     */
+    public static boolean saveIfChanged(ApiContext apiContext, String fileName) {
+        String apiContextJson = apiContext.toJson();
+
+        if (apiContextJson.equals(allContextJsonByFileName.get(fileName))) {
+            return false;
+        }
+
+        save(apiContextJson, fileName);
+
+        return true;
+    }
+
+    public static void save(ApiContext apiContext, String fileName) {
+        save(apiContext.toJson(), fileName);
+    }
+
+    private static void save(String apiContextJson, String fileName) {
+        Path file = Paths.get(fileName);
+        Path fileTemporary = file.resolveSibling(file.getFileName() + EXTENSION_TEMPORARY);
+
+        try {
+            try (FileOutputStream outputStream = new FileOutputStream(fileTemporary.toFile())) {
+                outputStream.write(apiContextJson.getBytes(StandardCharsets.UTF_8));
+                outputStream.getFD().sync();
+            }
+
+            Files.move(fileTemporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_SAVE_CONTEXT, fileName, exception.getMessage()));
+        }
+
+        allContextJsonByFileName.put(fileName, apiContextJson);
+    }
+
+    /**
+     * Forgets what is on disk, e.g. after the file was deleted.
+     */
+    public static void forget(String fileName) {
+        allContextJsonByFileName.remove(fileName);
+    }
+}
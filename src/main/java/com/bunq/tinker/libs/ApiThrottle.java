@@ -0,0 +1,209 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.ApiException;
+import com.bunq.tinker.metrics.Metrics;
+import com.bunq.tinker.metrics.Timer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps calls to bunq within the rate limit of their request method, and retries the ones that were refused anyway.
+ *
+ * bunq limits GET, POST and PUT requests separately, so there is one shared throttle per method and every call
+ * of the user in BunqContext goes through the one of its method. Code that acts as several users at once creates a
+ * throttle per user instead, see ContextUserApi. A 429 means bunq did not handle the request, so it is retried
+ * for every method, after pausing the whole throttle. A 5xx may come after the request was handled, so it is only
+ * retried for GET and PUT, which are safe to repeat; a POST that fails with a 5xx could have created something.
+ * Retries wait an exponential backoff with full jitter, so concurrent callers do not retry in lockstep.
+ */
+public class ApiThrottle {
+
+    /**
+     * Property constants, to tune the limits without a rebuild, e.g. -Dtinker.rate.get=30 for the mock server.
+     */
+    private static final String PROPERTY_RATE_GET = "tinker.rate.get";
+    private static final String PROPERTY_RATE_POST = "tinker.rate.post";
+    private static final String PROPERTY_RATE_PUT = "tinker.rate.put";
+
+    /**
+     * Rate limit constants, the bunq limits per window of 3 seconds.
+     */
+    private static final int RATE_GET_DEFAULT = 3;
+    private static final int RATE_POST_DEFAULT = 5;
+    private static final int RATE_PUT_DEFAULT = 2;
+    private static final long RATE_WINDOW_SECONDS = 3;
+
+    /**
+     * Retry constants.
+     */
+    private static final int ATTEMPT_MAXIMUM = 6;
+    private static final long BACKOFF_BASE_MILLISECONDS = 500;
+    private static final long BACKOFF_MAXIMUM_MILLISECONDS = 16000;
+
+    /**
+     * Metric constants.
+     */
+    private static final String METRIC_CALL = "bunq_call_seconds";
+    private static final String METRIC_CALL_ERROR = "bunq_call_errors_total";
+    private static final String METRIC_CALLS = "bunq_throttle_calls_total";
+    private static final String METRIC_RETRIES = "bunq_throttle_retries_total";
+    private static final String METRIC_RATE_LIMITED = "bunq_throttle_rate_limited_total";
+    private static final String METRIC_WAIT = "bunq_throttle_wait_milliseconds_total";
+    private static final String METRIC_BACKOFF = "bunq_throttle_backoff_milliseconds_total";
+    private static final String LABEL_ENDPOINT = "endpoint";
+    private static final String LABEL_METHOD = "method";
+    private static final String METHOD_GET = "GET";
+    private static final String METHOD_POST = "POST";
+    private static final String METHOD_PUT = "PUT";
+
+    private static final int HTTP_STATUS_TOO_MANY_REQUESTS = 429;
+    private static final int COUNT_REQUEST_SINGLE = 1;
+    private static final int HTTP_STATUS_SERVER_ERROR_MINIMUM = 500;
+
+    public static final ApiThrottle GET = new ApiThrottle(Integer.getInteger(PROPERTY_RATE_GET, RATE_GET_DEFAULT), true);
+    public static final ApiThrottle POST = new ApiThrottle(
+            Integer.getInteger(PROPERTY_RATE_POST, RATE_POST_DEFAULT),
+            false
+    );
+    public static final ApiThrottle PUT = new ApiThrottle(Integer.getInteger(PROPERTY_RATE_PUT, RATE_PUT_DEFAULT), true);
+
+    static {
+        registerAllCounter(METHOD_GET, GET);
+        registerAllCounter(METHOD_POST, POST);
+        registerAllCounter(METHOD_PUT, PUT);
+    }
+
+    private final RateLimiter rateLimiter;
+    private final boolean isServerErrorRetried;
+
+    private final AtomicLong countCall = new AtomicLong();
+    private final AtomicLong countRetry = new AtomicLong();
+    private final AtomicLong countRateLimited = new AtomicLong();
+    private final AtomicLong waitNanoseconds = new AtomicLong();
+    private final AtomicLong backoffNanoseconds = new AtomicLong();
+
+    /**
+     * @return A GET throttle of its own with the same limit as GET, for the requests of one other user.
+     */
+    public static ApiThrottle createGet() {
+        return new ApiThrottle(Integer.getInteger(PROPERTY_RATE_GET, RATE_GET_DEFAULT), true);
+    }
+
+    public ApiThrottle(int ratePerWindow, boolean isServerErrorRetried) {
+        this(new RateLimiter(ratePerWindow, RATE_WINDOW_SECONDS, TimeUnit.SECONDS), isServerErrorRetried);
+    }
+
+    public ApiThrottle(RateLimiter rateLimiter, boolean isServerErrorRetried) {
+        this.rateLimiter = rateLimiter;
+        this.isServerErrorRetried = isServerErrorRetried;
+    }
+
+    /**
+     * Runs the call once a permit is available, retrying it while bunq refuses it and attempts are left.
+     * Every attempt is timed under the endpoint name, and every refused attempt counted, see BunqEndpoint.
+     */
+    public <T> T call(String endpoint, Supplier<T> call) {
+        return call(endpoint, COUNT_REQUEST_SINGLE, call);
+    }
+
+    /**
+     * Like call, for a call that sends several requests of this method, taking a permit for each of them.
+     */
+    public <T> T call(String endpoint, int countRequest, Supplier<T> call) {
+        countCall.incrementAndGet();
+        Timer timer = Metrics.timer(METRIC_CALL, LABEL_ENDPOINT, endpoint);
+
+        for (int attempt = 1; ; attempt++) {
+            for (int i = 0; i < countRequest; i++) {
+                waitNanoseconds.addAndGet(rateLimiter.acquire());
+            }
+
+            long started = System.nanoTime();
+
+            try {
+                T result = call.get();
+                timer.recordSince(started);
+
+                return result;
+            } catch (ApiException exception) {
+                timer.recordSince(started);
+                Metrics.counter(METRIC_CALL_ERROR, LABEL_ENDPOINT, endpoint).increment();
+
+                if (attempt >= ATTEMPT_MAXIMUM || !isRetried(exception.getResponseCode())) {
+                    throw exception;
+                }
+
+                long backoff = determineBackoffNanoseconds(attempt);
+                countRetry.incrementAndGet();
+                backoffNanoseconds.addAndGet(backoff);
+
+                if (exception.getResponseCode() == HTTP_STATUS_TOO_MANY_REQUESTS) {
+                    countRateLimited.incrementAndGet();
+                    rateLimiter.pause(backoff);
+                } else {
+                    RateLimiter.sleep(backoff);
+                }
+            } catch (RuntimeException exception) {
+                timer.recordSince(started);
+                Metrics.counter(METRIC_CALL_ERROR, LABEL_ENDPOINT, endpoint).increment();
+
+                throw exception;
+            }
+        }
+    }
+
+    public long getCountCall() {
+        return countCall.get();
+    }
+
+    public long getCountRetry() {
+        return countRetry.get();
+    }
+
+    public long getCountRateLimited() {
+        return countRateLimited.get();
+    }
+
+    public long getWaitMilliseconds() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanoseconds.get());
+    }
+
+    public long getBackoffMilliseconds() {
+        return TimeUnit.NANOSECONDS.toMillis(backoffNanoseconds.get());
+    }
+
+    public static long getCountRetryTotal() {
+        return GET.getCountRetry() + POST.getCountRetry() + PUT.getCountRetry();
+    }
+
+    public static long getWaitMillisecondsTotal() {
+        return GET.getWaitMilliseconds() + POST.getWaitMilliseconds() + PUT.getWaitMilliseconds();
+    }
+
+    private static void registerAllCounter(String method, ApiThrottle throttle) {
+        Metrics.registerCounter(METRIC_CALLS, LABEL_METHOD, method, throttle::getCountCall);
+        Metrics.registerCounter(METRIC_RETRIES, LABEL_METHOD, method, throttle::getCountRetry);
+        Metrics.registerCounter(METRIC_RATE_LIMITED, LABEL_METHOD, method, throttle::getCountRateLimited);
+        Metrics.registerCounter(METRIC_WAIT, LABEL_METHOD, method, throttle::getWaitMilliseconds);
+        Metrics.registerCounter(METRIC_BACKOFF, LABEL_METHOD, method, throttle::getBackoffMilliseconds);
+    }
+
+    private boolean isRetried(int responseCode) {
+        if (responseCode == HTTP_STATUS_TOO_MANY_REQUESTS) {
+            return true;
+        } else if (responseCode >= HTTP_STATUS_SERVER_ERROR_MINIMUM) {
+            return isServerErrorRetried;
+        } else {
+            return false;
+        }
+    }
+
+    private static long determineBackoffNanoseconds(int attempt) {
+        long backoffCeiling = Math.min(BACKOFF_MAXIMUM_MILLISECONDS, BACKOFF_BASE_MILLISECONDS << (attempt - 1));
+
+        return TimeUnit.MILLISECONDS.toNanos(ThreadLocalRandom.current().nextLong(backoffCeiling + 1));
+    }
+}
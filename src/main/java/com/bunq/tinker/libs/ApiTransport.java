@@ -0,0 +1,10 @@
+package com.bunq.tinker.libs;
+
+import java.util.Map;
+
+/**
+ * Sends a GET request for an endpoint below the API root, like "user/1/card", and returns the body of the response.
+ */
+public interface ApiTransport {
+    byte[] get(String endpoint, Map<String, String> urlParams);
+}
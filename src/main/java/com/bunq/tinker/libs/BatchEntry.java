@@ -0,0 +1,57 @@
+package com.bunq.tinker.libs;
+
+/**
+ * A single line of a batch file: one payment or request to one recipient, or a line that could not be read, which
+ * fails on its own without stopping the rest of the batch.
+ */
+public class BatchEntry {
+
+    private final int lineNumber;
+    private final String amount;
+    private final String recipient;
+    private final String description;
+    private final String invalidReason;
+
+    public BatchEntry(int lineNumber, String amount, String recipient, String description) {
+        this(lineNumber, amount, recipient, description, null);
+    }
+
+    private BatchEntry(int lineNumber, String amount, String recipient, String description, String invalidReason) {
+        this.lineNumber = lineNumber;
+        this.amount = amount;
+        this.recipient = recipient;
+        this.description = description;
+        this.invalidReason = invalidReason;
+    }
+
+    public static BatchEntry createInvalid(int lineNumber, String invalidReason) {
+        return new BatchEntry(lineNumber, "", "", "", invalidReason);
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getAmount() {
+        return amount;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isInvalid() {
+        return invalidReason != null;
+    }
+
+    /**
+     * @return Why the line could not be read, or null when it could.
+     */
+    public String getInvalidReason() {
+        return invalidReason;
+    }
+}
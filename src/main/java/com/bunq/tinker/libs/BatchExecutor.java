@@ -0,0 +1,284 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.ApiException;
+import com.bunq.sdk.exception.BunqException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends a stream of batch entries in chunks through a batch endpoint, with a bounded number of chunks in flight.
+ *
+ * A batch is created atomically by bunq, so when it is rejected as a bad request nothing was created and its
+ * entries are retried one by one to find out which lines are invalid. Those retries run on their own bounded pool,
+ * so a rejected batch of hundreds of entries does not fall back to hundreds of round-trips in a row. Chunks of a
+ * single entry are sent through the single endpoint directly. Every entry gets exactly one line in the result file.
+ *
+ * Every entry goes through the journal, keyed by the run ID and its line: entries done in an earlier run with the same
+ * ID are skipped, entries whose earlier outcome is unknown are reported as in doubt and not resent. A batch is sent
+ * with the request ID of its first entry. Only a batch or entry that bunq rejected, see OperationJournal.isRejected,
+ * is failed; after any other error it is in doubt. Lines that could not be read and entries with an amount that is not
+ * valid, see Money, fail before anything is sent, so they never take the rest of their batch down with them.
+ */
+public class BatchExecutor {
+
+    /**
+     * Result status constants.
+     */
+    public static final String STATUS_SENT = "SENT";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_SKIPPED = "SKIPPED";
+    public static final String STATUS_IN_DOUBT = "IN_DOUBT";
+
+    /**
+     * Detail constants.
+     */
+    private static final String DETAIL_BATCH = "batch %d";
+    private static final String DETAIL_SINGLE = "id %d";
+    private static final String DETAIL_SKIPPED = "done in an earlier run";
+    private static final String DETAIL_IN_DOUBT = "started in an earlier run, outcome unknown";
+    private static final String DETAIL_AMOUNT_INVALID = "invalid amount, expected e.g. 12.34";
+
+    /**
+     * Journal key constants.
+     */
+    private static final String JOURNAL_KEY_LINE = "%s line %d";
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_INTERRUPTED = "Interrupted while waiting for the batch to finish.";
+
+    private static final int HTTP_STATUS_BAD_REQUEST = 400;
+    private static final int SIZE_SINGLE = 1;
+
+    private final BatchSender sender;
+    private final int batchSize;
+    private final int concurrency;
+    private final OperationJournal journal;
+    private final String runId;
+
+    private final AtomicInteger countSucceeded = new AtomicInteger();
+    private final AtomicInteger countFailed = new AtomicInteger();
+    private final AtomicInteger countSkipped = new AtomicInteger();
+    private final AtomicInteger countInDoubt = new AtomicInteger();
+    private final AtomicInteger countApiCall = new AtomicInteger();
+
+    /**
+     * @param runId Identifies the run in the journal, so a run resumed with the same ID skips what was done and
+     *              another run starts over.
+     */
+    public BatchExecutor(BatchSender sender, int batchSize, int concurrency, OperationJournal journal, String runId) {
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.journal = journal;
+        this.runId = runId;
+    }
+
+    public BatchSummary execute(Iterator<BatchEntry> allEntry, BatchResultWriter resultWriter) {
+        long timeStart = System.nanoTime();
+        long countRetryStart = ApiThrottle.getCountRetryTotal();
+        long waitMillisecondsStart = ApiThrottle.getWaitMillisecondsTotal();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        Semaphore allPermitInFlight = new Semaphore(concurrency);
+        FanOut fanOutSingle = new FanOut(concurrency);
+
+        try {
+            while (allEntry.hasNext()) {
+                List<BatchEntry> chunk = new ArrayList<>(batchSize);
+
+                while (allEntry.hasNext() && chunk.size() < batchSize) {
+                    BatchEntry entry = allEntry.next();
+
+                    if (shouldSend(entry, resultWriter)) {
+                        chunk.add(entry);
+                    } else {
+                        // Handled in an earlier run.
+                    }
+                }
+
+                if (chunk.isEmpty()) {
+                    continue;
+                }
+
+                allPermitInFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        sendChunk(chunk, resultWriter, fanOutSingle);
+                    } catch (RuntimeException exception) {
+                        writeAllResult(chunk, resultWriter, STATUS_FAILED, exception.getMessage());
+                        countFailed.addAndGet(chunk.size());
+                    } finally {
+                        allPermitInFlight.release();
+                    }
+                });
+            }
+        } catch (InterruptedException exception) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new BunqException(ERROR_INTERRUPTED);
+        } finally {
+            awaitAllChunkSent(executor);
+            fanOutSingle.close();
+        }
+
+        return new BatchSummary(
+                countSucceeded.get(),
+                countFailed.get(),
+                countSkipped.get(),
+                countInDoubt.get(),
+                countApiCall.get(),
+                ApiThrottle.getCountRetryTotal() - countRetryStart,
+                ApiThrottle.getWaitMillisecondsTotal() - waitMillisecondsStart,
+                System.nanoTime() - timeStart
+        );
+    }
+
+    private boolean shouldSend(BatchEntry entry, BatchResultWriter resultWriter) {
+        OperationJournal.State state = journal.getState(determineJournalKey(entry));
+
+        if (entry.isInvalid()) {
+            resultWriter.write(entry, STATUS_FAILED, entry.getInvalidReason());
+            countFailed.incrementAndGet();
+
+            return false;
+        } else if (!Money.isValid(entry.getAmount())) {
+            resultWriter.write(entry, STATUS_FAILED, DETAIL_AMOUNT_INVALID);
+            countFailed.incrementAndGet();
+
+            return false;
+        } else if (state == OperationJournal.State.DONE) {
+            resultWriter.write(entry, STATUS_SKIPPED, DETAIL_SKIPPED);
+            countSkipped.incrementAndGet();
+
+            return false;
+        } else if (state == OperationJournal.State.IN_DOUBT) {
+            resultWriter.write(entry, STATUS_IN_DOUBT, DETAIL_IN_DOUBT);
+            countInDoubt.incrementAndGet();
+
+            return false;
+        } else {
+            return true;
+        }
+    }
+
+    private String determineJournalKey(BatchEntry entry) {
+        return String.format(JOURNAL_KEY_LINE, runId, entry.getLineNumber());
+    }
+
+    /**
+     * Lets the chunks in flight finish, also when reading the input failed halfway.
+     */
+    private static void awaitAllChunkSent(ExecutorService executor) {
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendChunk(List<BatchEntry> chunk, BatchResultWriter resultWriter, FanOut fanOutSingle) {
+        if (chunk.size() == SIZE_SINGLE) {
+            sendSingle(chunk.get(0), resultWriter);
+
+            return;
+        }
+
+        List<String> allJournalKey = new ArrayList<>(chunk.size());
+
+        for (BatchEntry entry : chunk) {
+            allJournalKey.add(determineJournalKey(entry));
+        }
+
+        List<String> allRequestId = journal.begin(allJournalKey);
+
+        try {
+            countApiCall.incrementAndGet();
+            Integer batchId = sender.sendBatch(chunk, allRequestId.get(0));
+            String detail = String.format(DETAIL_BATCH, batchId);
+
+            for (BatchEntry entry : chunk) {
+                journal.markDone(determineJournalKey(entry), detail);
+                resultWriter.write(entry, STATUS_SENT, detail);
+            }
+
+            countSucceeded.addAndGet(chunk.size());
+        } catch (ApiException exception) {
+            if (!OperationJournal.isRejected(exception)) {
+                writeAllResult(chunk, resultWriter, STATUS_IN_DOUBT, exception.getMessage());
+                countInDoubt.addAndGet(chunk.size());
+
+                return;
+            }
+
+            for (String journalKey : allJournalKey) {
+                journal.markFailed(journalKey, exception.getMessage());
+            }
+
+            if (exception.getResponseCode() == HTTP_STATUS_BAD_REQUEST) {
+                sendAllSingle(chunk, resultWriter, fanOutSingle);
+            } else {
+                writeAllResult(chunk, resultWriter, STATUS_FAILED, exception.getMessage());
+                countFailed.addAndGet(chunk.size());
+            }
+        } catch (RuntimeException exception) {
+            writeAllResult(chunk, resultWriter, STATUS_IN_DOUBT, exception.getMessage());
+            countInDoubt.addAndGet(chunk.size());
+        }
+    }
+
+    /**
+     * Sends the entries of a rejected batch one by one, with as many in flight as chunks are.
+     */
+    private void sendAllSingle(List<BatchEntry> chunk, BatchResultWriter resultWriter, FanOut fanOutSingle) {
+        FanOut.joinAll(fanOutSingle.submitAll(chunk, entry -> sendSingle(entry, resultWriter)));
+    }
+
+    private Void sendSingle(BatchEntry entry, BatchResultWriter resultWriter) {
+        String journalKey = determineJournalKey(entry);
+
+        try {
+            String requestId = journal.begin(journalKey);
+            countApiCall.incrementAndGet();
+            String detail = String.format(DETAIL_SINGLE, sender.sendSingle(entry, requestId));
+            journal.markDone(journalKey, detail);
+            resultWriter.write(entry, STATUS_SENT, detail);
+            countSucceeded.incrementAndGet();
+        } catch (ApiException exception) {
+            if (OperationJournal.isRejected(exception)) {
+                journal.markFailed(journalKey, exception.getMessage());
+                resultWriter.write(entry, STATUS_FAILED, exception.getMessage());
+                countFailed.incrementAndGet();
+            } else {
+                resultWriter.write(entry, STATUS_IN_DOUBT, exception.getMessage());
+                countInDoubt.incrementAndGet();
+            }
+        } catch (RuntimeException exception) {
+            resultWriter.write(entry, STATUS_IN_DOUBT, exception.getMessage());
+            countInDoubt.incrementAndGet();
+        }
+
+        return null;
+    }
+
+    private static void writeAllResult(
+            List<BatchEntry> chunk,
+            BatchResultWriter resultWriter,
+            String status,
+            String detail
+    ) {
+        for (BatchEntry entry : chunk) {
+            resultWriter.write(entry, status, detail);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the entries of a batch file line by line, so a batch never has to fit in memory.
+ *
+ * Files ending in .ndjson or .jsonl hold one JSON object per line with the fields amount, recipient and description.
+ * Any other file is read as CSV with the columns amount,recipient,description and an optional header line.
+ * Quoted CSV fields may contain commas and doubled quotes, but not line breaks. A line that can not be read is handed
+ * out as an invalid entry, see BatchEntry.createInvalid, so it gets its own failed result and the file goes on.
+ */
+public class BatchFileReader implements Iterator<BatchEntry>, Closeable {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_READ_BATCH_FILE = "Could not read batch file \"%s\": %s";
+    private static final String ERROR_INVALID_LINE = "Invalid batch line %d: %s";
+    private static final String ERROR_MISSING_FIELD = "missing field \"%s\"";
+    private static final String ERROR_COLUMN_COUNT = "expected at least %d columns";
+    private static final String ERROR_NOT_AN_OBJECT = "expected a JSON object";
+    private static final String ERROR_NOT_A_VALUE = "field \"%s\" is not a value";
+
+    /**
+     * Format constants.
+     */
+    private static final String EXTENSION_NDJSON = ".ndjson";
+    private static final String EXTENSION_JSONL = ".jsonl";
+    private static final String FIELD_AMOUNT = "amount";
+    private static final String FIELD_RECIPIENT = "recipient";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final char CSV_SEPARATOR = ',';
+    private static final char CSV_QUOTE = '"';
+
+    /**
+     * Column index constants.
+     */
+    private static final int INDEX_AMOUNT = 0;
+    private static final int INDEX_RECIPIENT = 1;
+    private static final int INDEX_DESCRIPTION = 2;
+    private static final int COLUMN_COUNT_MINIMUM = 2;
+
+    private final String fileName;
+    private final BufferedReader reader;
+    private final boolean isNdjson;
+    private final Gson gson = new Gson();
+
+    private int lineNumber;
+    private BatchEntry nextEntry;
+
+    public BatchFileReader(String fileName) {
+        this.fileName = fileName;
+        this.isNdjson = fileName.endsWith(EXTENSION_NDJSON) || fileName.endsWith(EXTENSION_JSONL);
+
+        try {
+            this.reader = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_READ_BATCH_FILE, fileName, exception.getMessage()));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (nextEntry == null) {
+            String line = readLine();
+
+            if (line == null) {
+                return false;
+            } else if (line.trim().isEmpty()) {
+                // Skip blank lines.
+            } else if (!isNdjson && lineNumber == 1 && line.trim().toLowerCase().startsWith(FIELD_AMOUNT)) {
+                // Skip the CSV header.
+            } else {
+                nextEntry = parseLine(line);
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public BatchEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        BatchEntry entry = nextEntry;
+        nextEntry = null;
+
+        return entry;
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            lineNumber++;
+
+            return line;
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_READ_BATCH_FILE, fileName, exception.getMessage()));
+        }
+    }
+
+    private BatchEntry parseLine(String line) {
+        try {
+            return isNdjson ? parseNdjsonLine(line) : parseCsvLine(line);
+        } catch (BunqException exception) {
+            return BatchEntry.createInvalid(lineNumber, exception.getMessage());
+        }
+    }
+
+    private BatchEntry parseNdjsonLine(String line) {
+        JsonElement json;
+
+        try {
+            json = gson.fromJson(line, JsonElement.class);
+        } catch (JsonParseException exception) {
+            throw new BunqException(String.format(ERROR_INVALID_LINE, lineNumber, exception.getMessage()));
+        }
+
+        if (json == null || !json.isJsonObject()) {
+            throw new BunqException(String.format(ERROR_INVALID_LINE, lineNumber, ERROR_NOT_AN_OBJECT));
+        }
+
+        JsonObject jsonObject = json.getAsJsonObject();
+
+        return new BatchEntry(
+                lineNumber,
+                getMandatoryField(jsonObject, FIELD_AMOUNT),
+                getMandatoryField(jsonObject, FIELD_RECIPIENT),
+                jsonObject.has(FIELD_DESCRIPTION) ? getValue(jsonObject, FIELD_DESCRIPTION) : ""
+        );
+    }
+
+    private String getMandatoryField(JsonObject jsonObject, String field) {
+        JsonElement value = jsonObject.get(field);
+
+        if (value == null || value.isJsonNull()) {
+            throw new BunqException(
+                    String.format(ERROR_INVALID_LINE, lineNumber, String.format(ERROR_MISSING_FIELD, field))
+            );
+        }
+
+        return getValue(jsonObject, field);
+    }
+
+    private String getValue(JsonObject jsonObject, String field) {
+        JsonElement value = jsonObject.get(field);
+
+        if (!value.isJsonPrimitive()) {
+            throw new BunqException(
+                    String.format(ERROR_INVALID_LINE, lineNumber, String.format(ERROR_NOT_A_VALUE, field))
+            );
+        }
+
+        return value.getAsString();
+    }
+
+    private BatchEntry parseCsvLine(String line) {
+        List<String> allColumn = splitCsvLine(line);
+
+        if (allColumn.size() < COLUMN_COUNT_MINIMUM) {
+            throw new BunqException(
+                    String.format(ERROR_INVALID_LINE, lineNumber, String.format(ERROR_COLUMN_COUNT, COLUMN_COUNT_MINIMUM))
+            );
+        }
+
+        return new BatchEntry(
+                lineNumber,
+                allColumn.get(INDEX_AMOUNT).trim(),
+                allColumn.get(INDEX_RECIPIENT).trim(),
+                allColumn.size() > INDEX_DESCRIPTION ? allColumn.get(INDEX_DESCRIPTION) : ""
+        );
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> allColumn = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean isQuoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char character = line.charAt(i);
+
+            if (isQuoted && character == CSV_QUOTE && i + 1 < line.length() && line.charAt(i + 1) == CSV_QUOTE) {
+                column.append(CSV_QUOTE);
+                i++;
+            } else if (character == CSV_QUOTE) {
+                isQuoted = !isQuoted;
+            } else if (character == CSV_SEPARATOR && !isQuoted) {
+                allColumn.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(character);
+            }
+        }
+
+        allColumn.add(column.toString());
+
+        return allColumn;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
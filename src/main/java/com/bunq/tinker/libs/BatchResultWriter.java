@@ -0,0 +1,73 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Writes one CSV result line per batch entry, in the order the results come in. Every line is flushed as soon as it
+ * is written, so the status per recipient can be followed with e.g. "tail -f" while a large batch is still running.
+ */
+public class BatchResultWriter implements Closeable {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_WRITE_RESULT_FILE = "Could not write result file \"%s\": %s";
+
+    /**
+     * Format constants.
+     */
+    private static final String HEADER = "line,status,recipient,amount,detail";
+    private static final String LINE_FORMAT = "%d,%s,%s,%s,%s";
+    private static final String QUOTE = "\"";
+    private static final String QUOTE_ESCAPED = "\"\"";
+
+    private final String fileName;
+    private final BufferedWriter writer;
+
+    public BatchResultWriter(String fileName) {
+        this.fileName = fileName;
+
+        try {
+            this.writer = Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8);
+            this.writer.write(HEADER);
+            this.writer.newLine();
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_WRITE_RESULT_FILE, fileName, exception.getMessage()));
+        }
+    }
+
+    public synchronized void write(BatchEntry entry, String status, String detail) {
+        try {
+            writer.write(
+                    String.format(
+                            LINE_FORMAT,
+                            entry.getLineNumber(),
+                            status,
+                            quote(entry.getRecipient()),
+                            quote(entry.getAmount()),
+                            quote(detail)
+                    )
+            );
+            writer.newLine();
+            writer.flush();
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_WRITE_RESULT_FILE, fileName, exception.getMessage()));
+        }
+    }
+
+    private static String quote(String value) {
+        return QUOTE + String.valueOf(value).replace(QUOTE, QUOTE_ESCAPED) + QUOTE;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
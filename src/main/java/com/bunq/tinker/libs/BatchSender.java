@@ -0,0 +1,23 @@
+package com.bunq.tinker.libs;
+
+import java.util.List;
+
+/**
+ * Sends batch entries to bunq, either grouped through a batch endpoint or one by one.
+ */
+public interface BatchSender {
+
+    /**
+     * @param requestId The client request ID to send the batch with, see OperationJournal.HEADER_CLIENT_REQUEST_ID.
+     *
+     * @return The ID of the created batch.
+     */
+    Integer sendBatch(List<BatchEntry> allEntry, String requestId);
+
+    /**
+     * @param requestId The client request ID to send the entry with, see OperationJournal.HEADER_CLIENT_REQUEST_ID.
+     *
+     * @return The ID of the created object.
+     */
+    Integer sendSingle(BatchEntry entry, String requestId);
+}
@@ -0,0 +1,77 @@
+package com.bunq.tinker.libs;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts of a finished batch run and the throughput it reached. The retries and the time waited for the rate limit
+ * are those of ApiThrottle while the batch ran, not since the process started.
+ */
+public class BatchSummary {
+
+    private static final double MILLISECONDS_PER_SECOND = 1000.0;
+
+    private final int countSucceeded;
+    private final int countFailed;
+    private final int countSkipped;
+    private final int countInDoubt;
+    private final int countApiCall;
+    private final long countRetry;
+    private final long waitMilliseconds;
+    private final long durationMilliseconds;
+
+    public BatchSummary(
+            int countSucceeded,
+            int countFailed,
+            int countSkipped,
+            int countInDoubt,
+            int countApiCall,
+            long countRetry,
+            long waitMilliseconds,
+            long durationNanoseconds
+    ) {
+        this.countSucceeded = countSucceeded;
+        this.countFailed = countFailed;
+        this.countSkipped = countSkipped;
+        this.countInDoubt = countInDoubt;
+        this.countApiCall = countApiCall;
+        this.countRetry = countRetry;
+        this.waitMilliseconds = waitMilliseconds;
+        this.durationMilliseconds = TimeUnit.NANOSECONDS.toMillis(durationNanoseconds);
+    }
+
+    public int getCountSucceeded() {
+        return countSucceeded;
+    }
+
+    public int getCountFailed() {
+        return countFailed;
+    }
+
+    public int getCountSkipped() {
+        return countSkipped;
+    }
+
+    public int getCountInDoubt() {
+        return countInDoubt;
+    }
+
+    public int getCountApiCall() {
+        return countApiCall;
+    }
+
+    public long getCountRetry() {
+        return countRetry;
+    }
+
+    public long getWaitMilliseconds() {
+        return waitMilliseconds;
+    }
+
+    public long getDurationMilliseconds() {
+        return durationMilliseconds;
+    }
+
+    public double getEntriesPerSecond() {
+        return (countSucceeded + countFailed + countInDoubt) * MILLISECONDS_PER_SECOND / Math.max(durationMilliseconds, 1);
+    }
+}
@@ -0,0 +1,471 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.sdk.model.generated.endpoint.RequestInquiry;
+import com.bunq.sdk.model.generated.object.Pointer;
+
+import java.io.Flushable;
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Renders entities as the boxes the tinkers print, into one reusable buffer that goes to the output once per batch.
+ *
+ * Every box is built from prebuilt border and label templates, so rendering an entity appends a few strings to the
+ * buffer instead of doing a dozen synchronized println calls. The buffer is handed to the PrintStream as a whole,
+ * which keeps the encoding of that stream and costs a single write and flush per batch.
+ */
+public class BoxRenderer implements Flushable {
+
+    /**
+     * The number of entities rendered before the buffer is written out.
+     */
+    private static final int BATCH_SIZE_DEFAULT = 128;
+    private static final int BUFFER_CAPACITY_INITIAL = 64 * 1024;
+
+    private static final String PROPERTY_LINE_SEPARATOR = "line.separator";
+    private static final String EOL = System.getProperty(PROPERTY_LINE_SEPARATOR);
+
+    /**
+     * Echo constants.
+     */
+    private static final String ECHO_CARD = EOL + "   Cards" + EOL;
+    private static final String ECHO_REQUEST = EOL + "   Requests" + EOL;
+    private static final String ECHO_PAYMENT = EOL + "   Payments" + EOL;
+    private static final String ECHO_MONETARY_ACCOUNT = EOL + "   Monetary Accounts" + EOL;
+    private static final String ECHO_USER = EOL + "   User" + EOL;
+    private static final String ECHO_ACTIVITY_PREFIX = EOL + "   Activity of \"";
+    private static final String ECHO_ACTIVITY_SUFFIX = "\"";
+    private static final String ECHO_USER_ALIAS = "   You can use these login credentials to login in to the bunq sandbox app.";
+
+    /**
+     * Box templates.
+     */
+    private static final String LINE_TOP =
+            "  ┌───────────────────┬────────────────────────────────────────────────────" + EOL;
+    private static final String LINE_MIDDLE =
+            "  ├───────────────────┼────────────────────────────────────────────────────" + EOL;
+    private static final String LINE_BOTTOM =
+            "  └───────────────────┴────────────────────────────────────────────────────" + EOL;
+    private static final String CELL_ID = "  │ ID                │ ";
+    private static final String CELL_USERNAME = "  │ Username          │ ";
+    private static final String CELL_DESCRIPTION = "  │ Description       │ ";
+    private static final String CELL_IBAN = "  │ IBAN              │ ";
+    private static final String CELL_BALANCE = "  │ Balance           │ ";
+    private static final String CELL_AMOUNT = "  │ Amount            │ ";
+    private static final String CELL_RECIPIENT = "  │ Recipient         │ ";
+    private static final String CELL_STATUS = "  │ Status            │ ";
+    private static final String CELL_TYPE = "  │ Type              │ ";
+    private static final String CELL_NAME_ON_CARD = "  │ Name on Card      │ ";
+    private static final String CELL_LINKED_ACCOUNT = "  │ Linked Account    │ ";
+    private static final String CELL_VALUE = "  │ Value             │ ";
+    private static final String ROW_CONFIRMATION_CODE = "  │ Confirmation Code │ 123456" + EOL;
+    private static final String ROW_LOGIN_CODE = "  │ Login Code        │ 000000" + EOL;
+    private static final String SEPARATOR_CURRENCY = " ";
+
+    /**
+     * Card constants.
+     */
+    private static final String CARD_DESCRIPTION_DEFAULT = "bunq card";
+    private static final String MONETARY_ACCOUNT_DESCRIPTION_DEFAULT = "account description";
+    private static final String POINTER_TYPE_PHONE = "PHONE_NUMBER";
+
+    private final PrintStream output;
+    private final int batchSize;
+    private final StringBuilder buffer = new StringBuilder(BUFFER_CAPACITY_INITIAL);
+    private int countEntityInBuffer;
+
+    public BoxRenderer(PrintStream output) {
+        this(output, BATCH_SIZE_DEFAULT);
+    }
+
+    public BoxRenderer(PrintStream output, int batchSize) {
+        this.output = output;
+        this.batchSize = batchSize;
+    }
+
+    public void renderUser(int userId, String userName) {
+        buffer.append(ECHO_USER).append(EOL);
+        buffer.append(LINE_TOP);
+        appendRow(CELL_ID, userId);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_USERNAME, userName);
+        buffer.append(LINE_BOTTOM);
+        completeEntity();
+    }
+
+    public void renderAllMonetaryAccountBank(Iterable<MonetaryAccountBank> allMonetaryAccountBank) {
+        buffer.append(ECHO_MONETARY_ACCOUNT).append(EOL);
+
+        for (MonetaryAccountBank monetaryAccountBank : allMonetaryAccountBank) {
+            renderMonetaryAccountBank(monetaryAccountBank);
+            buffer.append(EOL);
+        }
+    }
+
+    public void renderMonetaryAccountBank(MonetaryAccountBank monetaryAccountBank) {
+        Pointer pointerIban = BunqLib.getPointerIbanForMonetaryAccountBank(monetaryAccountBank);
+
+        if (monetaryAccountBank.getBalance() == null) {
+            renderMonetaryAccountBank(
+                    monetaryAccountBank.getId(),
+                    monetaryAccountBank.getDescription(),
+                    pointerIban.getValue(),
+                    null,
+                    null
+            );
+        } else {
+            renderMonetaryAccountBank(
+                    monetaryAccountBank.getId(),
+                    monetaryAccountBank.getDescription(),
+                    pointerIban.getValue(),
+                    monetaryAccountBank.getBalance().getCurrency(),
+                    monetaryAccountBank.getBalance().getValue()
+            );
+        }
+    }
+
+    /**
+     * @param balanceCurrency Null when we don't have access to the balance of the account.
+     */
+    public void renderMonetaryAccountBank(
+            Integer id,
+            String description,
+            String iban,
+            String balanceCurrency,
+            String balanceValue
+    ) {
+        buffer.append(LINE_TOP);
+        appendRow(CELL_ID, id);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_DESCRIPTION, description);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_IBAN, iban);
+
+        if (balanceCurrency == null) {
+            // We don't have access to the balance of this account.
+        } else {
+            buffer.append(LINE_MIDDLE);
+            appendAmountRow(CELL_BALANCE, balanceCurrency, balanceValue);
+        }
+
+        buffer.append(LINE_BOTTOM);
+        completeEntity();
+    }
+
+    public void renderAllMonetaryAccountActivity(Iterable<MonetaryAccountActivity> allActivity) {
+        for (MonetaryAccountActivity activity : allActivity) {
+            buffer.append(ECHO_ACTIVITY_PREFIX)
+                    .append(activity.getMonetaryAccountBank().getDescription())
+                    .append(ECHO_ACTIVITY_SUFFIX)
+                    .append(EOL);
+            renderAllPayment(activity.getAllPayment());
+            renderAllRequest(activity.getAllRequest());
+        }
+    }
+
+    public void renderAllPayment(Iterable<Payment> allPayment) {
+        buffer.append(ECHO_PAYMENT).append(EOL);
+
+        for (Payment payment : allPayment) {
+            renderPayment(payment);
+            buffer.append(EOL);
+        }
+    }
+
+    public void renderPayment(Payment payment) {
+        renderPayment(
+                payment.getId(),
+                payment.getDescription(),
+                payment.getAmount().getCurrency(),
+                payment.getAmount().getValue(),
+                payment.getCounterpartyAlias().getLabelUser().getDisplayName()
+        );
+    }
+
+    public void renderPayment(Integer id, String description, String currency, String amount, String recipient) {
+        buffer.append(LINE_TOP);
+        appendRow(CELL_ID, id);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_DESCRIPTION, description);
+        buffer.append(LINE_MIDDLE);
+        appendAmountRow(CELL_AMOUNT, currency, amount);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_RECIPIENT, recipient);
+        buffer.append(LINE_BOTTOM);
+        completeEntity();
+    }
+
+    public void renderAllRequest(Iterable<RequestInquiry> allRequest) {
+        buffer.append(ECHO_REQUEST).append(EOL);
+
+        for (RequestInquiry request : allRequest) {
+            renderRequest(request);
+            buffer.append(EOL);
+        }
+    }
+
+    public void renderRequest(RequestInquiry request) {
+        renderRequest(
+                request.getId(),
+                request.getDescription(),
+                request.getStatus(),
+                request.getAmountInquired().getCurrency(),
+                request.getAmountInquired().getValue(),
+                request.getCounterpartyAlias().getLabelUser().getDisplayName()
+        );
+    }
+
+    public void renderRequest(
+            Integer id,
+            String description,
+            String status,
+            String currency,
+            String amount,
+            String recipient
+    ) {
+        buffer.append(LINE_TOP);
+        appendRow(CELL_ID, id);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_DESCRIPTION, description);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_STATUS, status);
+        buffer.append(LINE_MIDDLE);
+        appendAmountRow(CELL_AMOUNT, currency, amount);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_RECIPIENT, recipient);
+        buffer.append(LINE_BOTTOM);
+        completeEntity();
+    }
+
+    public void renderAllCard(Iterable<Card> allCard, Map<String, MonetaryAccountBank> allMonetaryAccountBankByIban) {
+        buffer.append(ECHO_CARD).append(EOL);
+
+        for (Card card : allCard) {
+            renderCard(card, allMonetaryAccountBankByIban);
+            buffer.append(EOL);
+        }
+    }
+
+    public void renderCard(Card card, Map<String, MonetaryAccountBank> allMonetaryAccountBankByIban) {
+        MonetaryAccountBank monetaryAccountBank = BunqLib.getMonetaryAccountBankFromLabel(
+                card.getLabelMonetaryAccountCurrent(),
+                allMonetaryAccountBankByIban
+        );
+
+        renderCard(
+                card.getId(),
+                card.getType(),
+                card.getNameOnCard(),
+                card.getSecondLine(),
+                monetaryAccountBank == null ? null : monetaryAccountBank.getDescription(),
+                card.getLabelMonetaryAccountCurrent().getIban()
+        );
+    }
+
+    /**
+     * @param linkedDescription Null when the linked account is not known, e.g. because it is not active.
+     */
+    public void renderCard(
+            Integer id,
+            String type,
+            String nameOnCard,
+            String secondLine,
+            String linkedDescription,
+            String linkedIban
+    ) {
+        buffer.append(LINE_TOP);
+        appendRow(CELL_ID, id);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_TYPE, type);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_NAME_ON_CARD, nameOnCard);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_DESCRIPTION, secondLine == null ? CARD_DESCRIPTION_DEFAULT : secondLine);
+        buffer.append(LINE_MIDDLE);
+        buffer.append(CELL_LINKED_ACCOUNT)
+                .append(linkedDescription == null ? MONETARY_ACCOUNT_DESCRIPTION_DEFAULT : linkedDescription)
+                .append(SEPARATOR_CURRENCY)
+                .append(linkedIban)
+                .append(EOL);
+        buffer.append(LINE_BOTTOM);
+        completeEntity();
+    }
+
+    public void renderAllUserAlias(Iterable<Pointer> allUserAlias) {
+        buffer.append(ECHO_USER_ALIAS).append(EOL);
+
+        for (Pointer alias : allUserAlias) {
+            renderUserAlias(alias.getValue(), alias.getType());
+        }
+    }
+
+    public void renderUserAlias(String value, String type) {
+        buffer.append(LINE_TOP);
+        appendRow(CELL_VALUE, value);
+        buffer.append(LINE_MIDDLE);
+        appendRow(CELL_TYPE, type);
+        buffer.append(LINE_MIDDLE);
+
+        if (type.equals(POINTER_TYPE_PHONE)) {
+            buffer.append(ROW_CONFIRMATION_CODE);
+            buffer.append(LINE_MIDDLE);
+        }
+
+        buffer.append(ROW_LOGIN_CODE);
+        buffer.append(LINE_BOTTOM);
+        completeEntity();
+    }
+
+    /**
+     * The render methods below take their entities from a snapshot, see SnapshotReader, and render them exactly like
+     * the ones fetched from bunq. They render at most count payments, requests or cards, the newest ones.
+     */
+    public void renderAllMonetaryAccountBank(SnapshotReader snapshot) {
+        buffer.append(ECHO_MONETARY_ACCOUNT).append(EOL);
+
+        for (int i = 0; i < snapshot.getCountMonetaryAccount(); i++) {
+            if (snapshot.hasMonetaryAccountBalance(i)) {
+                renderMonetaryAccountBank(
+                        snapshot.getMonetaryAccountId(i),
+                        snapshot.getMonetaryAccountDescription(i),
+                        snapshot.getMonetaryAccountIban(i),
+                        snapshot.getMonetaryAccountBalanceCurrency(i),
+                        Money.format(snapshot.getMonetaryAccountBalanceCents(i))
+                );
+            } else {
+                renderMonetaryAccountBank(
+                        snapshot.getMonetaryAccountId(i),
+                        snapshot.getMonetaryAccountDescription(i),
+                        snapshot.getMonetaryAccountIban(i),
+                        null,
+                        null
+                );
+            }
+
+            buffer.append(EOL);
+        }
+    }
+
+    public void renderAllMonetaryAccountActivity(SnapshotReader snapshot, int count) {
+        for (int i = 0; i < snapshot.getCountMonetaryAccount(); i++) {
+            buffer.append(ECHO_ACTIVITY_PREFIX)
+                    .append(snapshot.getMonetaryAccountDescription(i))
+                    .append(ECHO_ACTIVITY_SUFFIX)
+                    .append(EOL);
+            renderAllPayment(snapshot, i, count);
+            renderAllRequest(snapshot, i, count);
+        }
+    }
+
+    /**
+     * @param monetaryAccountIndex The index of the account in the snapshot.
+     */
+    public void renderAllPayment(SnapshotReader snapshot, int monetaryAccountIndex, int count) {
+        int first = snapshot.getMonetaryAccountPaymentFirst(monetaryAccountIndex);
+        int end = first + Math.min(count, snapshot.getMonetaryAccountPaymentCount(monetaryAccountIndex));
+        buffer.append(ECHO_PAYMENT).append(EOL);
+
+        for (int i = first; i < end; i++) {
+            renderPayment(
+                    snapshot.getPaymentId(i),
+                    snapshot.getPaymentDescription(i),
+                    snapshot.getPaymentCurrency(i),
+                    Money.format(snapshot.getPaymentAmountCents(i)),
+                    snapshot.getPaymentCounterparty(i)
+            );
+            buffer.append(EOL);
+        }
+    }
+
+    /**
+     * @param monetaryAccountIndex The index of the account in the snapshot.
+     */
+    public void renderAllRequest(SnapshotReader snapshot, int monetaryAccountIndex, int count) {
+        int first = snapshot.getMonetaryAccountRequestFirst(monetaryAccountIndex);
+        int end = first + Math.min(count, snapshot.getMonetaryAccountRequestCount(monetaryAccountIndex));
+        buffer.append(ECHO_REQUEST).append(EOL);
+
+        for (int i = first; i < end; i++) {
+            renderRequest(
+                    snapshot.getRequestId(i),
+                    snapshot.getRequestDescription(i),
+                    snapshot.getRequestStatus(i),
+                    snapshot.getRequestCurrency(i),
+                    Money.format(snapshot.getRequestAmountCents(i)),
+                    snapshot.getRequestCounterparty(i)
+            );
+            buffer.append(EOL);
+        }
+    }
+
+    public void renderAllCard(SnapshotReader snapshot, int count) {
+        buffer.append(ECHO_CARD).append(EOL);
+
+        for (int i = 0; i < Math.min(count, snapshot.getCountCard()); i++) {
+            int monetaryAccountIndex = snapshot.findMonetaryAccountByIban(snapshot.getCardIban(i));
+
+            renderCard(
+                    snapshot.getCardId(i),
+                    snapshot.getCardType(i),
+                    snapshot.getCardNameOnCard(i),
+                    snapshot.getCardSecondLine(i),
+                    monetaryAccountIndex == SnapshotReader.INDEX_NONE
+                            ? null
+                            : snapshot.getMonetaryAccountDescription(monetaryAccountIndex),
+                    snapshot.getCardIban(i)
+            );
+            buffer.append(EOL);
+        }
+    }
+
+    public void renderAllUserAlias(SnapshotReader snapshot) {
+        buffer.append(ECHO_USER_ALIAS).append(EOL);
+
+        for (int i = 0; i < snapshot.getCountUserAlias(); i++) {
+            renderUserAlias(snapshot.getUserAliasValue(i), snapshot.getUserAliasType(i));
+        }
+    }
+
+    /**
+     * Writes everything rendered so far to the output.
+     */
+    @Override
+    public void flush() {
+        if (buffer.length() > 0) {
+            output.print(buffer);
+            output.flush();
+            buffer.setLength(0);
+        } else {
+            // Nothing rendered since the last flush.
+        }
+
+        countEntityInBuffer = 0;
+    }
+
+    private void appendRow(String cell, Integer value) {
+        if (value == null) {
+            buffer.append(cell).append((Object) null).append(EOL);
+        } else {
+            buffer.append(cell).append(value.intValue()).append(EOL);
+        }
+    }
+
+    private void appendRow(String cell, String value) {
+        buffer.append(cell).append(value).append(EOL);
+    }
+
+    private void appendAmountRow(String cell, String currency, String value) {
+        buffer.append(cell).append(currency).append(SEPARATOR_CURRENCY).append(value).append(EOL);
+    }
+
+    private void completeEntity() {
+        if (++countEntityInBuffer >= batchSize) {
+            flush();
+        } else {
+            // Keep buffering until the batch is full.
+        }
+    }
+}
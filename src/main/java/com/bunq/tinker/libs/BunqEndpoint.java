@@ -0,0 +1,28 @@
+package com.bunq.tinker.libs;
+
+/**
+ * The names calls to bunq are timed and counted under, one per endpoint and action, given to ApiThrottle.call.
+ */
+public final class BunqEndpoint {
+
+    public static final String USER_GET = "user.get";
+    public static final String MONETARY_ACCOUNT_BANK_GET = "monetary-account-bank.get";
+    public static final String MONETARY_ACCOUNT_BANK_LIST = "monetary-account-bank.list";
+    public static final String MONETARY_ACCOUNT_BANK_UPDATE = "monetary-account-bank.update";
+    public static final String PAYMENT_LIST = "payment.list";
+    public static final String PAYMENT_CREATE = "payment.create";
+    public static final String PAYMENT_BATCH_CREATE = "payment-batch.create";
+    public static final String REQUEST_INQUIRY_GET = "request-inquiry.get";
+    public static final String REQUEST_INQUIRY_LIST = "request-inquiry.list";
+    public static final String REQUEST_INQUIRY_CREATE = "request-inquiry.create";
+    public static final String REQUEST_INQUIRY_BATCH_CREATE = "request-inquiry-batch.create";
+    public static final String CARD_LIST = "card.list";
+    public static final String CARD_UPDATE = "card.update";
+    public static final String NOTIFICATION_FILTER_URL_LIST = "notification-filter-url.list";
+    public static final String NOTIFICATION_FILTER_URL_CREATE = "notification-filter-url.create";
+    public static final String SANDBOX_USER_CREATE = "sandbox-user.create";
+    public static final String API_CONTEXT_CREATE = "api-context.create";
+
+    private BunqEndpoint() {
+    }
+}
@@ -4,8 +4,10 @@ import com.bunq.sdk.context.ApiContext;
 import com.bunq.sdk.context.ApiEnvironmentType;
 import com.bunq.sdk.context.BunqContext;
 import com.bunq.sdk.exception.BunqException;
+import com.bunq.sdk.exception.ExceptionFactory;
 import com.bunq.sdk.exception.ForbiddenException;
 import com.bunq.sdk.http.Pagination;
+import com.bunq.sdk.model.core.BunqModel;
 import com.bunq.sdk.model.generated.endpoint.Card;
 import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
 import com.bunq.sdk.model.generated.endpoint.Payment;
@@ -13,14 +15,16 @@ import com.bunq.sdk.model.generated.endpoint.RequestInquiry;
 import com.bunq.sdk.model.generated.endpoint.SandboxUser;
 import com.bunq.sdk.model.generated.endpoint.User;
 import com.bunq.sdk.model.generated.endpoint.UserCompany;
+import com.bunq.sdk.model.generated.endpoint.UserLight;
 import com.bunq.sdk.model.generated.endpoint.UserPerson;
 import com.bunq.sdk.model.generated.object.Amount;
 import com.bunq.sdk.model.generated.object.LabelMonetaryAccount;
 import com.bunq.sdk.model.generated.object.Pointer;
+import com.bunq.tinker.metrics.Metrics;
+import com.bunq.tinker.metrics.Timer;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.stream.JsonReader;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
@@ -29,14 +33,26 @@ import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 public class BunqLib {
 
   private static final int DEFAULT_FETCH_COUNT = 10;
 
+  /**
+   * The maximum number of items bunq returns in a single page.
+   */
+  private static final int PAGE_SIZE_MAXIMUM = 200;
+
   /**
    * Error constants.
    */
@@ -50,6 +66,24 @@ public class BunqLib {
   private static final String FILE_NAME_BUNQ_CONF_PRODUCTION = "bunq-production.conf";
   private static final String FILE_NAME_BUNQ_CONF_SANDBOX = "bunq-sandbox.conf";
 
+  /**
+   * Transaction cache constants.
+   */
+  private static final String DIRECTORY_NAME_CACHE_PRODUCTION = "bunq-cache-production";
+  private static final String DIRECTORY_NAME_CACHE_SANDBOX = "bunq-cache-sandbox";
+  private static final String CACHE_NAME_PAYMENT = "payment-%d";
+  private static final String CACHE_NAME_REQUEST = "request-%d";
+
+  /**
+   * Sandbox API constants.
+   */
+  private static final String URL_SANDBOX_USER_PERSON = "https://public-api.sandbox.bunq.com/v1/sandbox-user-person";
+
+  /**
+   * The installation, device-server and session-server requests of setting up a context.
+   */
+  private static final int COUNT_REQUEST_API_CONTEXT_CREATE = 3;
+
   /**
    * Field constants.
    */
@@ -62,6 +96,7 @@ public class BunqLib {
   private static final String POINTER_TYPE_EMAIL = "EMAIL";
   private static final String CURRENCY_EUR = "EUR";
   private static final String MONETARY_ACCOUNT_STATUS_ACTIVE = "ACTIVE";
+  private static final String REQUEST_INQUIRY_STATUS_PENDING = "PENDING";
   private static final String DEVICE_SERVER_DESCRIPTION = "bunq Tinker java";
 
   /**
@@ -73,6 +108,7 @@ public class BunqLib {
    * Http constants.
    */
   private static final int HTTP_STATUS_OK = 200;
+  private static final String HEADER_RESPONSE_ID = "X-Bunq-Client-Response-Id";
   private static final String ERROR_COULD_NOT_DETERMINE_USER_TYPE = "Could not determine user type";
 
   /**
@@ -81,23 +117,103 @@ public class BunqLib {
   private static final String REQUEST_SPENDING_MONEY_AMOUNT = "500.0";
   private static final String REQUEST_SPENDING_MONEY_RECIPIENT = "sugardaddy@bunq.com";
   private static final String REQUEST_SPENDING_MONEY_DESCRIPTION = "Requesting some spending money.";
-  private static final int REQUEST_SPENDING_MONEY_WAIT_TIME_MILLISECONDS = 1000;
+  private static final long REQUEST_SPENDING_MONEY_POLL_INITIAL_MILLISECONDS = 100;
+  private static final long REQUEST_SPENDING_MONEY_POLL_MAXIMUM_MILLISECONDS = 2000;
+  private static final long REQUEST_SPENDING_MONEY_TIMEOUT_MILLISECONDS = 30000;
+  private static final String REQUEST_SPENDING_MONEY_THREAD_NAME = "request-spending-money";
+  private static final String ERROR_SPENDING_MONEY_NOT_RECEIVED = "Spending money did not arrive within %d ms.";
+  private static final String ERROR_INTERRUPTED = "Interrupted while waiting for spending money.";
 
   /**
    * Balance constant.
    */
-  private static final double BALANCE_ZERO = 0.0;
+  private static final long BALANCE_ZERO_CENTS = 0;
+
+  /**
+   * Metric constants, the phases of setting up a BunqLib.
+   */
+  private static final String METRIC_PHASE = "tinker_phase_seconds";
+  private static final String LABEL_PHASE = "phase";
+  private static final Timer TIMER_PHASE_REUSE_CONTEXT = Metrics.timer(METRIC_PHASE, LABEL_PHASE, "reuse_context");
+  private static final Timer TIMER_PHASE_SETUP_CONTEXT = Metrics.timer(METRIC_PHASE, LABEL_PHASE, "setup_context");
+  private static final Timer TIMER_PHASE_SETUP_USER = Metrics.timer(METRIC_PHASE, LABEL_PHASE, "setup_user");
+
+  /**
+   * The context and user loaded by an earlier instance in this JVM, reused when TinkerDaemon runs many commands.
+   */
+  private static ApiEnvironmentType environmentTypeLoaded;
+  private static ApiContext apiContextLoaded;
+  private static User userLoaded;
 
   private ApiEnvironmentType environmentType;
 
   private User user;
 
+  /**
+   * Completes once the request for spending money was sent, null when no spending money was needed.
+   */
+  private CompletableFuture<Void> spendingMoneyRequest;
+
   public BunqLib(ApiEnvironmentType environmentType) {
     this.environmentType = environmentType;
 
-    this.setupContext();
-    this.setupCurrentUser();
-    this.requestSpendingMoneyIfNeeded();
+    long started = System.nanoTime();
+
+    if (this.isContextLoaded() && this.reuseLoadedContext()) {
+      // Context, session and user are still valid.
+      TIMER_PHASE_REUSE_CONTEXT.recordSince(started);
+    } else {
+      this.setupContext();
+      TIMER_PHASE_SETUP_CONTEXT.recordSince(started);
+
+      started = System.nanoTime();
+      this.setupCurrentUser();
+      TIMER_PHASE_SETUP_USER.recordSince(started);
+
+      this.requestSpendingMoneyIfNeeded();
+      this.rememberLoadedContext();
+    }
+  }
+
+  /**
+   * @return True when an earlier instance in this JVM loaded the context of this environment and nothing replaced it.
+   */
+  private boolean isContextLoaded() {
+    return apiContextLoaded != null
+        && this.environmentType.equals(environmentTypeLoaded)
+        && BunqContext.getApiContext() == apiContextLoaded;
+  }
+
+  /**
+   * Only touches the network and the config file when the session of the loaded context has to be reset.
+   *
+   * @return False when the loaded context can not be used anymore.
+   */
+  private boolean reuseLoadedContext() {
+    try {
+      apiContextLoaded.ensureSessionActive();
+
+      if (ApiContextStore.saveIfChanged(apiContextLoaded, this.determineBunqConfigFileName())) {
+        BunqContext.loadApiContext(apiContextLoaded);
+        userLoaded = ApiThrottle.GET.call(BunqEndpoint.USER_GET, () -> User.get()).getValue();
+      } else {
+        // Session is still active.
+      }
+
+      this.user = userLoaded;
+
+      return true;
+    } catch (ForbiddenException forbiddenException) {
+      apiContextLoaded = null;
+
+      return false;
+    }
+  }
+
+  private void rememberLoadedContext() {
+    environmentTypeLoaded = this.environmentType;
+    apiContextLoaded = BunqContext.getApiContext();
+    userLoaded = this.user;
   }
 
   /**
@@ -112,17 +228,17 @@ public class BunqLib {
     if (new File(this.determineBunqConfigFileName()).exists()) {
       // Config is already present.
     } else if (ApiEnvironmentType.SANDBOX.equals(this.environmentType)) {
-      SandboxUser sandboxUser = generateNewSandboxUser();
-      ApiContext.create(ApiEnvironmentType.SANDBOX, sandboxUser.getApiKey(), DEVICE_SERVER_DESCRIPTION).save(this.determineBunqConfigFileName());
+      this.setupSandboxConfig();
     } else {
       throw new BunqException(ERROR_COULD_NOT_FIND_CONFIG_FILE);
     }
 
     try {
-      ApiContext apiContext = ApiContext.restore(this.determineBunqConfigFileName());
+      ApiContext apiContext = ApiContextStore.restore(this.determineBunqConfigFileName());
 
+      // Only resets the session when it is about to expire, so usually nothing changes and nothing is written.
       apiContext.ensureSessionActive();
-      apiContext.save(this.determineBunqConfigFileName());
+      ApiContextStore.saveIfChanged(apiContext, this.determineBunqConfigFileName());
 
       BunqContext.loadApiContext(apiContext);
     } catch (ForbiddenException forbiddenException) {
@@ -134,8 +250,24 @@ public class BunqLib {
     }
   }
 
+  /**
+   * Leases a context that was set up ahead of time when the sandbox pool has one, and only sets up a new sandbox
+   * user otherwise. Either way the pool is topped up in the background for the next one.
+   */
+  private void setupSandboxConfig() {
+    SandboxContextPool pool = SandboxContextPool.getDefault();
+
+    if (pool.leaseTo(this.determineBunqConfigFileName())) {
+      // Leased a ready context.
+    } else {
+      ApiContextStore.save(createSandboxApiContext(), this.determineBunqConfigFileName());
+    }
+
+    pool.refillInBackground();
+  }
+
   public void updateContext() {
-    BunqContext.getApiContext().save(this.determineBunqConfigFileName());
+    ApiContextStore.saveIfChanged(BunqContext.getApiContext(), this.determineBunqConfigFileName());
   }
 
   /**
@@ -150,10 +282,13 @@ public class BunqLib {
   }
 
   /**
+   * Sets up a new sandbox user right away instead of leasing one from the pool, as a pooled context that was set up
+   * around the same time as the refused one may be refused as well.
    */
   private void handleForbiddenException(ForbiddenException forbiddenException) {
     if (ApiEnvironmentType.SANDBOX.equals(this.environmentType)) {
       this.deleteOldConfig();
+      ApiContextStore.save(createSandboxApiContext(), this.determineBunqConfigFileName());
       this.setupContext(false);
     } else {
       throw forbiddenException;
@@ -165,6 +300,7 @@ public class BunqLib {
   private void deleteOldConfig() {
     try {
       Files.delete(Paths.get((this.determineBunqConfigFileName())));
+      ApiContextStore.forget(this.determineBunqConfigFileName());
     } catch (IOException e) {
       throw new BunqException(e.getMessage());
     }
@@ -173,7 +309,7 @@ public class BunqLib {
   /**
    */
   private void setupCurrentUser() {
-    this.user = User.get().getValue();
+    this.user = ApiThrottle.GET.call(BunqEndpoint.USER_GET, () -> User.get()).getValue();
   }
 
   public User getUser() {
@@ -188,7 +324,10 @@ public class BunqLib {
     Pagination pagination = new Pagination();
     pagination.setCount(count);
 
-    List<MonetaryAccountBank> allAccount = MonetaryAccountBank.list(pagination.getUrlParamsCountOnly()).getValue();
+    List<MonetaryAccountBank> allAccount = ApiThrottle.GET.call(
+        BunqEndpoint.MONETARY_ACCOUNT_BANK_LIST,
+        () -> MonetaryAccountBank.list(pagination.getUrlParamsCountOnly())
+    ).getValue();
     List<MonetaryAccountBank> allAccountActive = new ArrayList<>();
 
     for (MonetaryAccountBank account : allAccount) {
@@ -210,12 +349,33 @@ public class BunqLib {
     Pagination pagination = new Pagination();
     pagination.setCount(count);
 
-    return Payment.list(
-        monetaryAccountBank.getId(),
-        pagination.getUrlParamsCountOnly()
+    return ApiThrottle.GET.call(
+        BunqEndpoint.PAYMENT_LIST,
+        () -> Payment.list(monetaryAccountBank.getId(), pagination.getUrlParamsCountOnly())
     ).getValue();
   }
 
+  /**
+   * Syncs the on-disk payment cache of the account with bunq, fetching only payments newer than the cached ones.
+   *
+   * @return The newest count payments from the cache.
+   */
+  public List<Payment> getAllPaymentCached(MonetaryAccountBank monetaryAccountBank, int count) {
+    Integer monetaryAccountId = monetaryAccountBank.getId();
+    TransactionCache<Payment> paymentCache = new TransactionCache<>(
+        this.determineCacheDirectory(),
+        String.format(CACHE_NAME_PAYMENT, monetaryAccountId),
+        Payment.class,
+        Payment::getId
+    );
+
+    paymentCache.sync(
+        urlParams -> ApiThrottle.GET.call(BunqEndpoint.PAYMENT_LIST, () -> Payment.list(monetaryAccountId, urlParams))
+    );
+
+    return paymentCache.readNewest(count);
+  }
+
   public List<RequestInquiry> getAllRequest(MonetaryAccountBank monetaryAccountBank) {
     return getAllRequest(monetaryAccountBank, DEFAULT_FETCH_COUNT);
   }
@@ -224,12 +384,113 @@ public class BunqLib {
     Pagination pagination = new Pagination();
     pagination.setCount(count);
 
-    return RequestInquiry.list(
-        monetaryAccountBank.getId(),
-        pagination.getUrlParamsCountOnly()
+    return ApiThrottle.GET.call(
+        BunqEndpoint.REQUEST_INQUIRY_LIST,
+        () -> RequestInquiry.list(monetaryAccountBank.getId(), pagination.getUrlParamsCountOnly())
     ).getValue();
   }
 
+  /**
+   * Fetches the payments and requests of every given account concurrently, using at most concurrency calls in flight.
+   */
+  public List<MonetaryAccountActivity> getAllActivity(
+      List<MonetaryAccountBank> allMonetaryAccountBank,
+      int count,
+      int concurrency
+  ) {
+    return getAllActivity(allMonetaryAccountBank, count, concurrency, false);
+  }
+
+  public List<MonetaryAccountActivity> getAllActivity(
+      List<MonetaryAccountBank> allMonetaryAccountBank,
+      int count,
+      int concurrency,
+      boolean useCache
+  ) {
+    try (FanOut fanOut = new FanOut(concurrency)) {
+      List<Future<List<Payment>>> allPaymentFuture = fanOut.submitAll(
+          allMonetaryAccountBank,
+          monetaryAccountBank -> useCache
+              ? getAllPaymentCached(monetaryAccountBank, count)
+              : getAllPayment(monetaryAccountBank, count)
+      );
+      List<Future<List<RequestInquiry>>> allRequestFuture = fanOut.submitAll(
+          allMonetaryAccountBank,
+          monetaryAccountBank -> useCache
+              ? getAllRequestCached(monetaryAccountBank, count)
+              : getAllRequest(monetaryAccountBank, count)
+      );
+      List<MonetaryAccountActivity> allActivity = new ArrayList<>();
+
+      for (int i = INDEX_FIRST; i < allMonetaryAccountBank.size(); i++) {
+        allActivity.add(
+            new MonetaryAccountActivity(
+                allMonetaryAccountBank.get(i),
+                FanOut.join(allPaymentFuture.get(i)),
+                FanOut.join(allRequestFuture.get(i))
+            )
+        );
+      }
+
+      return allActivity;
+    }
+  }
+
+  /**
+   * Syncs the on-disk request cache of the account with bunq, fetching only requests newer than the cached ones and
+   * each pending one again by its ID, as those can still be accepted, rejected or revoked.
+   *
+   * @return The newest count requests from the cache.
+   */
+  public List<RequestInquiry> getAllRequestCached(MonetaryAccountBank monetaryAccountBank, int count) {
+    Integer monetaryAccountId = monetaryAccountBank.getId();
+    TransactionCache<RequestInquiry> requestCache = new TransactionCache<>(
+        this.determineCacheDirectory(),
+        String.format(CACHE_NAME_REQUEST, monetaryAccountId),
+        RequestInquiry.class,
+        RequestInquiry::getId,
+        requestInquiry -> !REQUEST_INQUIRY_STATUS_PENDING.equals(requestInquiry.getStatus())
+    );
+
+    requestCache.sync(
+        urlParams -> ApiThrottle.GET.call(
+            BunqEndpoint.REQUEST_INQUIRY_LIST,
+            () -> RequestInquiry.list(monetaryAccountId, urlParams)
+        ),
+        requestInquiryId -> ApiThrottle.GET.call(
+            BunqEndpoint.REQUEST_INQUIRY_GET,
+            () -> RequestInquiry.get(requestInquiryId, monetaryAccountId)
+        ).getValue()
+    );
+
+    return requestCache.readNewest(count);
+  }
+
+  /**
+   * @return The cache directory of the current user, so a regenerated sandbox user never sees stale items.
+   */
+  private Path determineCacheDirectory() {
+    String directoryName;
+
+    if (ApiEnvironmentType.PRODUCTION.equals(this.environmentType)) {
+      directoryName = DIRECTORY_NAME_CACHE_PRODUCTION;
+    } else {
+      directoryName = DIRECTORY_NAME_CACHE_SANDBOX;
+    }
+
+    return Paths.get(directoryName, this.determineUserId().toString());
+  }
+
+  private Integer determineUserId() {
+    if (this.getUser().getReferencedObject() instanceof UserPerson) {
+      return ((UserPerson) this.getUser().getReferencedObject()).getId();
+    } else if (this.getUser().getReferencedObject() instanceof UserCompany) {
+      return ((UserCompany) this.getUser().getReferencedObject()).getId();
+    } else {
+      throw new BunqException(ERROR_COULD_NOT_DETERMINE_USER_TYPE);
+    }
+  }
+
   public List<Card> getAllCard() {
     return getAllCard(DEFAULT_FETCH_COUNT);
   }
@@ -238,9 +499,74 @@ public class BunqLib {
     Pagination pagination = new Pagination();
     pagination.setCount(count);
 
-    return Card.list(
-        pagination.getUrlParamsCountOnly()
-    ).getValue();
+    return ApiThrottle.GET.call(BunqEndpoint.CARD_LIST, () -> Card.list(pagination.getUrlParamsCountOnly())).getValue();
+  }
+
+  /**
+   * The iterate methods below follow the pagination cursors of bunq lazily, from the newest item to the oldest one.
+   * Pages are only fetched while the caller keeps iterating, so breaking out of the loop stops fetching.
+   */
+  public Iterable<MonetaryAccountBank> iterateAllMonetaryAccountBankActive() {
+    return iterateAllMonetaryAccountBankActive(PAGE_SIZE_MAXIMUM);
+  }
+
+  public Iterable<MonetaryAccountBank> iterateAllMonetaryAccountBankActive(int pageSize) {
+    return PageIterator.iterable(
+        urlParams -> ApiThrottle.GET.call(
+            BunqEndpoint.MONETARY_ACCOUNT_BANK_LIST,
+            () -> MonetaryAccountBank.list(urlParams)
+        ),
+        pageSize,
+        account -> account.getStatus().equals(MONETARY_ACCOUNT_STATUS_ACTIVE)
+    );
+  }
+
+  public Iterable<Payment> iterateAllPayment(MonetaryAccountBank monetaryAccountBank) {
+    return iterateAllPayment(monetaryAccountBank, PAGE_SIZE_MAXIMUM);
+  }
+
+  public Iterable<Payment> iterateAllPayment(MonetaryAccountBank monetaryAccountBank, int pageSize) {
+    Integer monetaryAccountId = monetaryAccountBank.getId();
+
+    return PageIterator.iterable(
+        urlParams -> ApiThrottle.GET.call(BunqEndpoint.PAYMENT_LIST, () -> Payment.list(monetaryAccountId, urlParams)),
+        pageSize
+    );
+  }
+
+  public Iterable<RequestInquiry> iterateAllRequest(MonetaryAccountBank monetaryAccountBank) {
+    return iterateAllRequest(monetaryAccountBank, PAGE_SIZE_MAXIMUM);
+  }
+
+  public Iterable<RequestInquiry> iterateAllRequest(MonetaryAccountBank monetaryAccountBank, int pageSize) {
+    Integer monetaryAccountId = monetaryAccountBank.getId();
+
+    return PageIterator.iterable(
+        urlParams -> ApiThrottle.GET.call(
+            BunqEndpoint.REQUEST_INQUIRY_LIST,
+            () -> RequestInquiry.list(monetaryAccountId, urlParams)
+        ),
+        pageSize
+    );
+  }
+
+  public Iterable<Card> iterateAllCard() {
+    return iterateAllCard(PAGE_SIZE_MAXIMUM);
+  }
+
+  public Iterable<Card> iterateAllCard(int pageSize) {
+    return PageIterator.iterable(
+        urlParams -> ApiThrottle.GET.call(BunqEndpoint.CARD_LIST, () -> Card.list(urlParams)),
+        pageSize
+    );
+  }
+
+  public Stream<Payment> streamAllPayment(MonetaryAccountBank monetaryAccountBank) {
+    return PageIterator.stream(iterateAllPayment(monetaryAccountBank));
+  }
+
+  public Stream<RequestInquiry> streamAllRequest(MonetaryAccountBank monetaryAccountBank) {
+    return PageIterator.stream(iterateAllRequest(monetaryAccountBank));
   }
 
   public static Pointer getPointerIbanForMonetaryAccountBank(MonetaryAccountBank monetaryAccountBank) {
@@ -277,6 +603,66 @@ public class BunqLib {
     return null;
   }
 
+  /**
+   * Builds the IBAN index once per account listing, so resolving many labels does not scan all accounts each time.
+   * Accounts without an IBAN alias are left out instead of failing the whole listing.
+   */
+  public static Map<String, MonetaryAccountBank> indexAllMonetaryAccountBankByIban(
+      List<MonetaryAccountBank> allMonetaryAccountBank
+  ) {
+    Map<String, MonetaryAccountBank> allMonetaryAccountBankByIban = new HashMap<>();
+
+    for (MonetaryAccountBank monetaryAccountBank : allMonetaryAccountBank) {
+      for (Pointer pointer : monetaryAccountBank.getAlias()) {
+        if (pointer.getType().equals(POINTER_TYPE_IBAN)) {
+          allMonetaryAccountBankByIban.putIfAbsent(pointer.getValue(), monetaryAccountBank);
+        } else {
+          // Only IBAN aliases show up on labels.
+        }
+      }
+    }
+
+    return allMonetaryAccountBankByIban;
+  }
+
+  /**
+   * @return The account with the IBAN of the label, or null when it is not in the index.
+   */
+  public static MonetaryAccountBank getMonetaryAccountBankFromLabel(
+      LabelMonetaryAccount label,
+      Map<String, MonetaryAccountBank> allMonetaryAccountBankByIban
+  ) {
+    return allMonetaryAccountBankByIban.get(label.getIban());
+  }
+
+  public static int getUserId(User user) {
+    BunqModel userModel = user.getReferencedObject();
+
+    if (userModel instanceof UserPerson) {
+      return ((UserPerson) userModel).getId();
+    } else if (userModel instanceof UserCompany) {
+      return ((UserCompany) userModel).getId();
+    } else if (userModel instanceof UserLight) {
+      return ((UserLight) userModel).getId();
+    } else {
+      throw new BunqException(ERROR_COULD_NOT_DETERMINE_USER_TYPE);
+    }
+  }
+
+  public static String getUserDisplayName(User user) {
+    BunqModel userModel = user.getReferencedObject();
+
+    if (userModel instanceof UserPerson) {
+      return ((UserPerson) userModel).getDisplayName();
+    } else if (userModel instanceof UserCompany) {
+      return ((UserCompany) userModel).getDisplayName();
+    } else if (userModel instanceof UserLight) {
+      return ((UserLight) userModel).getDisplayName();
+    } else {
+      throw new BunqException(ERROR_COULD_NOT_DETERMINE_USER_TYPE);
+    }
+  }
+
   public List<Pointer> getAllUserAlias() {
     if (this.getUser().getReferencedObject() instanceof UserPerson) {
       return ((UserPerson) this.getUser().getReferencedObject()).getAlias();
@@ -287,11 +673,32 @@ public class BunqLib {
     }
   }
 
-  private SandboxUser generateNewSandboxUser() {
-    OkHttpClient client = new OkHttpClient();
+  /**
+   * Generates a new sandbox user and sets up a context for it, ready to be saved and loaded.
+   *
+   * The user is throttled on its own, so a refused installation, device or session is retried with the same API key
+   * instead of generating another user. The SDK registers those three in one go, so they take a permit each up front.
+   */
+  public static ApiContext createSandboxApiContext() {
+    SandboxUser sandboxUser = ApiThrottle.POST.call(
+        BunqEndpoint.SANDBOX_USER_CREATE,
+        BunqLib::generateNewSandboxUser
+    );
+
+    return ApiThrottle.POST.call(
+        BunqEndpoint.API_CONTEXT_CREATE,
+        COUNT_REQUEST_API_CONTEXT_CREATE,
+        () -> ApiContext.create(ApiEnvironmentType.SANDBOX, sandboxUser.getApiKey(), DEVICE_SERVER_DESCRIPTION)
+    );
+  }
 
+  /**
+   * Uses the shared client and closes the response, so the connection goes back to the pool for the next user.
+   * Failures are thrown as the ApiException of their response code, so a 429 can be retried by ApiThrottle.
+   */
+  private static SandboxUser generateNewSandboxUser() {
     Request request = new Request.Builder()
-        .url("https://public-api.sandbox.bunq.com/v1/sandbox-user-person")
+        .url(URL_SANDBOX_USER_PERSON)
         .post(RequestBody.create(null, new byte[0]))
         .addHeader("x-bunq-client-request-id", "1234")
         .addHeader("cache-control", "no-cache")
@@ -300,42 +707,104 @@ public class BunqLib {
         .addHeader("x-bunq-region", "en_US")
         .build();
 
-    try {
-      Response response = client.newCall(request).execute();
+    try (Response response = SharedHttpClient.get().newCall(request).execute()) {
+      String responseString = response.body().string();
+
       if (response.code() == HTTP_STATUS_OK) {
-        String responseString = response.body().string();
         JsonObject jsonObject = new Gson().fromJson(responseString, JsonObject.class);
         JsonObject apiKEy = jsonObject.getAsJsonArray(FIELD_RESPONSE).get(INDEX_FIRST).getAsJsonObject().get(FIELD_API_KEY).getAsJsonObject();
 
         return SandboxUser.fromJsonReader(new JsonReader(new StringReader(apiKEy.toString())));
       } else {
-        throw new BunqException(String.format(ERROR_COULD_NOT_GENERATE_NEW_API_KEY, response.body().string()));
+        throw ExceptionFactory.createExceptionForResponse(
+            Collections.singletonList(String.format(ERROR_COULD_NOT_GENERATE_NEW_API_KEY, responseString)),
+            response.code(),
+            response.header(HEADER_RESPONSE_ID)
+        );
       }
     } catch (IOException e) {
       throw new BunqException(e.getMessage());
     }
   }
 
+  /**
+   * Sends the request for spending money on a background thread, so startup does not wait for it. Tinkers that need
+   * the money call awaitSpendingMoney before spending it.
+   */
   private void requestSpendingMoneyIfNeeded() {
     if (shouldRequestSpendingMoney()) {
-      RequestInquiry.create(
-        new Amount(REQUEST_SPENDING_MONEY_AMOUNT, CURRENCY_EUR),
-        new Pointer(POINTER_TYPE_EMAIL, REQUEST_SPENDING_MONEY_RECIPIENT),
-        REQUEST_SPENDING_MONEY_DESCRIPTION,
-        false
-      );
+      CompletableFuture<Void> request = new CompletableFuture<>();
+
+      new Thread(() -> {
+        try {
+          ApiThrottle.POST.call(
+            BunqEndpoint.REQUEST_INQUIRY_CREATE,
+            () -> RequestInquiry.create(
+              new Amount(REQUEST_SPENDING_MONEY_AMOUNT, CURRENCY_EUR),
+              new Pointer(POINTER_TYPE_EMAIL, REQUEST_SPENDING_MONEY_RECIPIENT),
+              REQUEST_SPENDING_MONEY_DESCRIPTION,
+              false
+            )
+          );
+          request.complete(null);
+        } catch (RuntimeException exception) {
+          request.completeExceptionally(exception);
+        }
+      }, REQUEST_SPENDING_MONEY_THREAD_NAME).start();
+
+      this.spendingMoneyRequest = request;
+    }
+  }
+
+  /**
+   * Blocks until the spending money requested at startup is on the primary account, polling its balance with
+   * exponential backoff. Returns right away when no spending money was requested.
+   */
+  public void awaitSpendingMoney() {
+    if (this.spendingMoneyRequest == null) {
+      return;
+    }
+
+    FanOut.join(this.spendingMoneyRequest);
+
+    Integer primaryMonetaryAccountId = BunqContext.getUserContext().getPrimaryMonetaryAccountBank().getId();
+    long deadline = System.currentTimeMillis() + REQUEST_SPENDING_MONEY_TIMEOUT_MILLISECONDS;
+    long pollInterval = REQUEST_SPENDING_MONEY_POLL_INITIAL_MILLISECONDS;
+
+    while (isBalanceZero(
+        ApiThrottle.GET.call(
+            BunqEndpoint.MONETARY_ACCOUNT_BANK_GET,
+            () -> MonetaryAccountBank.get(primaryMonetaryAccountId)
+        ).getValue().getBalance()
+    )) {
+      if (System.currentTimeMillis() + pollInterval > deadline) {
+        throw new BunqException(
+            String.format(ERROR_SPENDING_MONEY_NOT_RECEIVED, REQUEST_SPENDING_MONEY_TIMEOUT_MILLISECONDS)
+        );
+      }
 
       try {
-        Thread.sleep(REQUEST_SPENDING_MONEY_WAIT_TIME_MILLISECONDS);
+        Thread.sleep(pollInterval);
       } catch (InterruptedException exception) {
-        System.out.println(exception.getMessage());
+        Thread.currentThread().interrupt();
+        throw new BunqException(ERROR_INTERRUPTED);
       }
+
+      pollInterval = Math.min(pollInterval * 2, REQUEST_SPENDING_MONEY_POLL_MAXIMUM_MILLISECONDS);
     }
+
+    this.spendingMoneyRequest = null;
   }
 
+  /**
+   * Uses the balance the user context loaded at startup, which costs no extra call.
+   */
   private boolean shouldRequestSpendingMoney() {
     return ApiEnvironmentType.SANDBOX.equals(environmentType)
-            && (Double.parseDouble(BunqContext.getUserContext().getPrimaryMonetaryAccountBank().getBalance().getValue())
-                <= BALANCE_ZERO);
+            && isBalanceZero(BunqContext.getUserContext().getPrimaryMonetaryAccountBank().getBalance());
+  }
+
+  private static boolean isBalanceZero(Amount balance) {
+    return Money.parseCents(balance.getValue()) <= BALANCE_ZERO_CENTS;
   }
 }
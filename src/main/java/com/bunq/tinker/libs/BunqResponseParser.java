@@ -0,0 +1,98 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.http.BunqResponse;
+import com.bunq.sdk.http.Pagination;
+import com.bunq.sdk.json.BunqGsonBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parses bunq listing bodies into SDK models, for the clients that do not go through the static SDK endpoints.
+ */
+public final class BunqResponseParser {
+
+    /**
+     * Query constants.
+     */
+    private static final String QUERY_START = "?";
+    private static final String QUERY_SEPARATOR = "&";
+    private static final String QUERY_ASSIGNMENT = "=";
+    private static final String PARAM_COUNT = "count";
+    private static final String PARAM_OLDER_ID = "older_id";
+    private static final String PARAM_NEWER_ID = "newer_id";
+
+    /**
+     * Json constants.
+     */
+    private static final String FIELD_RESPONSE = "Response";
+    private static final String FIELD_PAGINATION = "Pagination";
+    private static final String FIELD_OLDER_URL = "older_url";
+    private static final String FIELD_NEWER_URL = "newer_url";
+    private static final String FIELD_FUTURE_URL = "future_url";
+
+    private static final Gson gson = BunqGsonBuilder.buildDefault().create();
+
+    private BunqResponseParser() {
+    }
+
+    /**
+     * Parses a listing body the way the SDK does: every item unwrapped into a model, plus the pagination cursors.
+     */
+    public static <T> BunqResponse<List<T>> parseList(String body, String wrapper, Class<T> modelClass) {
+        JsonObject root = new JsonParser().parse(body).getAsJsonObject();
+        JsonArray allItem = root.getAsJsonArray(FIELD_RESPONSE);
+        List<T> allModel = new ArrayList<>(allItem.size());
+
+        for (JsonElement item : allItem) {
+            allModel.add(gson.fromJson(item.getAsJsonObject().get(wrapper), modelClass));
+        }
+
+        return new BunqResponse<>(allModel, Collections.emptyMap(), parsePagination(root.getAsJsonObject(FIELD_PAGINATION)));
+    }
+
+    private static Pagination parsePagination(JsonObject paginationJson) {
+        if (paginationJson == null) {
+            return null;
+        }
+
+        Pagination pagination = new Pagination();
+        pagination.setOlderId(parseCursor(paginationJson, FIELD_OLDER_URL, PARAM_OLDER_ID, pagination));
+        pagination.setNewerId(parseCursor(paginationJson, FIELD_NEWER_URL, PARAM_NEWER_ID, pagination));
+        pagination.setFutureId(parseCursor(paginationJson, FIELD_FUTURE_URL, PARAM_NEWER_ID, pagination));
+
+        return pagination;
+    }
+
+    /**
+     * @return The ID the given URL continues from, or null when there is no such URL.
+     */
+    private static Integer parseCursor(JsonObject paginationJson, String field, String param, Pagination pagination) {
+        JsonElement url = paginationJson.get(field);
+
+        if (url == null || url.isJsonNull()) {
+            return null;
+        }
+
+        Integer cursor = null;
+        String query = url.getAsString().substring(url.getAsString().indexOf(QUERY_START) + 1);
+
+        for (String queryParam : query.split(QUERY_SEPARATOR)) {
+            String[] keyAndValue = queryParam.split(QUERY_ASSIGNMENT, 2);
+
+            if (PARAM_COUNT.equals(keyAndValue[0])) {
+                pagination.setCount(Integer.parseInt(keyAndValue[1]));
+            } else if (param.equals(keyAndValue[0])) {
+                cursor = Integer.parseInt(keyAndValue[1]);
+            }
+        }
+
+        return cursor;
+    }
+}
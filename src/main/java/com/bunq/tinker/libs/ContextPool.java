@@ -0,0 +1,101 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.context.ApiContext;
+import com.bunq.sdk.exception.BunqException;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Holds the contexts of many bunq users at once and runs a task for each of them on a bounded number of threads.
+ *
+ * BunqLib and the SDK endpoints act as the one user loaded in BunqContext, so a process can only be one user at a
+ * time through them. The pool keeps every context to itself instead, and gives each task the UserApi of its user,
+ * e.g. one configuration file per OAuth-linked user of a PSD2 provider.
+ */
+public class ContextPool implements AutoCloseable {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_LIST_DIRECTORY = "Could not list context directory \"%s\": %s";
+    private static final String ERROR_NO_CONTEXT = "No configuration files found in \"%s\".";
+
+    private static final String GLOB_CONFIGURATION = "*.conf";
+
+    private final List<UserApi> allUserApi;
+    private final FanOut fanOut;
+
+    public ContextPool(List<? extends UserApi> allUserApi, int concurrency) {
+        this.allUserApi = Collections.unmodifiableList(new ArrayList<>(allUserApi));
+        this.fanOut = new FanOut(concurrency);
+    }
+
+    /**
+     * Restores every configuration file in the directory, resetting and saving the sessions that expired.
+     */
+    public static ContextPool load(String directoryName, int concurrency) {
+        List<String> allConfigurationFileName = listAllConfigurationFileName(directoryName);
+
+        if (allConfigurationFileName.isEmpty()) {
+            throw new BunqException(String.format(ERROR_NO_CONTEXT, directoryName));
+        }
+
+        try (FanOut fanOutLoad = new FanOut(concurrency)) {
+            List<ContextUserApi> allUserApi = FanOut.joinAll(
+                    fanOutLoad.submitAll(allConfigurationFileName, ContextPool::loadUserApi)
+            );
+
+            return new ContextPool(allUserApi, concurrency);
+        }
+    }
+
+    private static List<String> listAllConfigurationFileName(String directoryName) {
+        List<String> allConfigurationFileName = new ArrayList<>();
+
+        try (DirectoryStream<Path> allFile = Files.newDirectoryStream(Paths.get(directoryName), GLOB_CONFIGURATION)) {
+            for (Path file : allFile) {
+                allConfigurationFileName.add(file.toString());
+            }
+        } catch (IOException exception) {
+            throw new BunqException(
+                    String.format(ERROR_COULD_NOT_LIST_DIRECTORY, directoryName, exception.getMessage())
+            );
+        }
+
+        Collections.sort(allConfigurationFileName);
+
+        return allConfigurationFileName;
+    }
+
+    private static ContextUserApi loadUserApi(String fileName) {
+        ApiContext apiContext = ApiContextStore.restore(fileName);
+        apiContext.ensureSessionActive();
+        ApiContextStore.saveIfChanged(apiContext, fileName);
+
+        return new ContextUserApi(apiContext, fileName);
+    }
+
+    public List<UserApi> getAllUserApi() {
+        return allUserApi;
+    }
+
+    /**
+     * @return The result of the task for every user, in the order of the users in the pool.
+     */
+    public <R> List<R> runForAll(Function<UserApi, R> task) {
+        return FanOut.joinAll(fanOut.submitAll(allUserApi, task));
+    }
+
+    @Override
+    public void close() {
+        fanOut.close();
+    }
+}
@@ -0,0 +1,151 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.context.ApiContext;
+import com.bunq.sdk.http.ApiClient;
+import com.bunq.sdk.http.BunqResponse;
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.sdk.model.generated.endpoint.RequestInquiry;
+import com.bunq.tinker.metrics.Counter;
+import com.bunq.tinker.metrics.Metrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The list endpoints of the user of one ApiContext, signed and sent by an ApiClient of that context.
+ * Nothing goes through BunqContext, so any number of these can be used from different threads at the same time.
+ *
+ * bunq limits the requests of every user on its own, so every instance has a GET throttle of its own instead of
+ * going through the shared ApiThrottle.GET. The session of the context is renewed before a request when it is about
+ * to expire, and the configuration file is then saved, so a pool can keep running for longer than a session lasts.
+ */
+public class ContextUserApi implements UserApi {
+
+    /**
+     * Endpoint constants.
+     */
+    private static final String ENDPOINT_MONETARY_ACCOUNT_BANK = "user/%d/monetary-account-bank";
+    private static final String ENDPOINT_PAYMENT = "user/%d/monetary-account/%d/payment";
+    private static final String ENDPOINT_REQUEST_INQUIRY = "user/%d/monetary-account/%d/request-inquiry";
+    private static final String ENDPOINT_CARD = "user/%d/card";
+
+    /**
+     * Wrapper constants, the name bunq wraps every listed object in.
+     */
+    private static final String WRAPPER_MONETARY_ACCOUNT_BANK = "MonetaryAccountBank";
+    private static final String WRAPPER_PAYMENT = "Payment";
+    private static final String WRAPPER_REQUEST_INQUIRY = "RequestInquiry";
+    private static final String WRAPPER_CARD = "CardDebit";
+
+    /**
+     * Metric constants.
+     */
+    private static final String METRIC_BYTES_RECEIVED = "http_received_bytes_total";
+    private static final String LABEL_CLIENT = "client";
+    private static final String CLIENT_CONTEXT = "context";
+
+    private static final Counter BYTES_RECEIVED = Metrics.counter(METRIC_BYTES_RECEIVED, LABEL_CLIENT, CLIENT_CONTEXT);
+
+    static {
+        Metrics.describe(METRIC_BYTES_RECEIVED, SharedHttpClient.HELP_BYTES_RECEIVED);
+    }
+
+    private final int userId;
+    private final ApiTransport transport;
+    private final ApiThrottle throttle = ApiThrottle.createGet();
+
+    /**
+     * @param fileName The configuration file the context was restored from, saved again when the session renews.
+     */
+    public ContextUserApi(ApiContext apiContext, String fileName) {
+        this(apiContext.getSessionContext().getUserId(), createTransport(apiContext, fileName));
+    }
+
+    /**
+     * For requests that do not go to bunq through an ApiClient, e.g. to a mock API in the benchmarks.
+     */
+    public ContextUserApi(int userId, ApiTransport transport) {
+        this.userId = userId;
+        this.transport = transport;
+    }
+
+    private static ApiTransport createTransport(ApiContext apiContext, String fileName) {
+        ApiClient apiClient = new ApiClient(apiContext);
+
+        return (endpoint, urlParams) -> {
+            ensureSessionActive(apiContext, fileName);
+
+            return apiClient.get(endpoint, urlParams, Collections.emptyMap()).getBodyBytes();
+        };
+    }
+
+    private static void ensureSessionActive(ApiContext apiContext, String fileName) {
+        synchronized (apiContext) {
+            if (apiContext.ensureSessionActive()) {
+                ApiContextStore.saveIfChanged(apiContext, fileName);
+            } else {
+                // Still active, the session is checked again before the next request.
+            }
+        }
+    }
+
+    @Override
+    public int getUserId() {
+        return userId;
+    }
+
+    @Override
+    public BunqResponse<List<MonetaryAccountBank>> listMonetaryAccountBank(Map<String, String> urlParams) {
+        return list(
+                String.format(ENDPOINT_MONETARY_ACCOUNT_BANK, userId),
+                BunqEndpoint.MONETARY_ACCOUNT_BANK_LIST,
+                urlParams,
+                WRAPPER_MONETARY_ACCOUNT_BANK,
+                MonetaryAccountBank.class
+        );
+    }
+
+    @Override
+    public BunqResponse<List<Payment>> listPayment(int monetaryAccountId, Map<String, String> urlParams) {
+        return list(
+                String.format(ENDPOINT_PAYMENT, userId, monetaryAccountId),
+                BunqEndpoint.PAYMENT_LIST,
+                urlParams,
+                WRAPPER_PAYMENT,
+                Payment.class
+        );
+    }
+
+    @Override
+    public BunqResponse<List<RequestInquiry>> listRequestInquiry(int monetaryAccountId, Map<String, String> urlParams) {
+        return list(
+                String.format(ENDPOINT_REQUEST_INQUIRY, userId, monetaryAccountId),
+                BunqEndpoint.REQUEST_INQUIRY_LIST,
+                urlParams,
+                WRAPPER_REQUEST_INQUIRY,
+                RequestInquiry.class
+        );
+    }
+
+    @Override
+    public BunqResponse<List<Card>> listCard(Map<String, String> urlParams) {
+        return list(String.format(ENDPOINT_CARD, userId), BunqEndpoint.CARD_LIST, urlParams, WRAPPER_CARD, Card.class);
+    }
+
+    private <T> BunqResponse<List<T>> list(
+            String endpoint,
+            String endpointName,
+            Map<String, String> urlParams,
+            String wrapper,
+            Class<T> modelClass
+    ) {
+        byte[] body = throttle.call(endpointName, () -> transport.get(endpoint, urlParams));
+        BYTES_RECEIVED.add(body.length);
+
+        return BunqResponseParser.parseList(new String(body, StandardCharsets.UTF_8), wrapper, modelClass);
+    }
+}
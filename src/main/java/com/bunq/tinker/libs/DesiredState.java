@@ -0,0 +1,116 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The names monetary accounts should have and the accounts cards should be linked to, read from a JSON file like:
+ *
+ * {"accounts": [{"id": 1234, "description": "Groceries"}], "cards": [{"id": 5678, "monetary_account_id": 1234}]}
+ *
+ * Both lists are optional. Accounts and cards that are not listed are left as they are.
+ */
+public class DesiredState {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_READ_PLAN_FILE = "Could not read plan file \"%s\": %s";
+    private static final String ERROR_MISSING_FIELD = "missing field \"%s\" in %s";
+    private static final String ERROR_LISTED_TWICE = "%s %d is listed twice";
+
+    /**
+     * Json constants.
+     */
+    private static final String FIELD_ACCOUNTS = "accounts";
+    private static final String FIELD_CARDS = "cards";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_MONETARY_ACCOUNT_ID = "monetary_account_id";
+
+    /**
+     * Name constants, as used in errors.
+     */
+    private static final String NAME_ACCOUNT = "account";
+    private static final String NAME_CARD = "card";
+
+    private final Map<Integer, String> allDescriptionByMonetaryAccountId;
+    private final Map<Integer, Integer> allMonetaryAccountIdByCardId;
+
+    public DesiredState(
+            Map<Integer, String> allDescriptionByMonetaryAccountId,
+            Map<Integer, Integer> allMonetaryAccountIdByCardId
+    ) {
+        this.allDescriptionByMonetaryAccountId = allDescriptionByMonetaryAccountId;
+        this.allMonetaryAccountIdByCardId = allMonetaryAccountIdByCardId;
+    }
+
+    public static DesiredState read(String fileName) {
+        try (Reader reader = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8)) {
+            JsonObject plan = new JsonParser().parse(reader).getAsJsonObject();
+
+            return new DesiredState(
+                    parseAll(plan, FIELD_ACCOUNTS, NAME_ACCOUNT, FIELD_DESCRIPTION, JsonElement::getAsString),
+                    parseAll(plan, FIELD_CARDS, NAME_CARD, FIELD_MONETARY_ACCOUNT_ID, JsonElement::getAsInt)
+            );
+        } catch (IOException | JsonParseException | IllegalStateException | BunqException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_READ_PLAN_FILE, fileName, exception.getMessage()));
+        }
+    }
+
+    private static <T> Map<Integer, T> parseAll(
+            JsonObject plan,
+            String fieldList,
+            String name,
+            String fieldValue,
+            Function<JsonElement, T> parseValue
+    ) {
+        if (!plan.has(fieldList)) {
+            return Collections.emptyMap();
+        }
+
+        JsonArray allItem = plan.getAsJsonArray(fieldList);
+        Map<Integer, T> allValueById = new LinkedHashMap<>();
+
+        for (JsonElement item : allItem) {
+            int id = getMandatoryField(item.getAsJsonObject(), FIELD_ID, fieldList).getAsInt();
+            T value = parseValue.apply(getMandatoryField(item.getAsJsonObject(), fieldValue, fieldList));
+
+            if (allValueById.put(id, value) != null) {
+                throw new BunqException(String.format(ERROR_LISTED_TWICE, name, id));
+            }
+        }
+
+        return allValueById;
+    }
+
+    private static JsonElement getMandatoryField(JsonObject item, String field, String fieldList) {
+        if (!item.has(field) || item.get(field).isJsonNull()) {
+            throw new BunqException(String.format(ERROR_MISSING_FIELD, field, fieldList));
+        }
+
+        return item.get(field);
+    }
+
+    public Map<Integer, String> getAllDescriptionByMonetaryAccountId() {
+        return allDescriptionByMonetaryAccountId;
+    }
+
+    public Map<Integer, Integer> getAllMonetaryAccountIdByCardId() {
+        return allMonetaryAccountIdByCardId;
+    }
+}
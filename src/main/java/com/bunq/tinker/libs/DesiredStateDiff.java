@@ -0,0 +1,261 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.object.CardPinAssignment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The writes needed to get from the current accounts and cards to a desired state, and the ones that can be skipped.
+ *
+ * An account is only renamed when its description differs, and a card is only relinked when its primary pin
+ * assignment points at another account. A relinked card keeps its other pin assignments, as bunq replaces all of
+ * them on every card update. Accounts and cards that are listed but were not found are reported as missing, and so
+ * are cards to link to an account that is not one of the given accounts, so a plan never moves a card to an account
+ * of someone else or one that is closed.
+ */
+public class DesiredStateDiff {
+
+    /**
+     * Pin assignment constants.
+     */
+    private static final String CARD_PIN_ASSIGNMENT_TYPE_PRIMARY = "PRIMARY";
+
+    private final List<AccountRename> allAccountRename;
+    private final List<CardLink> allCardLink;
+    private final int countUnchanged;
+    private final List<Integer> allMonetaryAccountIdMissing;
+    private final List<Integer> allCardIdMissing;
+    private final Map<Integer, Integer> allMonetaryAccountIdMissingByCardId;
+
+    private DesiredStateDiff(
+            List<AccountRename> allAccountRename,
+            List<CardLink> allCardLink,
+            int countUnchanged,
+            List<Integer> allMonetaryAccountIdMissing,
+            List<Integer> allCardIdMissing,
+            Map<Integer, Integer> allMonetaryAccountIdMissingByCardId
+    ) {
+        this.allAccountRename = allAccountRename;
+        this.allCardLink = allCardLink;
+        this.countUnchanged = countUnchanged;
+        this.allMonetaryAccountIdMissing = allMonetaryAccountIdMissing;
+        this.allCardIdMissing = allCardIdMissing;
+        this.allMonetaryAccountIdMissingByCardId = allMonetaryAccountIdMissingByCardId;
+    }
+
+    public static DesiredStateDiff compute(
+            List<MonetaryAccountBank> allMonetaryAccountBank,
+            List<Card> allCard,
+            DesiredState desiredState
+    ) {
+        Map<Integer, MonetaryAccountBank> allMonetaryAccountBankById = new HashMap<>();
+        Map<Integer, Card> allCardById = new HashMap<>();
+        List<AccountRename> allAccountRename = new ArrayList<>();
+        List<CardLink> allCardLink = new ArrayList<>();
+        List<Integer> allMonetaryAccountIdMissing = new ArrayList<>();
+        List<Integer> allCardIdMissing = new ArrayList<>();
+        Map<Integer, Integer> allMonetaryAccountIdMissingByCardId = new LinkedHashMap<>();
+        int countUnchanged = 0;
+
+        for (MonetaryAccountBank monetaryAccountBank : allMonetaryAccountBank) {
+            allMonetaryAccountBankById.put(monetaryAccountBank.getId(), monetaryAccountBank);
+        }
+
+        for (Card card : allCard) {
+            allCardById.put(card.getId(), card);
+        }
+
+        for (Map.Entry<Integer, String> entry : desiredState.getAllDescriptionByMonetaryAccountId().entrySet()) {
+            MonetaryAccountBank monetaryAccountBank = allMonetaryAccountBankById.get(entry.getKey());
+
+            if (monetaryAccountBank == null) {
+                allMonetaryAccountIdMissing.add(entry.getKey());
+            } else if (entry.getValue().equals(monetaryAccountBank.getDescription())) {
+                countUnchanged++;
+            } else {
+                allAccountRename.add(
+                        new AccountRename(entry.getKey(), monetaryAccountBank.getDescription(), entry.getValue())
+                );
+            }
+        }
+
+        for (Map.Entry<Integer, Integer> entry : desiredState.getAllMonetaryAccountIdByCardId().entrySet()) {
+            Card card = allCardById.get(entry.getKey());
+
+            if (card == null) {
+                allCardIdMissing.add(entry.getKey());
+            } else if (!allMonetaryAccountBankById.containsKey(entry.getValue())) {
+                allMonetaryAccountIdMissingByCardId.put(entry.getKey(), entry.getValue());
+            } else if (entry.getValue().equals(determineMonetaryAccountIdPrimary(card))) {
+                countUnchanged++;
+            } else {
+                allCardLink.add(
+                        new CardLink(
+                                entry.getKey(),
+                                determineMonetaryAccountIdPrimary(card),
+                                entry.getValue(),
+                                determineAllPinAssignmentDesired(card, entry.getValue())
+                        )
+                );
+            }
+        }
+
+        return new DesiredStateDiff(
+                allAccountRename,
+                allCardLink,
+                countUnchanged,
+                allMonetaryAccountIdMissing,
+                allCardIdMissing,
+                allMonetaryAccountIdMissingByCardId
+        );
+    }
+
+    /**
+     * @return The account the primary pin of the card is assigned to, or null when it has none.
+     */
+    private static Integer determineMonetaryAccountIdPrimary(Card card) {
+        if (card.getPinCodeAssignment() == null) {
+            return null;
+        }
+
+        for (CardPinAssignment assignment : card.getPinCodeAssignment()) {
+            if (CARD_PIN_ASSIGNMENT_TYPE_PRIMARY.equals(assignment.getType())) {
+                return assignment.getMonetaryAccountId();
+            } else {
+                // Secondary or travel assignment.
+            }
+        }
+
+        return null;
+    }
+
+    private static List<CardPinAssignment> determineAllPinAssignmentDesired(Card card, int monetaryAccountId) {
+        List<CardPinAssignment> allAssignment = new ArrayList<>();
+        allAssignment.add(
+                new CardPinAssignment(CARD_PIN_ASSIGNMENT_TYPE_PRIMARY, null /* pinCode */, monetaryAccountId)
+        );
+
+        if (card.getPinCodeAssignment() != null) {
+            for (CardPinAssignment assignment : card.getPinCodeAssignment()) {
+                if (CARD_PIN_ASSIGNMENT_TYPE_PRIMARY.equals(assignment.getType())) {
+                    // Replaced by the desired one.
+                } else {
+                    allAssignment.add(
+                            new CardPinAssignment(
+                                    assignment.getType(),
+                                    null, /* pinCode */
+                                    assignment.getMonetaryAccountId()
+                            )
+                    );
+                }
+            }
+        }
+
+        return allAssignment;
+    }
+
+    public boolean isChanged() {
+        return !allAccountRename.isEmpty() || !allCardLink.isEmpty();
+    }
+
+    public List<AccountRename> getAllAccountRename() {
+        return allAccountRename;
+    }
+
+    public List<CardLink> getAllCardLink() {
+        return allCardLink;
+    }
+
+    /**
+     * @return The number of writes skipped because the account or card already is as desired.
+     */
+    public int getCountUnchanged() {
+        return countUnchanged;
+    }
+
+    public List<Integer> getAllMonetaryAccountIdMissing() {
+        return allMonetaryAccountIdMissing;
+    }
+
+    public List<Integer> getAllCardIdMissing() {
+        return allCardIdMissing;
+    }
+
+    /**
+     * @return The account each card should be linked to according to the plan, for the cards whose account was not
+     * found or is not active.
+     */
+    public Map<Integer, Integer> getAllMonetaryAccountIdMissingByCardId() {
+        return allMonetaryAccountIdMissingByCardId;
+    }
+
+    public static class AccountRename {
+
+        private final int monetaryAccountId;
+        private final String descriptionCurrent;
+        private final String descriptionDesired;
+
+        public AccountRename(int monetaryAccountId, String descriptionCurrent, String descriptionDesired) {
+            this.monetaryAccountId = monetaryAccountId;
+            this.descriptionCurrent = descriptionCurrent;
+            this.descriptionDesired = descriptionDesired;
+        }
+
+        public int getMonetaryAccountId() {
+            return monetaryAccountId;
+        }
+
+        public String getDescriptionCurrent() {
+            return descriptionCurrent;
+        }
+
+        public String getDescriptionDesired() {
+            return descriptionDesired;
+        }
+    }
+
+    public static class CardLink {
+
+        private final int cardId;
+        private final Integer monetaryAccountIdCurrent;
+        private final int monetaryAccountIdDesired;
+        private final List<CardPinAssignment> allPinAssignmentDesired;
+
+        public CardLink(
+                int cardId,
+                Integer monetaryAccountIdCurrent,
+                int monetaryAccountIdDesired,
+                List<CardPinAssignment> allPinAssignmentDesired
+        ) {
+            this.cardId = cardId;
+            this.monetaryAccountIdCurrent = monetaryAccountIdCurrent;
+            this.monetaryAccountIdDesired = monetaryAccountIdDesired;
+            this.allPinAssignmentDesired = allPinAssignmentDesired;
+        }
+
+        public int getCardId() {
+            return cardId;
+        }
+
+        /**
+         * @return The account the card is linked to now, or null when it has no primary pin assignment.
+         */
+        public Integer getMonetaryAccountIdCurrent() {
+            return monetaryAccountIdCurrent;
+        }
+
+        public int getMonetaryAccountIdDesired() {
+            return monetaryAccountIdDesired;
+        }
+
+        public List<CardPinAssignment> getAllPinAssignmentDesired() {
+            return allPinAssignmentDesired;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Runs independent calls on a bounded number of threads and joins their results in submission order.
+ * A concurrency of 1 runs every call one after the other, which is the sequential path.
+ */
+public class FanOut implements AutoCloseable {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_INTERRUPTED = "Interrupted while waiting for concurrent calls.";
+    private static final String ERROR_CONCURRENCY_INVALID = "Concurrency must be at least 1, got %d.";
+
+    private final ExecutorService executor;
+
+    public FanOut(int concurrency) {
+        if (concurrency < 1) {
+            throw new BunqException(String.format(ERROR_CONCURRENCY_INVALID, concurrency));
+        }
+
+        this.executor = Executors.newFixedThreadPool(concurrency);
+    }
+
+    public <T, R> List<Future<R>> submitAll(List<T> allInput, Function<T, R> function) {
+        List<Future<R>> allFuture = new ArrayList<>(allInput.size());
+
+        for (T input : allInput) {
+            allFuture.add(executor.submit(() -> function.apply(input)));
+        }
+
+        return allFuture;
+    }
+
+    public static <R> List<R> joinAll(List<Future<R>> allFuture) {
+        List<R> allResult = new ArrayList<>(allFuture.size());
+
+        for (Future<R> future : allFuture) {
+            allResult.add(join(future));
+        }
+
+        return allResult;
+    }
+
+    public static <R> R join(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new BunqException(ERROR_INTERRUPTED);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            } else {
+                throw new BunqException(exception.getCause().getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.sdk.model.generated.endpoint.RequestInquiry;
+
+import java.util.List;
+
+/**
+ * The payments and requests fetched for a single monetary account.
+ */
+public class MonetaryAccountActivity {
+
+    private final MonetaryAccountBank monetaryAccountBank;
+    private final List<Payment> allPayment;
+    private final List<RequestInquiry> allRequest;
+
+    public MonetaryAccountActivity(
+            MonetaryAccountBank monetaryAccountBank,
+            List<Payment> allPayment,
+            List<RequestInquiry> allRequest
+    ) {
+        this.monetaryAccountBank = monetaryAccountBank;
+        this.allPayment = allPayment;
+        this.allRequest = allRequest;
+    }
+
+    public MonetaryAccountBank getMonetaryAccountBank() {
+        return monetaryAccountBank;
+    }
+
+    public List<Payment> getAllPayment() {
+        return allPayment;
+    }
+
+    public List<RequestInquiry> getAllRequest() {
+        return allRequest;
+    }
+}
@@ -0,0 +1,147 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+
+/**
+ * Euro amounts as a long number of cents, parsed from and formatted to the "12.34" notation bunq uses.
+ *
+ * Parsing reads the characters in place, so it allocates nothing and is exact, unlike going through a double.
+ * An amount is valid when it is an optional minus sign, at least one digit, and optionally a dot followed by one or
+ * two digits. Anything else, like a comma, a plus sign, surrounding spaces or a third decimal, is refused rather
+ * than rounded, so what is sent is what was typed.
+ */
+public final class Money {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_AMOUNT_INVALID = "Invalid amount \"%s\", expected e.g. 12.34.";
+
+    /**
+     * Format constants.
+     */
+    private static final char SIGN_NEGATIVE = '-';
+    private static final char SEPARATOR_DECIMAL = '.';
+    private static final char DIGIT_ZERO = '0';
+    private static final char DIGIT_NINE = '9';
+    private static final int RADIX = 10;
+    private static final long CENTS_PER_UNIT = 100;
+    private static final int COUNT_DECIMAL_MAXIMUM = 2;
+    private static final int COUNT_DIGIT_UNIT_MAXIMUM = 15;
+    private static final int LENGTH_FORMATTED_TYPICAL = 12;
+
+    /**
+     * Returned by the parser instead of throwing, so validating does not need an exception per invalid amount.
+     */
+    private static final long CENTS_INVALID = Long.MIN_VALUE;
+
+    private Money() {
+    }
+
+    public static long parseCents(CharSequence value) {
+        return parseCents(value, 0, value.length());
+    }
+
+    /**
+     * Parses the amount between start and end, e.g. a column of a line that was read into a buffer.
+     */
+    public static long parseCents(CharSequence value, int start, int end) {
+        long cents = parseCentsOrInvalid(value, start, end);
+
+        if (cents == CENTS_INVALID) {
+            throw new BunqException(String.format(ERROR_AMOUNT_INVALID, value.subSequence(start, end)));
+        }
+
+        return cents;
+    }
+
+    public static boolean isValid(CharSequence value) {
+        return value != null && parseCentsOrInvalid(value, 0, value.length()) != CENTS_INVALID;
+    }
+
+    private static long parseCentsOrInvalid(CharSequence value, int start, int end) {
+        int index = start;
+        boolean isNegative = index < end && value.charAt(index) == SIGN_NEGATIVE;
+
+        if (isNegative) {
+            index++;
+        }
+
+        long units = 0;
+        int countDigitUnit = 0;
+
+        while (index < end && isDigit(value.charAt(index))) {
+            units = units * RADIX + (value.charAt(index) - DIGIT_ZERO);
+            countDigitUnit++;
+            index++;
+        }
+
+        if (countDigitUnit == 0 || countDigitUnit > COUNT_DIGIT_UNIT_MAXIMUM) {
+            return CENTS_INVALID;
+        }
+
+        long fraction = 0;
+        int countDecimal = 0;
+
+        if (index < end && value.charAt(index) == SEPARATOR_DECIMAL) {
+            index++;
+
+            while (index < end && isDigit(value.charAt(index)) && countDecimal < COUNT_DECIMAL_MAXIMUM) {
+                fraction = fraction * RADIX + (value.charAt(index) - DIGIT_ZERO);
+                countDecimal++;
+                index++;
+            }
+
+            if (countDecimal == 0) {
+                return CENTS_INVALID;
+            }
+        }
+
+        if (index != end) {
+            return CENTS_INVALID;
+        }
+
+        for (int i = countDecimal; i < COUNT_DECIMAL_MAXIMUM; i++) {
+            fraction *= RADIX;
+        }
+
+        long cents = units * CENTS_PER_UNIT + fraction;
+
+        return isNegative ? -cents : cents;
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= DIGIT_ZERO && character <= DIGIT_NINE;
+    }
+
+    /**
+     * @return The amount with two decimals, e.g. "-12.30".
+     */
+    public static String format(long cents) {
+        StringBuilder builder = new StringBuilder(LENGTH_FORMATTED_TYPICAL);
+        appendTo(builder, cents);
+
+        return builder.toString();
+    }
+
+    /**
+     * Appends the amount with two decimals, allocating nothing when the builder has room, e.g. to reuse one builder
+     * for every line of a report.
+     */
+    public static void appendTo(StringBuilder builder, long cents) {
+        long units = Math.abs(cents / CENTS_PER_UNIT);
+        long fraction = Math.abs(cents % CENTS_PER_UNIT);
+
+        if (cents < 0) {
+            builder.append(SIGN_NEGATIVE);
+        }
+
+        builder.append(units).append(SEPARATOR_DECIMAL);
+
+        if (fraction < RADIX) {
+            builder.append(DIGIT_ZERO);
+        }
+
+        builder.append(fraction);
+    }
+}
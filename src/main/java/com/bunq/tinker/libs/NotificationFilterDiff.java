@@ -0,0 +1,104 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.model.generated.object.NotificationFilterUrl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The difference between the notification filters a user has and the ones it should have, by category and target.
+ *
+ * bunq replaces all notification filters of a user on every write, so the updated list always holds every filter
+ * that is kept, also the ones this diff was not about. When nothing is added or removed the write can be skipped.
+ */
+public class NotificationFilterDiff {
+
+    private static final String KEY_SEPARATOR = " ";
+
+    private final List<NotificationFilterUrl> allFilterUpdated;
+    private final int countAdded;
+    private final int countRemoved;
+    private final int countKept;
+
+    private NotificationFilterDiff(
+            List<NotificationFilterUrl> allFilterUpdated,
+            int countAdded,
+            int countRemoved,
+            int countKept
+    ) {
+        this.allFilterUpdated = allFilterUpdated;
+        this.countAdded = countAdded;
+        this.countRemoved = countRemoved;
+        this.countKept = countKept;
+    }
+
+    /**
+     * Filters listed more than once in the current filters are kept once, the repeats count as removed.
+     */
+    public static NotificationFilterDiff compute(
+            List<NotificationFilterUrl> allFilterCurrent,
+            List<NotificationFilterUrl> allFilterToAdd,
+            List<NotificationFilterUrl> allFilterToRemove
+    ) {
+        Map<String, NotificationFilterUrl> allFilterByKey = new LinkedHashMap<>();
+        int countRemoved = 0;
+        int countAdded = 0;
+
+        for (NotificationFilterUrl filter : allFilterCurrent) {
+            if (allFilterByKey.putIfAbsent(determineKey(filter), filter) != null) {
+                countRemoved++;
+            } else {
+                // First time this filter is listed.
+            }
+        }
+
+        for (NotificationFilterUrl filter : allFilterToRemove) {
+            if (allFilterByKey.remove(determineKey(filter)) != null) {
+                countRemoved++;
+            } else {
+                // Not there, nothing to remove.
+            }
+        }
+
+        int countKept = allFilterByKey.size();
+
+        for (NotificationFilterUrl filter : allFilterToAdd) {
+            if (allFilterByKey.putIfAbsent(determineKey(filter), filter) == null) {
+                countAdded++;
+            } else {
+                // Already there, nothing to add.
+            }
+        }
+
+        return new NotificationFilterDiff(new ArrayList<>(allFilterByKey.values()), countAdded, countRemoved, countKept);
+    }
+
+    private static String determineKey(NotificationFilterUrl filter) {
+        return filter.getCategory() + KEY_SEPARATOR + filter.getNotificationTarget();
+    }
+
+    public boolean isChanged() {
+        return countAdded > 0 || countRemoved > 0;
+    }
+
+    /**
+     * @return Every filter the user should have, to write as a whole.
+     */
+    public List<NotificationFilterUrl> getAllFilterUpdated() {
+        return allFilterUpdated;
+    }
+
+    public int getCountAdded() {
+        return countAdded;
+    }
+
+    public int getCountRemoved() {
+        return countRemoved;
+    }
+
+    public int getCountKept() {
+        return countKept;
+    }
+}
@@ -0,0 +1,380 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.ApiException;
+import com.bunq.sdk.exception.BunqException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Write-ahead journal of mutating API calls, so an interrupted run can resume without sending anything twice.
+ *
+ * Before an operation is sent its intent is appended together with a client generated request ID, and the caller
+ * waits until that record is on disk. The outcome is appended afterwards without waiting. Records are written by a
+ * single writer thread that syncs once per group of records, so concurrent callers share one fsync.
+ *
+ * An operation with an intent but no outcome may or may not have reached bunq. It is reported as in doubt and never
+ * resent automatically; the request ID it was sent with, as X-Bunq-Client-Request-Id, is in its intent record to look
+ * it up. Only an operation that bunq rejected with a 4xx created nothing for sure, it is recorded as failed and
+ * retried on the next run. That includes a 429, which bunq answers before handling the request, the same rule
+ * ApiThrottle retries by. After a 5xx or a broken connection it stays in doubt.
+ *
+ * A journal without a file records nothing and starts no writer thread, so every operation is sent as if it is new.
+ */
+public class OperationJournal implements Closeable {
+
+    public enum State {
+        NONE,
+        IN_DOUBT,
+        DONE,
+        FAILED
+    }
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_READ_JOURNAL = "Could not read journal \"%s\": %s";
+    private static final String ERROR_COULD_NOT_WRITE_JOURNAL = "Could not write journal \"%s\": %s";
+    private static final String ERROR_OPERATION_IN_DOUBT =
+            "Operation \"%s\" was started before but its outcome is unknown; check it and remove it from \"%s\".";
+    private static final String ERROR_INTERRUPTED = "Interrupted while waiting for the journal.";
+
+    /**
+     * Record constants.
+     */
+    private static final String RECORD_INTENT = "INTENT";
+    private static final String RECORD_DONE = "DONE";
+    private static final String RECORD_FAILED = "FAILED";
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String WHITESPACE_PATTERN = "[\\t\\r\\n]";
+    private static final String WHITESPACE_REPLACEMENT = " ";
+    private static final int FIELD_COUNT = 4;
+    private static final int INDEX_TYPE = 0;
+    private static final int INDEX_KEY = 1;
+
+    /**
+     * Http constants.
+     */
+    public static final String HEADER_CLIENT_REQUEST_ID = "X-Bunq-Client-Request-Id";
+    private static final int HTTP_STATUS_CLIENT_ERROR_MINIMUM = 400;
+    private static final int HTTP_STATUS_CLIENT_ERROR_MAXIMUM = 499;
+
+    private static final String THREAD_NAME = "journal-writer";
+    private static final String FILE_NAME_NONE = "(none)";
+
+    private final String fileName;
+    private final FileChannel channel;
+    private final Map<String, State> allStateByKey = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingRecord> allPendingRecord = new LinkedBlockingQueue<>();
+
+    private volatile IOException writeFailure;
+
+    private OperationJournal(String fileName, FileChannel channel) {
+        this.fileName = fileName;
+        this.channel = channel;
+
+        if (isRecording()) {
+            Thread writerThread = new Thread(this::writeAllPendingRecord, THREAD_NAME);
+            writerThread.setDaemon(true);
+            writerThread.start();
+        } else {
+            // Nothing to write.
+        }
+    }
+
+    /**
+     * @param fileName The journal file, or null for a journal that records nothing.
+     */
+    public static OperationJournal open(String fileName) {
+        if (fileName == null) {
+            return new OperationJournal(FILE_NAME_NONE, null);
+        }
+
+        Path path = Paths.get(fileName);
+
+        try {
+            FileChannel channel = FileChannel.open(
+                    path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND
+            );
+            OperationJournal journal = new OperationJournal(fileName, channel);
+            journal.replay(path);
+
+            return journal;
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_READ_JOURNAL, fileName, exception.getMessage()));
+        }
+    }
+
+    private void replay(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] allField = line.split(FIELD_SEPARATOR, FIELD_COUNT);
+
+                if (allField.length < FIELD_COUNT) {
+                    // A record torn by a crash, its operation was never sent.
+                } else if (RECORD_INTENT.equals(allField[INDEX_TYPE])) {
+                    allStateByKey.put(allField[INDEX_KEY], State.IN_DOUBT);
+                } else if (RECORD_DONE.equals(allField[INDEX_TYPE])) {
+                    allStateByKey.put(allField[INDEX_KEY], State.DONE);
+                } else if (RECORD_FAILED.equals(allField[INDEX_TYPE])) {
+                    allStateByKey.put(allField[INDEX_KEY], State.FAILED);
+                }
+            }
+        }
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    private boolean isRecording() {
+        return channel != null;
+    }
+
+    /**
+     * @return True when bunq answered that it will not process the call, so nothing was created and it can be sent
+     * again. A 429 is one of these, bunq refuses the request before handling it.
+     */
+    public static boolean isRejected(ApiException exception) {
+        int responseCode = exception.getResponseCode();
+
+        return responseCode >= HTTP_STATUS_CLIENT_ERROR_MINIMUM && responseCode <= HTTP_STATUS_CLIENT_ERROR_MAXIMUM;
+    }
+
+    public State getState(String key) {
+        return allStateByKey.getOrDefault(sanitize(key), State.NONE);
+    }
+
+    /**
+     * Records the intent of all operations and waits until the records are durable.
+     *
+     * @return The request ID generated for every key, in order.
+     */
+    public List<String> begin(List<String> allKey) {
+        List<String> allRequestId = new ArrayList<>(allKey.size());
+        CompletableFuture<Void> lastWrite = null;
+
+        for (String key : allKey) {
+            String requestId = UUID.randomUUID().toString();
+            allRequestId.add(requestId);
+
+            if (isRecording()) {
+                allStateByKey.put(sanitize(key), State.IN_DOUBT);
+                lastWrite = append(RECORD_INTENT, key, requestId, "");
+            } else {
+                // Only the request ID is needed.
+            }
+        }
+
+        if (lastWrite != null) {
+            await(lastWrite);
+        }
+
+        return allRequestId;
+    }
+
+    public String begin(String key) {
+        return begin(Collections.singletonList(key)).get(0);
+    }
+
+    public void markDone(String key, String detail) {
+        if (isRecording()) {
+            allStateByKey.put(sanitize(key), State.DONE);
+            append(RECORD_DONE, key, "", detail);
+        } else {
+            // Nothing to record.
+        }
+    }
+
+    /**
+     * Only for operations bunq rejected, see isRejected; any other failure leaves the operation in doubt.
+     */
+    public void markFailed(String key, String detail) {
+        if (isRecording()) {
+            allStateByKey.put(sanitize(key), State.FAILED);
+            append(RECORD_FAILED, key, "", detail);
+        } else {
+            // Nothing to record.
+        }
+    }
+
+    /**
+     * Like execute with the request ID, for operations that can not send it along.
+     */
+    public boolean execute(String key, Supplier<?> operation) {
+        return execute(key, requestId -> operation.get());
+    }
+
+    /**
+     * Runs an operation at most once per journal: an operation that is done is skipped and one that is in doubt is
+     * refused. The operation gets the request ID of its intent, to send along as HEADER_CLIENT_REQUEST_ID.
+     *
+     * @return False when the operation was skipped because it is already done.
+     */
+    public boolean execute(String key, Function<String, ?> operation) {
+        State state = getState(key);
+
+        if (state == State.DONE) {
+            return false;
+        } else if (state == State.IN_DOUBT) {
+            throw new BunqException(String.format(ERROR_OPERATION_IN_DOUBT, key, fileName));
+        }
+
+        String requestId = begin(key);
+
+        try {
+            markDone(key, String.valueOf(operation.apply(requestId)));
+        } catch (ApiException exception) {
+            if (isRejected(exception)) {
+                markFailed(key, exception.getMessage());
+            } else {
+                // It may have gone through, so it stays in doubt.
+            }
+
+            throw exception;
+        }
+
+        return true;
+    }
+
+    private CompletableFuture<Void> append(String type, String key, String requestId, String detail) {
+        String record = type + FIELD_SEPARATOR + sanitize(key) + FIELD_SEPARATOR + requestId + FIELD_SEPARATOR
+                + sanitize(detail) + LINE_SEPARATOR;
+        PendingRecord pendingRecord = new PendingRecord(record);
+
+        allPendingRecord.add(pendingRecord);
+
+        return pendingRecord.written;
+    }
+
+    private static String sanitize(String value) {
+        return String.valueOf(value).replaceAll(WHITESPACE_PATTERN, WHITESPACE_REPLACEMENT);
+    }
+
+    private void await(CompletableFuture<Void> write) {
+        try {
+            write.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new BunqException(ERROR_INTERRUPTED);
+        } catch (ExecutionException exception) {
+            throw new BunqException(
+                    String.format(ERROR_COULD_NOT_WRITE_JOURNAL, fileName, exception.getCause().getMessage())
+            );
+        }
+    }
+
+    /**
+     * Group commit: takes every record that queued up while the previous group was syncing and writes them with a
+     * single fsync.
+     */
+    private void writeAllPendingRecord() {
+        List<PendingRecord> group = new ArrayList<>();
+
+        try {
+            while (true) {
+                group.add(allPendingRecord.take());
+                allPendingRecord.drainTo(group);
+
+                boolean isClosing = writeGroup(group);
+                group.clear();
+
+                if (isClosing) {
+                    return;
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean writeGroup(List<PendingRecord> group) {
+        boolean isClosing = false;
+        StringBuilder allRecord = new StringBuilder();
+
+        for (PendingRecord pendingRecord : group) {
+            if (pendingRecord.isEndOfJournal()) {
+                isClosing = true;
+            } else {
+                allRecord.append(pendingRecord.record);
+            }
+        }
+
+        if (writeFailure == null && allRecord.length() > 0) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(allRecord.toString().getBytes(StandardCharsets.UTF_8));
+
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+
+                channel.force(false);
+            } catch (IOException exception) {
+                writeFailure = exception;
+            }
+        }
+
+        for (PendingRecord pendingRecord : group) {
+            if (writeFailure == null) {
+                pendingRecord.written.complete(null);
+            } else {
+                pendingRecord.written.completeExceptionally(writeFailure);
+            }
+        }
+
+        return isClosing;
+    }
+
+    /**
+     * Waits until every queued record is durable and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (isRecording()) {
+            PendingRecord endOfJournal = new PendingRecord(null);
+            allPendingRecord.add(endOfJournal);
+            await(endOfJournal.written);
+            channel.close();
+        } else {
+            // No writer thread was started.
+        }
+    }
+
+    private static class PendingRecord {
+
+        private final String record;
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+
+        private PendingRecord(String record) {
+            this.record = record;
+        }
+
+        private boolean isEndOfJournal() {
+            return record == null;
+        }
+    }
+}
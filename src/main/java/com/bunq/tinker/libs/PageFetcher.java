@@ -0,0 +1,13 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.http.BunqResponse;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches a single page of a bunq list endpoint for the given url params.
+ */
+public interface PageFetcher<T> {
+    BunqResponse<List<T>> fetch(Map<String, String> urlParams);
+}
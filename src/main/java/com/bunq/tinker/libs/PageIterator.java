@@ -0,0 +1,104 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.http.BunqResponse;
+import com.bunq.sdk.http.Pagination;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily walks a bunq list endpoint from the newest item to the oldest one by following the older_id cursor.
+ * Only the page currently being iterated is kept in memory, and no page is requested before it is needed.
+ */
+public class PageIterator<T> implements Iterator<T> {
+
+    private final PageFetcher<T> pageFetcher;
+    private final Predicate<T> filter;
+
+    private Map<String, String> urlParamsNextPage;
+    private Iterator<T> currentPage = Collections.emptyIterator();
+    private T nextItem;
+
+    public PageIterator(PageFetcher<T> pageFetcher, int pageSize) {
+        this(pageFetcher, pageSize, item -> true);
+    }
+
+    public PageIterator(PageFetcher<T> pageFetcher, int pageSize, Predicate<T> filter) {
+        Pagination pagination = new Pagination();
+        pagination.setCount(pageSize);
+
+        this.pageFetcher = pageFetcher;
+        this.filter = filter;
+        this.urlParamsNextPage = pagination.getUrlParamsCountOnly();
+    }
+
+    public static <T> Iterable<T> iterable(PageFetcher<T> pageFetcher, int pageSize) {
+        return () -> new PageIterator<>(pageFetcher, pageSize);
+    }
+
+    public static <T> Iterable<T> iterable(PageFetcher<T> pageFetcher, int pageSize, Predicate<T> filter) {
+        return () -> new PageIterator<>(pageFetcher, pageSize, filter);
+    }
+
+    public static <T> Stream<T> stream(Iterable<T> iterable) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterable.iterator(), Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        );
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (nextItem == null) {
+            if (currentPage.hasNext()) {
+                T item = currentPage.next();
+
+                if (filter.test(item)) {
+                    nextItem = item;
+                } else {
+                    // Item is filtered out, continue with the next one.
+                }
+            } else if (urlParamsNextPage != null) {
+                fetchNextPage();
+            } else {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        T item = nextItem;
+        nextItem = null;
+
+        return item;
+    }
+
+    private void fetchNextPage() {
+        BunqResponse<List<T>> response = pageFetcher.fetch(urlParamsNextPage);
+        List<T> page = response.getValue();
+        Pagination pagination = response.getPagination();
+
+        currentPage = page.iterator();
+
+        if (page.isEmpty() || pagination == null || !pagination.hasPreviousPage()) {
+            urlParamsNextPage = null;
+        } else {
+            urlParamsNextPage = pagination.getUrlParamsPreviousPage();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.sdk.model.generated.object.LabelMonetaryAccount;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Payment history kept as one primitive array per field instead of one SDK object graph per payment, to aggregate
+ * over millions of payments in memory.
+ *
+ * Amounts are kept in cents, months as the number of months since year 0, and accounts, counterparties and
+ * descriptions as codes into a dictionary, so a row takes 28 bytes plus its share of the distinct strings. An
+ * aggregation is a single pass over the columns it needs into an array indexed by code, without boxing or hashing
+ * per row. Spend is the sum of the outgoing payments, as a positive amount.
+ */
+public class PaymentColumns {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_CREATED_INVALID = "Invalid created date \"%s\" of payment %d.";
+
+    /**
+     * Column constants.
+     */
+    private static final int CAPACITY_INITIAL = 1024;
+    private static final int SIZE_ROW_BYTES = 4 + 4 + 8 + 4 + 4 + 4;
+    private static final int SIZE_ARRAY_HEADER_BYTES = 16;
+    private static final int SIZE_ACCOUNT_ENTRY_BYTES = 64;
+
+    /**
+     * Date constants, bunq formats dates like "2019-01-01 12:00:00.000000".
+     */
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int INDEX_YEAR = 0;
+    private static final int INDEX_MONTH = 5;
+    private static final int LENGTH_YEAR = 4;
+    private static final int LENGTH_MONTH = 2;
+    private static final int RADIX_DECIMAL = 10;
+    private static final String MONTH_FORMAT = "%04d-%02d";
+
+    private static final String COUNTERPARTY_UNKNOWN = "(unknown)";
+
+    private int[] allId = new int[CAPACITY_INITIAL];
+    private int[] allMonetaryAccountCode = new int[CAPACITY_INITIAL];
+    private long[] allAmountCents = new long[CAPACITY_INITIAL];
+    private int[] allMonth = new int[CAPACITY_INITIAL];
+    private int[] allCounterpartyCode = new int[CAPACITY_INITIAL];
+    private int[] allDescriptionCode = new int[CAPACITY_INITIAL];
+    private int size;
+
+    private final Map<Integer, Integer> allMonetaryAccountCodeById = new HashMap<>();
+    private final List<Integer> allMonetaryAccountId = new ArrayList<>();
+    private final StringDictionary counterpartyDictionary = new StringDictionary();
+    private final StringDictionary descriptionDictionary = new StringDictionary();
+
+    public void addAll(Iterable<Payment> allPayment) {
+        for (Payment payment : allPayment) {
+            add(payment);
+        }
+    }
+
+    public void add(Payment payment) {
+        add(
+                payment.getId(),
+                payment.getMonetaryAccountId(),
+                Money.parseCents(payment.getAmount().getValue()),
+                parseMonth(payment.getCreated(), payment.getId()),
+                determineCounterparty(payment.getCounterpartyAlias()),
+                payment.getDescription()
+        );
+    }
+
+    /**
+     * @param month The number of months since year 0, see parseMonth.
+     */
+    public void add(
+            int id,
+            int monetaryAccountId,
+            long amountCents,
+            int month,
+            String counterparty,
+            String description
+    ) {
+        if (size == allId.length) {
+            grow();
+        }
+
+        allId[size] = id;
+        allMonetaryAccountCode[size] = encodeMonetaryAccountId(monetaryAccountId);
+        allAmountCents[size] = amountCents;
+        allMonth[size] = month;
+        allCounterpartyCode[size] = counterpartyDictionary.encode(counterparty);
+        allDescriptionCode[size] = descriptionDictionary.encode(description == null ? "" : description);
+        size++;
+    }
+
+    private void grow() {
+        int capacity = allId.length * 2;
+        allId = Arrays.copyOf(allId, capacity);
+        allMonetaryAccountCode = Arrays.copyOf(allMonetaryAccountCode, capacity);
+        allAmountCents = Arrays.copyOf(allAmountCents, capacity);
+        allMonth = Arrays.copyOf(allMonth, capacity);
+        allCounterpartyCode = Arrays.copyOf(allCounterpartyCode, capacity);
+        allDescriptionCode = Arrays.copyOf(allDescriptionCode, capacity);
+    }
+
+    private int encodeMonetaryAccountId(int monetaryAccountId) {
+        Integer code = allMonetaryAccountCodeById.get(monetaryAccountId);
+
+        if (code == null) {
+            code = allMonetaryAccountId.size();
+            allMonetaryAccountId.add(monetaryAccountId);
+            allMonetaryAccountCodeById.put(monetaryAccountId, code);
+        } else {
+            // Account seen before.
+        }
+
+        return code;
+    }
+
+    /**
+     * @return The name of the counterparty, or its IBAN when it has no name.
+     */
+    private static String determineCounterparty(LabelMonetaryAccount counterparty) {
+        if (counterparty == null) {
+            return COUNTERPARTY_UNKNOWN;
+        } else if (counterparty.getDisplayName() != null) {
+            return counterparty.getDisplayName();
+        } else if (counterparty.getIban() != null) {
+            return counterparty.getIban();
+        } else {
+            return COUNTERPARTY_UNKNOWN;
+        }
+    }
+
+    /**
+     * @return The number of months since year 0 of a bunq date, read without creating substrings.
+     */
+    public static int parseMonth(String created, int id) {
+        try {
+            int year = parseDigits(created, INDEX_YEAR, LENGTH_YEAR);
+            int month = parseDigits(created, INDEX_MONTH, LENGTH_MONTH);
+
+            return year * MONTHS_PER_YEAR + month - 1;
+        } catch (RuntimeException exception) {
+            throw new BunqException(String.format(ERROR_CREATED_INVALID, created, id));
+        }
+    }
+
+    private static int parseDigits(String value, int start, int length) {
+        int number = 0;
+
+        for (int i = start; i < start + length; i++) {
+            int digit = Character.digit(value.charAt(i), RADIX_DECIMAL);
+
+            if (digit < 0) {
+                throw new NumberFormatException();
+            }
+
+            number = number * RADIX_DECIMAL + digit;
+        }
+
+        return number;
+    }
+
+    public static String formatMonth(int month) {
+        return String.format(MONTH_FORMAT, month / MONTHS_PER_YEAR, month % MONTHS_PER_YEAR + 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Roughly the bytes the columns and dictionaries keep on the heap, unused capacity included.
+     */
+    public long estimateSizeBytes() {
+        return (long) allId.length * SIZE_ROW_BYTES
+                + 6 * SIZE_ARRAY_HEADER_BYTES
+                + (long) allMonetaryAccountId.size() * SIZE_ACCOUNT_ENTRY_BYTES
+                + counterpartyDictionary.estimateSizeBytes()
+                + descriptionDictionary.estimateSizeBytes();
+    }
+
+    public long sumSpend() {
+        long spendCents = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (allAmountCents[i] < 0) {
+                spendCents -= allAmountCents[i];
+            } else {
+                // Incoming payment.
+            }
+        }
+
+        return spendCents;
+    }
+
+    /**
+     * @return The spend per counterparty, the highest first.
+     */
+    public List<Total> sumSpendPerCounterparty() {
+        List<Total> allTotal = sumSpendPerCode(
+                allCounterpartyCode,
+                0,
+                counterpartyDictionary.size(),
+                counterpartyDictionary::decode
+        );
+        allTotal.sort(Total.BY_AMOUNT_DESCENDING);
+
+        return allTotal;
+    }
+
+    /**
+     * @return The spend per monetary account, the highest first.
+     */
+    public List<Total> sumSpendPerMonetaryAccount() {
+        List<Total> allTotal = sumSpendPerCode(
+                allMonetaryAccountCode,
+                0,
+                allMonetaryAccountId.size(),
+                code -> String.valueOf(allMonetaryAccountId.get(code))
+        );
+        allTotal.sort(Total.BY_AMOUNT_DESCENDING);
+
+        return allTotal;
+    }
+
+    /**
+     * @return The spend per month, the oldest first, also for months without spend in between.
+     */
+    public List<Total> sumSpendPerMonth() {
+        if (size == 0) {
+            return new ArrayList<>();
+        }
+
+        int monthFirst = Integer.MAX_VALUE;
+        int monthLast = Integer.MIN_VALUE;
+
+        for (int i = 0; i < size; i++) {
+            monthFirst = Math.min(monthFirst, allMonth[i]);
+            monthLast = Math.max(monthLast, allMonth[i]);
+        }
+
+        int monthOffset = monthFirst;
+
+        return sumSpendPerCode(
+                allMonth,
+                monthOffset,
+                monthLast - monthFirst + 1,
+                code -> formatMonth(code + monthOffset)
+        );
+    }
+
+    /**
+     * @param codeOffset The lowest code, subtracted from every code to index the totals.
+     */
+    private List<Total> sumSpendPerCode(int[] allCode, int codeOffset, int codeCount, IntFunction<String> decode) {
+        long[] allSpendCents = new long[codeCount];
+        int[] allCount = new int[codeCount];
+
+        for (int i = 0; i < size; i++) {
+            if (allAmountCents[i] < 0) {
+                allSpendCents[allCode[i] - codeOffset] -= allAmountCents[i];
+                allCount[allCode[i] - codeOffset]++;
+            } else {
+                // Incoming payment.
+            }
+        }
+
+        List<Total> allTotal = new ArrayList<>(codeCount);
+
+        for (int code = 0; code < codeCount; code++) {
+            allTotal.add(new Total(decode.apply(code), allSpendCents[code], allCount[code]));
+        }
+
+        return allTotal;
+    }
+
+    /**
+     * @return At most the given number of totals from the start of the list, e.g. the top N of a sorted list.
+     */
+    public static List<Total> selectFirst(List<Total> allTotal, int count) {
+        return new ArrayList<>(allTotal.subList(0, Math.min(count, allTotal.size())));
+    }
+
+    public static class Total {
+
+        public static final Comparator<Total> BY_AMOUNT_DESCENDING =
+                Comparator.comparingLong(Total::getAmountCents).reversed();
+
+        private final String key;
+        private final long amountCents;
+        private final int count;
+
+        public Total(String key, long amountCents, int count) {
+            this.key = key;
+            this.amountCents = amountCents;
+            this.count = count;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getAmountCents() {
+            return amountCents;
+        }
+
+        /**
+         * @return The number of payments in the total.
+         */
+        public int getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A sliding window log that hands out at most a given number of permits in any window of the given length, like bunq
+ * counts requests, e.g. no more than 3 GET requests in any 3 seconds.
+ *
+ * The times of the last permits handed out are kept in a ring, so the next permit is due one window after the permit
+ * that many places back, and a burst can never exceed the limit of one window. Callers reserve their permit under the
+ * lock and sleep outside of it, so waiting threads queue up in the order they arrived without holding each other up.
+ * A caller that got rate limited anyway can pause the whole log, which makes every thread sharing it back off instead
+ * of just the one that got the error.
+ */
+public class RateLimiter {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_INTERRUPTED = "Interrupted while waiting for the rate limit.";
+    private static final String ERROR_RATE_INVALID = "A rate limit needs at least 1 permit per window, got %d.";
+
+    private final long windowNanoseconds;
+    private final long[] allTimePermitNanoseconds;
+
+    private int indexOldest;
+    private long timePausedUntilNanoseconds;
+
+    /**
+     * @param permitPerWindow The number of permits handed out in any window.
+     */
+    public RateLimiter(int permitPerWindow, long window, TimeUnit unit) {
+        if (permitPerWindow < 1) {
+            throw new BunqException(String.format(ERROR_RATE_INVALID, permitPerWindow));
+        }
+
+        long timeNow = System.nanoTime();
+        this.windowNanoseconds = unit.toNanos(window);
+        this.allTimePermitNanoseconds = new long[permitPerWindow];
+        Arrays.fill(allTimePermitNanoseconds, timeNow - windowNanoseconds);
+        this.timePausedUntilNanoseconds = timeNow;
+    }
+
+    /**
+     * Blocks until a permit is available.
+     *
+     * @return The time waited for the permit in nanoseconds.
+     */
+    public long acquire() {
+        long waitNanoseconds = reserve();
+
+        if (waitNanoseconds > 0) {
+            sleep(waitNanoseconds);
+        } else {
+            // A permit was available right away.
+        }
+
+        return waitNanoseconds;
+    }
+
+    /**
+     * Hands out no permits for the given time.
+     */
+    public synchronized void pause(long pauseNanoseconds) {
+        timePausedUntilNanoseconds = Math.max(timePausedUntilNanoseconds, System.nanoTime() + pauseNanoseconds);
+    }
+
+    private synchronized long reserve() {
+        long timeNow = System.nanoTime();
+        long timePermit = Math.max(
+                Math.max(timeNow, timePausedUntilNanoseconds),
+                allTimePermitNanoseconds[indexOldest] + windowNanoseconds
+        );
+        allTimePermitNanoseconds[indexOldest] = timePermit;
+        indexOldest = (indexOldest + 1) % allTimePermitNanoseconds.length;
+
+        return timePermit - timeNow;
+    }
+
+    static void sleep(long sleepNanoseconds) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(sleepNanoseconds);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new BunqException(ERROR_INTERRUPTED);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.sdk.model.generated.endpoint.RequestInquiry;
+import com.bunq.sdk.model.generated.object.Amount;
+import com.bunq.sdk.model.generated.object.LabelMonetaryAccount;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes accounts, payments, requests and cards as one flat record per line, either as NDJSON or as CSV.
+ *
+ * All record types share the same columns, so a single CSV header covers the whole stream and the "record" column
+ * tells them apart. Columns that do not apply to a record are left empty in CSV and omitted in NDJSON. Records are
+ * written as they come in and flushed once per batch, so the caller can pass the iterate methods of BunqLib and
+ * the consumer on the other end of the pipe sees the first records while later pages are still being fetched.
+ */
+public class RecordWriter implements Flushable {
+
+    /**
+     * Format constants.
+     */
+    public static final String FORMAT_TABLE = "table";
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_UNKNOWN_FORMAT = "Unknown output format \"%s\", expected %s, %s or %s.";
+    private static final String ERROR_COULD_NOT_WRITE_RECORD = "Could not write record: %s";
+
+    /**
+     * Record constants.
+     */
+    private static final String RECORD_MONETARY_ACCOUNT = "monetary_account";
+    private static final String RECORD_PAYMENT = "payment";
+    private static final String RECORD_REQUEST = "request";
+    private static final String RECORD_CARD = "card";
+
+    /**
+     * Column constants, the index constants below follow the order of ALL_COLUMN.
+     */
+    private static final String[] ALL_COLUMN = {
+            "record",
+            "id",
+            "monetary_account_id",
+            "created",
+            "type",
+            "status",
+            "name",
+            "description",
+            "amount_value",
+            "amount_currency",
+            "iban",
+            "counterparty_iban",
+            "counterparty_name",
+    };
+    private static final int INDEX_RECORD = 0;
+    private static final int INDEX_ID = 1;
+    private static final int INDEX_MONETARY_ACCOUNT_ID = 2;
+    private static final int INDEX_CREATED = 3;
+    private static final int INDEX_TYPE = 4;
+    private static final int INDEX_STATUS = 5;
+    private static final int INDEX_NAME = 6;
+    private static final int INDEX_DESCRIPTION = 7;
+    private static final int INDEX_AMOUNT_VALUE = 8;
+    private static final int INDEX_AMOUNT_CURRENCY = 9;
+    private static final int INDEX_IBAN = 10;
+    private static final int INDEX_COUNTERPARTY_IBAN = 11;
+    private static final int INDEX_COUNTERPARTY_NAME = 12;
+
+    /**
+     * CSV constants.
+     */
+    private static final char CSV_SEPARATOR = ',';
+    private static final char CSV_QUOTE = '"';
+    private static final String CSV_QUOTE_ESCAPED = "\"\"";
+    private static final String CSV_CHARACTERS_TO_QUOTE = ",\"\r\n";
+
+    private static final char EOL = '\n';
+    private static final int BATCH_SIZE_DEFAULT = 128;
+
+    private final boolean isCsv;
+    private final int batchSize;
+    private final Writer writer;
+    private final JsonWriter jsonWriter;
+    private final String[] allValue = new String[ALL_COLUMN.length];
+    private int countRecordInBatch;
+
+    public RecordWriter(OutputStream output, String format) {
+        this(output, format, BATCH_SIZE_DEFAULT);
+    }
+
+    public RecordWriter(OutputStream output, String format, int batchSize) {
+        if (FORMAT_CSV.equals(format)) {
+            this.isCsv = true;
+        } else if (FORMAT_NDJSON.equals(format)) {
+            this.isCsv = false;
+        } else {
+            throw new BunqException(
+                    String.format(ERROR_UNKNOWN_FORMAT, format, FORMAT_TABLE, FORMAT_NDJSON, FORMAT_CSV)
+            );
+        }
+
+        this.batchSize = batchSize;
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        this.jsonWriter = new JsonWriter(writer);
+        this.jsonWriter.setLenient(true);
+        this.jsonWriter.setSerializeNulls(false);
+
+        if (isCsv) {
+            writeCsvHeader();
+        } else {
+            // NDJSON records carry their own field names.
+        }
+    }
+
+    public void writeMonetaryAccountBank(MonetaryAccountBank monetaryAccountBank) {
+        startRecord(RECORD_MONETARY_ACCOUNT, monetaryAccountBank.getId());
+        allValue[INDEX_MONETARY_ACCOUNT_ID] = toStringOrNull(monetaryAccountBank.getId());
+        allValue[INDEX_CREATED] = monetaryAccountBank.getCreated();
+        allValue[INDEX_STATUS] = monetaryAccountBank.getStatus();
+        allValue[INDEX_DESCRIPTION] = monetaryAccountBank.getDescription();
+        setAmount(monetaryAccountBank.getBalance());
+
+        if (monetaryAccountBank.getAlias() == null) {
+            // No aliases, so no IBAN to write.
+        } else {
+            allValue[INDEX_IBAN] = BunqLib.getPointerIbanForMonetaryAccountBank(monetaryAccountBank).getValue();
+        }
+
+        completeRecord();
+    }
+
+    public void writeAllPayment(Iterable<Payment> allPayment) {
+        for (Payment payment : allPayment) {
+            writePayment(payment);
+        }
+    }
+
+    public void writePayment(Payment payment) {
+        startRecord(RECORD_PAYMENT, payment.getId());
+        allValue[INDEX_MONETARY_ACCOUNT_ID] = toStringOrNull(payment.getMonetaryAccountId());
+        allValue[INDEX_CREATED] = payment.getCreated();
+        allValue[INDEX_TYPE] = payment.getType();
+        allValue[INDEX_DESCRIPTION] = payment.getDescription();
+        setAmount(payment.getAmount());
+        setIban(payment.getAlias());
+        setCounterparty(payment.getCounterpartyAlias());
+        completeRecord();
+    }
+
+    public void writeAllRequest(Iterable<RequestInquiry> allRequest) {
+        for (RequestInquiry request : allRequest) {
+            writeRequest(request);
+        }
+    }
+
+    public void writeRequest(RequestInquiry request) {
+        startRecord(RECORD_REQUEST, request.getId());
+        allValue[INDEX_MONETARY_ACCOUNT_ID] = toStringOrNull(request.getMonetaryAccountId());
+        allValue[INDEX_CREATED] = request.getCreated();
+        allValue[INDEX_STATUS] = request.getStatus();
+        allValue[INDEX_DESCRIPTION] = request.getDescription();
+        setAmount(request.getAmountInquired());
+        setCounterparty(request.getCounterpartyAlias());
+        completeRecord();
+    }
+
+    public void writeAllCard(Iterable<Card> allCard) {
+        for (Card card : allCard) {
+            writeCard(card);
+        }
+    }
+
+    public void writeCard(Card card) {
+        startRecord(RECORD_CARD, card.getId());
+        allValue[INDEX_CREATED] = card.getCreated();
+        allValue[INDEX_TYPE] = card.getType();
+        allValue[INDEX_STATUS] = card.getStatus();
+        allValue[INDEX_NAME] = card.getNameOnCard();
+        allValue[INDEX_DESCRIPTION] = card.getSecondLine();
+        setIban(card.getLabelMonetaryAccountCurrent());
+        completeRecord();
+    }
+
+    /**
+     * Writes everything buffered so far to the output, the output itself is left open.
+     */
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_WRITE_RECORD, exception.getMessage()));
+        }
+
+        countRecordInBatch = 0;
+    }
+
+    private void startRecord(String record, Integer id) {
+        Arrays.fill(allValue, null);
+        allValue[INDEX_RECORD] = record;
+        allValue[INDEX_ID] = toStringOrNull(id);
+    }
+
+    private void setAmount(Amount amount) {
+        if (amount == null) {
+            // We don't have access to the amount, e.g. the balance of a shared account.
+        } else {
+            allValue[INDEX_AMOUNT_VALUE] = amount.getValue();
+            allValue[INDEX_AMOUNT_CURRENCY] = amount.getCurrency();
+        }
+    }
+
+    private void setIban(LabelMonetaryAccount label) {
+        if (label == null) {
+            // No label, so no IBAN to write.
+        } else {
+            allValue[INDEX_IBAN] = label.getIban();
+        }
+    }
+
+    private void setCounterparty(LabelMonetaryAccount counterparty) {
+        if (counterparty == null) {
+            // No counterparty, e.g. for a request that has not been sent yet.
+        } else {
+            allValue[INDEX_COUNTERPARTY_IBAN] = counterparty.getIban();
+            allValue[INDEX_COUNTERPARTY_NAME] = counterparty.getDisplayName();
+        }
+    }
+
+    private void completeRecord() {
+        try {
+            if (isCsv) {
+                writeCsvLine();
+            } else {
+                writeJsonLine();
+            }
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_WRITE_RECORD, exception.getMessage()));
+        }
+
+        if (++countRecordInBatch >= batchSize) {
+            flush();
+        } else {
+            // Keep buffering until the batch is full.
+        }
+    }
+
+    private void writeJsonLine() throws IOException {
+        jsonWriter.beginObject();
+
+        for (int i = 0; i < ALL_COLUMN.length; i++) {
+            jsonWriter.name(ALL_COLUMN[i]);
+
+            if (allValue[i] != null && (i == INDEX_ID || i == INDEX_MONETARY_ACCOUNT_ID)) {
+                jsonWriter.jsonValue(allValue[i]);
+            } else {
+                jsonWriter.value(allValue[i]);
+            }
+        }
+
+        jsonWriter.endObject();
+        writer.write(EOL);
+    }
+
+    private void writeCsvHeader() {
+        System.arraycopy(ALL_COLUMN, 0, allValue, 0, ALL_COLUMN.length);
+
+        try {
+            writeCsvLine();
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_WRITE_RECORD, exception.getMessage()));
+        }
+    }
+
+    private void writeCsvLine() throws IOException {
+        writeCsvValue(allValue[0]);
+
+        for (int i = 1; i < ALL_COLUMN.length; i++) {
+            writer.write(CSV_SEPARATOR);
+            writeCsvValue(allValue[i]);
+        }
+
+        writer.write(EOL);
+    }
+
+    private void writeCsvValue(String value) throws IOException {
+        if (value == null) {
+            // Empty column.
+        } else if (containsAny(value, CSV_CHARACTERS_TO_QUOTE)) {
+            writer.write(CSV_QUOTE);
+            writer.write(value.replace(String.valueOf(CSV_QUOTE), CSV_QUOTE_ESCAPED));
+            writer.write(CSV_QUOTE);
+        } else {
+            writer.write(value);
+        }
+    }
+
+    private static boolean containsAny(String value, String allCharacter) {
+        for (int i = 0; i < value.length(); i++) {
+            if (allCharacter.indexOf(value.charAt(i)) >= 0) {
+                return true;
+            } else {
+                // Check the next character.
+            }
+        }
+
+        return false;
+    }
+
+    private static String toStringOrNull(Integer value) {
+        return value == null ? null : value.toString();
+    }
+}
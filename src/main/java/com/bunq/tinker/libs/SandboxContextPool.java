@@ -0,0 +1,181 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.context.ApiContext;
+import com.bunq.sdk.exception.BunqException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A directory of sandbox contexts that were set up ahead of time, so a new sandbox configuration is a file rename
+ * instead of generating a user and registering an installation, a device and a session with bunq.
+ *
+ * A context is leased by renaming it to the configuration file that needs it. A rename either happens completely or
+ * not at all, so processes sharing the directory, like parallel CI jobs, never lease the same context twice.
+ * After a lease the pool is topped up on a background thread; each new context is saved on its own, so a process
+ * that exits halfway still leaves every context it finished. Only one process refills at a time, holding a lock on a
+ * file in the directory, and it counts the pool again before every new context, so processes that lease at the same
+ * time do not fill the pool beyond its size. The pool is only used when its directory exists, create
+ * and fill it with e.g. "GenerateSandboxUsers --context-directory bunq-sandbox-pool --count 5".
+ */
+public class SandboxContextPool {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_LIST_POOL = "Could not list sandbox pool \"%s\": %s";
+    private static final String ERROR_COULD_NOT_LEASE = "Could not lease sandbox context \"%s\": %s";
+
+    /**
+     * Property constants, e.g. -Dtinker.sandbox.pool.size=20 for a CI runner with many parallel jobs.
+     */
+    private static final String PROPERTY_DIRECTORY = "tinker.sandbox.pool.directory";
+    private static final String PROPERTY_SIZE = "tinker.sandbox.pool.size";
+
+    /**
+     * Default constants.
+     */
+    private static final String DIRECTORY_DEFAULT = "bunq-sandbox-pool";
+    private static final int SIZE_DEFAULT = 5;
+
+    /**
+     * File constants.
+     */
+    private static final String FILE_NAME_FORMAT = "bunq-sandbox-%d.conf";
+    private static final String GLOB_CONFIGURATION = "*.conf";
+    private static final String FILE_NAME_LOCK = "refill.lock";
+
+    private static final String REFILL_THREAD_NAME = "sandbox-pool-refill";
+
+    private static final SandboxContextPool DEFAULT = new SandboxContextPool(
+            Paths.get(System.getProperty(PROPERTY_DIRECTORY, DIRECTORY_DEFAULT)),
+            Integer.getInteger(PROPERTY_SIZE, SIZE_DEFAULT)
+    );
+
+    private final Path directory;
+    private final int size;
+    private final AtomicBoolean isRefilling = new AtomicBoolean();
+
+    /**
+     * @param size The number of contexts to keep ready in the directory.
+     */
+    public SandboxContextPool(Path directory, int size) {
+        this.directory = directory;
+        this.size = size;
+    }
+
+    /**
+     * @return The pool BunqLib leases sandbox contexts from.
+     */
+    public static SandboxContextPool getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Sets up a new sandbox user and saves its context in the directory.
+     *
+     * @return The file the context was saved to.
+     */
+    public static Path provision(Path directory) {
+        ApiContext apiContext = BunqLib.createSandboxApiContext();
+        Path file = directory.resolve(String.format(FILE_NAME_FORMAT, apiContext.getSessionContext().getUserId()));
+        ApiContextStore.save(apiContext, file.toString());
+
+        return file;
+    }
+
+    public boolean isEnabled() {
+        return Files.isDirectory(directory);
+    }
+
+    /**
+     * Moves a ready context to the given configuration file.
+     *
+     * @return False when the pool is disabled or has no contexts left.
+     */
+    public boolean leaseTo(String fileName) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        for (Path file : listAllFile()) {
+            try {
+                Files.move(file, Paths.get(fileName), StandardCopyOption.ATOMIC_MOVE);
+                ApiContextStore.forget(file.toString());
+                ApiContextStore.forget(fileName);
+
+                return true;
+            } catch (NoSuchFileException exception) {
+                // Leased by another process in the meantime, try the next one.
+            } catch (IOException exception) {
+                throw new BunqException(String.format(ERROR_COULD_NOT_LEASE, file, exception.getMessage()));
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Tops the pool up to its size on a daemon thread, unless the pool is disabled or already being topped up.
+     */
+    public void refillInBackground() {
+        if (isEnabled() && isRefilling.compareAndSet(false, true)) {
+            Thread refill = new Thread(this::refill, REFILL_THREAD_NAME);
+            refill.setDaemon(true);
+            refill.start();
+        } else {
+            // Nothing to refill, or a refill is already running.
+        }
+    }
+
+    private void refill() {
+        try (
+                FileChannel channel = FileChannel.open(
+                        directory.resolve(FILE_NAME_LOCK),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE
+                );
+                FileLock lock = channel.tryLock()
+        ) {
+            if (lock == null) {
+                // Another process is refilling.
+                return;
+            }
+
+            while (listAllFile().size() < size) {
+                provision(directory);
+            }
+        } catch (IOException | RuntimeException exception) {
+            // The next lease tries again.
+        } finally {
+            isRefilling.set(false);
+        }
+    }
+
+    public int getCountReady() {
+        return isEnabled() ? listAllFile().size() : 0;
+    }
+
+    private List<Path> listAllFile() {
+        List<Path> allFile = new ArrayList<>();
+
+        try (DirectoryStream<Path> allFileInDirectory = Files.newDirectoryStream(directory, GLOB_CONFIGURATION)) {
+            allFileInDirectory.forEach(allFile::add);
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_LIST_POOL, directory, exception.getMessage()));
+        }
+
+        return allFile;
+    }
+}
@@ -0,0 +1,151 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.tinker.metrics.Counter;
+import com.bunq.tinker.metrics.Metrics;
+import okhttp3.ConnectionPool;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one OkHttpClient for the calls tinker makes itself, outside the SDK, like generating sandbox users.
+ *
+ * A client owns a connection pool and a dispatcher, so sharing it lets calls reuse open connections and TLS sessions
+ * instead of handshaking again for every call. Over TLS, HTTP/2 is negotiated when the server supports it, which
+ * lets concurrent calls to the same host share a single connection.
+ */
+public class SharedHttpClient {
+
+    /**
+     * Property constants, to tune the client without a rebuild, e.g. -Dtinker.http.pool.size=64 for bulk runs.
+     */
+    private static final String PROPERTY_POOL_SIZE = "tinker.http.pool.size";
+    private static final String PROPERTY_KEEP_ALIVE_SECONDS = "tinker.http.keep.alive.seconds";
+    private static final String PROPERTY_HTTP2 = "tinker.http.http2";
+
+    /**
+     * Default constants.
+     */
+    private static final int POOL_SIZE_DEFAULT = 16;
+    private static final long KEEP_ALIVE_SECONDS_DEFAULT = 300;
+    private static final String HTTP2_DEFAULT = "true";
+    private static final long CONNECT_TIMEOUT_SECONDS = 10;
+    private static final long READ_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Metric constants.
+     */
+    private static final String METRIC_BYTES_SENT = "http_sent_bytes_total";
+    private static final String METRIC_BYTES_RECEIVED = "http_received_bytes_total";
+    private static final String LABEL_CLIENT = "client";
+    private static final String CLIENT_SHARED = "shared";
+    private static final String HELP_BYTES_SENT = "Request body bytes sent by the shared HTTP client; ContextUserApi"
+            + " only sends GETs, without a body. Calls through the bunq SDK, like those of BunqLib and the single-user"
+            + " tinkers, are not counted.";
+    static final String HELP_BYTES_RECEIVED = "Response body bytes received by the HTTP clients of tinker itself,"
+            + " by client. Calls through the bunq SDK, like those of BunqLib and the single-user tinkers, are not"
+            + " counted.";
+
+    private static final Counter BYTES_SENT = Metrics.counter(METRIC_BYTES_SENT, LABEL_CLIENT, CLIENT_SHARED);
+    private static final Counter BYTES_RECEIVED = Metrics.counter(METRIC_BYTES_RECEIVED, LABEL_CLIENT, CLIENT_SHARED);
+
+    static {
+        Metrics.describe(METRIC_BYTES_SENT, HELP_BYTES_SENT);
+        Metrics.describe(METRIC_BYTES_RECEIVED, HELP_BYTES_RECEIVED);
+    }
+
+    private static final OkHttpClient CLIENT = create(
+            Integer.getInteger(PROPERTY_POOL_SIZE, POOL_SIZE_DEFAULT),
+            Long.getLong(PROPERTY_KEEP_ALIVE_SECONDS, KEEP_ALIVE_SECONDS_DEFAULT),
+            Boolean.parseBoolean(System.getProperty(PROPERTY_HTTP2, HTTP2_DEFAULT))
+    );
+
+    /**
+     * @param poolSize         The number of idle connections kept open, at most.
+     * @param keepAliveSeconds How long an idle connection is kept open.
+     * @param isHttp2Enabled   False to only speak HTTP/1.1, e.g. to debug with a proxy that does not speak HTTP/2.
+     */
+    public static OkHttpClient create(int poolSize, long keepAliveSeconds, boolean isHttp2Enabled) {
+        List<Protocol> allProtocol;
+
+        if (isHttp2Enabled) {
+            allProtocol = Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        } else {
+            allProtocol = Collections.singletonList(Protocol.HTTP_1_1);
+        }
+
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(poolSize, keepAliveSeconds, TimeUnit.SECONDS))
+                .protocols(allProtocol)
+                .addNetworkInterceptor(SharedHttpClient::countBytes)
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Counts the bodies sent and received. The bodies tinker sends are all of a known length; a body received is
+     * counted while it is read, so also a chunked one without a Content-Length is counted, as it arrives on the wire.
+     */
+    private static Response countBytes(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+
+        if (request.body() != null && request.body().contentLength() > 0) {
+            BYTES_SENT.add(request.body().contentLength());
+        }
+
+        Response response = chain.proceed(request);
+        ResponseBody body = response.body();
+
+        if (body == null) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .body(
+                        ResponseBody.create(
+                                body.contentType(),
+                                body.contentLength(),
+                                Okio.buffer(new CountingSource(body.source()))
+                        )
+                )
+                .build();
+    }
+
+    public static OkHttpClient get() {
+        return CLIENT;
+    }
+
+    private static class CountingSource extends ForwardingSource {
+
+        private CountingSource(Source source) {
+            super(source);
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long countRead = super.read(sink, byteCount);
+
+            if (countRead > 0) {
+                BYTES_RECEIVED.add(countRead);
+            } else {
+                // End of the body.
+            }
+
+            return countRead;
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package com.bunq.tinker.libs;
 
 import com.bunq.sdk.context.ApiEnvironmentType;
-import com.bunq.sdk.exception.BunqException;
-import com.bunq.sdk.model.core.BunqModel;
 import com.bunq.sdk.model.generated.endpoint.*;
 import com.bunq.sdk.model.generated.object.Pointer;
 import org.apache.commons.cli.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.UUID;
 
 public class SharedLib {
 
@@ -23,15 +24,48 @@ public class SharedLib {
     private static final String OPTION_ACCOUNT_ID = "account-id";
     private static final String OPTION_CALLBACK_URL = "callback-url";
     private static final String OPTION_NAME = "name";
+    private static final String OPTION_ALL_ACCOUNTS = "all-accounts";
+    private static final String OPTION_CONCURRENCY = "concurrency";
+    private static final String OPTION_CACHE = "cache";
+    private static final String OPTION_BATCH_FILE = "batch-file";
+    private static final String OPTION_RESULT_FILE = "result-file";
+    private static final String OPTION_JOURNAL = "journal";
+    private static final String OPTION_OPERATION_ID = "operation-id";
+    private static final String OPTION_FORMAT = "format";
+    private static final String OPTION_PORT = "port";
+    private static final String OPTION_CATEGORY = "category";
+    private static final String OPTION_REMOVE = "remove";
+    private static final String OPTION_CONTEXT_DIRECTORY = "context-directory";
+    private static final String OPTION_COUNT = "count";
+    private static final String OPTION_PLAN_FILE = "plan-file";
+    private static final String OPTION_DRY_RUN = "dry-run";
+    private static final String OPTION_SNAPSHOT_FILE = "snapshot-file";
+
+    /**
+     * Batch constants.
+     */
+    private static final String RESULT_FILE_SUFFIX = ".result.csv";
+    private static final String JOURNAL_FILE_SUFFIX = ".journal";
+
+    /**
+     * Context pool constants.
+     */
+    private static final String CONTEXT_DIRECTORY_DEFAULT = "contexts";
+
+    /**
+     * Notification filter constants.
+     */
+    private static final String NOTIFICATION_CATEGORY_DEFAULT = "MUTATION";
+    private static final String LIST_SEPARATOR = ",";
+
+    /**
+     * Concurrency constants, the default stays within the bunq GET rate limit.
+     */
+    private static final int DEFAULT_CONCURRENCY = 3;
 
     private static final String PROPERTY_LINE_SEPARATOR = "line.separator";
 
     private static final String EOL = System.getProperty(PROPERTY_LINE_SEPARATOR);
-    private static final String ECHO_CARD = EOL + "   Cards" + EOL;
-    private static final String ECHO_REQUEST = EOL + "   Requests" + EOL;
-    private static final String ECHO_PAYMENT = EOL + "   Payments" + EOL;
-    private static final String ECHO_MONETARY_ACCOUNT = EOL + "   Monetary Accounts" + EOL;
-    private static final String ECHO_USER = EOL + "   User" + EOL;
 
     private static final String ECHO_AMOUNT_IN_EUR = EOL + "    Amount (EUR): ";
     private static final String ECHO_DESCRIPTION = "    Description:  ";
@@ -40,8 +74,7 @@ public class SharedLib {
     private static final String ECHO_CARD_ID = EOL + "    Card (ID):       ";
     private static final String ECHO_ACCOUNT_ID = "    Account (ID):    ";
     private static final String ECHO_CALLBACK_URL = EOL + "    Callback URL:    ";
-
-    private static final String POINTER_TYPE_PHONE = "PHONE_NUMBER";
+    private static final String ECHO_PLAN_FILE = EOL + "    Plan file:       ";
 
     private static ApiEnvironmentType environmentType;
 
@@ -55,6 +88,22 @@ public class SharedLib {
         options.addOption(new Option("", OPTION_ACCOUNT_ID, true, ""));
         options.addOption(new Option("", OPTION_CALLBACK_URL, true, ""));
         options.addOption(new Option("", OPTION_NAME, true, ""));
+        options.addOption(new Option("", OPTION_ALL_ACCOUNTS, false, ""));
+        options.addOption(new Option("", OPTION_CONCURRENCY, true, ""));
+        options.addOption(new Option("", OPTION_CACHE, false, ""));
+        options.addOption(new Option("", OPTION_BATCH_FILE, true, ""));
+        options.addOption(new Option("", OPTION_RESULT_FILE, true, ""));
+        options.addOption(new Option("", OPTION_JOURNAL, true, ""));
+        options.addOption(new Option("", OPTION_OPERATION_ID, true, ""));
+        options.addOption(new Option("", OPTION_FORMAT, true, ""));
+        options.addOption(new Option("", OPTION_PORT, true, ""));
+        options.addOption(new Option("", OPTION_CATEGORY, true, ""));
+        options.addOption(new Option("", OPTION_REMOVE, false, ""));
+        options.addOption(new Option("", OPTION_CONTEXT_DIRECTORY, true, ""));
+        options.addOption(new Option("", OPTION_COUNT, true, ""));
+        options.addOption(new Option("", OPTION_PLAN_FILE, true, ""));
+        options.addOption(new Option("", OPTION_DRY_RUN, false, ""));
+        options.addOption(new Option("", OPTION_SNAPSHOT_FILE, true, ""));
         CommandLineParser parser = new BasicParser();
 
         return parser.parse(options, args);
@@ -70,13 +119,21 @@ public class SharedLib {
         return environmentType;
     }
 
+    /**
+     * @return The amount with two decimals, e.g. "5" becomes "5.00"; an amount that is not valid is refused here,
+     * before anything is sent.
+     */
     public static String determineAmountFromAllOptionOrStdIn(CommandLine allOption) {
+        String amount;
+
         if (allOption.hasOption(OPTION_AMOUNT)) {
-            return allOption.getOptionValue(OPTION_AMOUNT);
+            amount = allOption.getOptionValue(OPTION_AMOUNT);
         } else {
             System.out.print(ECHO_AMOUNT_IN_EUR);
-            return new Scanner(System.in).nextLine();
+            amount = new Scanner(System.in).nextLine();
         }
+
+        return Money.format(Money.parseCents(amount.trim()));
     }
 
     public static String determineDescriptionFromAllOptionOrStdIn(CommandLine allOption) {
@@ -132,6 +189,38 @@ public class SharedLib {
         }
     }
 
+    /**
+     * @return The callback URLs, given as a comma separated list.
+     */
+    public static List<String> determineAllCallbackUrlFromAllOptionOrStdIn(CommandLine allOption) {
+        return splitList(determineCallbackUrlFromAllOptionOrStdIn(allOption));
+    }
+
+    /**
+     * @return The notification categories, given as a comma separated list, by default only MUTATION.
+     */
+    public static List<String> determineAllCategoryFromAllOption(CommandLine allOption) {
+        return splitList(allOption.getOptionValue(OPTION_CATEGORY, NOTIFICATION_CATEGORY_DEFAULT));
+    }
+
+    public static boolean determineRemoveFromAllOption(CommandLine allOption) {
+        return allOption.hasOption(OPTION_REMOVE);
+    }
+
+    private static List<String> splitList(String list) {
+        List<String> allItem = new ArrayList<>();
+
+        for (String item : list.split(LIST_SEPARATOR)) {
+            if (!item.trim().isEmpty()) {
+                allItem.add(item.trim());
+            } else {
+                // Skip empty items, like the one after a trailing separator.
+            }
+        }
+
+        return allItem;
+    }
+
     public static String determineNameFromAllOptionOrStdIn(CommandLine allOption) {
         if (allOption.hasOption(OPTION_NAME)) {
             return allOption.getOptionValue(OPTION_NAME);
@@ -141,6 +230,129 @@ public class SharedLib {
         }
     }
 
+    public static boolean determineAllAccountsFromAllOption(CommandLine allOption) {
+        return allOption.hasOption(OPTION_ALL_ACCOUNTS);
+    }
+
+    public static boolean determineCacheFromAllOption(CommandLine allOption) {
+        return allOption.hasOption(OPTION_CACHE);
+    }
+
+    /**
+     * @return The plan file to apply, see DesiredState; asked for on stdin when no plan file was given.
+     */
+    public static String determinePlanFileFromAllOptionOrStdIn(CommandLine allOption) {
+        if (allOption.hasOption(OPTION_PLAN_FILE)) {
+            return allOption.getOptionValue(OPTION_PLAN_FILE);
+        } else {
+            System.out.print(ECHO_PLAN_FILE);
+            return new Scanner(System.in).nextLine();
+        }
+    }
+
+    /**
+     * @return True to only print the changes a plan would make.
+     */
+    public static boolean determineDryRunFromAllOption(CommandLine allOption) {
+        return allOption.hasOption(OPTION_DRY_RUN);
+    }
+
+    /**
+     * @return The snapshot file to write or read, or null when no snapshot file was given.
+     */
+    public static String determineSnapshotFileFromAllOption(CommandLine allOption) {
+        return allOption.getOptionValue(OPTION_SNAPSHOT_FILE);
+    }
+
+    public static String determineBatchFileFromAllOption(CommandLine allOption) {
+        return allOption.getOptionValue(OPTION_BATCH_FILE);
+    }
+
+    public static String determineResultFileFromAllOption(CommandLine allOption) {
+        if (allOption.hasOption(OPTION_RESULT_FILE)) {
+            return allOption.getOptionValue(OPTION_RESULT_FILE);
+        } else {
+            return determineBatchFileFromAllOption(allOption) + RESULT_FILE_SUFFIX;
+        }
+    }
+
+    /**
+     * @return The journal file to use, or null to run without a journal.
+     */
+    public static String determineJournalFileFromAllOption(CommandLine allOption) {
+        return allOption.getOptionValue(OPTION_JOURNAL);
+    }
+
+    /**
+     * Batches are always journaled, by default next to the batch file, so an interrupted batch can be resumed.
+     */
+    public static String determineBatchJournalFileFromAllOption(CommandLine allOption) {
+        if (allOption.hasOption(OPTION_JOURNAL)) {
+            return allOption.getOptionValue(OPTION_JOURNAL);
+        } else {
+            return determineBatchFileFromAllOption(allOption) + JOURNAL_FILE_SUFFIX;
+        }
+    }
+
+    /**
+     * The key of a single operation in the journal. Only a run with the same ID is the same operation, so two
+     * payments with the same amount, recipient and description are both sent unless the ID is given again.
+     *
+     * @return The given operation ID, or a new one.
+     */
+    public static String determineOperationIdFromAllOption(CommandLine allOption) {
+        if (allOption.hasOption(OPTION_OPERATION_ID)) {
+            return allOption.getOptionValue(OPTION_OPERATION_ID);
+        } else {
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    /**
+     * @return The given operation ID, or else the batch file, so running the same batch file again resumes it.
+     */
+    public static String determineBatchRunIdFromAllOption(CommandLine allOption) {
+        return allOption.getOptionValue(OPTION_OPERATION_ID, determineBatchFileFromAllOption(allOption));
+    }
+
+    /**
+     * @return The output format, one of the RecordWriter formats, by default the box-drawn tables.
+     */
+    public static String determineFormatFromAllOption(CommandLine allOption) {
+        return allOption.getOptionValue(OPTION_FORMAT, RecordWriter.FORMAT_TABLE);
+    }
+
+    public static int determinePortFromAllOption(CommandLine allOption, int portDefault) {
+        if (allOption.hasOption(OPTION_PORT)) {
+            return Integer.parseInt(allOption.getOptionValue(OPTION_PORT));
+        } else {
+            return portDefault;
+        }
+    }
+
+    /**
+     * @return The directory holding one configuration file per user, by default "contexts".
+     */
+    public static String determineContextDirectoryFromAllOption(CommandLine allOption) {
+        return allOption.getOptionValue(OPTION_CONTEXT_DIRECTORY, CONTEXT_DIRECTORY_DEFAULT);
+    }
+
+    public static int determineCountFromAllOption(CommandLine allOption, int countDefault) {
+        if (allOption.hasOption(OPTION_COUNT)) {
+            return Integer.parseInt(allOption.getOptionValue(OPTION_COUNT));
+        } else {
+            return countDefault;
+        }
+    }
+
+    public static int determineConcurrencyFromAllOption(CommandLine allOption) {
+        if (allOption.hasOption(OPTION_CONCURRENCY)) {
+            return Integer.parseInt(allOption.getOptionValue(OPTION_CONCURRENCY));
+        } else {
+            return DEFAULT_CONCURRENCY;
+        }
+    }
+
     public static void printHeader() {
         if (ApiEnvironmentType.PRODUCTION.equals(environmentType)) {
             System.out.println("\033[93m");
@@ -163,162 +375,143 @@ public class SharedLib {
         }
     }
 
-    public static void printUser(User user) {
-        BunqModel userModel = user.getReferencedObject();
-        String userName;
-        int userId;
-
-        if (userModel instanceof UserPerson) {
-            userId = ((UserPerson) userModel).getId();
-            userName = ((UserPerson) userModel).getDisplayName();
-        } else if (userModel instanceof UserCompany) {
-            userId = ((UserCompany) userModel).getId();
-            userName = ((UserCompany) userModel).getDisplayName();
-        } else if (userModel instanceof UserLight) {
-            userId = ((UserLight) userModel).getId();
-            userName = ((UserLight) userModel).getDisplayName();
-        } else {
-            throw new BunqException("Unexpected user type received.");
-        }
+    public static void printBatchSummary(BatchSummary summary, String resultFile) {
+        System.out.println();
+        System.out.println("  | Sent:         " + summary.getCountSucceeded());
+        System.out.println("  | Failed:       " + summary.getCountFailed());
+        System.out.println("  | Skipped:      " + summary.getCountSkipped());
+        System.out.println("  | In doubt:     " + summary.getCountInDoubt());
+        System.out.println("  | API calls:    " + summary.getCountApiCall());
+        System.out.println("  | Retries:      " + summary.getCountRetry());
+        System.out.println("  | Rate limited: " + summary.getWaitMilliseconds() + " ms waited");
+        System.out.println("  | Duration:     " + summary.getDurationMilliseconds() + " ms");
+        System.out.println("  | Throughput:   " + String.format("%.1f", summary.getEntriesPerSecond()) + " per second");
+        System.out.println("  | Results:      " + resultFile);
+        System.out.println();
+    }
 
-        System.out.println(ECHO_USER);
-        System.out.println("  ┌───────────────────┬────────────────────────────────────────────────────");
-        System.out.println("  │ ID                │ " + userId);
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Username          │ " + userName);
-        System.out.println("  └───────────────────┴────────────────────────────────────────────────────");
+    public static void printSkippedByJournal(String journalFile) {
+        System.out.println();
+        System.out.println("  | ⏭  Already done according to journal " + journalFile);
+        System.out.println();
     }
 
-    public static void printAllMonetaryAccountBank(List<MonetaryAccountBank> allMonetaryAccountBank) {
-        System.out.println(ECHO_MONETARY_ACCOUNT);
+    public static void printUser(User user) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderUser(BunqLib.getUserId(user), BunqLib.getUserDisplayName(user));
+        renderer.flush();
+    }
 
-        for (MonetaryAccountBank monetaryAccountBank : allMonetaryAccountBank) {
-            printMonetaryAccountBank(monetaryAccountBank);
-            System.out.println();
-        }
+    /**
+     * The print methods below render through a BoxRenderer, which writes to System.out once per batch of entities.
+     * They take any Iterable, so e.g. the iterate methods of BunqLib can be printed without collecting them first.
+     */
+    public static void printAllMonetaryAccountBank(Iterable<MonetaryAccountBank> allMonetaryAccountBank) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllMonetaryAccountBank(allMonetaryAccountBank);
+        renderer.flush();
     }
 
     public static void printMonetaryAccountBank(MonetaryAccountBank monetaryAccountBank) {
-        Pointer pointerIban = BunqLib.getPointerIbanForMonetaryAccountBank(monetaryAccountBank);
-
-        System.out.println("  ┌───────────────────┬────────────────────────────────────────────────────");
-        System.out.println("  │ ID                │ " + monetaryAccountBank.getId());
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Description       │ " + monetaryAccountBank.getDescription());
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ IBAN              │ " + pointerIban.getValue());
-
-        if (monetaryAccountBank.getBalance() == null) {
-            // We don't have access to the balance of this account.
-        } else {
-            String currency = monetaryAccountBank.getBalance().getCurrency();
-            String value = monetaryAccountBank.getBalance().getValue();
-            System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-            System.out.println("  │ Balance           │ " + currency + " " + value);
-        }
-
-        System.out.println("  └───────────────────┴────────────────────────────────────────────────────");
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderMonetaryAccountBank(monetaryAccountBank);
+        renderer.flush();
     }
 
-    public static void printAllPayment(List<Payment> allPayment) {
-        System.out.println(ECHO_PAYMENT);
+    public static void printAllMonetaryAccountActivity(Iterable<MonetaryAccountActivity> allActivity) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllMonetaryAccountActivity(allActivity);
+        renderer.flush();
+    }
 
-        for (Payment payment : allPayment) {
-            printPayment(payment);
-            System.out.println();
-        }
+    public static void printAllPayment(Iterable<Payment> allPayment) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllPayment(allPayment);
+        renderer.flush();
     }
 
     public static void printPayment(Payment payment) {
-        String currency = payment.getAmount().getCurrency();
-        String value = payment.getAmount().getValue();
-        String counterpartyDisplayName = payment.getCounterpartyAlias().getLabelUser().getDisplayName();
-
-        System.out.println("  ┌───────────────────┬────────────────────────────────────────────────────");
-        System.out.println("  │ ID                │ " + payment.getId());
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Description       │ " + payment.getDescription());
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Amount            │ " + currency + " " + value);
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Recipient         │ " + counterpartyDisplayName);
-        System.out.println("  └───────────────────┴────────────────────────────────────────────────────");
-    }
-
-    public static void printAllRequest(List<RequestInquiry> allRequest) {
-        System.out.println(ECHO_REQUEST);
-
-        for (RequestInquiry request : allRequest) {
-            printRequest(request);
-            System.out.println();
-        }
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderPayment(payment);
+        renderer.flush();
+    }
+
+    public static void printAllRequest(Iterable<RequestInquiry> allRequest) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllRequest(allRequest);
+        renderer.flush();
     }
 
     public static void printRequest(RequestInquiry request) {
-        String currency = request.getAmountInquired().getCurrency();
-        String value = request.getAmountInquired().getValue();
-        String counterpartyDisplayName = request.getCounterpartyAlias().getLabelUser().getDisplayName();
-
-        System.out.println("  ┌───────────────────┬────────────────────────────────────────────────────");
-        System.out.println("  │ ID                │ " + request.getId());
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Description       │ " + request.getDescription());
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Status            │ " + request.getStatus());
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Amount            │ " + currency + " " + value);
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Recipient         │ " + counterpartyDisplayName);
-        System.out.println("  └───────────────────┴────────────────────────────────────────────────────");
-    }
-
-    public static void printAllCard(List<Card> allCard, List<MonetaryAccountBank> allMonetaryAccountBank) {
-        System.out.println(ECHO_CARD);
-
-        for (Card card : allCard) {
-            printCard(card, allMonetaryAccountBank);
-            System.out.println();
-        }
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderRequest(request);
+        renderer.flush();
+    }
+
+    public static void printAllCard(Iterable<Card> allCard, List<MonetaryAccountBank> allMonetaryAccountBank) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllCard(allCard, BunqLib.indexAllMonetaryAccountBankByIban(allMonetaryAccountBank));
+        renderer.flush();
     }
 
     public static void printCard(Card card, List<MonetaryAccountBank> allMonetaryAccountBank) {
-        MonetaryAccountBank monetaryAccountBank = BunqLib.getMonetaryAccountBankFromLabel(
-                card.getLabelMonetaryAccountCurrent(),
-                allMonetaryAccountBank
-        );
-        String iban = card.getLabelMonetaryAccountCurrent().getIban();
-        String cardDescription = card.getSecondLine() == null ? "bunq card" : card.getSecondLine();
-        String monetaryAccountDescription =
-                monetaryAccountBank == null ? "account description" : monetaryAccountBank.getDescription();
-
-        System.out.println("  ┌───────────────────┬────────────────────────────────────────────────────");
-        System.out.println("  │ ID                │ " + card.getId());
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Type              │ " + card.getType());
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Name on Card      │ " + card.getNameOnCard());
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Description       │ " + cardDescription);
-        System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-        System.out.println("  │ Linked Account    │ " + monetaryAccountDescription + " " + iban);
-        System.out.println("  └───────────────────┴────────────────────────────────────────────────────");
-    }
-
-    public static void printAllUserAlias(List<Pointer> allUserAlias) {
-        System.out.println("   You can use these login credentials to login in to the bunq sandbox app.");
-
-        for (Pointer alias : allUserAlias) {
-            System.out.println("  ┌───────────────────┬────────────────────────────────────────────────────");
-            System.out.println("  │ Value             │ " + alias.getValue());
-            System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-            System.out.println("  │ Type              │ " + alias.getType());
-            System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-            if (alias.getType().equals(POINTER_TYPE_PHONE)) {
-                System.out.println("  │ Confirmation Code │ 123456");
-                System.out.println("  ├───────────────────┼────────────────────────────────────────────────────");
-            }
-            System.out.println("  │ Login Code        │ 000000");
-            System.out.println("  └───────────────────┴────────────────────────────────────────────────────");
-        }
+        printCard(card, BunqLib.indexAllMonetaryAccountBankByIban(allMonetaryAccountBank));
+    }
+
+    public static void printCard(Card card, Map<String, MonetaryAccountBank> allMonetaryAccountBankByIban) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderCard(card, allMonetaryAccountBankByIban);
+        renderer.flush();
+    }
+
+    public static void printAllUserAlias(Iterable<Pointer> allUserAlias) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllUserAlias(allUserAlias);
+        renderer.flush();
+    }
+
+    /**
+     * The print methods below render from a snapshot instead, see SnapshotReader.
+     */
+    public static void printSnapshotUser(SnapshotReader snapshot) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderUser(snapshot.getUserId(), snapshot.getUserName());
+        renderer.flush();
+    }
+
+    public static void printAllMonetaryAccountBank(SnapshotReader snapshot) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllMonetaryAccountBank(snapshot);
+        renderer.flush();
+    }
+
+    public static void printAllMonetaryAccountActivity(SnapshotReader snapshot, int count) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllMonetaryAccountActivity(snapshot, count);
+        renderer.flush();
+    }
+
+    public static void printAllPayment(SnapshotReader snapshot, int monetaryAccountIndex, int count) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllPayment(snapshot, monetaryAccountIndex, count);
+        renderer.flush();
+    }
+
+    public static void printAllRequest(SnapshotReader snapshot, int monetaryAccountIndex, int count) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllRequest(snapshot, monetaryAccountIndex, count);
+        renderer.flush();
+    }
+
+    public static void printAllCard(SnapshotReader snapshot, int count) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllCard(snapshot, count);
+        renderer.flush();
+    }
+
+    public static void printAllUserAlias(SnapshotReader snapshot) {
+        BoxRenderer renderer = new BoxRenderer(System.out);
+        renderer.renderAllUserAlias(snapshot);
+        renderer.flush();
     }
 }
@@ -0,0 +1,112 @@
+package com.bunq.tinker.libs;
+
+/**
+ * The layout of a snapshot file, shared by SnapshotWriter and SnapshotReader.
+ *
+ * A snapshot is a header followed by one section per kind of item, then the strings. Every item in a section has the
+ * same size, so item i of a section is found by multiplying, and strings are stored once and referred to by their
+ * code, like in StringDictionary. All numbers are big-endian; amounts are cents, see Money.
+ *
+ *   header          12 ints, see the HEADER_ constants
+ *   accounts        id, description, iban, currency, balance cents (long), first payment, payment count,
+ *                   first request, request count
+ *   payments        id, amount cents (long), currency, description, counterparty, month, see PaymentColumns
+ *   requests        id, amount cents (long), currency, description, counterparty, status
+ *   cards           id, type, name on card, second line, iban of the linked account
+ *   aliases         value, type
+ *   string offsets  one int per string plus one, the offset of each string in the string bytes
+ *   string bytes    the strings, UTF-8 encoded
+ *
+ * The payments and requests of an account are stored next to each other, so an account only needs to know where
+ * they start and how many there are. Change VERSION whenever the layout changes; older files are then refused.
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x544E4B53;
+    static final int VERSION = 1;
+
+    /**
+     * Header constants, the index of each int in the header.
+     */
+    static final int HEADER_MAGIC = 0;
+    static final int HEADER_VERSION = 1;
+    static final int HEADER_USER_ID = 2;
+    static final int HEADER_USER_NAME = 3;
+    static final int HEADER_COUNT_ACCOUNT = 4;
+    static final int HEADER_COUNT_PAYMENT = 5;
+    static final int HEADER_COUNT_REQUEST = 6;
+    static final int HEADER_COUNT_CARD = 7;
+    static final int HEADER_COUNT_ALIAS = 8;
+    static final int HEADER_COUNT_STRING = 9;
+    static final int HEADER_SIZE_STRING_BYTES = 10;
+    static final int HEADER_RESERVED = 11;
+    static final int SIZE_HEADER_BYTES = 12 * 4;
+
+    /**
+     * Account constants, the offset of each field in an account.
+     */
+    static final int ACCOUNT_ID = 0;
+    static final int ACCOUNT_DESCRIPTION = 4;
+    static final int ACCOUNT_IBAN = 8;
+    static final int ACCOUNT_CURRENCY = 12;
+    static final int ACCOUNT_BALANCE_CENTS = 16;
+    static final int ACCOUNT_PAYMENT_FIRST = 24;
+    static final int ACCOUNT_PAYMENT_COUNT = 28;
+    static final int ACCOUNT_REQUEST_FIRST = 32;
+    static final int ACCOUNT_REQUEST_COUNT = 36;
+    static final int SIZE_ACCOUNT_BYTES = 40;
+
+    /**
+     * Payment constants, the offset of each field in a payment.
+     */
+    static final int PAYMENT_ID = 0;
+    static final int PAYMENT_AMOUNT_CENTS = 4;
+    static final int PAYMENT_CURRENCY = 12;
+    static final int PAYMENT_DESCRIPTION = 16;
+    static final int PAYMENT_COUNTERPARTY = 20;
+    static final int PAYMENT_MONTH = 24;
+    static final int SIZE_PAYMENT_BYTES = 28;
+
+    /**
+     * Request constants, the offset of each field in a request.
+     */
+    static final int REQUEST_ID = 0;
+    static final int REQUEST_AMOUNT_CENTS = 4;
+    static final int REQUEST_CURRENCY = 12;
+    static final int REQUEST_DESCRIPTION = 16;
+    static final int REQUEST_COUNTERPARTY = 20;
+    static final int REQUEST_STATUS = 24;
+    static final int SIZE_REQUEST_BYTES = 28;
+
+    /**
+     * Card constants, the offset of each field in a card.
+     */
+    static final int CARD_ID = 0;
+    static final int CARD_TYPE = 4;
+    static final int CARD_NAME_ON_CARD = 8;
+    static final int CARD_SECOND_LINE = 12;
+    static final int CARD_IBAN = 16;
+    static final int SIZE_CARD_BYTES = 20;
+
+    /**
+     * Alias constants, the offset of each field in an alias.
+     */
+    static final int ALIAS_VALUE = 0;
+    static final int ALIAS_TYPE = 4;
+    static final int SIZE_ALIAS_BYTES = 8;
+
+    static final int SIZE_STRING_OFFSET_BYTES = 4;
+
+    /**
+     * The code of a string that is null, e.g. a card without a second line.
+     */
+    static final int STRING_NONE = -1;
+
+    /**
+     * The balance of an account the user cannot see the balance of.
+     */
+    static final long BALANCE_NONE = Long.MIN_VALUE;
+
+    private SnapshotFormat() {
+    }
+}
@@ -0,0 +1,369 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A snapshot written by SnapshotWriter, mapped into memory instead of read, see SnapshotFormat for the layout.
+ *
+ * Opening a snapshot only maps the file and checks its header, however many items it holds; the operating system
+ * pages the file in as items are read. Items are read field by field, by index, straight from the mapped file, so
+ * nothing is deserialised into SDK objects. Strings are decoded the first time they are asked for and then kept, so
+ * a counterparty that occurs on a million payments is decoded once, and a snapshot with many distinct strings costs
+ * nothing until they are read. A mapping is limited to 2 GB, which is tens of millions of payments.
+ *
+ * A reader is not safe to use from more than one thread at a time.
+ */
+public class SnapshotReader {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_READ_SNAPSHOT = "Could not read snapshot \"%s\": %s";
+    private static final String ERROR_NOT_A_SNAPSHOT = "\"%s\" is not a snapshot.";
+    private static final String ERROR_VERSION_UNSUPPORTED = "Snapshot \"%s\" has version %d, expected version %d.";
+    private static final String ERROR_SIZE_INVALID = "Snapshot \"%s\" is %d bytes, expected %d bytes.";
+    private static final String ERROR_STRING_INVALID = "Snapshot \"%s\" is corrupt, string %d is out of range.";
+
+    public static final int INDEX_NONE = -1;
+
+    private final MappedByteBuffer buffer;
+    private final int countAccount;
+    private final int countPayment;
+    private final int countRequest;
+    private final int countCard;
+    private final int countAlias;
+    private final int countString;
+    private final int offsetAccount;
+    private final int offsetPayment;
+    private final int offsetRequest;
+    private final int offsetCard;
+    private final int offsetAlias;
+    private final int offsetStringOffset;
+    private final int offsetStringBytes;
+    private final int sizeStringBytes;
+    private final Path file;
+    private final Map<Integer, String> allStringDecoded = new HashMap<>();
+
+    private SnapshotReader(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < SnapshotFormat.SIZE_HEADER_BYTES
+                || readHeader(SnapshotFormat.HEADER_MAGIC) != SnapshotFormat.MAGIC) {
+            throw new BunqException(String.format(ERROR_NOT_A_SNAPSHOT, file));
+        }
+
+        int version = readHeader(SnapshotFormat.HEADER_VERSION);
+
+        if (version != SnapshotFormat.VERSION) {
+            throw new BunqException(String.format(ERROR_VERSION_UNSUPPORTED, file, version, SnapshotFormat.VERSION));
+        }
+
+        countAccount = readHeader(SnapshotFormat.HEADER_COUNT_ACCOUNT);
+        countPayment = readHeader(SnapshotFormat.HEADER_COUNT_PAYMENT);
+        countRequest = readHeader(SnapshotFormat.HEADER_COUNT_REQUEST);
+        countCard = readHeader(SnapshotFormat.HEADER_COUNT_CARD);
+        countAlias = readHeader(SnapshotFormat.HEADER_COUNT_ALIAS);
+        countString = readHeader(SnapshotFormat.HEADER_COUNT_STRING);
+
+        long offsetAccountExpected = SnapshotFormat.SIZE_HEADER_BYTES;
+        long offsetPaymentExpected = offsetAccountExpected + (long) countAccount * SnapshotFormat.SIZE_ACCOUNT_BYTES;
+        long offsetRequestExpected = offsetPaymentExpected + (long) countPayment * SnapshotFormat.SIZE_PAYMENT_BYTES;
+        long offsetCardExpected = offsetRequestExpected + (long) countRequest * SnapshotFormat.SIZE_REQUEST_BYTES;
+        long offsetAliasExpected = offsetCardExpected + (long) countCard * SnapshotFormat.SIZE_CARD_BYTES;
+        long offsetStringOffsetExpected = offsetAliasExpected + (long) countAlias * SnapshotFormat.SIZE_ALIAS_BYTES;
+        long offsetStringBytesExpected = offsetStringOffsetExpected
+                + (countString + 1L) * SnapshotFormat.SIZE_STRING_OFFSET_BYTES;
+        sizeStringBytes = readHeader(SnapshotFormat.HEADER_SIZE_STRING_BYTES);
+        long sizeExpected = offsetStringBytesExpected + sizeStringBytes;
+
+        if (buffer.capacity() != sizeExpected) {
+            throw new BunqException(String.format(ERROR_SIZE_INVALID, file, buffer.capacity(), sizeExpected));
+        }
+
+        offsetAccount = (int) offsetAccountExpected;
+        offsetPayment = (int) offsetPaymentExpected;
+        offsetRequest = (int) offsetRequestExpected;
+        offsetCard = (int) offsetCardExpected;
+        offsetAlias = (int) offsetAliasExpected;
+        offsetStringOffset = (int) offsetStringOffsetExpected;
+        offsetStringBytes = (int) offsetStringBytesExpected;
+    }
+
+    /**
+     * Maps the snapshot into memory. The mapping stays valid after the file is closed, until the reader is garbage
+     * collected.
+     */
+    public static SnapshotReader open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new SnapshotReader(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | IllegalArgumentException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_READ_SNAPSHOT, file, exception.getMessage()));
+        }
+    }
+
+    private int readHeader(int index) {
+        return buffer.getInt(index * Integer.BYTES);
+    }
+
+    public long getSizeBytes() {
+        return buffer.capacity();
+    }
+
+    public int getUserId() {
+        return readHeader(SnapshotFormat.HEADER_USER_ID);
+    }
+
+    public String getUserName() {
+        return readString(readHeader(SnapshotFormat.HEADER_USER_NAME));
+    }
+
+    public int getCountMonetaryAccount() {
+        return countAccount;
+    }
+
+    public int getCountPayment() {
+        return countPayment;
+    }
+
+    public int getCountRequest() {
+        return countRequest;
+    }
+
+    public int getCountCard() {
+        return countCard;
+    }
+
+    public int getCountUserAlias() {
+        return countAlias;
+    }
+
+    /**
+     * The account getters below take the index of the account in the snapshot, from 0.
+     */
+    public int getMonetaryAccountId(int index) {
+        return buffer.getInt(offsetAccount(index) + SnapshotFormat.ACCOUNT_ID);
+    }
+
+    public String getMonetaryAccountDescription(int index) {
+        return readString(buffer.getInt(offsetAccount(index) + SnapshotFormat.ACCOUNT_DESCRIPTION));
+    }
+
+    public String getMonetaryAccountIban(int index) {
+        return readString(buffer.getInt(offsetAccount(index) + SnapshotFormat.ACCOUNT_IBAN));
+    }
+
+    /**
+     * @return False when the user could not see the balance when the snapshot was taken.
+     */
+    public boolean hasMonetaryAccountBalance(int index) {
+        return getMonetaryAccountBalanceCents(index) != SnapshotFormat.BALANCE_NONE;
+    }
+
+    public String getMonetaryAccountBalanceCurrency(int index) {
+        return readString(buffer.getInt(offsetAccount(index) + SnapshotFormat.ACCOUNT_CURRENCY));
+    }
+
+    public long getMonetaryAccountBalanceCents(int index) {
+        return buffer.getLong(offsetAccount(index) + SnapshotFormat.ACCOUNT_BALANCE_CENTS);
+    }
+
+    /**
+     * @return The index of the newest payment of the account, its payments follow it from new to old.
+     */
+    public int getMonetaryAccountPaymentFirst(int index) {
+        return buffer.getInt(offsetAccount(index) + SnapshotFormat.ACCOUNT_PAYMENT_FIRST);
+    }
+
+    public int getMonetaryAccountPaymentCount(int index) {
+        return buffer.getInt(offsetAccount(index) + SnapshotFormat.ACCOUNT_PAYMENT_COUNT);
+    }
+
+    /**
+     * @return The index of the newest request of the account, its requests follow it from new to old.
+     */
+    public int getMonetaryAccountRequestFirst(int index) {
+        return buffer.getInt(offsetAccount(index) + SnapshotFormat.ACCOUNT_REQUEST_FIRST);
+    }
+
+    public int getMonetaryAccountRequestCount(int index) {
+        return buffer.getInt(offsetAccount(index) + SnapshotFormat.ACCOUNT_REQUEST_COUNT);
+    }
+
+    private int offsetAccount(int index) {
+        return offsetAccount + index * SnapshotFormat.SIZE_ACCOUNT_BYTES;
+    }
+
+    /**
+     * The payment getters below take the index of the payment in the snapshot, from 0.
+     */
+    public int getPaymentId(int index) {
+        return buffer.getInt(offsetPayment(index) + SnapshotFormat.PAYMENT_ID);
+    }
+
+    public long getPaymentAmountCents(int index) {
+        return buffer.getLong(offsetPayment(index) + SnapshotFormat.PAYMENT_AMOUNT_CENTS);
+    }
+
+    public String getPaymentCurrency(int index) {
+        return readString(buffer.getInt(offsetPayment(index) + SnapshotFormat.PAYMENT_CURRENCY));
+    }
+
+    public String getPaymentDescription(int index) {
+        return readString(buffer.getInt(offsetPayment(index) + SnapshotFormat.PAYMENT_DESCRIPTION));
+    }
+
+    public String getPaymentCounterparty(int index) {
+        return readString(buffer.getInt(offsetPayment(index) + SnapshotFormat.PAYMENT_COUNTERPARTY));
+    }
+
+    /**
+     * @return The number of months since year 0, see PaymentColumns.formatMonth.
+     */
+    public int getPaymentMonth(int index) {
+        return buffer.getInt(offsetPayment(index) + SnapshotFormat.PAYMENT_MONTH);
+    }
+
+    private int offsetPayment(int index) {
+        return offsetPayment + index * SnapshotFormat.SIZE_PAYMENT_BYTES;
+    }
+
+    /**
+     * The request getters below take the index of the request in the snapshot, from 0.
+     */
+    public int getRequestId(int index) {
+        return buffer.getInt(offsetRequest(index) + SnapshotFormat.REQUEST_ID);
+    }
+
+    public long getRequestAmountCents(int index) {
+        return buffer.getLong(offsetRequest(index) + SnapshotFormat.REQUEST_AMOUNT_CENTS);
+    }
+
+    public String getRequestCurrency(int index) {
+        return readString(buffer.getInt(offsetRequest(index) + SnapshotFormat.REQUEST_CURRENCY));
+    }
+
+    public String getRequestDescription(int index) {
+        return readString(buffer.getInt(offsetRequest(index) + SnapshotFormat.REQUEST_DESCRIPTION));
+    }
+
+    public String getRequestCounterparty(int index) {
+        return readString(buffer.getInt(offsetRequest(index) + SnapshotFormat.REQUEST_COUNTERPARTY));
+    }
+
+    public String getRequestStatus(int index) {
+        return readString(buffer.getInt(offsetRequest(index) + SnapshotFormat.REQUEST_STATUS));
+    }
+
+    private int offsetRequest(int index) {
+        return offsetRequest + index * SnapshotFormat.SIZE_REQUEST_BYTES;
+    }
+
+    /**
+     * The card getters below take the index of the card in the snapshot, from 0.
+     */
+    public int getCardId(int index) {
+        return buffer.getInt(offsetCard(index) + SnapshotFormat.CARD_ID);
+    }
+
+    public String getCardType(int index) {
+        return readString(buffer.getInt(offsetCard(index) + SnapshotFormat.CARD_TYPE));
+    }
+
+    public String getCardNameOnCard(int index) {
+        return readString(buffer.getInt(offsetCard(index) + SnapshotFormat.CARD_NAME_ON_CARD));
+    }
+
+    /**
+     * @return The second line of the card, or null when it has none.
+     */
+    public String getCardSecondLine(int index) {
+        return readString(buffer.getInt(offsetCard(index) + SnapshotFormat.CARD_SECOND_LINE));
+    }
+
+    /**
+     * @return The IBAN of the account the card is linked to.
+     */
+    public String getCardIban(int index) {
+        return readString(buffer.getInt(offsetCard(index) + SnapshotFormat.CARD_IBAN));
+    }
+
+    private int offsetCard(int index) {
+        return offsetCard + index * SnapshotFormat.SIZE_CARD_BYTES;
+    }
+
+    /**
+     * The alias getters below take the index of the alias in the snapshot, from 0.
+     */
+    public String getUserAliasValue(int index) {
+        return readString(buffer.getInt(offsetAlias(index) + SnapshotFormat.ALIAS_VALUE));
+    }
+
+    public String getUserAliasType(int index) {
+        return readString(buffer.getInt(offsetAlias(index) + SnapshotFormat.ALIAS_TYPE));
+    }
+
+    private int offsetAlias(int index) {
+        return offsetAlias + index * SnapshotFormat.SIZE_ALIAS_BYTES;
+    }
+
+    /**
+     * @return The index of the account with the IBAN, or INDEX_NONE when the snapshot does not hold it.
+     */
+    public int findMonetaryAccountByIban(String iban) {
+        for (int i = 0; i < countAccount; i++) {
+            if (getMonetaryAccountIban(i).equals(iban)) {
+                return i;
+            }
+        }
+
+        return INDEX_NONE;
+    }
+
+    private String readString(int code) {
+        if (code == SnapshotFormat.STRING_NONE) {
+            return null;
+        }
+
+        String value = allStringDecoded.get(code);
+
+        if (value == null) {
+            value = decodeString(code);
+            allStringDecoded.put(code, value);
+        } else {
+            // Decoded before.
+        }
+
+        return value;
+    }
+
+    private String decodeString(int code) {
+        if (code < 0 || code >= countString) {
+            throw new BunqException(String.format(ERROR_STRING_INVALID, file, code));
+        }
+
+        int offsetStart = buffer.getInt(offsetStringOffset + code * SnapshotFormat.SIZE_STRING_OFFSET_BYTES);
+        int offsetEnd = buffer.getInt(offsetStringOffset + (code + 1) * SnapshotFormat.SIZE_STRING_OFFSET_BYTES);
+
+        if (offsetStart < 0 || offsetStart > offsetEnd || offsetEnd > sizeStringBytes) {
+            throw new BunqException(String.format(ERROR_STRING_INVALID, file, code));
+        }
+
+        byte[] valueBytes = new byte[offsetEnd - offsetStart];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offsetStringBytes + offsetStart);
+        view.get(valueBytes);
+
+        return new String(valueBytes, StandardCharsets.UTF_8);
+    }
+}
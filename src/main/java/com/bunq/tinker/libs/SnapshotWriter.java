@@ -0,0 +1,293 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.sdk.model.generated.endpoint.RequestInquiry;
+import com.bunq.sdk.model.generated.object.LabelMonetaryAccount;
+import com.bunq.sdk.model.generated.object.Pointer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the user, accounts, payments, requests, cards and aliases into the snapshot layout of SnapshotFormat, and
+ * writes them to a file in one go.
+ *
+ * Items are kept in memory in their final layout while they are added, a few dozen bytes each, so writing is a
+ * matter of copying the sections to the file. The file is written next to its destination and then moved over it,
+ * so a reader never sees half a snapshot.
+ */
+public class SnapshotWriter {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_WRITE_SNAPSHOT = "Could not write snapshot \"%s\": %s";
+    private static final String ERROR_SNAPSHOT_TOO_LARGE = "Snapshot would be %d bytes, the limit is %d bytes.";
+
+    private static final String EXTENSION_TEMPORARY = ".tmp";
+    private static final int CAPACITY_INITIAL_BYTES = 4096;
+
+    /**
+     * The largest file SnapshotReader can map, which also bounds every section in it.
+     */
+    private static final int SIZE_SNAPSHOT_MAXIMUM_BYTES = Integer.MAX_VALUE - 8;
+
+    private int userId;
+    private int userNameCode = SnapshotFormat.STRING_NONE;
+
+    private final Section accountSection = new Section();
+    private final Section paymentSection = new Section();
+    private final Section requestSection = new Section();
+    private final Section cardSection = new Section();
+    private final Section aliasSection = new Section();
+    private final StringDictionary stringDictionary = new StringDictionary();
+
+    private int countAccount;
+    private int countPayment;
+    private int countRequest;
+    private int countCard;
+    private int countAlias;
+
+    public void setUser(int userId, String userName) {
+        this.userId = userId;
+        this.userNameCode = encode(userName);
+    }
+
+    /**
+     * Adds the account with all of its payments and requests, which are consumed as they are iterated, so the
+     * iterate methods of BunqLib can be passed without collecting their items first.
+     */
+    public void addMonetaryAccountBank(
+            MonetaryAccountBank monetaryAccountBank,
+            Iterable<Payment> allPayment,
+            Iterable<RequestInquiry> allRequest
+    ) {
+        int paymentFirst = countPayment;
+        int requestFirst = countRequest;
+
+        for (Payment payment : allPayment) {
+            addPayment(payment);
+        }
+
+        for (RequestInquiry request : allRequest) {
+            addRequest(request);
+        }
+
+        accountSection.putInt(monetaryAccountBank.getId());
+        accountSection.putInt(encode(monetaryAccountBank.getDescription()));
+        accountSection.putInt(encode(BunqLib.getPointerIbanForMonetaryAccountBank(monetaryAccountBank).getValue()));
+
+        if (monetaryAccountBank.getBalance() == null) {
+            accountSection.putInt(SnapshotFormat.STRING_NONE);
+            accountSection.putLong(SnapshotFormat.BALANCE_NONE);
+        } else {
+            accountSection.putInt(encode(monetaryAccountBank.getBalance().getCurrency()));
+            accountSection.putLong(Money.parseCents(monetaryAccountBank.getBalance().getValue()));
+        }
+
+        accountSection.putInt(paymentFirst);
+        accountSection.putInt(countPayment - paymentFirst);
+        accountSection.putInt(requestFirst);
+        accountSection.putInt(countRequest - requestFirst);
+        countAccount++;
+    }
+
+    private void addPayment(Payment payment) {
+        paymentSection.putInt(payment.getId());
+        paymentSection.putLong(Money.parseCents(payment.getAmount().getValue()));
+        paymentSection.putInt(encode(payment.getAmount().getCurrency()));
+        paymentSection.putInt(encode(payment.getDescription()));
+        paymentSection.putInt(encode(determineCounterpartyDisplayName(payment.getCounterpartyAlias())));
+        paymentSection.putInt(PaymentColumns.parseMonth(payment.getCreated(), payment.getId()));
+        countPayment++;
+    }
+
+    private void addRequest(RequestInquiry request) {
+        requestSection.putInt(request.getId());
+        requestSection.putLong(Money.parseCents(request.getAmountInquired().getValue()));
+        requestSection.putInt(encode(request.getAmountInquired().getCurrency()));
+        requestSection.putInt(encode(request.getDescription()));
+        requestSection.putInt(encode(determineCounterpartyDisplayName(request.getCounterpartyAlias())));
+        requestSection.putInt(encode(request.getStatus()));
+        countRequest++;
+    }
+
+    /**
+     * The name BoxRenderer shows as the recipient of a live payment or request, so a snapshot renders the same.
+     */
+    private static String determineCounterpartyDisplayName(LabelMonetaryAccount counterparty) {
+        if (counterparty == null || counterparty.getLabelUser() == null) {
+            return null;
+        } else {
+            return counterparty.getLabelUser().getDisplayName();
+        }
+    }
+
+    public void addAllCard(Iterable<Card> allCard) {
+        for (Card card : allCard) {
+            cardSection.putInt(card.getId());
+            cardSection.putInt(encode(card.getType()));
+            cardSection.putInt(encode(card.getNameOnCard()));
+            cardSection.putInt(encode(card.getSecondLine()));
+            cardSection.putInt(encode(card.getLabelMonetaryAccountCurrent().getIban()));
+            countCard++;
+        }
+    }
+
+    public void addAllUserAlias(Iterable<Pointer> allUserAlias) {
+        for (Pointer alias : allUserAlias) {
+            aliasSection.putInt(encode(alias.getValue()));
+            aliasSection.putInt(encode(alias.getType()));
+            countAlias++;
+        }
+    }
+
+    private int encode(String value) {
+        return value == null ? SnapshotFormat.STRING_NONE : stringDictionary.encode(value);
+    }
+
+    public int getCountPayment() {
+        return countPayment;
+    }
+
+    public int getCountRequest() {
+        return countRequest;
+    }
+
+    /**
+     * Writes everything added so far, replacing the file when it exists.
+     */
+    public void write(Path file) {
+        List<byte[]> allStringBytes = new ArrayList<>(stringDictionary.size());
+        Section stringOffsetSection = new Section();
+        int sizeStringBytes = 0;
+
+        for (int code = 0; code < stringDictionary.size(); code++) {
+            byte[] stringBytes = stringDictionary.decode(code).getBytes(StandardCharsets.UTF_8);
+            allStringBytes.add(stringBytes);
+            stringOffsetSection.putInt(sizeStringBytes);
+            sizeStringBytes = addSize(sizeStringBytes, stringBytes.length);
+        }
+
+        stringOffsetSection.putInt(sizeStringBytes);
+
+        long sizeSnapshot = (long) SnapshotFormat.SIZE_HEADER_BYTES + accountSection.size() + paymentSection.size()
+                + requestSection.size() + cardSection.size() + aliasSection.size() + stringOffsetSection.size()
+                + sizeStringBytes;
+
+        if (sizeSnapshot > SIZE_SNAPSHOT_MAXIMUM_BYTES) {
+            throw new BunqException(String.format(ERROR_SNAPSHOT_TOO_LARGE, sizeSnapshot, SIZE_SNAPSHOT_MAXIMUM_BYTES));
+        }
+
+        Section headerSection = new Section();
+        headerSection.putInt(SnapshotFormat.MAGIC);
+        headerSection.putInt(SnapshotFormat.VERSION);
+        headerSection.putInt(userId);
+        headerSection.putInt(userNameCode);
+        headerSection.putInt(countAccount);
+        headerSection.putInt(countPayment);
+        headerSection.putInt(countRequest);
+        headerSection.putInt(countCard);
+        headerSection.putInt(countAlias);
+        headerSection.putInt(stringDictionary.size());
+        headerSection.putInt(sizeStringBytes);
+        headerSection.putInt(0);
+
+        Path fileTemporary = file.resolveSibling(file.getFileName() + EXTENSION_TEMPORARY);
+
+        try {
+            try (FileChannel channel = FileChannel.open(
+                    fileTemporary,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE
+            )) {
+                headerSection.writeTo(channel);
+                accountSection.writeTo(channel);
+                paymentSection.writeTo(channel);
+                requestSection.writeTo(channel);
+                cardSection.writeTo(channel);
+                aliasSection.writeTo(channel);
+                stringOffsetSection.writeTo(channel);
+
+                for (byte[] stringBytes : allStringBytes) {
+                    writeFully(channel, ByteBuffer.wrap(stringBytes));
+                }
+
+                channel.force(true);
+            }
+
+            Files.move(fileTemporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_WRITE_SNAPSHOT, file, exception.getMessage()));
+        }
+    }
+
+    private static int addSize(int size, int sizeAdded) {
+        if (size > SIZE_SNAPSHOT_MAXIMUM_BYTES - sizeAdded) {
+            throw new BunqException(
+                    String.format(ERROR_SNAPSHOT_TOO_LARGE, (long) size + sizeAdded, SIZE_SNAPSHOT_MAXIMUM_BYTES)
+            );
+        }
+
+        return size + sizeAdded;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * The bytes of one section, in a buffer that doubles when it is full, up to the largest snapshot there can be.
+     */
+    private static class Section {
+
+        private ByteBuffer buffer = ByteBuffer.allocate(CAPACITY_INITIAL_BYTES);
+
+        void putInt(int value) {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        private void ensureRemaining(int size) {
+            if (buffer.remaining() < size) {
+                int capacityNeeded = addSize(buffer.position(), size);
+                int capacity = (int) Math.min((long) buffer.capacity() * 2, SIZE_SNAPSHOT_MAXIMUM_BYTES);
+                ByteBuffer bufferLarger = ByteBuffer.allocate(Math.max(capacity, capacityNeeded));
+                buffer.flip();
+                bufferLarger.put(buffer);
+                buffer = bufferLarger;
+            } else {
+                // Still room.
+            }
+        }
+
+        int size() {
+            return buffer.position();
+        }
+
+        void writeTo(FileChannel channel) throws IOException {
+            ByteBuffer content = buffer.duplicate();
+            content.flip();
+            writeFully(channel, content);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.bunq.tinker.libs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives every distinct string a small int code, so a column of strings that repeat a lot, like counterparty names,
+ * can be stored as an int per row with each string kept once. Codes are handed out in order from 0, so they can be
+ * used as an index into an array with one slot per distinct string.
+ */
+public class StringDictionary {
+
+    /**
+     * Size constants, estimates for a 64-bit JVM with compressed references.
+     */
+    private static final int SIZE_STRING_BYTES = 24;
+    private static final int SIZE_ARRAY_HEADER_BYTES = 16;
+    private static final int SIZE_MAP_ENTRY_BYTES = 32;
+    private static final int SIZE_INTEGER_BYTES = 16;
+    private static final int SIZE_REFERENCE_BYTES = 4;
+
+    private final Map<String, Integer> allCodeByValue = new HashMap<>();
+    private final List<String> allValue = new ArrayList<>();
+
+    public int encode(String value) {
+        Integer code = allCodeByValue.get(value);
+
+        if (code == null) {
+            code = allValue.size();
+            allValue.add(value);
+            allCodeByValue.put(value, code);
+        } else {
+            // Seen before, reuse its code.
+        }
+
+        return code;
+    }
+
+    public String decode(int code) {
+        return allValue.get(code);
+    }
+
+    public int size() {
+        return allValue.size();
+    }
+
+    /**
+     * @return Roughly the bytes the dictionary keeps on the heap, strings included.
+     */
+    public long estimateSizeBytes() {
+        long sizeBytes = 0;
+
+        for (String value : allValue) {
+            sizeBytes += SIZE_STRING_BYTES + SIZE_ARRAY_HEADER_BYTES + 2L * value.length();
+            sizeBytes += SIZE_MAP_ENTRY_BYTES + SIZE_INTEGER_BYTES + 2 * SIZE_REFERENCE_BYTES;
+        }
+
+        return sizeBytes;
+    }
+}
@@ -0,0 +1,380 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.exception.BunqException;
+import com.bunq.sdk.http.BunqResponse;
+import com.bunq.sdk.http.Pagination;
+import com.bunq.sdk.json.BunqGsonBuilder;
+import com.google.gson.Gson;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * On-disk cache of the items of one list endpoint of one monetary account.
+ *
+ * Items are appended in ascending ID order to a segment file with one JSON object per line. The synced ID is kept
+ * next to it in the head file, so a sync only asks bunq for the items that are newer than that ID. Items that can
+ * still change, like a pending request, are listed in the head file as well: a sync fetches each of them again by its
+ * ID, and once one can not change anymore its line in the segment file is replaced, which keeps the file in ID order
+ * and one line per item. Reading goes backwards from the end of the file, so only as much of the file is read as the
+ * newest items need.
+ */
+public class TransactionCache<T> {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_READ_CACHE = "Could not read transaction cache \"%s\": %s";
+    private static final String ERROR_COULD_NOT_WRITE_CACHE = "Could not write transaction cache \"%s\": %s";
+
+    /**
+     * File extension constants.
+     */
+    private static final String EXTENSION_SEGMENT = ".ndjson";
+    private static final String EXTENSION_HEAD = ".head";
+    private static final String EXTENSION_TEMPORARY = ".tmp";
+
+    private static final int ID_NONE = 0;
+    private static final int PAGE_SIZE_MAXIMUM = 200;
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte LINE_SEPARATOR = '\n';
+
+    /**
+     * Head file constants: the synced ID on the first line, the IDs of the items that can still change on the second.
+     */
+    private static final String HEAD_FORMAT = "%d\n%s";
+    private static final String HEAD_LINE_SEPARATOR = "\n";
+    private static final String PENDING_ID_SEPARATOR = ",";
+    private static final int INDEX_LINE_SYNCED_ID = 0;
+    private static final int INDEX_LINE_PENDING_ID = 1;
+
+    private final Path segmentFile;
+    private final Path headFile;
+    private final Class<T> itemClass;
+    private final Function<T, Integer> idGetter;
+    private final Predicate<T> isFinal;
+    private final Gson gson;
+
+    /**
+     * For items that never change once created, like payments.
+     */
+    public TransactionCache(Path directory, String name, Class<T> itemClass, Function<T, Integer> idGetter) {
+        this(directory, name, itemClass, idGetter, item -> true);
+    }
+
+    /**
+     * @param isFinal Tells whether an item can not change anymore; the ones that can are fetched again on every sync,
+     *                see sync with an item fetcher.
+     */
+    public TransactionCache(
+            Path directory,
+            String name,
+            Class<T> itemClass,
+            Function<T, Integer> idGetter,
+            Predicate<T> isFinal
+    ) {
+        this.segmentFile = directory.resolve(name + EXTENSION_SEGMENT);
+        this.headFile = directory.resolve(name + EXTENSION_HEAD);
+        this.itemClass = itemClass;
+        this.idGetter = idGetter;
+        this.isFinal = isFinal;
+        this.gson = BunqGsonBuilder.buildDefault().create();
+    }
+
+    /**
+     * @return The highest stored ID, which a sync fetches the items after. 0 when nothing has been synced yet.
+     */
+    public int getSyncedId() {
+        String[] allLine = readAllHeadLine();
+
+        try {
+            return Integer.parseInt(allLine[INDEX_LINE_SYNCED_ID].trim());
+        } catch (NumberFormatException exception) {
+            return ID_NONE;
+        }
+    }
+
+    /**
+     * @return The IDs of the stored items that can still change, in ascending order.
+     */
+    public List<Integer> getAllPendingId() {
+        String[] allLine = readAllHeadLine();
+        List<Integer> allPendingId = new ArrayList<>();
+
+        if (allLine.length <= INDEX_LINE_PENDING_ID) {
+            return allPendingId;
+        }
+
+        for (String pendingId : allLine[INDEX_LINE_PENDING_ID].split(PENDING_ID_SEPARATOR)) {
+            if (!pendingId.trim().isEmpty()) {
+                allPendingId.add(Integer.parseInt(pendingId.trim()));
+            }
+        }
+
+        return allPendingId;
+    }
+
+    private String[] readAllHeadLine() {
+        if (!Files.exists(headFile)) {
+            return new String[]{String.valueOf(ID_NONE)};
+        }
+
+        try {
+            return new String(Files.readAllBytes(headFile), StandardCharsets.UTF_8).split(HEAD_LINE_SEPARATOR);
+        } catch (IOException exception) {
+            return new String[]{String.valueOf(ID_NONE)};
+        }
+    }
+
+    /**
+     * For a cache of items that never change once created.
+     */
+    public int sync(PageFetcher<T> pageFetcher) {
+        return sync(pageFetcher, null);
+    }
+
+    /**
+     * Fetches the items newer than the synced ID and appends them to the cache, and fetches the items that could
+     * still change again by their ID.
+     *
+     * @param itemFetcher Fetches a single item by its ID, only called for items that are not final.
+     *
+     * @return The number of items fetched, new ones and ones that were fetched again.
+     */
+    public int sync(PageFetcher<T> pageFetcher, Function<Integer, T> itemFetcher) {
+        int syncedId = getSyncedId();
+        List<Integer> allPendingId = getAllPendingId();
+        List<T> allItemNew = new ArrayList<>();
+
+        if (syncedId == ID_NONE) {
+            new PageIterator<>(pageFetcher, PAGE_SIZE_MAXIMUM).forEachRemaining(allItemNew::add);
+        } else {
+            fetchAllNewerThan(pageFetcher, syncedId, allItemNew);
+        }
+
+        Map<Integer, T> allItemFinalById = new HashMap<>();
+        List<Integer> allPendingIdNext = new ArrayList<>();
+
+        for (Integer pendingId : allPendingId) {
+            T item = itemFetcher.apply(pendingId);
+
+            if (isFinal.test(item)) {
+                allItemFinalById.put(pendingId, item);
+            } else {
+                allPendingIdNext.add(pendingId);
+            }
+        }
+
+        allItemNew.sort(Comparator.comparing(idGetter));
+
+        for (T item : allItemNew) {
+            if (!isFinal.test(item)) {
+                allPendingIdNext.add(idGetter.apply(item));
+            } else {
+                // Stored as it is for good.
+            }
+        }
+
+        if (!allItemFinalById.isEmpty()) {
+            replace(allItemFinalById);
+        }
+
+        if (!allItemNew.isEmpty()) {
+            append(allItemNew);
+        }
+
+        if (!allItemNew.isEmpty() || !allPendingIdNext.equals(allPendingId)) {
+            int syncedIdNext = allItemNew.isEmpty() ? syncedId : idGetter.apply(allItemNew.get(allItemNew.size() - 1));
+            writeHead(syncedIdNext, allPendingIdNext);
+        }
+
+        return allItemNew.size() + allPendingId.size();
+    }
+
+    private void fetchAllNewerThan(PageFetcher<T> pageFetcher, int syncedId, List<T> allItemNew) {
+        Pagination pagination = new Pagination();
+        pagination.setNewerId(syncedId);
+        pagination.setCount(PAGE_SIZE_MAXIMUM);
+
+        for (;;) {
+            BunqResponse<List<T>> response = pageFetcher.fetch(pagination.getUrlParamsNextPage());
+            allItemNew.addAll(response.getValue());
+            pagination = response.getPagination();
+
+            if (response.getValue().isEmpty() || pagination == null || !pagination.hasNextPage()) {
+                return;
+            }
+        }
+    }
+
+    private void append(List<T> allItem) {
+        try {
+            Files.createDirectories(segmentFile.getParent());
+
+            try (FileOutputStream outputStream = new FileOutputStream(segmentFile.toFile(), true)) {
+                Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+
+                for (T item : allItem) {
+                    writer.write(gson.toJson(item));
+                    writer.write('\n');
+                }
+
+                writer.flush();
+                outputStream.getFD().sync();
+            }
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_WRITE_CACHE, segmentFile, exception.getMessage()));
+        }
+    }
+
+    /**
+     * Rewrites the segment file with the given items in place of their stored version, and swaps it in at once, so
+     * an interrupted rewrite leaves the old file and the items are still pending in the head file.
+     */
+    private void replace(Map<Integer, T> allItemById) {
+        Path segmentFileTemporary = segmentFile.resolveSibling(segmentFile.getFileName() + EXTENSION_TEMPORARY);
+
+        try {
+            try (
+                    BufferedReader reader = Files.newBufferedReader(segmentFile, StandardCharsets.UTF_8);
+                    FileOutputStream outputStream = new FileOutputStream(segmentFileTemporary.toFile())
+            ) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+
+                    T item = allItemById.get(idGetter.apply(gson.fromJson(line, itemClass)));
+                    writer.write(item == null ? line : gson.toJson(item));
+                    writer.write('\n');
+                }
+
+                writer.flush();
+                outputStream.getFD().sync();
+            }
+
+            Files.move(
+                    segmentFileTemporary,
+                    segmentFile,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+            );
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_WRITE_CACHE, segmentFile, exception.getMessage()));
+        }
+    }
+
+    private void writeHead(int syncedId, List<Integer> allPendingId) {
+        Path headFileTemporary = headFile.resolveSibling(headFile.getFileName() + EXTENSION_TEMPORARY);
+        List<String> allPendingIdString = new ArrayList<>();
+
+        for (Integer pendingId : allPendingId) {
+            allPendingIdString.add(pendingId.toString());
+        }
+
+        String head = String.format(HEAD_FORMAT, syncedId, String.join(PENDING_ID_SEPARATOR, allPendingIdString));
+
+        try {
+            Files.write(headFileTemporary, head.getBytes(StandardCharsets.UTF_8));
+            Files.move(
+                    headFileTemporary,
+                    headFile,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+            );
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_WRITE_CACHE, headFile, exception.getMessage()));
+        }
+    }
+
+    /**
+     * Reads the file backwards a block at a time, until count distinct items are found or the file is read.
+     *
+     * @return At most count items from the cache, newest first.
+     */
+    public List<T> readNewest(int count) {
+        List<T> allItem = new ArrayList<>();
+
+        if (count <= 0 || !Files.exists(segmentFile)) {
+            return allItem;
+        }
+
+        Set<Integer> allIdSeen = new HashSet<>();
+
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+            long position = channel.size();
+            byte[] lineStart = new byte[0];
+
+            while (position > 0 && allItem.size() < count) {
+                int length = (int) Math.min(BUFFER_SIZE, position);
+                position -= length;
+
+                byte[] block = new byte[length + lineStart.length];
+                ByteBuffer buffer = ByteBuffer.wrap(block, 0, length);
+
+                while (buffer.hasRemaining()) {
+                    channel.read(buffer, position + buffer.position());
+                }
+
+                System.arraycopy(lineStart, 0, block, length, lineStart.length);
+                int lineEnd = block.length;
+
+                for (int i = block.length - 1; i >= 0 && allItem.size() < count; i--) {
+                    if (block[i] == LINE_SEPARATOR) {
+                        addItemIfNew(block, i + 1, lineEnd, allIdSeen, allItem);
+                        lineEnd = i;
+                    }
+                }
+
+                lineStart = Arrays.copyOf(block, lineEnd);
+            }
+
+            if (position == 0 && allItem.size() < count) {
+                addItemIfNew(lineStart, 0, lineStart.length, allIdSeen, allItem);
+            }
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_READ_CACHE, segmentFile, exception.getMessage()));
+        }
+
+        return allItem;
+    }
+
+    /**
+     * Only the first version read of an item is kept: a sync interrupted before its head was written can append an
+     * item twice, and a cache written before pending items were tracked can hold older versions of them.
+     */
+    private void addItemIfNew(byte[] allByte, int start, int end, Set<Integer> allIdSeen, List<T> allItem) {
+        if (start == end) {
+            return;
+        }
+
+        T item = gson.fromJson(new String(allByte, start, end - start, StandardCharsets.UTF_8), itemClass);
+
+        if (allIdSeen.add(idGetter.apply(item))) {
+            allItem.add(item);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.http.BunqResponse;
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+import com.bunq.sdk.model.generated.endpoint.RequestInquiry;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The list endpoints of one bunq user, for code that works with several users at the same time and so can not use
+ * the static SDK endpoints, which all act as the single user loaded in BunqContext.
+ * The list methods fit PageFetcher, e.g. "urlParams -> userApi.listPayment(monetaryAccountId, urlParams)".
+ */
+public interface UserApi {
+
+    int getUserId();
+
+    BunqResponse<List<MonetaryAccountBank>> listMonetaryAccountBank(Map<String, String> urlParams);
+
+    BunqResponse<List<Payment>> listPayment(int monetaryAccountId, Map<String, String> urlParams);
+
+    BunqResponse<List<RequestInquiry>> listRequestInquiry(int monetaryAccountId, Map<String, String> urlParams);
+
+    BunqResponse<List<Card>> listCard(Map<String, String> urlParams);
+}
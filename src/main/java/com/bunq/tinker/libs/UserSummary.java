@@ -0,0 +1,113 @@
+package com.bunq.tinker.libs;
+
+import com.bunq.sdk.http.Pagination;
+import com.bunq.sdk.model.generated.endpoint.Card;
+import com.bunq.sdk.model.generated.endpoint.MonetaryAccountBank;
+import com.bunq.sdk.model.generated.endpoint.Payment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The overview of a single user: the active monetary accounts, the newest payments of each of them and the cards.
+ * When fetching it failed, it only has the reason, see createFailed.
+ */
+public class UserSummary {
+
+    private static final String MONETARY_ACCOUNT_STATUS_ACTIVE = "ACTIVE";
+    private static final int PAGE_SIZE_MAXIMUM = 200;
+
+    private final int userId;
+    private final List<MonetaryAccountBank> allMonetaryAccountBankActive;
+    private final List<Payment> allPayment;
+    private final List<Card> allCard;
+    private final String failedReason;
+
+    public UserSummary(
+            int userId,
+            List<MonetaryAccountBank> allMonetaryAccountBankActive,
+            List<Payment> allPayment,
+            List<Card> allCard
+    ) {
+        this(userId, allMonetaryAccountBankActive, allPayment, allCard, null);
+    }
+
+    private UserSummary(
+            int userId,
+            List<MonetaryAccountBank> allMonetaryAccountBankActive,
+            List<Payment> allPayment,
+            List<Card> allCard,
+            String failedReason
+    ) {
+        this.userId = userId;
+        this.allMonetaryAccountBankActive = allMonetaryAccountBankActive;
+        this.allPayment = allPayment;
+        this.allCard = allCard;
+        this.failedReason = failedReason;
+    }
+
+    /**
+     * A user whose overview could not be fetched, to report with the others instead of aborting them.
+     */
+    public static UserSummary createFailed(int userId, String reason) {
+        return new UserSummary(
+                userId,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                reason
+        );
+    }
+
+    /**
+     * @param paymentCount The number of newest payments to fetch for each active monetary account.
+     */
+    public static UserSummary fetch(UserApi userApi, int paymentCount) {
+        List<MonetaryAccountBank> allMonetaryAccountBankActive = new ArrayList<>();
+        PageIterator.iterable(
+                userApi::listMonetaryAccountBank,
+                PAGE_SIZE_MAXIMUM,
+                account -> account.getStatus().equals(MONETARY_ACCOUNT_STATUS_ACTIVE)
+        ).forEach(allMonetaryAccountBankActive::add);
+
+        Pagination pagination = new Pagination();
+        pagination.setCount(paymentCount);
+        List<Payment> allPayment = new ArrayList<>();
+
+        for (MonetaryAccountBank monetaryAccountBank : allMonetaryAccountBankActive) {
+            allPayment.addAll(
+                    userApi.listPayment(monetaryAccountBank.getId(), pagination.getUrlParamsCountOnly()).getValue()
+            );
+        }
+
+        List<Card> allCard = new ArrayList<>();
+        PageIterator.iterable(userApi::listCard, PAGE_SIZE_MAXIMUM).forEach(allCard::add);
+
+        return new UserSummary(userApi.getUserId(), allMonetaryAccountBankActive, allPayment, allCard);
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public boolean isFailed() {
+        return failedReason != null;
+    }
+
+    public String getFailedReason() {
+        return failedReason;
+    }
+
+    public List<MonetaryAccountBank> getAllMonetaryAccountBankActive() {
+        return allMonetaryAccountBankActive;
+    }
+
+    public List<Payment> getAllPayment() {
+        return allPayment;
+    }
+
+    public List<Card> getAllCard() {
+        return allCard;
+    }
+}
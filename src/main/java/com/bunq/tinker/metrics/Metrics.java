@@ -0,0 +1,131 @@
+package com.bunq.tinker.metrics;
+
+import com.bunq.sdk.exception.BunqException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * The metrics of the whole process, by name and a single label, like "bunq_call_seconds" by "endpoint".
+ *
+ * Metrics are always recorded; MetricsExporter only reads them when a tinker runs with --metrics or --metrics-file.
+ * Looking up a metric that exists takes two map reads and does not allocate. Code that records the same metric over
+ * and over still keeps it in a field.
+ */
+public class Metrics {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_TYPE_MISMATCH = "Metric \"%s\" is already registered as another type or label.";
+
+    /**
+     * Type constants.
+     */
+    static final String TYPE_TIMER = "timer";
+    static final String TYPE_COUNTER = "counter";
+
+    private static final Map<String, MetricFamily> allFamilyByName = new ConcurrentHashMap<>();
+    private static final Map<String, String> allHelpByName = new ConcurrentHashMap<>();
+
+    public static Timer timer(String name, String labelName, String labelValue) {
+        Map<String, Object> allMetricByLabelValue = determineFamily(name, TYPE_TIMER, labelName).allMetricByLabelValue;
+        Object timer = allMetricByLabelValue.get(labelValue);
+
+        if (timer == null) {
+            timer = allMetricByLabelValue.computeIfAbsent(labelValue, key -> new Timer());
+        }
+
+        return (Timer) timer;
+    }
+
+    public static Counter counter(String name, String labelName, String labelValue) {
+        Map<String, Object> allMetricByLabelValue =
+                determineFamily(name, TYPE_COUNTER, labelName).allMetricByLabelValue;
+        Object counter = allMetricByLabelValue.get(labelValue);
+
+        if (counter == null) {
+            counter = allMetricByLabelValue.computeIfAbsent(labelValue, key -> new Counter());
+        }
+
+        if (counter instanceof Counter) {
+            return (Counter) counter;
+        } else {
+            throw new BunqException(String.format(ERROR_TYPE_MISMATCH, name));
+        }
+    }
+
+    /**
+     * Exports a count that is kept elsewhere, like the retries counted by ApiThrottle, as a counter.
+     * Registering the same name and label value again replaces the earlier count.
+     */
+    public static void registerCounter(String name, String labelName, String labelValue, LongSupplier count) {
+        determineFamily(name, TYPE_COUNTER, labelName).allMetricByLabelValue.put(labelValue, count);
+    }
+
+    /**
+     * Describes what a metric covers, exported with it, e.g. when it does not count everything its name suggests.
+     */
+    public static void describe(String name, String help) {
+        allHelpByName.put(name, help);
+    }
+
+    /**
+     * @return The description of the metric, or null when it has none.
+     */
+    static String getHelp(String name) {
+        return allHelpByName.get(name);
+    }
+
+    private static MetricFamily determineFamily(String name, String type, String labelName) {
+        MetricFamily family = allFamilyByName.get(name);
+
+        if (family == null) {
+            family = allFamilyByName.computeIfAbsent(name, key -> new MetricFamily(name, type, labelName));
+        }
+
+        if (family.type.equals(type) && family.labelName.equals(labelName)) {
+            return family;
+        } else {
+            throw new BunqException(String.format(ERROR_TYPE_MISMATCH, name));
+        }
+    }
+
+    /**
+     * @return Every metric family by name, sorted so exports are stable.
+     */
+    static Map<String, MetricFamily> getAllFamilyByName() {
+        return new TreeMap<>(allFamilyByName);
+    }
+
+    /**
+     * The metrics sharing a name, one per label value: a Timer, a Counter or a LongSupplier of a registered counter.
+     */
+    static class MetricFamily {
+
+        final String name;
+        final String type;
+        final String labelName;
+        final Map<String, Object> allMetricByLabelValue = new ConcurrentHashMap<>();
+
+        MetricFamily(String name, String type, String labelName) {
+            this.name = name;
+            this.type = type;
+            this.labelName = labelName;
+        }
+
+        Map<String, Object> getAllMetricByLabelValueSorted() {
+            return new TreeMap<>(allMetricByLabelValue);
+        }
+
+        static long determineCount(Object metric) {
+            if (metric instanceof Counter) {
+                return ((Counter) metric).get();
+            } else {
+                return ((LongSupplier) metric).getAsLong();
+            }
+        }
+    }
+}
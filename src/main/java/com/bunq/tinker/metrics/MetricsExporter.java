@@ -0,0 +1,182 @@
+package com.bunq.tinker.metrics;
+
+import com.bunq.sdk.exception.BunqException;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the metrics of the process in the Prometheus text format, or prints them as a JSON summary.
+ *
+ * Timers become Prometheus histograms in seconds. The Prometheus file is written next to its final name and then
+ * renamed over it, so the textfile collector of a node exporter never reads a half-written file.
+ */
+public class MetricsExporter {
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_COULD_NOT_WRITE = "Could not write metrics to \"%s\": %s";
+
+    /**
+     * Prometheus constants.
+     */
+    private static final String TYPE_HISTOGRAM = "histogram";
+    private static final String SUFFIX_BUCKET = "_bucket";
+    private static final String SUFFIX_SUM = "_sum";
+    private static final String SUFFIX_COUNT = "_count";
+    private static final String LABEL_BUCKET_BOUND = "le";
+    private static final String BUCKET_BOUND_INFINITE = "+Inf";
+    private static final int SCALE_MILLISECONDS_TO_SECONDS = 3;
+    private static final String EXTENSION_TEMPORARY = ".tmp";
+    private static final String EOL = "\n";
+
+    /**
+     * Json constants.
+     */
+    private static final String FIELD_COUNT = "count";
+    private static final String FIELD_TOTAL_MILLISECONDS = "total_ms";
+    private static final String FIELD_MEAN_MILLISECONDS = "mean_ms";
+    private static final String FIELD_MAXIMUM_MILLISECONDS = "max_ms";
+    private static final String FIELD_HELP = "help";
+
+    private static final double NANOSECONDS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double NANOSECONDS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    public static void writePrometheusFile(String fileName) {
+        Path file = Paths.get(fileName);
+        Path fileTemporary = file.resolveSibling(file.getFileName() + EXTENSION_TEMPORARY);
+
+        try {
+            try (Writer writer = Files.newBufferedWriter(fileTemporary, StandardCharsets.UTF_8)) {
+                writePrometheus(writer);
+            }
+
+            Files.move(fileTemporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            throw new BunqException(String.format(ERROR_COULD_NOT_WRITE, fileName, exception.getMessage()));
+        }
+    }
+
+    public static void writePrometheus(Writer writer) throws IOException {
+        for (Metrics.MetricFamily family : Metrics.getAllFamilyByName().values()) {
+            String help = Metrics.getHelp(family.name);
+
+            if (help != null) {
+                writer.write("# HELP " + family.name + " " + help.replace("\\", "\\\\").replace("\n", "\\n") + EOL);
+            }
+
+            if (Metrics.TYPE_TIMER.equals(family.type)) {
+                writer.write("# TYPE " + family.name + " " + TYPE_HISTOGRAM + EOL);
+
+                for (Map.Entry<String, Object> entry : family.getAllMetricByLabelValueSorted().entrySet()) {
+                    writePrometheusHistogram(writer, family, entry.getKey(), (Timer) entry.getValue());
+                }
+            } else {
+                writer.write("# TYPE " + family.name + " " + Metrics.TYPE_COUNTER + EOL);
+
+                for (Map.Entry<String, Object> entry : family.getAllMetricByLabelValueSorted().entrySet()) {
+                    writer.write(
+                            family.name + formatLabel(family.labelName, entry.getKey()) + " "
+                                    + Metrics.MetricFamily.determineCount(entry.getValue()) + EOL
+                    );
+                }
+            }
+        }
+    }
+
+    private static void writePrometheusHistogram(
+            Writer writer,
+            Metrics.MetricFamily family,
+            String labelValue,
+            Timer timer
+    ) throws IOException {
+        String label = formatLabel(family.labelName, labelValue);
+        String labelPrefix = label.substring(0, label.length() - 1) + ",";
+        long[] allBucketCount = timer.getAllBucketCount();
+        long countCumulative = 0;
+
+        for (int i = 0; i < allBucketCount.length; i++) {
+            countCumulative += allBucketCount[i];
+            String bound = i < Timer.ALL_BUCKET_BOUND_MILLISECONDS.length
+                    ? BigDecimal.valueOf(Timer.ALL_BUCKET_BOUND_MILLISECONDS[i], SCALE_MILLISECONDS_TO_SECONDS)
+                            .stripTrailingZeros()
+                            .toPlainString()
+                    : BUCKET_BOUND_INFINITE;
+
+            writer.write(
+                    family.name + SUFFIX_BUCKET + labelPrefix + LABEL_BUCKET_BOUND + "=\"" + bound + "\"} "
+                            + countCumulative + EOL
+            );
+        }
+
+        writer.write(family.name + SUFFIX_SUM + label + " " + timer.getSumNanoseconds() / NANOSECONDS_PER_SECOND + EOL);
+        writer.write(family.name + SUFFIX_COUNT + label + " " + countCumulative + EOL);
+    }
+
+    private static String formatLabel(String labelName, String labelValue) {
+        String labelValueEscaped = labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+
+        return "{" + labelName + "=\"" + labelValueEscaped + "\"}";
+    }
+
+    /**
+     * Prints every metric as JSON, timers as their count, total, mean and maximum in milliseconds, followed by the
+     * descriptions of the metrics that have one under "help".
+     */
+    public static void printJson(PrintStream output) {
+        JsonObject allMetric = new JsonObject();
+        JsonObject allHelp = new JsonObject();
+
+        for (Metrics.MetricFamily family : Metrics.getAllFamilyByName().values()) {
+            JsonObject allMetricOfFamily = new JsonObject();
+
+            for (Map.Entry<String, Object> entry : family.getAllMetricByLabelValueSorted().entrySet()) {
+                if (Metrics.TYPE_TIMER.equals(family.type)) {
+                    allMetricOfFamily.add(entry.getKey(), createTimerJson((Timer) entry.getValue()));
+                } else {
+                    allMetricOfFamily.addProperty(
+                            entry.getKey(),
+                            Metrics.MetricFamily.determineCount(entry.getValue())
+                    );
+                }
+            }
+
+            allMetric.add(family.name, allMetricOfFamily);
+
+            if (Metrics.getHelp(family.name) != null) {
+                allHelp.addProperty(family.name, Metrics.getHelp(family.name));
+            }
+        }
+
+        if (allHelp.size() > 0) {
+            allMetric.add(FIELD_HELP, allHelp);
+        }
+
+        output.println(new GsonBuilder().setPrettyPrinting().create().toJson(allMetric));
+    }
+
+    private static JsonObject createTimerJson(Timer timer) {
+        long count = timer.getCount();
+        double totalMilliseconds = timer.getSumNanoseconds() / NANOSECONDS_PER_MILLISECOND;
+
+        JsonObject timerJson = new JsonObject();
+        timerJson.addProperty(FIELD_COUNT, count);
+        timerJson.addProperty(FIELD_TOTAL_MILLISECONDS, totalMilliseconds);
+        timerJson.addProperty(FIELD_MEAN_MILLISECONDS, count == 0 ? 0 : totalMilliseconds / count);
+        timerJson.addProperty(FIELD_MAXIMUM_MILLISECONDS, timer.getMaximumNanoseconds() / NANOSECONDS_PER_MILLISECOND);
+
+        return timerJson;
+    }
+}
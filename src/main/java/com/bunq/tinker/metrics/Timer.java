@@ -0,0 +1,89 @@
+package com.bunq.tinker.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations into fixed histogram buckets, cheap enough to record every call on the hot path.
+ * Concurrent threads add to striped counters instead of contending on a lock, and nothing is allocated per record.
+ */
+public class Timer {
+
+    /**
+     * The upper bounds of the histogram buckets, from a fast loopback call up to a long retried bunq call.
+     */
+    static final long[] ALL_BUCKET_BOUND_MILLISECONDS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private static final long[] ALL_BUCKET_BOUND_NANOSECONDS = new long[ALL_BUCKET_BOUND_MILLISECONDS.length];
+
+    static {
+        for (int i = 0; i < ALL_BUCKET_BOUND_MILLISECONDS.length; i++) {
+            ALL_BUCKET_BOUND_NANOSECONDS[i] = TimeUnit.MILLISECONDS.toNanos(ALL_BUCKET_BOUND_MILLISECONDS[i]);
+        }
+    }
+
+    /**
+     * One counter per bucket, the last one for durations above the largest bound.
+     */
+    private final LongAdder[] allBucketCount = new LongAdder[ALL_BUCKET_BOUND_NANOSECONDS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanoseconds = new LongAdder();
+    private final AtomicLong maximumNanoseconds = new AtomicLong();
+
+    Timer() {
+        for (int i = 0; i < allBucketCount.length; i++) {
+            allBucketCount[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanoseconds) {
+        int bucket = 0;
+
+        while (bucket < ALL_BUCKET_BOUND_NANOSECONDS.length && nanoseconds > ALL_BUCKET_BOUND_NANOSECONDS[bucket]) {
+            bucket++;
+        }
+
+        allBucketCount[bucket].increment();
+        count.increment();
+        sumNanoseconds.add(nanoseconds);
+
+        long maximum = maximumNanoseconds.get();
+
+        while (nanoseconds > maximum && !maximumNanoseconds.compareAndSet(maximum, nanoseconds)) {
+            maximum = maximumNanoseconds.get();
+        }
+    }
+
+    /**
+     * Records the time passed since a System.nanoTime taken before the timed work.
+     */
+    public void recordSince(long startedNanoseconds) {
+        record(System.nanoTime() - startedNanoseconds);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanoseconds() {
+        return sumNanoseconds.sum();
+    }
+
+    public long getMaximumNanoseconds() {
+        return maximumNanoseconds.get();
+    }
+
+    /**
+     * @return The number of durations per bucket, not cumulative, the last one above the largest bound.
+     */
+    long[] getAllBucketCount() {
+        long[] allCount = new long[allBucketCount.length];
+
+        for (int i = 0; i < allBucketCount.length; i++) {
+            allCount[i] = allBucketCount[i].sum();
+        }
+
+        return allCount;
+    }
+}
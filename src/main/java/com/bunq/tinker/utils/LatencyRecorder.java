@@ -0,0 +1,50 @@
+package com.bunq.tinker.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the most recent latencies in a fixed ring buffer and reports percentiles over them.
+ */
+public class LatencyRecorder {
+
+    private static final int CAPACITY_DEFAULT = 4096;
+    private static final double PERCENTILE_MAXIMUM = 100.0;
+
+    private final long[] allLatencyNanoseconds;
+    private long count;
+
+    public LatencyRecorder() {
+        this(CAPACITY_DEFAULT);
+    }
+
+    public LatencyRecorder(int capacity) {
+        this.allLatencyNanoseconds = new long[capacity];
+    }
+
+    public synchronized void record(long latencyNanoseconds) {
+        allLatencyNanoseconds[(int) (count % allLatencyNanoseconds.length)] = latencyNanoseconds;
+        count++;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The percentile over the recorded window in milliseconds, or 0 when nothing was recorded.
+     */
+    public synchronized double getPercentileMilliseconds(double percentile) {
+        int size = (int) Math.min(count, allLatencyNanoseconds.length);
+
+        if (size == 0) {
+            return 0;
+        }
+
+        long[] allLatencySorted = Arrays.copyOf(allLatencyNanoseconds, size);
+        Arrays.sort(allLatencySorted);
+        int index = (int) Math.ceil(percentile / PERCENTILE_MAXIMUM * size) - 1;
+
+        return allLatencySorted[Math.max(index, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
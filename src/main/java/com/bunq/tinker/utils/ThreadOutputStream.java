@@ -0,0 +1,53 @@
+package com.bunq.tinker.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes to the output the current thread was given, or to the default output when it was given none.
+ *
+ * TinkerDaemon installs this once as System.out, so each command gets its own output while it runs, and whatever
+ * other threads print, like a pool being refilled in the background, goes to the log of the daemon instead of into
+ * the socket of whichever command happens to be running.
+ */
+public class ThreadOutputStream extends OutputStream {
+
+    private final OutputStream outputDefault;
+    private final ThreadLocal<OutputStream> outputThread = new ThreadLocal<>();
+
+    public ThreadOutputStream(OutputStream outputDefault) {
+        this.outputDefault = outputDefault;
+    }
+
+    /**
+     * Sends what the current thread writes to the output, until clear is called on the same thread.
+     */
+    public void set(OutputStream output) {
+        outputThread.set(output);
+    }
+
+    public void clear() {
+        outputThread.remove();
+    }
+
+    private OutputStream determineOutput() {
+        OutputStream output = outputThread.get();
+
+        return output == null ? outputDefault : output;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        determineOutput().write(value);
+    }
+
+    @Override
+    public void write(byte[] allByte, int offset, int length) throws IOException {
+        determineOutput().write(allByte, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        determineOutput().flush();
+    }
+}
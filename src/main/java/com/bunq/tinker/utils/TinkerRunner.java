@@ -1,5 +1,13 @@
 package com.bunq.tinker.utils;
 
+import com.bunq.sdk.exception.BunqException;
+import com.bunq.tinker.metrics.Metrics;
+import com.bunq.tinker.metrics.MetricsExporter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class TinkerRunner {
 
     /**
@@ -7,6 +15,21 @@ public class TinkerRunner {
      */
     public static final String PACKAGE_TINKER_PREFIX = "com.bunq.tinker.";
 
+    /**
+     * Metrics constants, the options are taken out of the arguments before the tinker sees them.
+     */
+    private static final String OPTION_METRICS = "--metrics";
+    private static final String OPTION_METRICS_FILE = "--metrics-file";
+    private static final String METRIC_TINKER = "tinker_run_seconds";
+    private static final String LABEL_TINKER = "tinker";
+    private static final String OPTION_PREFIX = "--";
+
+    /**
+     * Error constants.
+     */
+    private static final String ERROR_OPTION_VALUE_MISSING = "Option %s needs a value, e.g. %s metrics.prom";
+    private static final String ERROR_TINKER_MISSING = "No tinker to run, e.g. UserOverview %s";
+
     /**
      *
      * @param args
@@ -14,14 +37,60 @@ public class TinkerRunner {
     public static void main(String[] args) throws Exception {
         if (args.length <= 0) return;
 
-        String className = args[0];
-        Class classObject = Class.forName(PACKAGE_TINKER_PREFIX + className);
+        runTinker(args);
+    }
+
+    /**
+     * Runs the tinker named by the first argument, also used by TinkerDaemon to run commands in a warm JVM.
+     * With --metrics the metrics are printed as JSON afterwards, with --metrics-file [path] written for Prometheus.
+     *
+     * @param args
+     */
+    public static void runTinker(String[] args) throws Exception {
+        List<String> allArgument = new ArrayList<>(Arrays.asList(args));
+        boolean isMetricsPrinted = allArgument.remove(OPTION_METRICS);
+        String metricsFile = removeOptionValue(allArgument, OPTION_METRICS_FILE);
+
+        if (allArgument.isEmpty()) {
+            throw new BunqException(String.format(ERROR_TINKER_MISSING, OPTION_METRICS));
+        }
+
+        String className = allArgument.get(0);
+        Class<?> classObject = Class.forName(PACKAGE_TINKER_PREFIX + className);
+        long started = System.nanoTime();
 
         try {
             ITinker tinker = (ITinker) classObject.getConstructor().newInstance();
-            tinker.run(args);
+            tinker.run(allArgument.toArray(new String[0]));
         } catch (NoSuchMethodException exception) {
             System.out.println("Couldn\'t start " + className + ". Class is missing or invalid.");
+        } finally {
+            Metrics.timer(METRIC_TINKER, LABEL_TINKER, className).recordSince(started);
+
+            if (isMetricsPrinted) {
+                MetricsExporter.printJson(System.out);
+            }
+
+            if (metricsFile != null) {
+                MetricsExporter.writePrometheusFile(metricsFile);
+            }
         }
     }
+
+    /**
+     * @return The value following the option, or null when the option was not given.
+     */
+    private static String removeOptionValue(List<String> allArgument, String option) {
+        int index = allArgument.indexOf(option);
+
+        if (index < 0) {
+            return null;
+        } else if (index + 1 >= allArgument.size() || allArgument.get(index + 1).startsWith(OPTION_PREFIX)) {
+            throw new BunqException(String.format(ERROR_OPTION_VALUE_MISSING, option, option));
+        }
+
+        allArgument.remove(index);
+
+        return allArgument.remove(index);
+    }
 }